@@ -0,0 +1,57 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+import io.spine.gradle.internal.Deps
+
+plugins {
+    id("me.champeau.gradle.jmh")
+}
+
+dependencies {
+    implementation(project(":server"))
+    implementation(project(":testutil-server"))
+}
+
+/*
+ * Runs the benchmarks with `./gradlew :benchmarks:jmh`.
+ *
+ * The results are written in JSON, so that a run can be compared to a baseline one.
+ * To keep the results of several runs, pass the file name with `-PjmhResults=<path>`.
+ * To run a subset of the benchmarks, pass a regular expression with `-PjmhInclude=<regex>`.
+ */
+jmh {
+    jmhVersion = Deps.versions.jmh
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    resultFormat = "JSON"
+    resultsFile = file(findProperty("jmhResults") ?: "$buildDir/reports/jmh/results.json")
+    humanOutputFile = file("$buildDir/reports/jmh/human.txt")
+    findProperty("jmhInclude")?.let {
+        include = listOf(it.toString())
+    }
+    duplicateClassesStrategy = DuplicatesStrategy.WARN
+}
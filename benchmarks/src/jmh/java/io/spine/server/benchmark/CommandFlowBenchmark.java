@@ -0,0 +1,110 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.benchmark;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.core.Command;
+import io.spine.server.BoundedContext;
+import io.spine.server.benchmark.given.BenchmarkEnv;
+import io.spine.server.benchmark.given.CounterAggregate;
+import io.spine.server.benchmark.given.CounterId;
+import io.spine.server.benchmark.given.CounterProjection;
+import io.spine.server.benchmark.given.IncrementCounter;
+import io.spine.server.commandbus.CommandBus;
+import io.spine.testing.client.TestActorRequestFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.spine.grpc.StreamObservers.noOpObserver;
+
+/**
+ * Measures the full write path of a command.
+ *
+ * <p>A command is posted to the {@code CommandBus}, handled by an aggregate, whose event
+ * is stored and then delivered to a projection through the {@code Delivery}.
+ *
+ * <p>The delivery is synchronous, so each operation includes the whole flow.
+ * The commands are spread across a number of aggregates, which in turn are spread
+ * across the configured number of shards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CommandFlowBenchmark {
+
+    private static final int COUNTERS = 64;
+
+    @Param({"1", "8"})
+    public int shards;
+
+    private BoundedContext context;
+    private CommandBus commandBus;
+    private TestActorRequestFactory requests;
+    private ImmutableList<CounterId> counters;
+    private int nextCounter;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnv.configure(shards);
+        context = BoundedContext.singleTenant(CommandFlowBenchmark.class.getSimpleName())
+                                .add(CounterAggregate.class)
+                                .add(CounterProjection.class)
+                                .build();
+        commandBus = context.commandBus();
+        requests = new TestActorRequestFactory(CommandFlowBenchmark.class);
+        counters = BenchmarkEnv.newCounters(COUNTERS);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        context.close();
+        BenchmarkEnv.reset();
+    }
+
+    @Benchmark
+    public void postCommand() {
+        CounterId counter = counters.get(nextCounter);
+        nextCounter = (nextCounter + 1) % COUNTERS;
+        IncrementCounter increment = IncrementCounter
+                .newBuilder()
+                .setId(counter)
+                .setBy(1)
+                .vBuild();
+        Command command = requests.command()
+                                  .create(increment);
+        commandBus.post(command, noOpObserver());
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.benchmark;
+
+import io.spine.core.CommandContext;
+import io.spine.server.benchmark.given.BenchmarkEnv;
+import io.spine.server.benchmark.given.CounterId;
+import io.spine.server.benchmark.given.IncrementCounter;
+import io.spine.server.route.CommandRouting;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the routing of a command to the entity which handles it.
+ *
+ * <p>Compares the default routing by the first message field to a custom route.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CommandRoutingBenchmark {
+
+    private CommandRouting<CounterId> defaultRouting;
+    private CommandRouting<CounterId> customRouting;
+    private IncrementCounter command;
+    private CommandContext context;
+
+    @Setup
+    public void setUp() {
+        defaultRouting = CommandRouting.newInstance(CounterId.class);
+        customRouting = CommandRouting
+                .newInstance(CounterId.class)
+                .route(IncrementCounter.class, (cmd, ctx) -> cmd.getId());
+        command = IncrementCounter
+                .newBuilder()
+                .setId(BenchmarkEnv.newCounter())
+                .setBy(1)
+                .vBuild();
+        context = CommandContext.getDefaultInstance();
+    }
+
+    @Benchmark
+    public CounterId routeByDefault() {
+        return defaultRouting.apply(command, context);
+    }
+
+    @Benchmark
+    public CounterId routeCustom() {
+        return customRouting.apply(command, context);
+    }
+}
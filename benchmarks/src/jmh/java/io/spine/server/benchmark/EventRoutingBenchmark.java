@@ -0,0 +1,82 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.benchmark;
+
+import io.spine.core.EventContext;
+import io.spine.server.benchmark.given.BenchmarkEnv;
+import io.spine.server.benchmark.given.CounterId;
+import io.spine.server.benchmark.given.CounterIncremented;
+import io.spine.server.route.EventRoute;
+import io.spine.server.route.EventRouting;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the routing of an event to the entity it belongs to.
+ *
+ * <p>Compares the general routing, which produces a set of targets, to the routing
+ * of the unicast events, which produces the sole target.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EventRoutingBenchmark {
+
+    private EventRouting<CounterId> routing;
+    private CounterIncremented event;
+    private EventContext context;
+
+    @Setup
+    public void setUp() {
+        routing = EventRouting.withDefault(EventRoute.byFirstMessageField(CounterId.class));
+        event = CounterIncremented
+                .newBuilder()
+                .setId(BenchmarkEnv.newCounter())
+                .setBy(1)
+                .setValue(1)
+                .vBuild();
+        context = EventContext.getDefaultInstance();
+    }
+
+    @Benchmark
+    public Set<CounterId> routeToSet() {
+        return routing.apply(event, context);
+    }
+
+    @Benchmark
+    public CounterId routeUnicast() {
+        return routing.unicastTarget(event, context);
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.benchmark;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Timestamp;
+import com.google.protobuf.util.Timestamps;
+import io.grpc.stub.StreamObserver;
+import io.spine.core.Event;
+import io.spine.server.ContextSpec;
+import io.spine.server.benchmark.given.BenchmarkEnv;
+import io.spine.server.benchmark.given.CounterId;
+import io.spine.server.benchmark.given.CounterIncremented;
+import io.spine.server.event.EventFilter;
+import io.spine.server.event.EventStore;
+import io.spine.server.event.EventStreamQuery;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+import io.spine.testing.server.TestEventFactory;
+import io.spine.type.TypeName;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading from the {@code EventStore} with a large history of events.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EventStoreBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+    private static final long START_MILLIS = 1_600_000_000_000L;
+
+    @Param({"10000", "100000"})
+    public int historySize;
+
+    private EventStore store;
+    private EventStreamQuery allOfType;
+    private EventStreamQuery recent;
+    private EventStreamQuery firstPage;
+
+    @Setup
+    public void setUp() {
+        ContextSpec spec = ContextSpec.singleTenant(EventStoreBenchmark.class.getSimpleName());
+        store = InMemoryStorageFactory.newInstance()
+                                      .createEventStore(spec);
+        store.appendAll(history());
+
+        EventFilter byType = EventFilter
+                .newBuilder()
+                .setEventType(TypeName.of(CounterIncremented.class).value())
+                .build();
+        allOfType = EventStreamQuery
+                .newBuilder()
+                .addFilter(byType)
+                .build();
+        Timestamp lastTenth = Timestamps.fromMillis(START_MILLIS + historySize * 9L / 10);
+        recent = EventStreamQuery
+                .newBuilder()
+                .setAfter(lastTenth)
+                .build();
+        firstPage = EventStreamQuery
+                .newBuilder()
+                .setLimit(EventStreamQuery.Limit.newBuilder()
+                                                .setValue(PAGE_SIZE))
+                .build();
+    }
+
+    private ImmutableList<Event> history() {
+        TestEventFactory events = TestEventFactory.newInstance(getClass());
+        CounterId counter = BenchmarkEnv.newCounter();
+        ImmutableList.Builder<Event> result = ImmutableList.builder();
+        for (int i = 0; i < historySize; i++) {
+            CounterIncremented incremented = CounterIncremented
+                    .newBuilder()
+                    .setId(counter)
+                    .setBy(1)
+                    .setValue(i + 1)
+                    .vBuild();
+            Timestamp time = Timestamps.fromMillis(START_MILLIS + i);
+            result.add(events.createEvent(incremented, null, time));
+        }
+        return result.build();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        store.close();
+    }
+
+    @Benchmark
+    public void readAllOfType(Blackhole blackhole) {
+        store.read(allOfType, new Consumer(blackhole));
+    }
+
+    @Benchmark
+    public void readRecent(Blackhole blackhole) {
+        store.read(recent, new Consumer(blackhole));
+    }
+
+    @Benchmark
+    public void readFirstPage(Blackhole blackhole) {
+        store.read(firstPage, new Consumer(blackhole));
+    }
+
+    /**
+     * Passes the read events to the {@code Blackhole}.
+     */
+    private static final class Consumer implements StreamObserver<Event> {
+
+        private final Blackhole blackhole;
+
+        private Consumer(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void onNext(Event value) {
+            blackhole.consume(value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            throw new IllegalStateException(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            // Nothing to do.
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.benchmark;
+
+import io.spine.server.benchmark.given.BenchmarkEnv;
+import io.spine.server.benchmark.given.CounterIncremented;
+import io.spine.server.benchmark.given.CounterSubscriber;
+import io.spine.server.dispatch.DispatchOutcome;
+import io.spine.server.event.model.SubscriberMethod;
+import io.spine.server.type.EventEnvelope;
+import io.spine.testing.server.TestEventFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.spine.server.event.model.EventSubscriberClass.asEventSubscriberClass;
+
+/**
+ * Measures the invocation of a handler method through
+ * {@link io.spine.server.model.AbstractHandlerMethod#invoke AbstractHandlerMethod.invoke(...)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HandlerInvocationBenchmark {
+
+    private CounterSubscriber subscriber;
+    private SubscriberMethod method;
+    private EventEnvelope event;
+
+    @Setup
+    public void setUp() {
+        subscriber = new CounterSubscriber();
+        CounterIncremented incremented = CounterIncremented
+                .newBuilder()
+                .setId(BenchmarkEnv.newCounter())
+                .setBy(1)
+                .setValue(1)
+                .vBuild();
+        event = EventEnvelope.of(TestEventFactory.newInstance(getClass())
+                                                 .createEvent(incremented));
+        method = asEventSubscriberClass(CounterSubscriber.class)
+                .subscribersOf(event.messageClass(), event.originClass())
+                .iterator()
+                .next();
+    }
+
+    @Benchmark
+    public DispatchOutcome invoke() {
+        return method.invoke(subscriber, event);
+    }
+}
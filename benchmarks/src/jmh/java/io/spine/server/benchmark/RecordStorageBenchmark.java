@@ -0,0 +1,124 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.benchmark;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.query.RecordQuery;
+import io.spine.server.ContextSpec;
+import io.spine.server.benchmark.given.Tally;
+import io.spine.server.benchmark.given.TallyColumn;
+import io.spine.server.benchmark.given.TallyStorage;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the queries to the {@code InMemoryRecordStorage} of different sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RecordStorageBenchmark {
+
+    private static final int BUCKETS = 100;
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private TallyStorage storage;
+    private String middleId;
+    private RecordQuery<String, Tally> byBucket;
+    private RecordQuery<String, Tally> topValues;
+
+    @Setup
+    public void setUp() {
+        ContextSpec spec = ContextSpec.singleTenant(RecordStorageBenchmark.class.getSimpleName());
+        storage = new TallyStorage(spec, InMemoryStorageFactory.newInstance());
+        storage.writeAll(records());
+        middleId = idOf(size / 2);
+        byBucket = storage.queryBuilder()
+                          .where(TallyColumn.bucket).is(BUCKETS / 2)
+                          .build();
+        topValues = storage.queryBuilder()
+                           .where(TallyColumn.value).isGreaterThan((long) size / 2)
+                           .sortDescendingBy(TallyColumn.value)
+                           .limit(PAGE_SIZE)
+                           .build();
+    }
+
+    private ImmutableList<Tally> records() {
+        ImmutableList.Builder<Tally> result = ImmutableList.builder();
+        for (int i = 0; i < size; i++) {
+            Tally tally = Tally
+                    .newBuilder()
+                    .setId(idOf(i))
+                    .setBucket(i % BUCKETS)
+                    .setValue(i)
+                    .build();
+            result.add(tally);
+        }
+        return result.build();
+    }
+
+    private static String idOf(int index) {
+        return "tally-" + index;
+    }
+
+    @TearDown
+    public void tearDown() {
+        storage.close();
+    }
+
+    @Benchmark
+    public Optional<Tally> readById() {
+        return storage.read(middleId);
+    }
+
+    @Benchmark
+    public void queryByColumn(Blackhole blackhole) {
+        storage.readAll(byBucket)
+               .forEachRemaining(blackhole::consume);
+    }
+
+    @Benchmark
+    public void querySortedPage(Blackhole blackhole) {
+        storage.readAll(topValues)
+               .forEachRemaining(blackhole::consume);
+    }
+}
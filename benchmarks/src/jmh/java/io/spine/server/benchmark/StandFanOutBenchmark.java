@@ -0,0 +1,121 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.benchmark;
+
+import io.spine.client.Subscription;
+import io.spine.client.Topic;
+import io.spine.core.Event;
+import io.spine.grpc.MemoizingObserver;
+import io.spine.server.BoundedContext;
+import io.spine.server.benchmark.given.BenchmarkEnv;
+import io.spine.server.benchmark.given.CounterId;
+import io.spine.server.benchmark.given.CounterIncremented;
+import io.spine.server.benchmark.given.CounterProjection;
+import io.spine.server.benchmark.given.CounterView;
+import io.spine.server.event.EventBus;
+import io.spine.server.stand.Stand;
+import io.spine.testing.client.TestActorRequestFactory;
+import io.spine.testing.server.TestEventFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.spine.grpc.StreamObservers.memoizingObserver;
+import static io.spine.grpc.StreamObservers.noOpObserver;
+
+/**
+ * Measures the delivery of entity state updates to the {@code Stand} subscribers.
+ *
+ * <p>Each operation posts an event which updates a projection. The {@code Stand} then
+ * notifies all the subscribers to the projection type about the new state.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StandFanOutBenchmark {
+
+    @Param({"1", "100", "1000"})
+    public int subscribers;
+
+    private final AtomicLong updates = new AtomicLong();
+
+    private BoundedContext context;
+    private EventBus eventBus;
+    private TestEventFactory events;
+    private CounterId counter;
+    private long value;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnv.configure(1);
+        context = BoundedContext.singleTenant(StandFanOutBenchmark.class.getSimpleName())
+                                .add(CounterProjection.class)
+                                .build();
+        eventBus = context.eventBus();
+        TestActorRequestFactory requests = new TestActorRequestFactory(getClass());
+        events = TestEventFactory.newInstance(requests);
+        counter = BenchmarkEnv.newCounter();
+        Stand stand = context.stand();
+        Topic topic = requests.topic()
+                              .allOf(CounterView.class);
+        for (int i = 0; i < subscribers; i++) {
+            MemoizingObserver<Subscription> observer = memoizingObserver();
+            stand.subscribe(topic, observer);
+            Subscription subscription = observer.firstResponse();
+            stand.activate(subscription, update -> updates.incrementAndGet(), noOpObserver());
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        context.close();
+        BenchmarkEnv.reset();
+    }
+
+    @Benchmark
+    public long postEvent() {
+        value++;
+        CounterIncremented incremented = CounterIncremented
+                .newBuilder()
+                .setId(counter)
+                .setBy(1)
+                .setValue(value)
+                .vBuild();
+        Event event = events.createEvent(incremented);
+        eventBus.post(event, noOpObserver());
+        return updates.get();
+    }
+}
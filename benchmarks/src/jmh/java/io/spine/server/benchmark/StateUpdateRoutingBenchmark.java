@@ -0,0 +1,84 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.benchmark;
+
+import com.google.common.collect.ImmutableSet;
+import io.spine.core.EventContext;
+import io.spine.server.benchmark.given.BenchmarkEnv;
+import io.spine.server.benchmark.given.Counter;
+import io.spine.server.benchmark.given.CounterId;
+import io.spine.server.route.StateUpdateRouting;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the routing of an entity state update to the entities subscribed to it.
+ *
+ * <p>Compares the default routing by the state field of the ID type to a custom route.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StateUpdateRoutingBenchmark {
+
+    private StateUpdateRouting<CounterId> defaultRouting;
+    private StateUpdateRouting<CounterId> customRouting;
+    private Counter state;
+    private EventContext context;
+
+    @Setup
+    public void setUp() {
+        defaultRouting = StateUpdateRouting.newInstance(CounterId.class);
+        customRouting = StateUpdateRouting
+                .newInstance(CounterId.class)
+                .route(Counter.class, (counter, ctx) -> ImmutableSet.of(counter.getId()));
+        state = Counter
+                .newBuilder()
+                .setId(BenchmarkEnv.newCounter())
+                .setValue(1)
+                .vBuild();
+        context = EventContext.getDefaultInstance();
+    }
+
+    @Benchmark
+    public Set<CounterId> routeByDefault() {
+        return defaultRouting.apply(state, context);
+    }
+
+    @Benchmark
+    public Set<CounterId> routeCustom() {
+        return customRouting.apply(state, context);
+    }
+}
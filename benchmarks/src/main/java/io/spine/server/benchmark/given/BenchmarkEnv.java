@@ -0,0 +1,97 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.benchmark.given;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.base.EnvironmentType;
+import io.spine.server.ServerEnvironment;
+import io.spine.server.delivery.Delivery;
+import io.spine.server.delivery.LocalDispatchingObserver;
+import io.spine.server.delivery.UniformAcrossAllShards;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+import io.spine.server.transport.memory.InMemoryTransportFactory;
+
+import static io.spine.base.Identifier.newUuid;
+
+/**
+ * Configures the server environment for the benchmarks.
+ */
+public final class BenchmarkEnv {
+
+    /**
+     * Prevents the utility class instantiation.
+     */
+    private BenchmarkEnv() {
+    }
+
+    /**
+     * Configures the in-memory storage and transport, and a synchronous local delivery
+     * spread across the given number of shards.
+     */
+    public static void configure(int shards) {
+        ServerEnvironment env = ServerEnvironment.instance();
+        Class<? extends EnvironmentType> type = env.type();
+        ServerEnvironment.when(type)
+                         .use(InMemoryStorageFactory.newInstance())
+                         .use(InMemoryTransportFactory.newInstance());
+        Delivery delivery = Delivery
+                .newBuilder()
+                .setStrategy(UniformAcrossAllShards.forNumber(shards))
+                .build();
+        delivery.subscribe(new LocalDispatchingObserver());
+        ServerEnvironment.when(type)
+                         .use(delivery);
+    }
+
+    /**
+     * Resets the server environment configured by {@link #configure(int)}.
+     */
+    public static void reset() {
+        ServerEnvironment.instance()
+                         .reset();
+    }
+
+    /**
+     * Generates the identifiers of the given number of counters.
+     */
+    public static ImmutableList<CounterId> newCounters(int count) {
+        ImmutableList.Builder<CounterId> result = ImmutableList.builder();
+        for (int i = 0; i < count; i++) {
+            result.add(newCounter());
+        }
+        return result.build();
+    }
+
+    /**
+     * Generates the identifier of a new counter.
+     */
+    public static CounterId newCounter() {
+        return CounterId.newBuilder()
+                        .setUuid(newUuid())
+                        .vBuild();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.benchmark.given;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.query.RecordColumn;
+import io.spine.query.RecordColumns;
+
+import static io.spine.query.RecordColumn.create;
+
+/**
+ * Columns stored along with each {@link Tally}.
+ */
+@RecordColumns(ofType = Tally.class)
+@SuppressWarnings("BadImport")    // `create` looks fine in this context.
+public final class TallyColumn {
+
+    /**
+     * Stores the bucket of the tally.
+     */
+    public static final RecordColumn<Tally, Integer>
+            bucket = create("bucket", Integer.class, Tally::getBucket);
+
+    /**
+     * Stores the value of the tally.
+     */
+    public static final RecordColumn<Tally, Long>
+            value = create("value", Long.class, Tally::getValue);
+
+    /**
+     * Prevents this type from instantiation.
+     */
+    private TallyColumn() {
+    }
+
+    /**
+     * Returns all the column definitions.
+     */
+    static ImmutableList<RecordColumn<Tally, ?>> definitions() {
+        return ImmutableList.of(bucket, value);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.benchmark.given;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.query.RecordQuery;
+import io.spine.server.ContextSpec;
+import io.spine.server.storage.MessageRecordSpec;
+import io.spine.server.storage.MessageStorage;
+import io.spine.server.storage.StorageFactory;
+
+import java.util.Iterator;
+
+/**
+ * A storage of {@link Tally} records, which exposes the reading and writing API
+ * to the benchmarks.
+ */
+public final class TallyStorage extends MessageStorage<String, Tally> {
+
+    public TallyStorage(ContextSpec context, StorageFactory factory) {
+        super(context, factory.createRecordStorage(context, spec()));
+    }
+
+    private static MessageRecordSpec<String, Tally> spec() {
+        @SuppressWarnings("ConstantConditions")     // Protobuf getters do not return {@code null}s.
+        MessageRecordSpec<String, Tally> spec =
+                new MessageRecordSpec<>(String.class,
+                                        Tally.class,
+                                        Tally::getId,
+                                        TallyColumn.definitions());
+        return spec;
+    }
+
+    /**
+     * Writes all the passed records.
+     */
+    public void writeAll(ImmutableList<Tally> records) {
+        writeBatch(records);
+    }
+
+    /**
+     * Reads the records matching the passed query.
+     */
+    @Override
+    public Iterator<Tally> readAll(RecordQuery<String, Tally> query) {
+        return super.readAll(query);
+    }
+}
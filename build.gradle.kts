@@ -67,6 +67,7 @@ plugins {
     with(io.spine.gradle.internal.Deps.versions) {
         id("com.google.protobuf") version protobufPlugin
         id("net.ltgt.errorprone") version errorPronePlugin
+        id("me.champeau.gradle.jmh") version jmhPlugin apply false
     }
 }
 
@@ -264,7 +265,8 @@ subprojects {
      */
     fun shouldPublishJavadoc() =
         !project.name.startsWith("testutil") &&
-        !project.name.startsWith("model")
+        !project.name.startsWith("model") &&
+        project.name != "benchmarks"
 
     // Apply the Javadoc publishing plugin.
     // This plugin *must* be applied here, not in the module `build.gradle` files.
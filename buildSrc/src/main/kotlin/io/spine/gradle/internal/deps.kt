@@ -110,6 +110,8 @@ object Versions {
     val ouathJwt         = "3.11.0"
     val bouncyCastlePkcs = "1.66"
     val assertK          = "0.23"
+    val jmh              = "1.27"
+    val jmhPlugin        = "0.5.3"
 
     /**
      * Version of the SLF4J library.
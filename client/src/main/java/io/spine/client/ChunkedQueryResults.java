@@ -0,0 +1,111 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package io.spine.client;
+
+import com.google.common.collect.Iterators;
+import io.spine.base.EntityState;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.protobuf.AnyPacker.unpack;
+import static java.util.Spliterators.spliteratorUnknownSize;
+
+/**
+ * The results of a query read from the server lazily, chunk by chunk.
+ *
+ * <p>The next chunk is requested only when all the results of the previous chunk are consumed.
+ *
+ * <p>If the reading is interrupted, it may be resumed by running the same query
+ * {@linkplain ClientRequest#stream(io.spine.query.EntityQuery, QueryCursor) after}
+ * the last obtained {@linkplain #cursor() cursor}. As cursors point to the chunk boundaries,
+ * the results of a partially consumed chunk are delivered again after resuming.
+ *
+ * @param <S>
+ *         the type of the queried entity states
+ */
+public final class ChunkedQueryResults<S extends EntityState<?>> implements Iterator<S> {
+
+    private final Iterator<QueryResponseChunk> chunks;
+    private final Class<S> stateType;
+    private Iterator<EntityStateWithVersion> current = Iterators.emptyIterator();
+    private QueryCursor cursor;
+
+    ChunkedQueryResults(Iterator<QueryResponseChunk> chunks, Class<S> stateType, QueryCursor start) {
+        this.chunks = checkNotNull(chunks);
+        this.stateType = checkNotNull(stateType);
+        this.cursor = checkNotNull(start);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (!chunks.hasNext()) {
+                return false;
+            }
+            QueryResponseChunk chunk = chunks.next();
+            current = chunk.getMessageList()
+                           .iterator();
+            cursor = chunk.getCursor();
+        }
+        return true;
+    }
+
+    @Override
+    public S next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more query results.");
+        }
+        S result = unpack(current.next().getState(), stateType);
+        return result;
+    }
+
+    /**
+     * Obtains the position after the last chunk received from the server.
+     *
+     * <p>Returns an empty {@code Optional} if no chunks were received yet, and the reading
+     * did not start from a cursor.
+     */
+    public Optional<QueryCursor> cursor() {
+        return cursor.getValue()
+                     .isEmpty()
+               ? Optional.empty()
+               : Optional.of(cursor);
+    }
+
+    /**
+     * Obtains the remaining results as a sequential stream.
+     */
+    public Stream<S> stream() {
+        Spliterator<S> spliterator = spliteratorUnknownSize(this, Spliterator.ORDERED);
+        return StreamSupport.stream(spliterator, false);
+    }
+}
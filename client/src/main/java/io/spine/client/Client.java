@@ -28,6 +28,7 @@ package io.spine.client;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
@@ -44,9 +45,11 @@ import io.spine.core.UserId;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.Iterator;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static io.spine.util.Exceptions.illegalStateWithCauseOf;
 import static io.spine.util.Preconditions2.checkNotDefaultArg;
@@ -89,6 +92,12 @@ public class Client implements AutoCloseable {
     /** The default amount of time to wait when {@linkplain #close() closing} the client. */
     public static final Timeout DEFAULT_SHUTDOWN_TIMEOUT = Timeout.of(5, SECONDS);
 
+    /**
+     * The default max number of the commands {@linkplain CommandRequest#postAsync() posted
+     * asynchronously} which may await for an acknowledgement at the same time.
+     */
+    public static final int DEFAULT_MAX_COMMANDS_IN_FLIGHT = 1_000;
+
     /** Default ID for a guest user. */
     public static final UserId DEFAULT_GUEST_ID = user("guest");
 
@@ -110,6 +119,9 @@ public class Client implements AutoCloseable {
     /** The stub for communicating with the {@code CommandService}. */
     private final CommandServiceBlockingStub commandService;
 
+    /** Posts the commands asynchronously through the {@code CommandService}. */
+    private final CommandPipeline commandPipeline;
+
     /** Active subscriptions maintained by the client. */
     private final Subscriptions subscriptions;
 
@@ -172,10 +184,15 @@ public class Client implements AutoCloseable {
         this.channel = checkNotNull(builder.channel);
         this.shutdownTimeout = checkNotNull(builder.shutdownTimeout);
         this.commandService = CommandServiceGrpc.newBlockingStub(channel);
+        this.commandPipeline = new CommandPipeline(CommandServiceGrpc.newStub(channel),
+                                                   builder.maxCommandsInFlight);
         this.queryService = QueryServiceGrpc.newBlockingStub(channel);
         this.streamingErrorHandler = builder.streamingErrorHandler;
         this.serverErrorHandler = builder.serverErrorHandler;
-        this.subscriptions = new Subscriptions(channel, streamingErrorHandler, serverErrorHandler);
+        this.subscriptions = new Subscriptions(channel,
+                                               streamingErrorHandler,
+                                               serverErrorHandler,
+                                               builder.multiplexSubscriptions);
     }
 
     /**
@@ -202,6 +219,7 @@ public class Client implements AutoCloseable {
             return;
         }
         subscriptions.cancelAll();
+        commandPipeline.close();
         try {
             channel.shutdown()
                    .awaitTermination(shutdownTimeout.value(), shutdownTimeout.unit());
@@ -300,6 +318,18 @@ public class Client implements AutoCloseable {
         return ack;
     }
 
+    /**
+     * Posts the command to the {@code CommandService} without waiting for
+     * the acknowledgement.
+     *
+     * <p>Blocks if the max number of the commands awaiting for an acknowledgement is reached.
+     *
+     * @see Builder#maxCommandsInFlight(int)
+     */
+    ListenableFuture<Ack> postAsync(Command c) {
+        return commandPipeline.post(c);
+    }
+
     /**
      * Queries the read-side with the specified query.
      */
@@ -310,6 +340,28 @@ public class Client implements AutoCloseable {
         return result;
     }
 
+    /**
+     * Queries the read-side with the specified query reading the results by chunks.
+     *
+     * @param query
+     *         the query to run
+     * @param stateType
+     *         the type of the queried entity states
+     * @param after
+     *         the cursor after which to read the results, or the default instance
+     *         to read from the beginning
+     */
+    <S extends EntityState<?>> ChunkedQueryResults<S>
+    readStream(Query query, Class<S> stateType, QueryCursor after) {
+        QueryStreamRequest request = QueryStreamRequest
+                .newBuilder()
+                .setQuery(query)
+                .setCursor(after)
+                .build();
+        Iterator<QueryResponseChunk> chunks = queryService.readStream(request);
+        return new ChunkedQueryResults<>(chunks, stateType, after);
+    }
+
     private static UserId user(String value) {
         checkNotEmptyOrBlank(value);
         return UserId.newBuilder()
@@ -354,6 +406,11 @@ public class Client implements AutoCloseable {
         private @Nullable ErrorHandler streamingErrorHandler;
         private @Nullable ServerErrorHandler serverErrorHandler;
 
+        private int maxCommandsInFlight = DEFAULT_MAX_COMMANDS_IN_FLIGHT;
+
+        /** Tells if all subscriptions of the client are served by a single stream. */
+        private boolean multiplexSubscriptions = false;
+
         private Builder(ManagedChannel channel) {
             this.channel = checkNotNull(channel);
         }
@@ -469,6 +526,39 @@ public class Client implements AutoCloseable {
             return this;
         }
 
+        /**
+         * Sets the max number of the commands {@linkplain CommandRequest#postAsync() posted
+         * asynchronously} which may await for an acknowledgement at the same time.
+         *
+         * <p>When the limit is reached, posting the next command blocks until one of
+         * the pending commands is acknowledged.
+         *
+         * <p>If not set directly, {@link Client#DEFAULT_MAX_COMMANDS_IN_FLIGHT} is used.
+         */
+        @CanIgnoreReturnValue
+        public Builder maxCommandsInFlight(int value) {
+            checkArgument(value > 0,
+                          "The number of commands in flight must be positive. Got: %s.", value);
+            this.maxCommandsInFlight = value;
+            return this;
+        }
+
+        /**
+         * Configures the client to serve all its subscriptions by a single long-lived
+         * bidirectional stream.
+         *
+         * <p>By default, each subscription requires two calls to the {@code SubscriptionService}
+         * and holds its own server stream. Multiplexing saves the transport resources when
+         * the client holds many subscriptions at once, e.g. when it posts commands
+         * {@linkplain CommandRequest#observe(Class, EventConsumer) observing} several
+         * outcome events.
+         */
+        @CanIgnoreReturnValue
+        public Builder multiplexSubscriptions() {
+            this.multiplexSubscriptions = true;
+            return this;
+        }
+
         /**
          * Creates a new instance of the client.
          */
@@ -127,6 +127,40 @@ public class ClientRequest {
         return results;
     }
 
+    /**
+     * Runs the {@link EntityQuery} and lazily reads the matched entity states by chunks.
+     *
+     * <p>Unlike {@link #run(EntityQuery) run()}, does not require the whole result set to fit
+     * into a single response. Use this method for reading large result sets.
+     *
+     * <p>The results are read in the order of the entity identifiers. The query must not specify
+     * the ordering of the results.
+     *
+     * @param <S>
+     *         the type of the entity state for which the query is run
+     * @see #stream(EntityQuery, QueryCursor)
+     */
+    public <S extends EntityState<?>> ChunkedQueryResults<S> stream(EntityQuery<?, S, ?> query) {
+        return stream(query, QueryCursor.getDefaultInstance());
+    }
+
+    /**
+     * Resumes reading the results of the {@link EntityQuery} after the passed cursor.
+     *
+     * <p>The cursor must be {@linkplain ChunkedQueryResults#cursor() obtained} when reading
+     * the results of a query with the same target, filters, and field mask.
+     *
+     * @param <S>
+     *         the type of the entity state for which the query is run
+     */
+    public <S extends EntityState<?>> ChunkedQueryResults<S>
+    stream(EntityQuery<?, S, ?> query, QueryCursor after) {
+        checkNotNull(after);
+        QueryRequest<S> request = new QueryRequest<>(this, query);
+        ChunkedQueryResults<S> results = request.stream(after);
+        return results;
+    }
+
     /**
      * Obtains the ID of the user of the request.
      */
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package io.spine.client;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import io.grpc.stub.StreamObserver;
+import io.spine.base.Identifier;
+import io.spine.client.grpc.CommandServiceGrpc.CommandServiceStub;
+import io.spine.core.Ack;
+import io.spine.core.Command;
+import io.spine.core.CommandId;
+import io.spine.logging.Logging;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static io.spine.util.Exceptions.newIllegalArgumentException;
+
+/**
+ * Posts commands to the {@code CommandService} without waiting for the acknowledgement
+ * of one command before sending the next one.
+ *
+ * <p>The commands are sent over a single long-lived stream, which is opened with the first
+ * posted command. The acknowledgements are delivered asynchronously via the futures returned
+ * from {@link #post(Command)}.
+ *
+ * <p>The number of the commands which are sent but not yet acknowledged is bounded.
+ * When the limit is reached, {@code post(Command)} blocks until one of the pending commands
+ * is acknowledged.
+ *
+ * <p>If the stream fails, the futures of all the pending commands fail with the same cause,
+ * and the next posted command opens a new stream.
+ */
+final class CommandPipeline implements Logging {
+
+    private final CommandServiceStub service;
+    private final Semaphore window;
+    private final Map<CommandId, SettableFuture<Ack>> pending = new ConcurrentHashMap<>();
+
+    /** The current stream of commands, or {@code null} if the stream is not opened yet. */
+    private @Nullable AckStream stream;
+
+    /**
+     * Creates a new pipeline.
+     *
+     * @param service
+     *         the stub for opening the stream of commands
+     * @param maxInFlight
+     *         the max number of the commands awaiting for acknowledgement
+     */
+    CommandPipeline(CommandServiceStub service, int maxInFlight) {
+        checkArgument(maxInFlight > 0,
+                      "The number of commands in flight must be positive. Got: %s.",
+                      maxInFlight);
+        this.service = checkNotNull(service);
+        this.window = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Sends the command to the server.
+     *
+     * <p>Blocks if the max number of the commands in flight is reached.
+     *
+     * @return the future acknowledgement of the command
+     * @throws IllegalArgumentException
+     *         if a command with the same ID is already awaiting for an acknowledgement
+     */
+    ListenableFuture<Ack> post(Command command) {
+        checkNotNull(command);
+        CommandId id = command.getId();
+        acquireSlot();
+        SettableFuture<Ack> result = SettableFuture.create();
+        if (pending.putIfAbsent(id, result) != null) {
+            window.release();
+            throw newIllegalArgumentException(
+                    "The command `%s` is already awaiting for an acknowledgement.", id.getUuid()
+            );
+        }
+        boolean sent = false;
+        try {
+            send(command);
+            sent = true;
+        } finally {
+            if (!sent && pending.remove(id, result)) {
+                window.release();
+            }
+        }
+        return result;
+    }
+
+    private void acquireSlot() {
+        try {
+            window.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    private synchronized void send(Command command) {
+        if (stream == null) {
+            stream = new AckStream();
+        }
+        stream.requests.onNext(command);
+    }
+
+    /**
+     * Completes the stream of commands, if it is open.
+     *
+     * <p>The commands sent before this call are still acknowledged.
+     */
+    synchronized void close() {
+        if (stream != null) {
+            stream.requests.onCompleted();
+            stream = null;
+        }
+    }
+
+    private void acknowledge(Ack ack) {
+        CommandId id = Identifier.unpack(ack.getMessageId(), CommandId.class);
+        SettableFuture<Ack> future = pending.remove(id);
+        if (future != null) {
+            window.release();
+            future.set(ack);
+        } else {
+            _warn().log("Received an acknowledgement of an unknown command `%s`.", id.getUuid());
+        }
+    }
+
+    private void fail(Throwable t) {
+        for (CommandId id : ImmutableList.copyOf(pending.keySet())) {
+            SettableFuture<Ack> future = pending.remove(id);
+            if (future != null) {
+                window.release();
+                future.setException(t);
+            }
+        }
+    }
+
+    private synchronized void forget(AckStream closed) {
+        if (stream == closed) {
+            stream = null;
+        }
+    }
+
+    /**
+     * A stream of commands along with the observer of their acknowledgements.
+     */
+    private final class AckStream implements StreamObserver<Ack> {
+
+        private final StreamObserver<Command> requests;
+
+        private AckStream() {
+            this.requests = service.postStream(this);
+        }
+
+        @Override
+        public void onNext(Ack ack) {
+            acknowledge(ack);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            forget(this);
+            fail(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            forget(this);
+        }
+    }
+}
@@ -28,6 +28,7 @@ package io.spine.client;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.errorprone.annotations.OverridingMethodsMustInvokeSuper;
 import io.spine.base.CommandMessage;
@@ -39,11 +40,15 @@ import io.spine.logging.Logging;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.util.concurrent.Futures.getDone;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static com.google.protobuf.TextFormat.shortDebugString;
 import static io.spine.client.EventsAfterCommand.subscribe;
+import static io.spine.core.Status.StatusCase.ERROR;
 import static io.spine.util.Exceptions.newIllegalStateException;
 
 /**
@@ -198,6 +203,32 @@ public final class CommandRequest extends ClientRequest implements Logging {
         op.performWithoutSubscriptions();
     }
 
+    /**
+     * Posts the command without waiting for the acknowledgement from the server.
+     *
+     * <p>Unlike {@link #postAndForget()}, does not block for a round trip to the server.
+     * The commands posted this way are pipelined through a single stream, which makes this
+     * method suitable for posting large amounts of commands.
+     *
+     * <p>If the server does not accept the command, the error is reported to
+     * the {@linkplain #onServerError(ServerErrorHandler) server error handler} in addition
+     * to being returned in the {@code Ack}. The future fails only if the command could not
+     * be delivered to the server.
+     *
+     * <p>Blocks if the max number of the commands awaiting for an acknowledgement
+     * is {@linkplain Client.Builder#maxCommandsInFlight(int) reached}.
+     *
+     * @return the future acknowledgement of the command
+     * @throws IllegalStateException
+     *         if {@link #observe(Class, EventConsumer)} or {@link #observe(Class, Consumer)} were
+     *         called in the command request configuration chain before calling this method
+     * @see #postAndForget()
+     */
+    public ListenableFuture<Ack> postAsync() throws IllegalStateException {
+        PostOperation op = new PostOperation();
+        return op.performAsync();
+    }
+
     @VisibleForTesting
     CommandMessage message() {
         return message;
@@ -247,6 +278,43 @@ public final class CommandRequest extends ClientRequest implements Logging {
             handleStatus(status);
         }
 
+        private ListenableFuture<Ack> performAsync() {
+            if (!consumers.isEmpty()) {
+                throw newIllegalStateException(
+                        "Subscriptions to events were requested. Please call `post()` instead."
+                );
+            }
+            ListenableFuture<Ack> result = client().postAsync(command);
+            result.addListener(() -> handleAsyncAck(result), directExecutor());
+            return result;
+        }
+
+        private void handleAsyncAck(ListenableFuture<Ack> ack) {
+            if (!ack.isDone() || ack.isCancelled()) {
+                return;
+            }
+            try {
+                Status status = getDone(ack).getStatus();
+                if (status.getStatusCase() == ERROR) {
+                    reportErrorWhenPosting(status);
+                }
+            } catch (ExecutionException e) {
+                reportStreamingError(e.getCause());
+            }
+        }
+
+        private void reportStreamingError(Throwable cause) {
+            ErrorHandler handler = streamingErrorHandler();
+            if (handler != null) {
+                handler.accept(cause);
+            } else {
+                CommandRequest.this._error()
+                                   .withCause(cause)
+                                   .log("Unable to post the command `%s`.",
+                                        shortDebugString(command));
+            }
+        }
+
         private void subscribeToEvents() {
             Client client = client();
             this.subscriptions = subscribe(client, command, consumers, streamingErrorHandler());
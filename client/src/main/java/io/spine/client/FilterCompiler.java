@@ -0,0 +1,320 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.client;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Any;
+import com.google.protobuf.Message;
+import io.spine.annotation.Internal;
+import io.spine.base.Field;
+import io.spine.client.CompositeFilter.CompositeOperator;
+import io.spine.client.Filter.Operator;
+import io.spine.core.Event;
+import io.spine.protobuf.TypeConverter;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.spine.util.Exceptions.newIllegalArgumentException;
+
+/**
+ * Compiles {@link Filter}s and {@link CompositeFilter}s into reusable predicates.
+ *
+ * <p>Testing a message with a {@code Filter} directly requires parsing the field path and
+ * unpacking the expected value on each call. A compiled predicate does this work once:
+ * <ul>
+ *     <li>the field paths are resolved into {@link Field}s when compiling;
+ *     <li>the expected values are unpacked once per runtime class of the compared field;
+ *     <li>the operators are resolved into their {@link OperatorEvaluator}s;
+ *     <li>within a composite filter, the equality checks go before the ordering comparisons,
+ *         so that the cheaper checks short-circuit the evaluation.
+ * </ul>
+ *
+ * <p>The compiled predicates behave the same way as the source filters. They are immutable
+ * and safe to use from multiple threads.
+ */
+@Internal
+public final class FilterCompiler {
+
+    /**
+     * The name of the {@code Event} field which marks the filters addressing
+     * the event context.
+     */
+    private static final String CONTEXT_FIELD = Event.Field.context()
+                                                           .getField()
+                                                           .toString();
+
+    /** Prevents this utility class instantiation. */
+    private FilterCompiler() {
+    }
+
+    /**
+     * Compiles the given target filters into a predicate of entity states.
+     *
+     * <p>The resulting predicate passes a message if it passes all of the composite filters.
+     * The {@linkplain TargetFilters#getIdFilter() ID filter} is not taken into account.
+     */
+    public static Predicate<Message> compile(TargetFilters filters) {
+        checkNotNull(filters);
+        Node node = all(filters.getFilterList(), false);
+        return message -> node.test(new Subject(checkNotNull(message)));
+    }
+
+    /**
+     * Compiles the given composite filter into a predicate of messages.
+     */
+    public static Predicate<Message> compile(CompositeFilter filter) {
+        checkNotNull(filter);
+        Node node = composite(filter, false);
+        return message -> node.test(new Subject(checkNotNull(message)));
+    }
+
+    /**
+     * Compiles the given target filters into a predicate of events.
+     *
+     * <p>The filters which field path starts with {@code "context"} are applied to the whole
+     * {@code Event}. Other filters are applied to the event message, which is unpacked at most
+     * once per tested event.
+     *
+     * <p>The resulting predicate passes an event if it passes all of the composite filters.
+     * The {@linkplain TargetFilters#getIdFilter() ID filter} is not taken into account.
+     *
+     * @see Filters#toEventFilter(CompositeFilter)
+     */
+    public static Predicate<Event> compileForEvents(TargetFilters filters) {
+        checkNotNull(filters);
+        Node node = all(filters.getFilterList(), true);
+        return event -> node.test(Subject.ofEvent(checkNotNull(event)));
+    }
+
+    private static Node all(List<CompositeFilter> filters, boolean forEvents) {
+        ImmutableList<Node> nodes = filters.stream()
+                                           .map(f -> composite(f, forEvents))
+                                           .collect(toImmutableList());
+        return new AllOf(nodes);
+    }
+
+    @SuppressWarnings("EnumSwitchStatementWhichMissesCases") // OK for Proto enum.
+    private static Node composite(CompositeFilter filter, boolean forEvents) {
+        ImmutableList<Node> nodes =
+                filter.getFilterList()
+                      .stream()
+                      .sorted(Comparator.comparing(FilterCompiler::isOrdering))
+                      .map(f -> simple(f, forEvents))
+                      .collect(toImmutableList());
+        CompositeOperator operator = filter.getOperator();
+        switch (operator) {
+            case ALL:
+                return new AllOf(nodes);
+            case EITHER:
+                return new AnyOf(nodes);
+            default:
+                return subject -> {
+                    throw newIllegalArgumentException(
+                            "Unknown composite filter operator `%s`.", operator);
+                };
+        }
+    }
+
+    private static boolean isOrdering(Filter filter) {
+        return filter.getOperator() != Operator.EQUAL;
+    }
+
+    private static Node simple(Filter filter, boolean forEvents) {
+        boolean byContext = forEvents && isContextFilter(filter);
+        return new FieldCondition(filter, byContext);
+    }
+
+    private static boolean isContextFilter(Filter filter) {
+        String firstInPath = filter.getFieldPath()
+                                   .getFieldName(0);
+        return CONTEXT_FIELD.equals(firstInPath);
+    }
+
+    /**
+     * A message tested by a compiled predicate.
+     *
+     * <p>When testing an event, lazily unpacks and keeps the event message, so that it is
+     * shared by all the conditions of the predicate.
+     */
+    private static final class Subject {
+
+        private final Message message;
+        private final @Nullable Event event;
+        private @Nullable Message enclosed;
+
+        private Subject(Message message) {
+            this.message = message;
+            this.event = null;
+        }
+
+        private Subject(Event event) {
+            this.message = event;
+            this.event = event;
+        }
+
+        private static Subject ofEvent(Event event) {
+            return new Subject(event);
+        }
+
+        private Message get(boolean byContext) {
+            if (event == null || byContext) {
+                return message;
+            }
+            if (enclosed == null) {
+                enclosed = event.enclosedMessage();
+            }
+            return enclosed;
+        }
+    }
+
+    /**
+     * A node of a compiled filter tree.
+     */
+    @FunctionalInterface
+    private interface Node {
+
+        boolean test(Subject subject);
+    }
+
+    /**
+     * Passes the subject if all of the nodes pass it.
+     */
+    private static final class AllOf implements Node {
+
+        private final ImmutableList<Node> nodes;
+
+        private AllOf(ImmutableList<Node> nodes) {
+            this.nodes = nodes;
+        }
+
+        @Override
+        public boolean test(Subject subject) {
+            for (Node node : nodes) {
+                if (!node.test(subject)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Passes the subject if at least one of the nodes passes it.
+     */
+    private static final class AnyOf implements Node {
+
+        private final ImmutableList<Node> nodes;
+
+        private AnyOf(ImmutableList<Node> nodes) {
+            this.nodes = nodes;
+        }
+
+        @Override
+        public boolean test(Subject subject) {
+            for (Node node : nodes) {
+                if (node.test(subject)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Compares the value of a message field to the value expected by a {@code Filter}.
+     */
+    private static final class FieldCondition implements Node {
+
+        private final Field field;
+        private final Operator operator;
+        private final @Nullable OperatorEvaluator evaluator;
+        private final Any expectedValue;
+        private final boolean byContext;
+
+        /**
+         * The expected value unpacked for the last seen class of the actual field value.
+         */
+        private volatile @Nullable Expected expected;
+
+        private FieldCondition(Filter filter, boolean byContext) {
+            this.field = Field.withPath(filter.getFieldPath());
+            this.operator = filter.getOperator();
+            this.evaluator = OperatorEvaluator.of(operator);
+            this.expectedValue = filter.getValue();
+            this.byContext = byContext;
+        }
+
+        @Override
+        public boolean test(Subject subject) {
+            Object actual = field.valueIn(subject.get(byContext));
+            Object required = expectedFor(actual.getClass());
+            if (evaluator == null) {
+                throw newIllegalArgumentException(
+                        "Filter operator `%s` is not supported.", operator);
+            }
+            try {
+                return evaluator.eval(actual, required);
+            } catch (IllegalArgumentException e) {
+                throw newIllegalArgumentException(
+                        e,
+                        "Filter value `%s` cannot be properly compared to" +
+                                " the message field `%s` of the class `%s`.",
+                        required, field, actual.getClass().getName()
+                );
+            }
+        }
+
+        private Object expectedFor(Class<?> actualClass) {
+            Expected current = expected;
+            if (current == null || current.valueClass != actualClass) {
+                Object value = TypeConverter.toObject(expectedValue, actualClass);
+                current = new Expected(actualClass, value);
+                expected = current;
+            }
+            return current.value;
+        }
+    }
+
+    /**
+     * An expected value unpacked for a particular class.
+     */
+    private static final class Expected {
+
+        private final Class<?> valueClass;
+        private final Object value;
+
+        private Expected(Class<?> valueClass, Object value) {
+            this.valueClass = valueClass;
+            this.value = value;
+        }
+    }
+}
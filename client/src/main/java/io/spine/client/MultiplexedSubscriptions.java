@@ -0,0 +1,236 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package io.spine.client;
+
+import com.google.common.collect.ImmutableList;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import io.spine.base.Error;
+import io.spine.client.grpc.SubscriptionServiceGrpc.SubscriptionServiceStub;
+import io.spine.grpc.MetadataConverter;
+import io.spine.logging.Logging;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The client side of a multiplexed subscription stream.
+ *
+ * <p>Sends the subscription and cancellation requests over a single long-lived bidirectional
+ * stream and routes the received updates to the observers of the respective subscriptions.
+ *
+ * <p>The stream is opened on the first subscription. If the stream fails, the observers
+ * of all the subscriptions served by the stream are notified of the error, and the next
+ * subscription opens a new stream.
+ */
+final class MultiplexedSubscriptions
+        implements StreamObserver<SubscriptionStreamResponse>, Logging {
+
+    private final SubscriptionServiceStub service;
+    private final Map<SubscriptionId, Route> routes = new ConcurrentHashMap<>();
+    private final Consumer<Subscription> onRemoved;
+    private final ServerErrorHandler serverErrorHandler;
+
+    /** The requests stream, or {@code null} if the stream is not opened yet. */
+    private @Nullable StreamObserver<SubscriptionStreamRequest> requests;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param service
+     *         the stub for opening the stream
+     * @param onRemoved
+     *         the callback invoked when the subscription is no longer served by the stream
+     * @param serverErrorHandler
+     *         the handler of errors returned by the server in response to the requests
+     */
+    MultiplexedSubscriptions(SubscriptionServiceStub service,
+                             Consumer<Subscription> onRemoved,
+                             ServerErrorHandler serverErrorHandler) {
+        this.service = checkNotNull(service);
+        this.onRemoved = checkNotNull(onRemoved);
+        this.serverErrorHandler = checkNotNull(serverErrorHandler);
+    }
+
+    /**
+     * Requests the server to create and activate the passed subscription.
+     *
+     * <p>The updates of the subscription are delivered to the passed observer.
+     */
+    void subscribe(Subscription subscription, StreamObserver<SubscriptionUpdate> observer) {
+        checkNotNull(subscription);
+        checkNotNull(observer);
+        routes.put(subscription.getId(), new Route(subscription, observer));
+        SubscriptionStreamRequest request = SubscriptionStreamRequest
+                .newBuilder()
+                .setSubscribe(subscription)
+                .build();
+        send(request);
+    }
+
+    /**
+     * Requests the server to cancel the passed subscription.
+     */
+    void cancel(Subscription subscription) {
+        checkNotNull(subscription);
+        SubscriptionStreamRequest request = SubscriptionStreamRequest
+                .newBuilder()
+                .setCancel(subscription)
+                .build();
+        send(request);
+    }
+
+    /**
+     * Completes the stream, if it is open.
+     *
+     * <p>The server cancels all the subscriptions which remain active in the stream.
+     */
+    void close() {
+        StreamObserver<SubscriptionStreamRequest> current;
+        ImmutableList<Route> remaining;
+        synchronized (this) {
+            current = requests;
+            remaining = resetStream();
+        }
+        if (current != null) {
+            current.onCompleted();
+        }
+        remaining.forEach(route -> onRemoved.accept(route.subscription));
+    }
+
+    private synchronized void send(SubscriptionStreamRequest request) {
+        if (requests == null) {
+            requests = service.multiplex(this);
+        }
+        requests.onNext(request);
+    }
+
+    @Override
+    public void onNext(SubscriptionStreamResponse response) {
+        switch (response.getKindCase()) {
+            case SUBSCRIBED:
+                _debug().log("Subscription `%s` activated.",
+                             response.getSubscribed().toShortString());
+                break;
+            case CANCELLED:
+                remove(response.getCancelled());
+                break;
+            case UPDATE:
+                deliver(response.getUpdate());
+                break;
+            case ERROR:
+                fail(response.getError());
+                break;
+            case KIND_NOT_SET:
+            default:
+                _warn().log("Unsupported subscription stream response: `%s`.",
+                            response.getKindCase());
+        }
+    }
+
+    private void deliver(SubscriptionUpdate update) {
+        SubscriptionId id = update.getSubscription()
+                                  .getId();
+        Route route = routes.get(id);
+        if (route != null) {
+            route.observer.onNext(update);
+        }
+    }
+
+    /**
+     * Stops serving the subscription which failed on the server.
+     *
+     * <p>The error is passed to the server error handler. The observer of the subscription is
+     * then {@linkplain StreamObserver#onError(Throwable) notified} of the error, which carries
+     * the server {@code Error} in its
+     * {@linkplain io.spine.grpc.StreamObservers#fromStreamError(Throwable) metadata}.
+     */
+    private void fail(SubscriptionStreamError streamError) {
+        Subscription subscription = streamError.getSubscription();
+        Error error = streamError.getError();
+        @Nullable Route route = routes.remove(subscription.getId());
+        onRemoved.accept(subscription);
+        serverErrorHandler.accept(subscription, error);
+        if (route != null) {
+            StatusRuntimeException exception =
+                    Status.UNKNOWN
+                          .withDescription(error.getMessage())
+                          .asRuntimeException(MetadataConverter.toMetadata(error));
+            route.observer.onError(exception);
+        }
+    }
+
+    private void remove(Subscription subscription) {
+        routes.remove(subscription.getId());
+        onRemoved.accept(subscription);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        ImmutableList<Route> failed = resetStream();
+        for (Route route : failed) {
+            onRemoved.accept(route.subscription);
+            route.observer.onError(t);
+        }
+    }
+
+    @Override
+    public void onCompleted() {
+        ImmutableList<Route> remaining = resetStream();
+        remaining.forEach(route -> onRemoved.accept(route.subscription));
+    }
+
+    /**
+     * Forgets the current stream along with the routes of its subscriptions.
+     *
+     * @return the routes of the subscriptions which were served by the stream
+     */
+    private synchronized ImmutableList<Route> resetStream() {
+        requests = null;
+        ImmutableList<Route> result = ImmutableList.copyOf(routes.values());
+        routes.clear();
+        return result;
+    }
+
+    /**
+     * A subscription served by the stream along with the observer of its updates.
+     */
+    private static final class Route {
+
+        private final Subscription subscription;
+        private final StreamObserver<SubscriptionUpdate> observer;
+
+        private Route(Subscription subscription, StreamObserver<SubscriptionUpdate> observer) {
+            this.subscription = subscription;
+            this.observer = observer;
+        }
+    }
+}
@@ -157,6 +157,16 @@ public enum OperatorEvaluator {
         return result;
     }
 
+    /**
+     * Obtains the evaluator for the given operator.
+     *
+     * @return the evaluator or {@code null} if the operator is not supported
+     */
+    static @Nullable OperatorEvaluator of(Operator operator) {
+        checkNotNull(operator);
+        return EVALUATORS.get(operator);
+    }
+
     /**
      * Evaluates the expression of joining the given operands with a certain operator.
      *
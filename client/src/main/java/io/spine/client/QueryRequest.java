@@ -71,4 +71,17 @@ final class QueryRequest<S extends EntityState<?>> extends ClientRequest {
         ImmutableList<S> result = client().read(query, entityStateType);
         return result;
     }
+
+    /**
+     * Executes the query reading its results lazily by chunks.
+     *
+     * @param after
+     *         the cursor after which to read the results, or the default instance
+     *         to read from the beginning
+     */
+    ChunkedQueryResults<S> stream(QueryCursor after) {
+        Query query = transformer.apply(entityQuery);
+        ChunkedQueryResults<S> result = client().readStream(query, entityStateType, after);
+        return result;
+    }
 }
@@ -66,6 +66,12 @@ import static java.util.Collections.synchronizedSet;
  * <p>All remaining subscriptions are {@linkplain #cancelAll() cancelled} by the {@code Client}
  * when it {@linkplain Client#close() closes}.
  *
+ * <p>If the client is {@linkplain Client.Builder#multiplexSubscriptions() configured} to
+ * multiplex subscriptions, all the subscriptions are served by a single bidirectional stream.
+ * In this mode subscribing does not block waiting for the server response, and the errors of
+ * creating a subscription are passed to the {@link ServerErrorHandler} and to the observer
+ * of the subscription.
+ *
  * @see ClientRequest#subscribeTo(Class)
  * @see ClientRequest#subscribeToEvent(Class)
  * @see CommandRequest#post()
@@ -78,14 +84,34 @@ public final class Subscriptions implements Logging {
     private final @Nullable ErrorHandler streamingErrorHandler;
     private final @Nullable ServerErrorHandler serverErrorHandler;
 
+    /** The stream serving all the subscriptions, or {@code null} if not multiplexing. */
+    private final @Nullable MultiplexedSubscriptions stream;
+
     Subscriptions(ManagedChannel channel,
                   @Nullable ErrorHandler streamingErrorHandler,
                   @Nullable ServerErrorHandler serverErrorHandler) {
+        this(channel, streamingErrorHandler, serverErrorHandler, false);
+    }
+
+    Subscriptions(ManagedChannel channel,
+                  @Nullable ErrorHandler streamingErrorHandler,
+                  @Nullable ServerErrorHandler serverErrorHandler,
+                  boolean multiplexed) {
         this.service = SubscriptionServiceGrpc.newStub(channel);
         this.blockingServiceStub = SubscriptionServiceGrpc.newBlockingStub(channel);
         this.streamingErrorHandler = streamingErrorHandler;
         this.serverErrorHandler = serverErrorHandler;
         this.items = synchronizedSet(new HashSet<>());
+        this.stream = multiplexed
+                      ? new MultiplexedSubscriptions(service, items::remove, streamErrorHandler())
+                      : null;
+    }
+
+    private ServerErrorHandler streamErrorHandler() {
+        return Optional.ofNullable(serverErrorHandler)
+                       .orElse(new LoggingServerErrorHandler(
+                               logger(), "Subscription `%s` failed. Returned error: `%s`."
+                       ));
     }
 
     /**
@@ -161,6 +187,12 @@ public final class Subscriptions implements Logging {
      * @see #cancel(Subscription)
      */
     <M extends Message> Subscription subscribeTo(Topic topic, StreamObserver<M> observer) {
+        if (stream != null) {
+            Subscription subscription = from(topic);
+            add(subscription);
+            stream.subscribe(subscription, new SubscriptionObserver<>(observer));
+            return subscription;
+        }
         Subscription subscription = blockingServiceStub.subscribe(topic);
         service.activate(subscription, new SubscriptionObserver<>(observer));
         add(subscription);
@@ -195,16 +227,25 @@ public final class Subscriptions implements Logging {
     }
 
     private void requestCancellation(Subscription s) {
-        service.cancel(s, new CancellationObserver(s));
+        if (stream != null) {
+            stream.cancel(s);
+        } else {
+            service.cancel(s, new CancellationObserver(s));
+        }
     }
 
     /**
      * Requests cancellation of all subscriptions.
+     *
+     * <p>If the subscriptions are multiplexed, the stream serving them is completed.
      */
     public void cancelAll() {
         // Create the copy for iterating to avoid `ConcurrentModificationException` on removal.
         ImmutableSet.copyOf(items)
                     .forEach(this::requestCancellation);
+        if (stream != null) {
+            stream.close();
+        }
     }
 
     @VisibleForTesting
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.client;
+
+import com.google.common.testing.NullPointerTester;
+import com.google.protobuf.Message;
+import io.spine.core.Event;
+import io.spine.test.client.ClProjectCreated;
+import io.spine.test.client.ClProjectName;
+import io.spine.test.client.TestEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Predicate;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.client.Filters.all;
+import static io.spine.client.Filters.either;
+import static io.spine.client.Filters.eq;
+import static io.spine.client.Filters.gt;
+import static io.spine.client.Filters.lt;
+import static io.spine.protobuf.AnyPacker.pack;
+import static io.spine.testing.DisplayNames.NOT_ACCEPT_NULLS;
+
+@DisplayName("`FilterCompiler` should")
+class FilterCompilerTest {
+
+    @Test
+    @DisplayName(NOT_ACCEPT_NULLS)
+    void passNullToleranceCheck() {
+        new NullPointerTester()
+                .testAllPublicStaticMethods(FilterCompiler.class);
+    }
+
+    @Nested
+    @DisplayName("compile a composite filter which")
+    class CompileComposite {
+
+        private final TestEntity entity = TestEntity
+                .newBuilder()
+                .setFirstField("first")
+                .setThirdField(42)
+                .build();
+
+        @Test
+        @DisplayName("requires all of the filters to pass")
+        void all() {
+            CompositeFilter matching = Filters.all(eq("first_field", "first"),
+                                                   gt("third_field", 41));
+            CompositeFilter notMatching = Filters.all(eq("first_field", "first"),
+                                                      lt("third_field", 41));
+            assertSameAsFilter(matching, true);
+            assertSameAsFilter(notMatching, false);
+        }
+
+        @Test
+        @DisplayName("requires either of the filters to pass")
+        void either() {
+            CompositeFilter matching = Filters.either(eq("first_field", "second"),
+                                                      gt("third_field", 41));
+            CompositeFilter notMatching = Filters.either(eq("first_field", "second"),
+                                                         lt("third_field", 41));
+            assertSameAsFilter(matching, true);
+            assertSameAsFilter(notMatching, false);
+        }
+
+        private void assertSameAsFilter(CompositeFilter filter, boolean expected) {
+            Predicate<Message> predicate = FilterCompiler.compile(filter);
+            assertThat(predicate.test(entity)).isEqualTo(expected);
+            assertThat(filter.test(entity)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("compile target filters requiring all of the composite filters to pass")
+    void targetFilters() {
+        TestEntity entity = TestEntity
+                .newBuilder()
+                .setFirstField("first")
+                .setThirdField(42)
+                .build();
+        TargetFilters filters = TargetFilters
+                .newBuilder()
+                .addFilter(all(eq("first_field", "first")))
+                .addFilter(either(lt("third_field", 0), gt("third_field", 0)))
+                .build();
+        assertThat(FilterCompiler.compile(filters)
+                                 .test(entity)).isTrue();
+
+        TargetFilters failing = filters
+                .toBuilder()
+                .addFilter(all(eq("third_field", 0)))
+                .build();
+        assertThat(FilterCompiler.compile(failing)
+                                 .test(entity)).isFalse();
+    }
+
+    @Test
+    @DisplayName("apply the filters to the event message when compiled for events")
+    void eventMessage() {
+        ClProjectCreated message = ClProjectCreated
+                .newBuilder()
+                .setId("project-id")
+                .setName(ClProjectName.newBuilder()
+                                      .setValue("Compiled"))
+                .build();
+        Event event = Event
+                .newBuilder()
+                .setMessage(pack(message))
+                .build();
+        TargetFilters filters = TargetFilters
+                .newBuilder()
+                .addFilter(all(eq("id", "project-id"), eq("name.value", "Compiled")))
+                .build();
+        assertThat(FilterCompiler.compileForEvents(filters)
+                                 .test(event)).isTrue();
+
+        TargetFilters failing = TargetFilters
+                .newBuilder()
+                .addFilter(all(eq("name.value", "Interpreted")))
+                .build();
+        assertThat(FilterCompiler.compileForEvents(failing)
+                                 .test(event)).isFalse();
+    }
+}
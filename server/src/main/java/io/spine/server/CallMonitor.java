@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server;
+
+import io.grpc.ForwardingServerCallListener.SimpleForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.spine.server.metrics.ServerMetrics;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.base.Strings.nullToEmpty;
+import static io.spine.server.metrics.ServerMetrics.GRPC_CALL_COMPLETED;
+import static io.spine.server.metrics.ServerMetrics.GRPC_CALL_STARTED;
+
+/**
+ * Counts the active calls of the gRPC services.
+ *
+ * <p>A call is active from the moment it arrives to the server, and until it is completed
+ * or cancelled. The long-living streams, such as subscriptions, stay active for their whole
+ * lifetime.
+ */
+final class CallMonitor implements ServerInterceptor {
+
+    private final ConcurrentMap<String, AtomicInteger> activeCalls = new ConcurrentHashMap<>();
+
+    @Override
+    public <Q, P> ServerCall.Listener<Q>
+    interceptCall(ServerCall<Q, P> call, Metadata headers, ServerCallHandler<Q, P> next) {
+        String service = nullToEmpty(call.getMethodDescriptor()
+                                         .getServiceName());
+        AtomicInteger counter = counterOf(service);
+        counter.incrementAndGet();
+        if (ServerMetrics.enabled()) {
+            ServerMetrics.counter(GRPC_CALL_STARTED, service)
+                         .increment();
+        }
+        ServerCall.Listener<Q> listener;
+        try {
+            listener = next.startCall(call, headers);
+        } catch (RuntimeException e) {
+            onFinished(service, counter);
+            throw e;
+        }
+        return new SimpleForwardingServerCallListener<Q>(listener) {
+
+            @Override
+            public void onComplete() {
+                try {
+                    super.onComplete();
+                } finally {
+                    onFinished(service, counter);
+                }
+            }
+
+            @Override
+            public void onCancel() {
+                try {
+                    super.onCancel();
+                } finally {
+                    onFinished(service, counter);
+                }
+            }
+        };
+    }
+
+    /**
+     * Obtains the number of the active calls of the service with the given name.
+     */
+    int activeCalls(String serviceName) {
+        AtomicInteger counter = activeCalls.get(serviceName);
+        return counter == null ? 0 : counter.get();
+    }
+
+    private AtomicInteger counterOf(String service) {
+        return activeCalls.computeIfAbsent(service, s -> new AtomicInteger());
+    }
+
+    private static void onFinished(String service, AtomicInteger counter) {
+        counter.decrementAndGet();
+        if (ServerMetrics.enabled()) {
+            ServerMetrics.counter(GRPC_CALL_COMPLETED, service)
+                         .increment();
+        }
+    }
+}
@@ -28,25 +28,47 @@ package io.spine.server;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.grpc.stub.StreamObserver;
 import io.spine.base.Error;
 import io.spine.client.grpc.CommandServiceGrpc;
 import io.spine.core.Ack;
 import io.spine.core.Command;
+import io.spine.grpc.DelegatingObserver;
 import io.spine.logging.Logging;
+import io.spine.server.admission.Admission;
+import io.spine.server.admission.AdmissionController;
+import io.spine.server.admission.CommandShedException;
 import io.spine.server.commandbus.CommandBus;
 import io.spine.server.commandbus.UnsupportedCommandException;
+import io.spine.server.metrics.ServerMetrics;
 import io.spine.server.type.CommandClass;
+import io.spine.server.type.CommandEnvelope;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 
+import static com.google.common.base.Preconditions.checkNotNull;
 import static io.spine.server.bus.Acks.reject;
+import static io.spine.server.metrics.ServerMetrics.COMMAND_SHED;
+import static java.util.concurrent.TimeUnit.MINUTES;
 
 /**
  * The {@code CommandService} allows client applications to post commands and
  * receive updates from the application backend.
+ *
+ * <p>Before posting to the {@code CommandBus}, the commands pass through
+ * the {@linkplain Builder#setAdmissionController(AdmissionController) admission control}.
+ * The commands which are not admitted are acknowledged with
+ * the {@linkplain CommandShedException#isShed(Error) shedding error}.
  */
 public final class CommandService
         extends CommandServiceGrpc.CommandServiceImplBase
@@ -54,13 +76,23 @@ public final class CommandService
 
     private final ImmutableMap<CommandClass, BoundedContext> commandToContext;
 
+    /** The executor which posts the commands arriving via command streams. */
+    private final Executor streamExecutor;
+
+    /** Decides which of the commands are posted, and which are shed. */
+    private final AdmissionController admission;
+
     /**
      * Constructs new instance using the map from a {@code CommandClass} to
      * a {@code BoundedContext} instance which handles the command.
      */
-    private CommandService(Map<CommandClass, BoundedContext> map) {
+    private CommandService(Map<CommandClass, BoundedContext> map,
+                           Executor streamExecutor,
+                           AdmissionController admission) {
         super();
         this.commandToContext = ImmutableMap.copyOf(map);
+        this.streamExecutor = streamExecutor;
+        this.admission = admission;
     }
 
     /**
@@ -76,9 +108,71 @@ public final class CommandService
         BoundedContext context = commandToContext.get(commandClass);
         if (context == null) {
             handleUnsupported(request, responseObserver);
-        } else {
-            CommandBus commandBus = context.commandBus();
+            return;
+        }
+        CommandBus commandBus = context.commandBus();
+        if (admission.admitsAll()) {
+            commandBus.post(request, responseObserver);
+            return;
+        }
+        Admission admitted = admission.admit(CommandEnvelope.of(request));
+        if (!admitted.granted()) {
+            handleShed(request, admitted, responseObserver);
+            responseObserver.onCompleted();
+            return;
+        }
+        try {
             commandBus.post(request, responseObserver);
+        } finally {
+            admitted.release();
+        }
+    }
+
+    /**
+     * Opens a stream of commands to be posted.
+     *
+     * <p>The commands are posted to the command buses in batches.
+     * An {@link Ack} is sent for each of the commands.
+     */
+    @Override
+    public StreamObserver<Command> postStream(StreamObserver<Ack> responseObserver) {
+        _debug().log("Opening a command stream.");
+        return new CommandStream(this, responseObserver, streamExecutor);
+    }
+
+    /**
+     * Posts the passed commands grouping them by the contexts which handle them.
+     *
+     * <p>Passes the acknowledgements of all the commands to the given observer,
+     * but does not complete it.
+     */
+    void postAll(Iterable<Command> commands, StreamObserver<Ack> responseObserver) {
+        StreamObserver<Ack> acks = new AckForwarder(responseObserver);
+        Map<BoundedContext, List<Command>> byContext = new LinkedHashMap<>();
+        List<Admission> admitted = new ArrayList<>();
+        try {
+            for (Command command : commands) {
+                CommandClass commandClass = CommandClass.of(command);
+                BoundedContext context = commandToContext.get(commandClass);
+                if (context == null) {
+                    handleUnsupported(command, acks);
+                    continue;
+                }
+                if (!admission.admitsAll()) {
+                    Admission commandAdmission = admission.admit(CommandEnvelope.of(command));
+                    if (!commandAdmission.granted()) {
+                        handleShed(command, commandAdmission, acks);
+                        continue;
+                    }
+                    admitted.add(commandAdmission);
+                }
+                byContext.computeIfAbsent(context, c -> new ArrayList<>())
+                         .add(command);
+            }
+            byContext.forEach((context, batch) -> context.commandBus()
+                                                         .post(batch, acks));
+        } finally {
+            admitted.forEach(Admission::release);
         }
     }
 
@@ -92,12 +186,51 @@ public final class CommandService
         responseObserver.onCompleted();
     }
 
+    /**
+     * Acknowledges the command refused by the admission control with the shedding error.
+     *
+     * <p>Does not complete the observer.
+     */
+    private void handleShed(Command command,
+                            Admission refused,
+                            StreamObserver<Ack> responseObserver) {
+        CommandShedException shed = refused.toException();
+        _debug().withCause(shed)
+                .log("Command shed by the admission control of `CommandService`.");
+        if (ServerMetrics.enabled()) {
+            ServerMetrics.counter(COMMAND_SHED, CommandEnvelope.of(command)
+                                                               .messageTypeName()
+                                                               .value())
+                         .increment();
+        }
+        Error error = shed.asError();
+        Ack response = reject(command.getId(), error);
+        responseObserver.onNext(response);
+    }
+
+    /**
+     * Passes the acknowledgements to the stream of responses, keeping the stream open.
+     */
+    private static final class AckForwarder extends DelegatingObserver<Ack> {
+
+        private AckForwarder(StreamObserver<? super Ack> delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void onCompleted() {
+            // The stream is completed when the client completes its stream of commands.
+        }
+    }
+
     /**
      * The builder for a {@code CommandService}.
      */
     public static class Builder {
 
         private final Set<BoundedContext> contexts = Sets.newHashSet();
+        private @Nullable Executor streamExecutor;
+        private AdmissionController admission = AdmissionController.admitAll();
 
         /**
          * Adds the {@code BoundedContext} to the builder.
@@ -129,15 +262,65 @@ public final class CommandService
             return contains;
         }
 
+        /**
+         * Sets the executor which posts the commands arriving via
+         * {@linkplain CommandService#postStream(StreamObserver) command streams}.
+         *
+         * <p>Each command stream submits at most one task at a time, which posts the commands
+         * queued in the stream.
+         *
+         * <p>If not set, a dedicated pool of daemon threads is used. The number of threads
+         * in the pool does not exceed the number of the available processors.
+         */
+        @CanIgnoreReturnValue
+        public Builder setStreamExecutor(Executor executor) {
+            this.streamExecutor = checkNotNull(executor);
+            return this;
+        }
+
+        /**
+         * Sets the controller which decides if the incoming commands are posted
+         * to the {@code CommandBus}, or shed.
+         *
+         * <p>If not set, {@linkplain AdmissionController#admitAll() all the commands}
+         * are admitted.
+         */
+        @CanIgnoreReturnValue
+        public Builder setAdmissionController(AdmissionController controller) {
+            this.admission = checkNotNull(controller);
+            return this;
+        }
+
         /**
          * Builds a new {@link CommandService}.
          */
         public CommandService build() {
             ImmutableMap<CommandClass, BoundedContext> map = createMap();
-            CommandService result = new CommandService(map);
+            Executor executor = streamExecutor != null
+                                ? streamExecutor
+                                : newStreamExecutor();
+            CommandService result = new CommandService(map, executor, admission);
             return result;
         }
 
+        /**
+         * Creates the default executor for the command streams.
+         *
+         * <p>The idle threads of the executor are terminated after a minute.
+         */
+        private static Executor newStreamExecutor() {
+            int threads = Runtime.getRuntime()
+                                 .availableProcessors();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                    threads, threads, 1, MINUTES, new LinkedBlockingQueue<>(),
+                    new ThreadFactoryBuilder().setNameFormat("command-stream-%d")
+                                              .setDaemon(true)
+                                              .build()
+            );
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+
         /**
          * Creates a map from {@code CommandClass}es to {@code BoundedContext}s that
          * handle such commands.
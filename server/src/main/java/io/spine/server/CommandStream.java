@@ -0,0 +1,175 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package io.spine.server;
+
+import com.google.common.collect.ImmutableList;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.spine.core.Ack;
+import io.spine.core.Command;
+import io.spine.logging.Logging;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+
+/**
+ * The server side of a stream of commands posted to the {@link CommandService}.
+ *
+ * <p>The incoming commands are queued and posted to the command buses in batches.
+ * A batch includes all the commands which arrived while the previous batch was being posted,
+ * up to the {@linkplain #MAX_BATCH_SIZE max batch size}. So, the more commands the client
+ * pipelines, the larger the batches become, while a single command is posted without any delay.
+ *
+ * <p>The batches are posted by the given executor, one batch at a time.
+ *
+ * <p>The number of the queued commands is bounded. If the stream is served by gRPC,
+ * the commands are {@linkplain ServerCallStreamObserver#request(int) requested} from
+ * the client only when there is room for them in the queue. Otherwise, a producer which
+ * outpaces the posting of the commands is blocked until the room appears.
+ *
+ * <p>The response stream is completed after all the commands sent by the client
+ * are acknowledged.
+ */
+final class CommandStream implements StreamObserver<Command>, Logging {
+
+    /** The max number of commands posted to a command bus at once. */
+    private static final int MAX_BATCH_SIZE = 100;
+
+    /** The max number of commands received, but not yet posted. */
+    private static final int MAX_QUEUED = 10 * MAX_BATCH_SIZE;
+
+    private final CommandService service;
+    private final StreamObserver<Ack> responseObserver;
+    private final Executor executor;
+    private final BlockingQueue<Command> queue = new ArrayBlockingQueue<>(MAX_QUEUED);
+
+    /** The gRPC call of the stream, or {@code null} if the stream is not served by gRPC. */
+    private final @Nullable ServerCallStreamObserver<Ack> call;
+
+    /**
+     * Tells if the batches are being posted at the moment.
+     *
+     * <p>Only the task which set the flag sends responses to the client.
+     */
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+
+    private volatile boolean completed = false;
+    private volatile boolean responseCompleted = false;
+
+    CommandStream(CommandService service,
+                  StreamObserver<Ack> responseObserver,
+                  Executor executor) {
+        this.service = checkNotNull(service);
+        this.responseObserver = checkNotNull(responseObserver);
+        this.executor = checkNotNull(executor);
+        this.call = responseObserver instanceof ServerCallStreamObserver
+                    ? (ServerCallStreamObserver<Ack>) responseObserver
+                    : null;
+        if (call != null) {
+            call.disableAutoInboundFlowControl();
+            call.request(MAX_QUEUED);
+        }
+    }
+
+    @Override
+    public void onNext(Command command) {
+        try {
+            queue.put(command);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            throw illegalStateWithCauseOf(e);
+        }
+        scheduleDrain();
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        _warn().withCause(t)
+               .log("The command stream failed. %d command(s) were not posted.", queue.size());
+        queue.clear();
+        responseCompleted = true;
+    }
+
+    @Override
+    public void onCompleted() {
+        completed = true;
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        boolean proceed = true;
+        while (proceed) {
+            postQueued();
+            if (completed && queue.isEmpty() && !responseCompleted) {
+                responseCompleted = true;
+                responseObserver.onCompleted();
+            }
+            draining.set(false);
+            boolean moreWork = !queue.isEmpty() || (completed && !responseCompleted);
+            proceed = moreWork && draining.compareAndSet(false, true);
+        }
+    }
+
+    private void postQueued() {
+        ImmutableList<Command> batch = nextBatch();
+        while (!batch.isEmpty()) {
+            if (!responseCompleted) {
+                service.postAll(batch, responseObserver);
+                if (call != null) {
+                    call.request(batch.size());
+                }
+            }
+            batch = nextBatch();
+        }
+    }
+
+    private ImmutableList<Command> nextBatch() {
+        ImmutableList.Builder<Command> batch = ImmutableList.builder();
+        int size = 0;
+        Command command = queue.poll();
+        while (command != null) {
+            batch.add(command);
+            size++;
+            command = size < MAX_BATCH_SIZE
+                      ? queue.poll()
+                      : null;
+        }
+        return batch.build();
+    }
+}
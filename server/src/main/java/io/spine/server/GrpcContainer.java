@@ -26,25 +26,40 @@
 package io.spine.server;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.errorprone.annotations.FormatMethod;
 import com.google.errorprone.annotations.FormatString;
+import com.google.protobuf.Duration;
+import com.google.protobuf.util.Durations;
 import io.grpc.BindableService;
 import io.grpc.Server;
 import io.grpc.ServerBuilder;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerInterceptors;
 import io.grpc.ServerServiceDefinition;
 import io.grpc.inprocess.InProcessServerBuilder;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
  * Wrapping container for gRPC server.
@@ -52,6 +67,15 @@ import static java.util.Objects.requireNonNull;
  * <p>Maintains and deploys several of gRPC services within a single server.
  *
  * <p>Uses {@link ServerServiceDefinition}s of each service.
+ *
+ * <p>By default, the calls of all the services are executed by the default executor of
+ * the gRPC server. A service may be given a {@linkplain Builder#addService(BindableService,
+ * Executor) dedicated executor}, so that its calls do not compete with the calls of other
+ * services for the threads. For example, the long-living subscription streams may be served by
+ * a separate bounded pool, not affecting the latency of posting commands.
+ *
+ * <p>The container counts the {@linkplain #activeCalls(BindableService) active calls}
+ * of each service.
  */
 public final class GrpcContainer {
 
@@ -67,6 +91,17 @@ public final class GrpcContainer {
     private final @Nullable String serverName;
     private final ImmutableSet<ServerServiceDefinition> services;
 
+    /** The executors of the services, by the service name. */
+    private final ImmutableMap<String, Executor> serviceExecutors;
+
+    /** The default executor of the server, or {@code null} to use the gRPC default. */
+    private final @Nullable Executor executor;
+    private final @Nullable Integer maxInboundMessageSize;
+    private final @Nullable Integer maxInboundMetadataSize;
+    private final @Nullable Duration handshakeTimeout;
+    private final ImmutableList<Consumer<ServerBuilder<?>>> transportConfigs;
+    private final CallMonitor callMonitor = new CallMonitor();
+
     private @Nullable Server grpcServer;
 
     @VisibleForTesting
@@ -92,6 +127,12 @@ public final class GrpcContainer {
         this.port = builder.port().orElse(null);
         this.serverName = builder.serverName().orElse(null);
         this.services = builder.services();
+        this.serviceExecutors = ImmutableMap.copyOf(builder.serviceExecutors);
+        this.executor = builder.executor;
+        this.maxInboundMessageSize = builder.maxInboundMessageSize;
+        this.maxInboundMetadataSize = builder.maxInboundMetadataSize;
+        this.handshakeTimeout = builder.handshakeTimeout;
+        this.transportConfigs = ImmutableList.copyOf(builder.transportConfigs);
     }
 
     /**
@@ -217,6 +258,22 @@ public final class GrpcContainer {
         return result;
     }
 
+    /**
+     * Obtains the number of the active calls of the given service.
+     *
+     * <p>A call is active from the moment it arrives to the server, and until it is completed
+     * or cancelled.
+     *
+     * @param service
+     *         the gRPC service deployed in this container
+     * @return the number of active calls, or zero if the service received no calls yet
+     */
+    public int activeCalls(BindableService service) {
+        checkNotNull(service);
+        String serviceName = nameOf(service.bindService());
+        return callMonitor.activeCalls(serviceName);
+    }
+
     /**
      * Makes the JVM shut down the service when it is shutting down itself.
      *
@@ -233,22 +290,58 @@ public final class GrpcContainer {
         }
         ServerBuilder<?> builder = createServerBuilder();
         for (ServerServiceDefinition service : services) {
-            builder.addService(service);
+            builder.addService(intercept(service));
         }
         return builder.build();
     }
 
+    /**
+     * Applies the interceptors of the container to the given service.
+     *
+     * <p>The call monitor goes first, so that the calls waiting for the service executor
+     * are counted as active.
+     */
+    private ServerServiceDefinition intercept(ServerServiceDefinition service) {
+        List<ServerInterceptor> interceptors = new ArrayList<>(2);
+        Executor serviceExecutor = serviceExecutors.get(nameOf(service));
+        if (serviceExecutor != null) {
+            interceptors.add(new ServiceExecutor(serviceExecutor));
+        }
+        // The last interceptor is called first.
+        interceptors.add(callMonitor);
+        return ServerInterceptors.intercept(service, interceptors);
+    }
+
     private ServerBuilder<?> createServerBuilder() {
         boolean serverNameGiven = serverName != null;
         @Nullable Integer port = serverNameGiven ? null : requireNonNull(this.port);
         ServerBuilder<?> result =
                 serverNameGiven
                 ? InProcessServerBuilder.forName(serverName)
-                                        .directExecutor()
                 : ServerBuilder.forPort(port);
+        if (executor != null) {
+            result.executor(executor);
+        } else if (serverNameGiven) {
+            result.directExecutor();
+        }
+        if (maxInboundMessageSize != null) {
+            result.maxInboundMessageSize(maxInboundMessageSize);
+        }
+        if (maxInboundMetadataSize != null) {
+            result.maxInboundMetadataSize(maxInboundMetadataSize);
+        }
+        if (handshakeTimeout != null) {
+            result.handshakeTimeout(Durations.toMillis(handshakeTimeout), MILLISECONDS);
+        }
+        transportConfigs.forEach(config -> config.accept(result));
         return result;
     }
 
+    private static String nameOf(ServerServiceDefinition service) {
+        return service.getServiceDescriptor()
+                      .getName();
+    }
+
     /**
      * Injects a server to this container.
      *
@@ -308,6 +401,12 @@ public final class GrpcContainer {
     public static final class Builder extends ConnectionBuilder {
 
         private final Set<ServerServiceDefinition> services = Sets.newHashSet();
+        private final Map<String, Executor> serviceExecutors = Maps.newHashMap();
+        private final List<Consumer<ServerBuilder<?>>> transportConfigs = new ArrayList<>();
+        private @Nullable Executor executor;
+        private @Nullable Integer maxInboundMessageSize;
+        private @Nullable Integer maxInboundMetadataSize;
+        private @Nullable Duration handshakeTimeout;
 
         private Builder(@Nullable Integer port, @Nullable String serverName) {
             super(port, serverName);
@@ -339,9 +438,103 @@ public final class GrpcContainer {
             return this;
         }
 
+        /**
+         * Adds the service whose calls are executed by the given executor.
+         *
+         * <p>The calls of the service do not occupy the threads of
+         * the {@linkplain #setExecutor(Executor) server executor}. The callbacks of
+         * each call are executed sequentially. If the executor rejects a task, the call is
+         * closed with the {@code RESOURCE_EXHAUSTED} status.
+         *
+         * @param service
+         *         the service to add
+         * @param executor
+         *         the executor of the service calls
+         */
+        @CanIgnoreReturnValue
+        public Builder addService(BindableService service, Executor executor) {
+            checkNotNull(executor);
+            ServerServiceDefinition definition = service.bindService();
+            services.add(definition);
+            serviceExecutors.put(nameOf(definition), executor);
+            return this;
+        }
+
         @CanIgnoreReturnValue
         public Builder removeService(ServerServiceDefinition service) {
             services.remove(service);
+            serviceExecutors.remove(nameOf(service));
+            return this;
+        }
+
+        /**
+         * Sets the default executor of the server.
+         *
+         * <p>If not set, the container exposed at a port uses the default executor of gRPC,
+         * and the in-process container executes the calls in the transport threads.
+         */
+        @CanIgnoreReturnValue
+        public Builder setExecutor(Executor executor) {
+            this.executor = checkNotNull(executor);
+            return this;
+        }
+
+        /**
+         * Sets the maximum size of a message the server accepts, in bytes.
+         *
+         * <p>If not set, the gRPC default of 4 MiB is used.
+         */
+        @CanIgnoreReturnValue
+        public Builder setMaxInboundMessageSize(int bytes) {
+            checkArgument(bytes > 0, "The message size limit must be positive.");
+            this.maxInboundMessageSize = bytes;
+            return this;
+        }
+
+        /**
+         * Sets the maximum size of the call metadata the server accepts, in bytes.
+         *
+         * <p>If not set, the gRPC default of 8 KiB is used.
+         */
+        @CanIgnoreReturnValue
+        public Builder setMaxInboundMetadataSize(int bytes) {
+            checkArgument(bytes > 0, "The metadata size limit must be positive.");
+            this.maxInboundMetadataSize = bytes;
+            return this;
+        }
+
+        /**
+         * Sets the time given to the clients to complete the connection handshake.
+         *
+         * <p>If not set, the gRPC default is used.
+         */
+        @CanIgnoreReturnValue
+        public Builder setHandshakeTimeout(Duration timeout) {
+            checkNotNull(timeout);
+            checkArgument(Durations.toMillis(timeout) > 0, "The timeout must be positive.");
+            this.handshakeTimeout = timeout;
+            return this;
+        }
+
+        /**
+         * Adds a configuration of the transport-specific settings of the server.
+         *
+         * <p>The settings such as the flow control window, the maximum number of concurrent
+         * calls per connection, or the keep-alive limits are specific to the transport
+         * of the server. The passed configuration is applied to the {@code ServerBuilder}
+         * created by the container, once all the other settings are applied:
+         * <pre>
+         *     GrpcContainer.atPort(port)
+         *                  .configureTransport(builder -> ((NettyServerBuilder) builder)
+         *                          .maxConcurrentCallsPerConnection(100)
+         *                          .flowControlWindow(1 << 20)
+         *                          .permitKeepAliveTime(1, MINUTES))
+         *                  .build();
+         * </pre>
+         */
+        @CanIgnoreReturnValue
+        public Builder configureTransport(Consumer<ServerBuilder<?>> config) {
+            transportConfigs.add(checkNotNull(config));
             return this;
         }
 
@@ -33,6 +33,8 @@ import io.grpc.StatusRuntimeException;
 import io.grpc.stub.StreamObserver;
 import io.spine.client.Query;
 import io.spine.client.QueryResponse;
+import io.spine.client.QueryResponseChunk;
+import io.spine.client.QueryStreamRequest;
 import io.spine.client.grpc.QueryServiceGrpc;
 import io.spine.logging.Logging;
 import io.spine.server.model.UnknownEntityTypeException;
@@ -101,7 +103,36 @@ public final class QueryService
         }
     }
 
-    private void handleUnsupported(TypeUrl type, StreamObserver<QueryResponse> observer) {
+    /**
+     * Executes the passed query streaming the results to the passed observer by chunks.
+     */
+    @Override
+    public void readStream(QueryStreamRequest request,
+                           StreamObserver<QueryResponseChunk> responseObserver) {
+        Query query = request.getQuery();
+        _debug().log("Incoming streaming query: `%s`.", lazy(() -> shortDebugString(query)));
+
+        TypeUrl type = query.targetType();
+        BoundedContext context = typeToContextMap.get(type);
+        if (context == null) {
+            handleUnsupported(type, responseObserver);
+            return;
+        }
+        Stand stand = context.stand();
+        try {
+            stand.executeStreaming(request, responseObserver);
+        } catch (InvalidRequestException e) {
+            _error().log("Invalid request. `%s`", e.asError());
+            StatusRuntimeException exception = invalidArgumentWithCause(e);
+            responseObserver.onError(exception);
+        } catch (@SuppressWarnings("OverlyBroadCatchBlock") Exception e) {
+            _error().withCause(e)
+                    .log("Error processing streaming query.");
+            responseObserver.onError(e);
+        }
+    }
+
+    private void handleUnsupported(TypeUrl type, StreamObserver<?> observer) {
         UnknownEntityTypeException exception = new UnknownEntityTypeException(type);
         _error().withCause(exception)
                 .log("Unknown type encountered.");
@@ -37,6 +37,7 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import java.io.IOException;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static io.spine.util.Exceptions.newIllegalStateException;
@@ -150,6 +151,7 @@ public final class Server implements Logging {
 
         private final Set<BoundedContextBuilder> contextBuilders = new HashSet<>();
         private @MonotonicNonNull ImmutableSet<BoundedContext> contexts;
+        private @Nullable Executor subscriptionExecutor;
 
         private Builder(@Nullable Integer port, @Nullable String serverName) {
             super(port, serverName);
@@ -165,6 +167,23 @@ public final class Server implements Logging {
             return this;
         }
 
+        /**
+         * Sets the executor dedicated to the calls of the {@link SubscriptionService}.
+         *
+         * <p>The long-living subscription streams are then served apart from the calls
+         * of the other services, not affecting, for example, the latency of posting commands.
+         *
+         * <p>If not set, the subscriptions share the executor of the server with
+         * the other services.
+         *
+         * @see GrpcContainer.Builder#addService(io.grpc.BindableService, Executor)
+         */
+        @CanIgnoreReturnValue
+        public Builder setSubscriptionExecutor(Executor executor) {
+            this.subscriptionExecutor = checkNotNull(executor);
+            return this;
+        }
+
         /**
          * Does nothing.
          *
@@ -206,12 +225,15 @@ public final class Server implements Logging {
                 queryService.add(context);
                 subscriptionService.add(context);
             });
-            GrpcContainer.Builder builder = createContainerBuilder();
-            GrpcContainer result = builder
+            GrpcContainer.Builder builder = createContainerBuilder()
                     .addService(commandService.build())
-                    .addService(queryService.build())
-                    .addService(subscriptionService.build())
-                    .build();
+                    .addService(queryService.build());
+            if (subscriptionExecutor != null) {
+                builder.addService(subscriptionService.build(), subscriptionExecutor);
+            } else {
+                builder.addService(subscriptionService.build());
+            }
+            GrpcContainer result = builder.build();
             return result;
         }
 
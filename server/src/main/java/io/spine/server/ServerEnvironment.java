@@ -38,12 +38,16 @@ import io.spine.base.Tests;
 import io.spine.server.commandbus.CommandScheduler;
 import io.spine.server.commandbus.ExecutorCommandScheduler;
 import io.spine.server.delivery.Delivery;
+import io.spine.server.id.IdGenerator;
+import io.spine.server.id.TimeOrderedIdGenerator;
+import io.spine.server.metrics.MetricsFactory;
 import io.spine.server.storage.StorageFactory;
 import io.spine.server.storage.memory.InMemoryStorageFactory;
 import io.spine.server.storage.system.SystemAwareStorageFactory;
 import io.spine.server.trace.TracerFactory;
 import io.spine.server.transport.TransportFactory;
 import io.spine.server.transport.memory.InMemoryTransportFactory;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Optional;
 import java.util.function.Function;
@@ -149,6 +153,34 @@ public final class ServerEnvironment implements AutoCloseable {
     private final EnvSetting<TransportFactory> transportFactory =
             new EnvSetting<>(Tests.class, InMemoryTransportFactory::newInstance);
 
+    /**
+     * The setting for the generator of identifiers of the messages created by the framework.
+     *
+     * <p>If not set, the {@link #defaultIdGenerator} is used.
+     */
+    private final EnvSetting<IdGenerator> idGenerator = new EnvSetting<>();
+
+    /**
+     * The setting for the factory of the instruments recording the server metrics.
+     *
+     * <p>If not set, the metrics are not recorded.
+     */
+    private final EnvSetting<MetricsFactory> metricsFactory = new EnvSetting<>();
+
+    /**
+     * The metrics factory last {@linkplain #metrics() obtained} for the current environment.
+     *
+     * <p>The factory is obtained at every measurement point, so it is not looked up in
+     * the {@linkplain #metricsFactory setting} unless the environment type or the setting
+     * changes.
+     */
+    private volatile @Nullable CurrentMetrics currentMetrics;
+
+    /**
+     * The generator of identifiers used unless another one is configured.
+     */
+    private final IdGenerator defaultIdGenerator;
+
     /**
      * Provides schedulers used by all {@code CommandBus} instances of this environment.
      */
@@ -158,6 +190,7 @@ public final class ServerEnvironment implements AutoCloseable {
         nodeId = NodeId.newBuilder()
                        .setValue(Identifier.newUuid())
                        .vBuild();
+        defaultIdGenerator = TimeOrderedIdGenerator.forNode(nodeId);
         commandScheduler = ExecutorCommandScheduler::new;
     }
 
@@ -230,6 +263,20 @@ public final class ServerEnvironment implements AutoCloseable {
         return nodeId;
     }
 
+    /**
+     * Obtains the generator of identifiers of the messages created by the framework
+     * in this environment.
+     *
+     * <p>Unless {@linkplain TypeConfigurator#use(IdGenerator) configured otherwise}, returns
+     * a {@link TimeOrderedIdGenerator} for the {@linkplain #nodeId() current node}.
+     */
+    public IdGenerator idGenerator() {
+        Class<? extends EnvironmentType> type = environment().type();
+        IdGenerator result = idGenerator.optionalValue(type)
+                                        .orElse(defaultIdGenerator);
+        return result;
+    }
+
     /**
      * Sets the default {@linkplain DeploymentType deployment type}
      * {@linkplain Supplier supplier} which utilizes system properties.
@@ -259,6 +306,25 @@ public final class ServerEnvironment implements AutoCloseable {
         return this.tracerFactory.optionalValue(currentType);
     }
 
+    /**
+     * Obtains the factory of the instruments recording the server metrics in the current
+     * environment.
+     *
+     * <p>Unless {@linkplain TypeConfigurator#use(MetricsFactory) configured}, returns
+     * a factory which discards all the measurements.
+     */
+    public MetricsFactory metrics() {
+        Class<? extends EnvironmentType> type = environment().type();
+        CurrentMetrics current = currentMetrics;
+        if (current != null && current.type == type) {
+            return current.factory;
+        }
+        MetricsFactory result = metricsFactory.optionalValue(type)
+                                              .orElse(MetricsFactory.noOp());
+        currentMetrics = new CurrentMetrics(type, result);
+        return result;
+    }
+
     /**
      * Obtains the storage factory for the current environment.
      *
@@ -316,6 +382,9 @@ public final class ServerEnvironment implements AutoCloseable {
      */
     @VisibleForTesting
     public void reset() {
+        idGenerator.reset();
+        metricsFactory.reset();
+        currentMetrics = null;
         transportFactory.reset();
         tracerFactory.reset();
         storageFactory.reset();
@@ -456,6 +525,61 @@ public final class ServerEnvironment implements AutoCloseable {
             return use(factory);
         }
 
+        /**
+         * Assigns the specified {@code IdGenerator} for the selected environment.
+         *
+         * @see #useIdGenerator(ServerEnvironment.Fn)
+         */
+        @CanIgnoreReturnValue
+        public TypeConfigurator use(IdGenerator generator) {
+            checkNotNull(generator);
+            se.idGenerator.use(generator, type);
+            return this;
+        }
+
+        /**
+         * Assigns an {@code IdGenerator} obtained from the passed function.
+         *
+         * @param fn
+         *         the function to provide the {@code IdGenerator} in response to
+         *         the currently configured server environment type
+         * @see #use(IdGenerator)
+         */
+        @CanIgnoreReturnValue
+        public TypeConfigurator useIdGenerator(Fn<IdGenerator> fn) {
+            checkNotNull(fn);
+            IdGenerator generator = fn.apply(type);
+            return use(generator);
+        }
+
+        /**
+         * Assigns the specified {@code MetricsFactory} for the selected environment.
+         *
+         * @see #useMetricsFactory(ServerEnvironment.Fn)
+         */
+        @CanIgnoreReturnValue
+        public TypeConfigurator use(MetricsFactory factory) {
+            checkNotNull(factory);
+            se.metricsFactory.use(factory, type);
+            se.currentMetrics = null;
+            return this;
+        }
+
+        /**
+         * Assigns a {@code MetricsFactory} obtained from the passed function.
+         *
+         * @param fn
+         *         the function to provide the {@code MetricsFactory} in response to
+         *         the currently configured server environment type
+         * @see #use(MetricsFactory)
+         */
+        @CanIgnoreReturnValue
+        public TypeConfigurator useMetricsFactory(Fn<MetricsFactory> fn) {
+            checkNotNull(fn);
+            MetricsFactory factory = fn.apply(type);
+            return use(factory);
+        }
+
         /**
          * Assigns the specified {@code StorageFactory} for the selected environment.
          *
@@ -484,6 +608,20 @@ public final class ServerEnvironment implements AutoCloseable {
         }
     }
 
+    /**
+     * The metrics factory configured for an environment type.
+     */
+    private static final class CurrentMetrics {
+
+        private final Class<? extends EnvironmentType> type;
+        private final MetricsFactory factory;
+
+        private CurrentMetrics(Class<? extends EnvironmentType> type, MetricsFactory factory) {
+            this.type = type;
+            this.factory = factory;
+        }
+    }
+
     /**
      * A function which accepts a class of {@link EnvironmentType} and returns
      * a value {@link ServerEnvironment#when(Class) configured} in a {@code ServerEnvironment}.
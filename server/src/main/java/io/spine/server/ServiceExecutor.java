@@ -0,0 +1,229 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server;
+
+import io.grpc.Context;
+import io.grpc.ForwardingServerCall.SimpleForwardingServerCall;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.util.concurrent.MoreExecutors.newSequentialExecutor;
+
+/**
+ * Executes the calls of a gRPC service with a dedicated executor.
+ *
+ * <p>The handling of each call, along with all the callbacks of the call, is passed to
+ * the executor. The callbacks of a single call are executed sequentially, in the order
+ * of their arrival, as gRPC requires.
+ *
+ * <p>If the executor rejects a task, the call is closed with
+ * the {@link Status#RESOURCE_EXHAUSTED RESOURCE_EXHAUSTED} status. The pending callbacks
+ * of the call are then executed by the thread of the transport, still one at a time.
+ * The {@linkplain ServerCall.Listener#onCancel() cancellation} and
+ * the {@linkplain ServerCall.Listener#onComplete() completion} callbacks always reach
+ * the service, so that it may release the resources of the call, such as subscriptions.
+ */
+final class ServiceExecutor implements ServerInterceptor {
+
+    private final Executor executor;
+
+    ServiceExecutor(Executor executor) {
+        this.executor = checkNotNull(executor);
+    }
+
+    @Override
+    public <Q, P> ServerCall.Listener<Q>
+    interceptCall(ServerCall<Q, P> call, Metadata headers, ServerCallHandler<Q, P> next) {
+        SequentialListener<Q, P> listener = new SequentialListener<>(call, executor);
+        listener.start(next, headers);
+        return listener;
+    }
+
+    /**
+     * Passes the call callbacks to the listener of the service via a sequential executor.
+     */
+    private static final class SequentialListener<Q, P> extends ServerCall.Listener<Q> {
+
+        private final OnceClosingCall<Q, P> call;
+        private final Executor sequential;
+
+        /**
+         * Tells if the executor rejected a task of this call.
+         *
+         * <p>Once set, the call is closed and only the terminal callbacks are passed
+         * to the service.
+         */
+        private volatile boolean overloaded;
+
+        /**
+         * The listener of the service.
+         *
+         * <p>Is only accessed by the tasks of the sequential executor. Remains {@code null}
+         * if starting the call failed or was rejected.
+         */
+        private @MonotonicNonNull ServerCall.Listener<Q> delegate;
+
+        private SequentialListener(ServerCall<Q, P> call, Executor executor) {
+            super();
+            this.call = new OnceClosingCall<>(call);
+            this.sequential = newSequentialExecutor(withFallback(executor));
+        }
+
+        /**
+         * Wraps the given executor so that a rejected task is executed by the calling thread.
+         *
+         * <p>The sequential executor submits a single worker at a time, so running
+         * the rejected worker in place keeps the callbacks ordered and never concurrent.
+         */
+        private Executor withFallback(Executor executor) {
+            return worker -> {
+                try {
+                    executor.execute(worker);
+                } catch (RejectedExecutionException e) {
+                    overloaded = true;
+                    worker.run();
+                }
+            };
+        }
+
+        private void start(ServerCallHandler<Q, P> next, Metadata headers) {
+            execute(() -> {
+                if (!closeIfOverloaded()) {
+                    delegate = next.startCall(call, headers);
+                }
+            });
+        }
+
+        @Override
+        public void onMessage(Q message) {
+            executeOnDelegate(listener -> listener.onMessage(message), false);
+        }
+
+        @Override
+        public void onHalfClose() {
+            executeOnDelegate(ServerCall.Listener::onHalfClose, false);
+        }
+
+        @Override
+        public void onCancel() {
+            executeOnDelegate(ServerCall.Listener::onCancel, true);
+        }
+
+        @Override
+        public void onComplete() {
+            executeOnDelegate(ServerCall.Listener::onComplete, true);
+        }
+
+        @Override
+        public void onReady() {
+            executeOnDelegate(ServerCall.Listener::onReady, false);
+        }
+
+        /**
+         * Passes a callback to the listener of the service.
+         *
+         * <p>The non-terminal callbacks are dropped once the call is closed due to
+         * the executor overload.
+         */
+        private void executeOnDelegate(Consumer<ServerCall.Listener<Q>> action,
+                                       boolean terminal) {
+            execute(() -> {
+                boolean closed = closeIfOverloaded();
+                if (delegate != null && (terminal || !closed)) {
+                    action.accept(delegate);
+                }
+            });
+        }
+
+        /**
+         * Closes the call if the executor rejected any of its tasks.
+         *
+         * @return {@code true} if the call is overloaded, {@code false} otherwise
+         */
+        private boolean closeIfOverloaded() {
+            if (overloaded) {
+                call.close(Status.RESOURCE_EXHAUSTED
+                                   .withDescription("The service executor is overloaded."),
+                           new Metadata());
+            }
+            return overloaded;
+        }
+
+        /**
+         * Executes the given task in the context of the current call.
+         */
+        private void execute(Runnable task) {
+            Runnable inContext = Context.current()
+                                        .wrap(task);
+            sequential.execute(() -> runClosingOnError(inContext));
+        }
+
+        /**
+         * Runs the given task, closing the call if the task fails.
+         *
+         * <p>Mirrors the behaviour of the gRPC server when a listener callback fails.
+         */
+        private void runClosingOnError(Runnable task) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                call.close(Status.fromThrowable(e), new Metadata());
+            }
+        }
+    }
+
+    /**
+     * A server call which ignores all the attempts to close it, except the first one.
+     *
+     * <p>Both the service and the {@code ServiceExecutor} may close the call.
+     */
+    private static final class OnceClosingCall<Q, P> extends SimpleForwardingServerCall<Q, P> {
+
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private OnceClosingCall(ServerCall<Q, P> delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void close(Status status, Metadata trailers) {
+            if (closed.compareAndSet(false, true)) {
+                super.close(status, trailers);
+            }
+        }
+    }
+}
@@ -32,6 +32,8 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import io.grpc.stub.StreamObserver;
 import io.spine.client.Subscription;
+import io.spine.client.SubscriptionStreamRequest;
+import io.spine.client.SubscriptionStreamResponse;
 import io.spine.client.SubscriptionUpdate;
 import io.spine.client.Subscriptions;
 import io.spine.client.Target;
@@ -56,6 +58,10 @@ import static io.spine.server.stand.SubscriptionCallback.forwardingTo;
  * The {@code SubscriptionService} provides an asynchronous way to fetch read-side state
  * from the server.
  *
+ * <p>Subscriptions may be created either one by one, through the {@code subscribe} and
+ * {@code activate} calls, or many at once through a single
+ * {@linkplain #multiplex(StreamObserver) multiplexed stream}.
+ *
  * <p>For synchronous read-side updates please see {@link QueryService}.
  */
 public final class SubscriptionService
@@ -154,6 +160,39 @@ public final class SubscriptionService
         }
     }
 
+    /**
+     * Opens a stream which serves many subscriptions at once.
+     *
+     * <p>The subscriptions are created, activated, and cancelled in response to the requests
+     * sent by the client over the returned observer.
+     */
+    @Override
+    public StreamObserver<SubscriptionStreamRequest>
+    multiplex(StreamObserver<SubscriptionStreamResponse> responseObserver) {
+        _debug().log("Opening a multiplexed subscription stream.");
+        return new SubscriptionStream(this, responseObserver);
+    }
+
+    /**
+     * Registers the subscription created on the client side.
+     *
+     * <p>If the context which serves the subscription target is not known, the subscription is
+     * registered in all the contexts of this service.
+     */
+    void register(Subscription subscription) {
+        Optional<BoundedContext> foundContext = findContextOf(subscription);
+        if (foundContext.isPresent()) {
+            foundContext.get()
+                        .stand()
+                        .subscribe(subscription);
+        } else {
+            for (BoundedContext context : ImmutableSet.copyOf(typeToContextMap.values())) {
+                context.stand()
+                       .subscribe(subscription);
+            }
+        }
+    }
+
     private Optional<BoundedContext> findContextOf(Subscription subscription) {
         Target target = subscription.getTopic()
                                     .getTarget();
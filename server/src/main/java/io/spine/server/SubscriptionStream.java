@@ -0,0 +1,338 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package io.spine.server;
+
+import com.google.common.collect.ImmutableList;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.spine.base.Error;
+import io.spine.client.Subscription;
+import io.spine.client.SubscriptionId;
+import io.spine.client.SubscriptionStreamError;
+import io.spine.client.SubscriptionStreamRequest;
+import io.spine.client.SubscriptionStreamResponse;
+import io.spine.client.SubscriptionUpdate;
+import io.spine.client.SubscriptionValidationError;
+import io.spine.core.Response;
+import io.spine.grpc.MemoizingObserver;
+import io.spine.logging.Logging;
+import io.spine.server.stand.InvalidRequestException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.base.Errors.fromThrowable;
+import static io.spine.grpc.StreamObservers.memoizingObserver;
+import static io.spine.grpc.StreamObservers.noOpObserver;
+import static io.spine.util.Exceptions.newIllegalArgumentException;
+import static java.lang.String.format;
+
+/**
+ * The server side of a multiplexed subscription stream.
+ *
+ * <p>Creates, activates, and cancels subscriptions in response to the requests sent by
+ * the client, and forwards the updates of all the active subscriptions to the single
+ * response stream.
+ *
+ * <p>When the client completes the stream or the stream fails, all the subscriptions
+ * still active in this stream are cancelled.
+ *
+ * <p>If the stream is served by gRPC, the responses are sent only while the client is
+ * {@linkplain ServerCallStreamObserver#isReady() ready} to receive them. The rest wait in
+ * a bounded queue until the client catches up. A client which falls behind by more than
+ * {@linkplain #MAX_QUEUED the queue capacity} is disconnected with
+ * the {@code RESOURCE_EXHAUSTED} status, and its subscriptions are cancelled.
+ *
+ * @see SubscriptionService#multiplex(StreamObserver)
+ */
+final class SubscriptionStream implements StreamObserver<SubscriptionStreamRequest>, Logging {
+
+    /** The max number of responses waiting for the client to become ready. */
+    private static final int MAX_QUEUED = 1_000;
+
+    private final SubscriptionService service;
+    private final StreamObserver<SubscriptionStreamResponse> responseObserver;
+    private final Map<SubscriptionId, Subscription> active = new ConcurrentHashMap<>();
+
+    /** The gRPC call of the stream, or {@code null} if the stream is not served by gRPC. */
+    private final @Nullable ServerCallStreamObserver<SubscriptionStreamResponse> call;
+
+    /**
+     * The responses not yet sent to the client.
+     *
+     * <p>Accessed only under the {@link #sendLock}.
+     */
+    private final BlockingQueue<SubscriptionStreamResponse> pending =
+            new ArrayBlockingQueue<>(MAX_QUEUED);
+
+    /**
+     * Guards the response observer, which is not thread-safe, from concurrent updates
+     * delivered by different subscriptions.
+     */
+    private final Object sendLock = new Object();
+    private volatile boolean closed = false;
+
+    /**
+     * Tells if the client has completed the stream, so the response stream is completed
+     * as soon as the pending responses are sent.
+     */
+    private boolean completing = false;
+
+    SubscriptionStream(SubscriptionService service,
+                       StreamObserver<SubscriptionStreamResponse> responseObserver) {
+        this.service = checkNotNull(service);
+        this.responseObserver = checkNotNull(responseObserver);
+        this.call = responseObserver instanceof ServerCallStreamObserver
+                    ? (ServerCallStreamObserver<SubscriptionStreamResponse>) responseObserver
+                    : null;
+        if (call != null) {
+            call.setOnReadyHandler(this::flush);
+            call.setOnCancelHandler(this::onCancelled);
+        }
+    }
+
+    @Override
+    public void onNext(SubscriptionStreamRequest request) {
+        switch (request.getKindCase()) {
+            case SUBSCRIBE:
+                subscribe(request.getSubscribe());
+                break;
+            case CANCEL:
+                cancel(request.getCancel());
+                break;
+            case KIND_NOT_SET:
+            default:
+                IllegalArgumentException unsupported = newIllegalArgumentException(
+                        "Unsupported subscription stream request: `%s`.", request.getKindCase()
+                );
+                sendError(Subscription.getDefaultInstance(), fromThrowable(unsupported));
+        }
+    }
+
+    private void subscribe(Subscription subscription) {
+        _debug().log("Subscribing over the multiplexed stream: `%s`.",
+                     subscription.toShortString());
+        try {
+            service.register(subscription);
+        } catch (InvalidRequestException e) {
+            sendError(subscription, e.asError());
+            return;
+        } catch (@SuppressWarnings("OverlyBroadCatchBlock") Exception e) {
+            _error().withCause(e)
+                    .log("Error processing subscription request.");
+            sendError(subscription, fromThrowable(e));
+            return;
+        }
+        active.put(subscription.getId(), subscription);
+        send(SubscriptionStreamResponse
+                     .newBuilder()
+                     .setSubscribed(subscription)
+                     .build());
+        service.activate(subscription, new UpdateForwarder(subscription));
+        if (closed) {
+            cancelAll();
+        }
+    }
+
+    private void cancel(Subscription subscription) {
+        _debug().log("Cancelling over the multiplexed stream: `%s`.",
+                     subscription.toShortString());
+        if (active.remove(subscription.getId()) == null) {
+            sendError(subscription, notActive(subscription));
+            return;
+        }
+        MemoizingObserver<Response> observer = memoizingObserver();
+        service.cancel(subscription, observer);
+        Throwable error = observer.getError();
+        if (error != null) {
+            sendError(subscription, errorOf(error));
+        } else {
+            send(SubscriptionStreamResponse
+                         .newBuilder()
+                         .setCancelled(subscription)
+                         .build());
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        _warn().withCause(t)
+               .log("The multiplexed subscription stream failed. Cancelling %d subscription(s).",
+                    active.size());
+        closed = true;
+        cancelAll();
+    }
+
+    @Override
+    public void onCompleted() {
+        cancelAll();
+        synchronized (sendLock) {
+            completing = true;
+        }
+        flush();
+    }
+
+    /**
+     * Cancels the subscriptions of the stream once the client cancels the call.
+     */
+    private void onCancelled() {
+        synchronized (sendLock) {
+            closed = true;
+            pending.clear();
+        }
+        cancelAll();
+    }
+
+    private void cancelAll() {
+        ImmutableList<Subscription> remaining = ImmutableList.copyOf(active.values());
+        active.clear();
+        for (Subscription subscription : remaining) {
+            service.cancel(subscription, noOpObserver());
+        }
+    }
+
+    private void sendError(Subscription subscription, Error error) {
+        SubscriptionStreamError streamError = SubscriptionStreamError
+                .newBuilder()
+                .setSubscription(subscription)
+                .setError(error)
+                .build();
+        send(SubscriptionStreamResponse
+                     .newBuilder()
+                     .setError(streamError)
+                     .build());
+    }
+
+    /**
+     * Sends the response to the client, or queues it if the client is not ready to receive it.
+     *
+     * <p>If the queue is full, fails the response stream and cancels its subscriptions.
+     */
+    private void send(SubscriptionStreamResponse response) {
+        synchronized (sendLock) {
+            if (closed || completing) {
+                return;
+            }
+            if (call == null) {
+                responseObserver.onNext(response);
+                return;
+            }
+            if (pending.offer(response)) {
+                flush();
+                return;
+            }
+            closed = true;
+            pending.clear();
+            responseObserver.onError(Status.RESOURCE_EXHAUSTED
+                                             .withDescription(format(
+                                                     "The client fell behind by %d responses.",
+                                                     MAX_QUEUED))
+                                             .asRuntimeException());
+        }
+        _warn().log("The multiplexed subscription stream overflowed. " +
+                            "Cancelling %d subscription(s).", active.size());
+        cancelAll();
+    }
+
+    /**
+     * Sends the pending responses while the client is ready to receive them.
+     *
+     * <p>Completes the response stream once the client completed the stream and all
+     * the pending responses are sent.
+     */
+    private void flush() {
+        synchronized (sendLock) {
+            while (!closed && call != null && call.isReady() && !pending.isEmpty()) {
+                responseObserver.onNext(pending.poll());
+            }
+            if (completing && !closed && pending.isEmpty()) {
+                closed = true;
+                responseObserver.onCompleted();
+            }
+        }
+    }
+
+    /**
+     * Creates an error telling that the passed subscription is not served by this stream.
+     *
+     * <p>Only the subscriptions created in the stream may be cancelled through it.
+     */
+    private static Error notActive(Subscription subscription) {
+        SubscriptionValidationError code = SubscriptionValidationError.UNKNOWN_SUBSCRIPTION;
+        String message = format("The subscription `%s` is not active in this stream.",
+                                subscription.getId()
+                                            .getValue());
+        return Error.newBuilder()
+                    .setType(code.getDescriptorForType()
+                                 .getFullName())
+                    .setCode(code.getNumber())
+                    .setMessage(message)
+                    .build();
+    }
+
+    private static Error errorOf(Throwable t) {
+        if (t instanceof MessageError) {
+            return ((MessageError) t).asError();
+        }
+        return fromThrowable(t);
+    }
+
+    /**
+     * Wraps the updates of a single subscription into the responses of the multiplexed stream.
+     */
+    private final class UpdateForwarder implements StreamObserver<SubscriptionUpdate> {
+
+        private final Subscription subscription;
+
+        private UpdateForwarder(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(SubscriptionUpdate update) {
+            send(SubscriptionStreamResponse
+                         .newBuilder()
+                         .setUpdate(update)
+                         .build());
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            active.remove(subscription.getId());
+            sendError(subscription, errorOf(t));
+        }
+
+        @Override
+        public void onCompleted() {
+            // The subscription is completed only through the cancellation.
+        }
+    }
+}
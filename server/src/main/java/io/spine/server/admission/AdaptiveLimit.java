@@ -0,0 +1,287 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.admission;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.google.protobuf.Duration;
+import com.google.protobuf.util.Durations;
+import io.spine.core.TenantId;
+import io.spine.server.delivery.DeliveryMonitor;
+import io.spine.server.delivery.DeliveryStage;
+import io.spine.server.delivery.DeliveryStats;
+import io.spine.server.delivery.ShardIndex;
+import io.spine.server.type.CommandEnvelope;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * A rate limit adapting to the pace of the {@code Inbox} delivery.
+ *
+ * <p>The policy admits up to {@linkplain #rate() a number} of the commands per second.
+ * Posting a command only writes it to the inbox, while the delivery of the command happens
+ * later. Therefore, the policy does not count the commands being posted, but limits the rate
+ * at which they are added to the inbox, following the pace at which the inbox is drained.
+ *
+ * <p>The policy is also a {@link DeliveryMonitor}, and should be
+ * {@linkplain io.spine.server.delivery.DeliveryBuilder#setMonitor(DeliveryMonitor) set}
+ * to the {@code Delivery} of the server. Once a delivery run for a shard completes,
+ * the rate is adjusted:
+ * <ul>
+ *     <li>if the run took longer than the target duration, or some throttled tenant had
+ *         a {@linkplain #onTenantQuotaExhausted(ShardIndex, TenantId, int) backlog} larger
+ *         than allowed, the rate is decreased multiplicatively;
+ *     <li>otherwise, the rate is increased by one command per second.
+ * </ul>
+ *
+ * <p>Thus the server admits fewer commands as soon as the delivery starts lagging behind,
+ * and recovers the throughput gradually once the backlog is drained.
+ *
+ * <p>The calls of the monitor are passed on to the {@linkplain Builder#setDelegate delegate}
+ * monitor.
+ */
+public final class AdaptiveLimit extends DeliveryMonitor implements AdmissionPolicy {
+
+    private static final long NANOS_PER_SECOND = SECONDS.toNanos(1);
+    private static final int DEFAULT_INITIAL_RATE = 256;
+    private static final int DEFAULT_MIN_RATE = 8;
+    private static final int DEFAULT_MAX_RATE = 4096;
+    private static final Duration DEFAULT_TARGET_RUN_DURATION = Durations.fromSeconds(1);
+    private static final int DEFAULT_MAX_DEFERRED = 1_000;
+    private static final double BACKOFF_RATIO = 0.75;
+
+    private final int minRate;
+    private final int maxRate;
+    private final long targetRunNanos;
+    private final int maxDeferred;
+    private final DeliveryMonitor delegate;
+    private final Ticker ticker;
+
+    private final AtomicInteger rate;
+    private final TokenBucket bucket;
+    private final ConcurrentMap<ShardIndex, Long> runStarts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ShardIndex, Integer> deferred = new ConcurrentHashMap<>();
+
+    private AdaptiveLimit(Builder builder) {
+        super();
+        this.minRate = builder.minRate;
+        this.maxRate = builder.maxRate;
+        this.targetRunNanos = Durations.toNanos(builder.targetRunDuration);
+        this.maxDeferred = builder.maxDeferred;
+        this.delegate = builder.delegate;
+        this.ticker = builder.ticker;
+        this.rate = new AtomicInteger(builder.initialRate);
+        this.bucket = new TokenBucket(ticker, builder.initialRate);
+    }
+
+    /**
+     * Creates a new builder for the policy.
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The bucket of the policy holds up to one second worth of the commands.
+     */
+    @Override
+    public boolean tryAdmit(CommandEnvelope command) {
+        int currentRate = rate.get();
+        return bucket.tryTake((double) currentRate / NANOS_PER_SECOND, currentRate);
+    }
+
+    /**
+     * Returns the current number of the commands admitted per second.
+     */
+    public int rate() {
+        return rate.get();
+    }
+
+    @Override
+    public boolean shouldContinueAfter(DeliveryStage stage) {
+        return delegate.shouldContinueAfter(stage);
+    }
+
+    @Override
+    public void onDeliveryStarted(ShardIndex index) {
+        runStarts.put(index, ticker.read());
+        delegate.onDeliveryStarted(index);
+    }
+
+    @Override
+    public void onTenantQuotaExhausted(ShardIndex index, TenantId tenant, int backlog) {
+        deferred.merge(index, backlog, Math::max);
+        delegate.onTenantQuotaExhausted(index, tenant, backlog);
+    }
+
+    @Override
+    public void onDeliveryCompleted(DeliveryStats stats) {
+        adjust(stats.shardIndex());
+        delegate.onDeliveryCompleted(stats);
+    }
+
+    /**
+     * Adjusts the rate according to the completed delivery run for the given shard.
+     */
+    @VisibleForTesting
+    void adjust(ShardIndex index) {
+        Long startedAt = runStarts.remove(index);
+        Integer deferredCount = deferred.remove(index);
+        long runNanos = startedAt == null ? 0 : ticker.read() - startedAt;
+        boolean lagging = runNanos > targetRunNanos
+                || (deferredCount != null && deferredCount > maxDeferred);
+        if (lagging) {
+            rate.updateAndGet(r -> Math.max(minRate, (int) (r * BACKOFF_RATIO)));
+        } else {
+            rate.updateAndGet(r -> Math.min(maxRate, r + 1));
+        }
+    }
+
+    /**
+     * The builder of {@code AdaptiveLimit}s.
+     */
+    public static final class Builder {
+
+        private int initialRate = DEFAULT_INITIAL_RATE;
+        private int minRate = DEFAULT_MIN_RATE;
+        private int maxRate = DEFAULT_MAX_RATE;
+        private Duration targetRunDuration = DEFAULT_TARGET_RUN_DURATION;
+        private int maxDeferred = DEFAULT_MAX_DEFERRED;
+        private DeliveryMonitor delegate = new DeliveryMonitor();
+        private Ticker ticker = Ticker.systemTicker();
+
+        /**
+         * Prevents direct instantiation.
+         */
+        private Builder() {
+        }
+
+        /**
+         * Sets the number of the commands admitted per second to start with.
+         *
+         * <p>If not set, {@value AdaptiveLimit#DEFAULT_INITIAL_RATE} is used.
+         */
+        @CanIgnoreReturnValue
+        public Builder setInitialRate(int initialRate) {
+            checkArgument(initialRate > 0, "The rate must be positive.");
+            this.initialRate = initialRate;
+            return this;
+        }
+
+        /**
+         * Sets the lower bound of the number of the commands admitted per second.
+         *
+         * <p>If not set, {@value AdaptiveLimit#DEFAULT_MIN_RATE} is used.
+         */
+        @CanIgnoreReturnValue
+        public Builder setMinRate(int minRate) {
+            checkArgument(minRate > 0, "The rate must be positive.");
+            this.minRate = minRate;
+            return this;
+        }
+
+        /**
+         * Sets the upper bound of the number of the commands admitted per second.
+         *
+         * <p>If not set, {@value AdaptiveLimit#DEFAULT_MAX_RATE} is used.
+         */
+        @CanIgnoreReturnValue
+        public Builder setMaxRate(int maxRate) {
+            checkArgument(maxRate > 0, "The rate must be positive.");
+            this.maxRate = maxRate;
+            return this;
+        }
+
+        /**
+         * Sets the longest delivery run for a shard which is not considered lagging.
+         *
+         * <p>If not set, one second is used.
+         */
+        @CanIgnoreReturnValue
+        public Builder setTargetRunDuration(Duration duration) {
+            checkNotNull(duration);
+            checkArgument(Durations.toNanos(duration) > 0, "The duration must be positive.");
+            this.targetRunDuration = duration;
+            return this;
+        }
+
+        /**
+         * Sets the largest backlog of a throttled tenant in a shard which is not
+         * considered lagging.
+         *
+         * <p>If not set, {@value AdaptiveLimit#DEFAULT_MAX_DEFERRED} is used.
+         */
+        @CanIgnoreReturnValue
+        public Builder setMaxDeferred(int maxDeferred) {
+            checkArgument(maxDeferred >= 0, "The number of messages cannot be negative.");
+            this.maxDeferred = maxDeferred;
+            return this;
+        }
+
+        /**
+         * Sets the monitor to which the delivery notifications are passed on.
+         *
+         * <p>If not set, the monitor which always continues the delivery is used.
+         */
+        @CanIgnoreReturnValue
+        public Builder setDelegate(DeliveryMonitor delegate) {
+            this.delegate = checkNotNull(delegate);
+            return this;
+        }
+
+        @VisibleForTesting
+        @CanIgnoreReturnValue
+        Builder setTicker(Ticker ticker) {
+            this.ticker = checkNotNull(ticker);
+            return this;
+        }
+
+        /**
+         * Creates a new instance of {@code AdaptiveLimit}.
+         *
+         * @throws IllegalArgumentException
+         *         if the initial rate is not within the bounds
+         */
+        public AdaptiveLimit build() {
+            checkArgument(minRate <= maxRate,
+                          "The minimum rate %s exceeds the maximum %s.", minRate, maxRate);
+            checkArgument(minRate <= initialRate && initialRate <= maxRate,
+                          "The initial rate %s is out of bounds [%s, %s].",
+                          initialRate, minRate, maxRate);
+            return new AdaptiveLimit(this);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.admission;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.annotation.Internal;
+import io.spine.server.type.CommandEnvelope;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * The decision of an {@link AdmissionController} on a single command.
+ */
+@Internal
+public final class Admission {
+
+    private final CommandEnvelope command;
+    private final ImmutableList<AdmissionPolicy> admittedBy;
+    private final @Nullable AdmissionPolicy refusedBy;
+    private boolean released;
+
+    private Admission(CommandEnvelope command,
+                      ImmutableList<AdmissionPolicy> admittedBy,
+                      @Nullable AdmissionPolicy refusedBy) {
+        this.command = command;
+        this.admittedBy = admittedBy;
+        this.refusedBy = refusedBy;
+    }
+
+    static Admission granted(CommandEnvelope command, ImmutableList<AdmissionPolicy> admittedBy) {
+        return new Admission(command, admittedBy, null);
+    }
+
+    static Admission refused(CommandEnvelope command, AdmissionPolicy refusedBy) {
+        return new Admission(command, ImmutableList.of(), refusedBy);
+    }
+
+    /**
+     * Tells if the command is admitted.
+     */
+    public boolean granted() {
+        return refusedBy == null;
+    }
+
+    /**
+     * Obtains the policy which refused the command, if it was refused.
+     */
+    public Optional<AdmissionPolicy> refusedBy() {
+        return Optional.ofNullable(refusedBy);
+    }
+
+    /**
+     * Releases the admitted command, letting the policies account for its completion.
+     *
+     * @throws IllegalStateException
+     *         if the admission is already released
+     */
+    public synchronized void release() {
+        checkState(!released, "The admission of the command `%s` is already released.",
+                   command.id());
+        released = true;
+        admittedBy.forEach(policy -> policy.release(command));
+    }
+
+    /**
+     * Creates an exception telling that the command was shed.
+     *
+     * @throws IllegalStateException
+     *         if the command was admitted
+     */
+    public CommandShedException toException() {
+        checkState(refusedBy != null, "The command `%s` was admitted.", command.id());
+        return new CommandShedException(command.command(), refusedBy);
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.admission;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.spine.annotation.Internal;
+import io.spine.server.type.CommandEnvelope;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Decides which of the commands arriving to the {@code CommandService} are posted
+ * to the {@code CommandBus}, and which are shed.
+ *
+ * <p>The controller consults its {@linkplain AdmissionPolicy policies} in the order
+ * they were added. A command is admitted only if all the policies admit it. If some policy
+ * refuses the command, the policies which already admitted it are
+ * {@linkplain AdmissionPolicy#release(CommandEnvelope) released} immediately.
+ *
+ * <p>The shed commands are acknowledged with the {@link CommandAdmissionError#COMMAND_SHED}
+ * error, so that the clients may retry posting them later. Under a sustained load, shedding
+ * the commands early keeps the inbox backlog and the heap of the server bounded.
+ *
+ * <p>Example:
+ * <pre>
+ *     AdmissionController controller = AdmissionController
+ *             .newBuilder()
+ *             .add(ConcurrencyLimit.of(512))
+ *             .add(RateLimit.perTenant(100.0, 200))
+ *             .build();
+ *     CommandService service = CommandService
+ *             .newBuilder()
+ *             .add(context)
+ *             .setAdmissionController(controller)
+ *             .build();
+ * </pre>
+ */
+public final class AdmissionController {
+
+    private static final AdmissionController ADMIT_ALL =
+            new AdmissionController(ImmutableList.of());
+
+    private final ImmutableList<AdmissionPolicy> policies;
+
+    private AdmissionController(ImmutableList<AdmissionPolicy> policies) {
+        this.policies = policies;
+    }
+
+    /**
+     * Returns the controller which admits all the commands.
+     */
+    public static AdmissionController admitAll() {
+        return ADMIT_ALL;
+    }
+
+    /**
+     * Creates a new builder for the controller.
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Tells if the controller has no policies, and therefore admits all the commands.
+     */
+    @Internal
+    public boolean admitsAll() {
+        return policies.isEmpty();
+    }
+
+    /**
+     * Attempts to admit the given command.
+     *
+     * <p>If the command is {@linkplain Admission#granted() granted} admission, the caller must
+     * {@linkplain Admission#release() release} it once the command is posted.
+     */
+    @Internal
+    public Admission admit(CommandEnvelope command) {
+        checkNotNull(command);
+        if (policies.isEmpty()) {
+            return Admission.granted(command, ImmutableList.of());
+        }
+        List<AdmissionPolicy> admitted = new ArrayList<>(policies.size());
+        for (AdmissionPolicy policy : policies) {
+            if (policy.tryAdmit(command)) {
+                admitted.add(policy);
+            } else {
+                admitted.forEach(p -> p.release(command));
+                return Admission.refused(command, policy);
+            }
+        }
+        return Admission.granted(command, ImmutableList.copyOf(admitted));
+    }
+
+    /**
+     * The builder of {@code AdmissionController}s.
+     */
+    public static final class Builder {
+
+        private final ImmutableList.Builder<AdmissionPolicy> policies = ImmutableList.builder();
+
+        /**
+         * Prevents direct instantiation.
+         */
+        private Builder() {
+        }
+
+        /**
+         * Adds the policy to consult after the previously added ones.
+         */
+        @CanIgnoreReturnValue
+        public Builder add(AdmissionPolicy policy) {
+            checkNotNull(policy);
+            policies.add(policy);
+            return this;
+        }
+
+        /**
+         * Creates a new instance of {@code AdmissionController}.
+         */
+        public AdmissionController build() {
+            return new AdmissionController(policies.build());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.admission;
+
+import io.spine.annotation.SPI;
+import io.spine.server.type.CommandEnvelope;
+
+/**
+ * A policy deciding if a command may be posted to the {@code CommandBus}.
+ *
+ * <p>The policies are combined by an {@link AdmissionController}. For each admitted command,
+ * the policy is {@linkplain #release(CommandEnvelope) notified} once the command is posted.
+ * A command is posted as soon as the {@code CommandBus} accepts it. For the commands
+ * delivered through an inbox, this happens before they are dispatched to their handlers.
+ *
+ * <p>The implementations must be thread-safe, as the commands are admitted concurrently.
+ */
+@SPI
+public interface AdmissionPolicy {
+
+    /**
+     * Attempts to admit the given command.
+     *
+     * @param command
+     *         the command to admit
+     * @return {@code true} if the command is admitted, {@code false} if it should be shed
+     */
+    boolean tryAdmit(CommandEnvelope command);
+
+    /**
+     * Notifies the policy that the previously admitted command has been posted.
+     *
+     * <p>The default implementation does nothing.
+     *
+     * @param command
+     *         the admitted command
+     */
+    default void release(CommandEnvelope command) {
+        // Do nothing by default.
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.admission;
+
+import com.google.protobuf.Value;
+import io.spine.base.Error;
+import io.spine.core.Command;
+import io.spine.server.commandbus.CommandException;
+import io.spine.server.type.CommandEnvelope;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.server.admission.CommandAdmissionError.COMMAND_SHED;
+import static java.lang.String.format;
+
+/**
+ * Thrown when a command is shed by the {@link AdmissionController} of an overloaded server.
+ *
+ * <p>The command is not posted to the {@code CommandBus}. The clients may post it again later.
+ */
+public final class CommandShedException extends CommandException {
+
+    /**
+     * The name of the attribute of the policy which shed the command.
+     */
+    public static final String ATTR_ADMISSION_POLICY = "admissionPolicy";
+
+    private static final long serialVersionUID = 0L;
+
+    CommandShedException(Command command, AdmissionPolicy policy) {
+        super(messageFormat(
+                "The command of class `%s` (Protobuf type: `%s`) was shed by the admission" +
+                        " control. Retry posting it later.", command),
+              command,
+              shedCommand(command, policy));
+    }
+
+    /**
+     * Tells if the passed error is reported for a command shed by the admission control.
+     *
+     * <p>The commands acknowledged with such an error may be posted again.
+     */
+    public static boolean isShed(Error error) {
+        checkNotNull(error);
+        boolean result = CommandAdmissionError.getDescriptor()
+                                              .getFullName()
+                                              .equals(error.getType())
+                && error.getCode() == COMMAND_SHED.getNumber();
+        return result;
+    }
+
+    private static Error shedCommand(Command command, AdmissionPolicy policy) {
+        CommandEnvelope envelope = CommandEnvelope.of(command);
+        String commandType = envelope.messageTypeName()
+                                     .value();
+        String policyName = policy.getClass()
+                                  .getSimpleName();
+        Value policyValue = Value.newBuilder()
+                                 .setStringValue(policyName)
+                                 .build();
+        Error error = Error
+                .newBuilder()
+                .setType(CommandAdmissionError.getDescriptor()
+                                              .getFullName())
+                .setCode(COMMAND_SHED.getNumber())
+                .setMessage(format("Commands of the type `%s` are shed by `%s`.",
+                                   commandType, policyName))
+                .putAllAttributes(commandTypeAttribute(envelope.message()))
+                .putAttributes(ATTR_ADMISSION_POLICY, policyValue)
+                .build();
+        return error;
+    }
+}
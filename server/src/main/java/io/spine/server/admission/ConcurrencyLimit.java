@@ -0,0 +1,97 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.admission;
+
+import io.spine.server.type.CommandEnvelope;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Limits the number of the commands being posted concurrently.
+ *
+ * <p>The commands arriving while the limit is reached are shed.
+ *
+ * <p>A command is counted until the {@code CommandBus} accepts it. For the commands
+ * delivered through an inbox, it is until the command is written to the inbox.
+ * To follow the pace of the delivery itself, use an {@link AdaptiveLimit}.
+ */
+public final class ConcurrencyLimit implements AdmissionPolicy {
+
+    private final int limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private ConcurrencyLimit(int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Creates a new policy admitting at most the given number of concurrent commands.
+     *
+     * @param limit
+     *         the maximum number of the commands posted concurrently; must be positive
+     */
+    public static ConcurrencyLimit of(int limit) {
+        checkArgument(limit > 0, "The concurrency limit must be positive, but was %s.", limit);
+        return new ConcurrencyLimit(limit);
+    }
+
+    @Override
+    public boolean tryAdmit(CommandEnvelope command) {
+        return tryAcquire();
+    }
+
+    @Override
+    public void release(CommandEnvelope command) {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Returns the number of the admitted commands which are not released yet.
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Increments the counter of the in-flight commands unless it has reached the limit.
+     *
+     * @return {@code true} if the counter was incremented, {@code false} otherwise
+     */
+    private boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+}
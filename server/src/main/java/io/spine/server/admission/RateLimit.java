@@ -0,0 +1,157 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.admission;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import io.spine.server.type.CommandEnvelope;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Limits the rate of the admitted commands with a token bucket.
+ *
+ * <p>The commands are grouped by a key, such as the tenant or the class of the command.
+ * Each group has its own bucket, holding up to {@code burst} tokens and refilled
+ * at {@code permitsPerSecond}. Each admitted command takes one token from the bucket of its
+ * group. The commands arriving to an empty bucket are shed.
+ *
+ * <p>The buckets of the groups which have not posted commands long enough for the bucket to
+ * refill are dropped, so that the policy does not keep a bucket for every group ever seen.
+ */
+public final class RateLimit implements AdmissionPolicy {
+
+    private static final long NANOS_PER_SECOND = SECONDS.toNanos(1);
+
+    private final Function<CommandEnvelope, ?> key;
+    private final double permitsPerNano;
+    private final int burst;
+    private final Ticker ticker;
+    private final long refillNanos;
+    private final ConcurrentMap<Object, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong evictedAt;
+
+    @VisibleForTesting
+    RateLimit(Function<CommandEnvelope, ?> key,
+              double permitsPerSecond,
+              int burst,
+              Ticker ticker) {
+        checkNotNull(key);
+        checkNotNull(ticker);
+        checkArgument(permitsPerSecond > 0,
+                      "The rate must be positive, but was %s.", permitsPerSecond);
+        checkArgument(burst > 0, "The burst must be positive, but was %s.", burst);
+        this.key = key;
+        this.permitsPerNano = permitsPerSecond / NANOS_PER_SECOND;
+        this.burst = burst;
+        this.ticker = ticker;
+        this.refillNanos = (long) (burst / permitsPerNano);
+        this.evictedAt = new AtomicLong(ticker.read());
+    }
+
+    /**
+     * Creates a policy limiting the rate of the commands of each tenant separately.
+     *
+     * @param permitsPerSecond
+     *         the sustained number of the commands admitted per second
+     * @param burst
+     *         the maximum number of the commands admitted at once after a period of inactivity
+     */
+    public static RateLimit perTenant(double permitsPerSecond, int burst) {
+        return new RateLimit(CommandEnvelope::tenantId, permitsPerSecond, burst,
+                             Ticker.systemTicker());
+    }
+
+    /**
+     * Creates a policy limiting the rate of the commands of each class separately.
+     *
+     * @param permitsPerSecond
+     *         the sustained number of the commands admitted per second
+     * @param burst
+     *         the maximum number of the commands admitted at once after a period of inactivity
+     */
+    public static RateLimit perCommandClass(double permitsPerSecond, int burst) {
+        return new RateLimit(CommandEnvelope::messageClass, permitsPerSecond, burst,
+                             Ticker.systemTicker());
+    }
+
+    /**
+     * Creates a policy limiting the rate of all the commands together.
+     *
+     * @param permitsPerSecond
+     *         the sustained number of the commands admitted per second
+     * @param burst
+     *         the maximum number of the commands admitted at once after a period of inactivity
+     */
+    public static RateLimit total(double permitsPerSecond, int burst) {
+        return new RateLimit(command -> RateLimit.class, permitsPerSecond, burst,
+                             Ticker.systemTicker());
+    }
+
+    @Override
+    public boolean tryAdmit(CommandEnvelope command) {
+        evictFullBuckets();
+        Object group = key.apply(command);
+        TokenBucket bucket = buckets.computeIfAbsent(group, g -> new TokenBucket(ticker, burst));
+        return bucket.tryTake(permitsPerNano, burst);
+    }
+
+    /**
+     * Removes the buckets which are refilled up to the burst.
+     *
+     * <p>A full bucket admits the same commands as a new one, so the groups which have not
+     * posted commands for a while do not keep their buckets. The buckets are checked at most
+     * once per the time it takes to refill an empty bucket.
+     */
+    private void evictFullBuckets() {
+        long now = ticker.read();
+        long lastEviction = evictedAt.get();
+        if (now - lastEviction < refillNanos || !evictedAt.compareAndSet(lastEviction, now)) {
+            return;
+        }
+        buckets.forEach((group, bucket) -> {
+            if (bucket.isFull(permitsPerNano, burst)) {
+                buckets.remove(group, bucket);
+            }
+        });
+    }
+
+    /**
+     * Obtains the number of the groups of the commands which currently have a bucket.
+     */
+    @VisibleForTesting
+    int bucketCount() {
+        return buckets.size();
+    }
+}
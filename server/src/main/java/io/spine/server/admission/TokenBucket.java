@@ -0,0 +1,88 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.admission;
+
+import com.google.common.base.Ticker;
+
+/**
+ * A bucket of the tokens admitting the commands at a limited rate.
+ *
+ * <p>The bucket is refilled continuously at the rate passed to each
+ * {@linkplain #tryTake(double, int) take}, up to the given capacity.
+ */
+final class TokenBucket {
+
+    private final Ticker ticker;
+    private double tokens;
+    private long refilledAt;
+
+    /**
+     * Creates a full bucket.
+     */
+    TokenBucket(Ticker ticker, int capacity) {
+        this.ticker = ticker;
+        this.tokens = capacity;
+        this.refilledAt = ticker.read();
+    }
+
+    /**
+     * Attempts to take a token from the bucket.
+     *
+     * @param tokensPerNano
+     *         the rate of refilling the bucket
+     * @param capacity
+     *         the maximum number of tokens in the bucket
+     * @return {@code true} if a token was taken, {@code false} if the bucket is empty
+     */
+    synchronized boolean tryTake(double tokensPerNano, int capacity) {
+        refill(tokensPerNano, capacity);
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    /**
+     * Tells if the bucket is refilled up to the given capacity.
+     *
+     * <p>A full bucket admits the same commands as a newly created one.
+     */
+    synchronized boolean isFull(double tokensPerNano, int capacity) {
+        refill(tokensPerNano, capacity);
+        return tokens >= capacity;
+    }
+
+    private void refill(double tokensPerNano, int capacity) {
+        long now = ticker.read();
+        long elapsed = now - refilledAt;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+            refilledAt = now;
+        }
+    }
+}
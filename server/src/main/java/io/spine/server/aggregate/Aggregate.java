@@ -33,6 +33,7 @@ import io.spine.annotation.Internal;
 import io.spine.base.EntityState;
 import io.spine.base.Error;
 import io.spine.core.Event;
+import io.spine.core.SignalId;
 import io.spine.core.Version;
 import io.spine.protobuf.AnyPacker;
 import io.spine.protobuf.ValidatingBuilder;
@@ -490,6 +491,14 @@ public abstract class Aggregate<I,
         return recentHistory().iterator();
     }
 
+    /**
+     * Verifies if the recent history of the aggregate contains an event produced in response
+     * to the signal with the given ID.
+     */
+    final boolean historyContainsOutcomeOf(SignalId signalId) {
+        return recentHistory().containsOutcomeOf(signalId);
+    }
+
     /**
      * Verifies if the aggregate history contains an event which satisfies the passed predicate.
      */
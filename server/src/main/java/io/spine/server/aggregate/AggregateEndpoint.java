@@ -52,6 +52,7 @@ import static com.google.common.base.Functions.identity;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static io.spine.protobuf.AnyPacker.unpack;
+import static io.spine.server.trace.SpanKind.ENTITY_LOAD;
 
 /**
  * Abstract base for endpoints handling messages sent to aggregates.
@@ -116,7 +117,10 @@ abstract class AggregateEndpoint<I,
     }
 
     private A loadOrCreate(I aggregateId) {
-        return repository().loadOrCreate(aggregateId);
+        long start = System.nanoTime();
+        A aggregate = repository().loadOrCreate(aggregateId);
+        traceSince(ENTITY_LOAD, start);
+        return aggregate;
     }
 
     @CanIgnoreReturnValue
@@ -29,9 +29,12 @@ package io.spine.server.aggregate;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableSet;
 import com.google.errorprone.annotations.OverridingMethodsMustInvokeSuper;
+import com.google.protobuf.Any;
+import com.google.protobuf.FieldMask;
 import io.spine.annotation.Internal;
 import io.spine.base.EntityState;
 import io.spine.base.EventMessage;
+import io.spine.base.Identifier;
 import io.spine.client.ResponseFormat;
 import io.spine.client.TargetFilters;
 import io.spine.core.CommandId;
@@ -64,6 +67,7 @@ import io.spine.server.type.EventClass;
 import io.spine.server.type.EventEnvelope;
 import io.spine.server.type.SignalEnvelope;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Iterator;
 import java.util.Optional;
@@ -111,6 +115,9 @@ public abstract class AggregateRepository<I, A extends Aggregate<I, S, ?>, S ext
      */
     private final EventRouting<I> eventImportRouting;
 
+    /** The route ensuring that an imported event has the sole target aggregate. */
+    private final Route<EventMessage, EventContext, I> importRoute;
+
     /**
      * The {@link Inbox} for the messages, which are sent to the instances managed by this
      * repository.
@@ -128,6 +135,7 @@ public abstract class AggregateRepository<I, A extends Aggregate<I, S, ?>, S ext
         this.commandRouting = memoize(() -> CommandRouting.newInstance(idClass()));
         this.eventRouting = EventRouting.withDefaultByProducerId();
         this.eventImportRouting = EventRouting.withDefaultByProducerId();
+        this.importRoute = singleImportTarget();
     }
 
     /**
@@ -396,9 +404,19 @@ public abstract class AggregateRepository<I, A extends Aggregate<I, S, ?>, S ext
     @Override
     public void dispatchEvent(EventEnvelope event) {
         checkNotNull(event);
-        Set<I> targets = route(event);
-        targets.forEach((id) -> inbox().send(event)
-                                       .toReactor(id));
+        EventRouting<I> routing = eventRouting();
+        if (routing.isUnicast(event.message()
+                                   .getClass())) {
+            I target = routeUnicast(routing, event);
+            if (target != null) {
+                inbox().send(event)
+                       .toReactor(target);
+            }
+        } else {
+            Set<I> targets = route(event);
+            targets.forEach((id) -> inbox().send(event)
+                                           .toReactor(id));
+        }
     }
 
     private Set<I> route(EventEnvelope event) {
@@ -416,16 +434,30 @@ public abstract class AggregateRepository<I, A extends Aggregate<I, S, ?>, S ext
                                       .toImporter(id));
     }
 
+    /**
+     * Obtains the sole aggregate to import the event into.
+     *
+     * <p>The error messages are only composed if the routing fails.
+     */
     private Optional<I> routeImport(EventEnvelope event) {
-        Optional<I> id = route(eventImportRouting(), event);
-        return id;
+        if (eventImportRouting.isUnicast(event.message()
+                                              .getClass())) {
+            return Optional.ofNullable(routeUnicast(eventImportRouting, event));
+        }
+        return route(importRoute, event);
     }
 
-    @SuppressWarnings("UnnecessaryLambda")
-    private Route<? extends EventMessage, EventContext, I> eventImportRouting() {
+    /**
+     * Creates the route which ensures the multicast import routing yields exactly one target.
+     */
+    private Route<EventMessage, EventContext, I> singleImportTarget() {
         return (message, context) -> {
             Set<I> ids = eventImportRouting.apply(message, context);
             int numberOfTargets = ids.size();
+            if (numberOfTargets == 1) {
+                return ids.iterator()
+                          .next();
+            }
             String messageType = message.getClass()
                                         .getName();
             checkState(
@@ -434,20 +466,13 @@ public abstract class AggregateRepository<I, A extends Aggregate<I, S, ?>, S ext
                     context,
                     messageType
             );
-            checkState(
-                    numberOfTargets == 1,
+            throw newIllegalStateException(
                     "Expected one aggregate ID, but got %s (%s). Event class: `%s`, context: `%s`.",
                     String.valueOf(numberOfTargets),
                     ids,
                     messageType,
                     context
             );
-            I id = ids.stream()
-                      .findFirst()
-                      .orElseThrow(() -> newIllegalStateException(
-                              "Unable to route import event `%s`.", messageType)
-                      );
-            return id;
         };
     }
 
@@ -664,4 +689,12 @@ public abstract class AggregateRepository<I, A extends Aggregate<I, S, ?>, S ext
     public Iterator<EntityRecord> findRecords(ResponseFormat format) {
         return aggregateStorage().readStates(format);
     }
+
+    @Override
+    @Internal
+    public Iterator<EntityRecord>
+    findRecordsPage(TargetFilters filters, FieldMask mask, @Nullable Any after, int limit) {
+        I afterId = after == null ? null : Identifier.unpack(after, idClass());
+        return aggregateStorage().readStatesPage(filters, mask, afterId, limit);
+    }
 }
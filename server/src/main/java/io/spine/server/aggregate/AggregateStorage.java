@@ -27,6 +27,7 @@
 package io.spine.server.aggregate;
 
 import com.google.common.collect.ImmutableList;
+import com.google.protobuf.FieldMask;
 import com.google.protobuf.Timestamp;
 import com.google.protobuf.util.Timestamps;
 import io.spine.annotation.Internal;
@@ -341,6 +342,28 @@ public class AggregateStorage<I, S extends EntityState<I>>
         return stateStorage.readAll(query);
     }
 
+    /**
+     * Reads a page of the aggregate states passing the filters, in the order of
+     * the aggregate identifiers.
+     *
+     * @param filters
+     *         the filters of the states
+     * @param mask
+     *         the mask to apply to the states
+     * @param after
+     *         the identifier after which the page starts, or {@code null} to read
+     *         the first page
+     * @param limit
+     *         the maximum number of the records in the page
+     * @return an iterator over the records of the page
+     * @see EntityRecordStorage#readPage(TargetFilters, FieldMask, Object, int)
+     */
+    protected Iterator<EntityRecord>
+    readStatesPage(TargetFilters filters, FieldMask mask, @Nullable I after, int limit) {
+        ensureStatesQueryable();
+        return stateStorage.readPage(filters, mask, after, limit);
+    }
+
     private void ensureStatesQueryable() {
         if (!queryingEnabled) {
             throw newIllegalStateException(
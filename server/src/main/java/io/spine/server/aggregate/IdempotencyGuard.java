@@ -29,14 +29,12 @@ package io.spine.server.aggregate;
 import io.spine.base.Error;
 import io.spine.core.CommandId;
 import io.spine.core.CommandValidationError;
-import io.spine.core.Event;
 import io.spine.core.EventId;
 import io.spine.core.EventValidationError;
 import io.spine.server.type.CommandEnvelope;
 import io.spine.server.type.EventEnvelope;
 
 import java.util.Optional;
-import java.util.function.Predicate;
 
 import static io.spine.core.CommandValidationError.DUPLICATE_COMMAND_VALUE;
 import static io.spine.core.EventValidationError.DUPLICATE_EVENT_VALUE;
@@ -122,16 +120,7 @@ final class IdempotencyGuard {
      */
     private boolean didHandleRecently(EventEnvelope event) {
         EventId eventId = event.id();
-        Predicate<Event> causedByEvent = e -> e.context()
-                                               .getPastMessage()
-                                               .messageId()
-                                               .isEvent();
-        Predicate<Event> originHasGivenId = e -> e.context()
-                                                  .getPastMessage()
-                                                  .messageId()
-                                                  .asEventId()
-                                                  .equals(eventId);
-        boolean found = aggregate.historyContains(causedByEvent.and(originHasGivenId));
+        boolean found = aggregate.historyContainsOutcomeOf(eventId);
         return found;
     }
 
@@ -150,16 +139,7 @@ final class IdempotencyGuard {
      */
     private boolean didHandleRecently(CommandEnvelope command) {
         CommandId commandId = command.id();
-        Predicate<Event> causedByCommand = e -> e.context()
-                                                 .getPastMessage()
-                                                 .messageId()
-                                                 .isCommand();
-        Predicate<Event> originHasGivenId = e -> e.context()
-                                                  .getPastMessage()
-                                                  .messageId()
-                                                  .asCommandId()
-                                                  .equals(commandId);
-        boolean found = aggregate.historyContains(causedByCommand.and(originHasGivenId));
+        boolean found = aggregate.historyContainsOutcomeOf(commandId);
         return found;
     }
 }
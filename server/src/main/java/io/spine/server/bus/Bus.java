@@ -37,18 +37,24 @@ import io.spine.core.Signal;
 import io.spine.core.SignalId;
 import io.spine.logging.Logging;
 import io.spine.server.Closeable;
-import io.spine.server.type.MessageEnvelope;
+import io.spine.server.metrics.ServerMetrics;
+import io.spine.server.trace.ServerTracing;
+import io.spine.server.trace.SpanKind;
 import io.spine.server.type.SignalEnvelope;
 import io.spine.type.MessageClass;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Supplier;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Suppliers.memoize;
+import static com.google.common.collect.Lists.transform;
 import static io.spine.server.bus.Acks.acknowledge;
+import static io.spine.server.metrics.ServerMetrics.BUS_DISPATCH;
+import static io.spine.server.metrics.ServerMetrics.BUS_FILTER;
+import static io.spine.server.metrics.ServerMetrics.BUS_POST;
 import static io.spine.util.Preconditions2.checkNotDefaultArg;
 import static java.util.Collections.singleton;
 
@@ -147,21 +153,93 @@ public abstract class Bus<T extends Signal<?, ?, ?>,
     public final void post(Iterable<T> messages, StreamObserver<Ack> observer) {
         checkNotNull(messages);
         checkNotNull(observer);
-        messages.forEach(message -> listeners.accept(toEnvelope(message)));
+        long start = System.nanoTime();
+        ImmutableList<E> envelopes = toEnvelopes(messages);
+        envelopes.forEach(listeners);
         StreamObserver<Ack> wrappedObserver = prepareObserver(messages, observer);
-        filterAndPost(messages, wrappedObserver);
+        filterAndPost(envelopes, wrappedObserver);
+        recordPerMessage(BUS_POST, envelopes, start);
     }
 
-    private void filterAndPost(Iterable<T> messages, StreamObserver<Ack> observer) {
-        Map<T, E> filteredMessages = filter(messages, observer);
-        if (!filteredMessages.isEmpty()) {
-            store(filteredMessages.keySet());
-            Iterable<E> envelopes = filteredMessages.values();
-            doPost(envelopes, observer);
+    /**
+     * Packs each of the given messages into an envelope.
+     *
+     * <p>The envelopes are created once per {@linkplain #post(Iterable, StreamObserver) posting}
+     * and are then shared by the listeners, the filters, and the dispatchers.
+     */
+    private ImmutableList<E> toEnvelopes(Iterable<T> messages) {
+        ImmutableList.Builder<E> result = ImmutableList.builder();
+        for (T message : messages) {
+            result.add(toEnvelope(message));
+        }
+        return result.build();
+    }
+
+    private void filterAndPost(List<E> envelopes, StreamObserver<Ack> observer) {
+        long start = System.nanoTime();
+        List<E> filtered = filter(envelopes, observer);
+        recordPerMessage(BUS_FILTER, envelopes, start);
+        traceFilter(envelopes, start);
+        if (!filtered.isEmpty()) {
+            List<T> messages = transform(filtered, SignalEnvelope::outerObject);
+            store(messages);
+            doPost(filtered, observer);
         }
         observer.onCompleted();
     }
 
+    /**
+     * Records the {@linkplain SpanKind#BUS_FILTER filtering} span of each of the envelopes.
+     *
+     * <p>The envelopes are filtered together, so the spans of all of them cover
+     * the whole filtering.
+     */
+    private void traceFilter(List<E> envelopes, long startNanos) {
+        if (!ServerTracing.enabled()) {
+            return;
+        }
+        String bus = getClass().getSimpleName();
+        for (E envelope : envelopes) {
+            ServerTracing.recordSince(SpanKind.BUS_FILTER, envelope.outerObject(),
+                                      bus, startNanos);
+        }
+    }
+
+    /**
+     * Records the time elapsed since the given moment into the metric of each of the envelopes.
+     *
+     * <p>The time is split evenly between the envelopes.
+     */
+    private static void recordPerMessage(String metric,
+                                         List<? extends SignalEnvelope<?, ?, ?>> envelopes,
+                                         long startNanos) {
+        if (envelopes.isEmpty() || !ServerMetrics.enabled()) {
+            return;
+        }
+        long perMessage = (System.nanoTime() - startNanos) / envelopes.size();
+        for (SignalEnvelope<?, ?, ?> envelope : envelopes) {
+            record(metric, envelope, perMessage);
+        }
+    }
+
+    /**
+     * Records the time elapsed since the given moment into the metric of the envelope.
+     */
+    private static void recordSince(String metric, SignalEnvelope<?, ?, ?> envelope,
+                                    long startNanos) {
+        if (ServerMetrics.enabled()) {
+            record(metric, envelope, System.nanoTime() - startNanos);
+        }
+    }
+
+    private static void record(String metric, SignalEnvelope<?, ?, ?> envelope, long nanos) {
+        String messageClass = envelope.messageClass()
+                                      .value()
+                                      .getName();
+        ServerMetrics.histogram(metric, messageClass)
+                     .record(nanos);
+    }
+
     /**
      * Prepares the given {@link StreamObserver} to post messages into this bus.
      *
@@ -248,61 +326,41 @@ public abstract class Bus<T extends Signal<?, ?, ?>,
     }
 
     /**
-     * Filters the given messages.
+     * Filters the given envelopes.
      *
-     * <p>Each message goes through the filter chain, specific to the {@code Bus} implementation.
+     * <p>The envelopes go through the filter chain, specific to the {@code Bus} implementation,
+     * as a {@linkplain BusFilter#filterBatch(List) batch}.
      *
-     * <p>If a message passes the filtering, it is included into the resulting {@link Iterable};
+     * <p>If an envelope passes the filtering, it is included into the resulting list;
      * otherwise, {@linkplain StreamObserver#onNext StreamObserver.onNext()} is called for that
-     * message.
+     * envelope.
      *
      * <p>Any filter in the filter chain may process the message by itself. In this case an observer
      * is notified by the filter directly.
      *
-     * @param messages
-     *         the message to filter
+     * @param envelopes
+     *         the envelopes to filter
      * @param observer
      *         the observer to receive the negative outcome of the operation
-     * @return a map of filtered messages where keys are messages, and values are envelopes with
-     *         these messages
-     * @implNote This method returns a map to avoid repeated creation of envelopes when
-     *         dispatching. Messages in the returned map come in the same order as in
-     *         the incoming sequence.
+     * @return the envelopes which passed the filtering, in the same order as in
+     *         the incoming sequence
      */
-    private Map<T, E> filter(Iterable<T> messages, StreamObserver<Ack> observer) {
-        checkNotNull(messages);
+    private List<E> filter(List<E> envelopes, StreamObserver<Ack> observer) {
+        checkNotNull(envelopes);
         checkNotNull(observer);
-        Map<T, E> result = new LinkedHashMap<>();
-        for (T message : messages) {
-            E envelope = toEnvelope(message);
-            Optional<Ack> response = filter(envelope);
+        List<Optional<Ack>> responses = filterChain().filterBatch(envelopes);
+        List<E> result = new ArrayList<>(envelopes.size());
+        for (int i = 0; i < envelopes.size(); i++) {
+            Optional<Ack> response = responses.get(i);
             if (response.isPresent()) {
                 observer.onNext(response.get());
             } else {
-                result.put(message, envelope);
+                result.add(envelopes.get(i));
             }
         }
         return result;
     }
 
-    /**
-     * Feeds the given message to the bus filters.
-     *
-     * <p>If the given message is completely processed and should not be passed to the dispatchers,
-     * the returned {@link Optional} contains a value with either status.
-     *
-     * <p>If the message should be passed to the dispatchers, the result of this method is
-     * {@link Optional#empty()}.
-     *
-     * @param message the {@linkplain MessageEnvelope message envelope} to pre-process
-     * @return the result of message processing by this bus if any, or
-     * {@link Optional#empty()} otherwise
-     */
-    private Optional<Ack> filter(E message) {
-        Optional<Ack> filterOutput = filterChain().filter(message);
-        return filterOutput;
-    }
-
     /**
      * Packs the given message of type {@code T} into an envelope of type {@code E}.
      *
@@ -323,30 +381,58 @@ public abstract class Bus<T extends Signal<?, ?, ?>,
      */
     protected abstract void dispatch(E envelope);
 
+    /**
+     * Performs the dispatching of the given envelopes.
+     *
+     * <p>The passed operation {@linkplain #dispatch(SignalEnvelope) dispatches} the envelopes
+     * one by one, in the order they were posted. Each envelope is acknowledged right before
+     * its dispatching starts.
+     *
+     * <p>By default, just runs the operation. Descendants may override this method in order to
+     * prepare the envelopes for dispatching, or to run the operation in a certain context,
+     * e.g. to write all the messages it sends to the inboxes in a batch.
+     *
+     * @param envelopes
+     *         the envelopes to dispatch, all of which have passed the filtering
+     * @param dispatching
+     *         the operation dispatching the envelopes
+     */
+    protected void dispatchAll(List<E> envelopes, Runnable dispatching) {
+        dispatching.run();
+    }
+
     /**
      * Posts each of the given envelopes into the bus and notifies the given observer.
      *
      * @param envelopes the envelopes to post
      * @param observer  the observer to be notified of the operation result
-     * @see #dispatch(SignalEnvelope)
+     * @see #dispatchAll(List, Runnable)
      */
-    @SuppressWarnings("ProhibitedExceptionThrown") // Rethrow a caught exception.
-    private void doPost(Iterable<E> envelopes, StreamObserver<Ack> observer) {
-        for (E envelope : envelopes) {
-            SignalId signalId = envelope.id();
-            observer.onNext(acknowledge(signalId));
-            onDispatchingStarted(signalId);
-            try {
-                dispatch(envelope);
-            } catch (Throwable t) {
-                _error().withCause(t)
-                        .log("Error when dispatching %s[ID: %s].",
-                             envelope.messageClass(),
-                             signalId);
-                throw t;
-            } finally {
-                onDispatched(signalId);
+    private void doPost(List<E> envelopes, StreamObserver<Ack> observer) {
+        dispatchAll(envelopes, () -> {
+            for (E envelope : envelopes) {
+                doPost(envelope, observer);
             }
+        });
+    }
+
+    @SuppressWarnings("ProhibitedExceptionThrown") // Rethrow a caught exception.
+    private void doPost(E envelope, StreamObserver<Ack> observer) {
+        SignalId signalId = envelope.id();
+        observer.onNext(acknowledge(signalId));
+        onDispatchingStarted(signalId);
+        long start = System.nanoTime();
+        try {
+            dispatch(envelope);
+        } catch (Throwable t) {
+            _error().withCause(t)
+                    .log("Error when dispatching %s[ID: %s].",
+                         envelope.messageClass(),
+                         signalId);
+            throw t;
+        } finally {
+            recordSince(BUS_DISPATCH, envelope, start);
+            onDispatched(signalId);
         }
     }
 
@@ -26,6 +26,7 @@
 
 package io.spine.server.bus;
 
+import com.google.common.collect.ImmutableList;
 import io.spine.annotation.SPI;
 import io.spine.base.Error;
 import io.spine.base.ThrowableMessage;
@@ -34,6 +35,7 @@ import io.spine.server.event.RejectionEnvelope;
 import io.spine.server.type.CommandEnvelope;
 import io.spine.server.type.MessageEnvelope;
 
+import java.util.List;
 import java.util.Optional;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -70,6 +72,30 @@ public interface BusFilter<E extends MessageEnvelope<?, ?, ?>> extends AutoClose
      */
     Optional<Ack> filter(E envelope);
 
+    /**
+     * Accepts or rejects each of the passed messages.
+     *
+     * <p>The result contains exactly one element per passed envelope, in the same order.
+     * An element is {@code Optional.empty()} if the corresponding message passes the filter, and
+     * the {@linkplain Ack posting result} otherwise.
+     *
+     * <p>By default, {@linkplain #filter(MessageEnvelope) filters} the messages one by one.
+     * Filters which can process a number of messages cheaper than each message separately,
+     * e.g. by querying a storage once for the whole batch, should override this method.
+     *
+     * @param envelopes
+     *         the envelopes with the messages to filter
+     * @return the filtering outcome for each of the envelopes
+     */
+    default List<Optional<Ack>> filterBatch(List<E> envelopes) {
+        checkNotNull(envelopes);
+        ImmutableList.Builder<Optional<Ack>> result = ImmutableList.builder();
+        for (E envelope : envelopes) {
+            result.add(filter(envelope));
+        }
+        return result.build();
+    }
+
     /**
      * Lets the message pass the filter.
      *
@@ -31,10 +31,13 @@ import io.spine.core.Ack;
 import io.spine.server.Closeable;
 import io.spine.server.type.MessageEnvelope;
 
+import java.util.ArrayList;
 import java.util.Deque;
+import java.util.List;
 import java.util.Optional;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 import static java.lang.String.format;
 import static java.util.stream.Collectors.joining;
 
@@ -68,6 +71,48 @@ final class FilterChain<E extends MessageEnvelope<?, ?, ?>> implements BusFilter
         return letPass();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Passes the whole batch to each of the filters in the chain. A filter only receives
+     * the envelopes which passed all the preceding filters.
+     */
+    @Override
+    public List<Optional<Ack>> filterBatch(List<E> envelopes) {
+        checkNotNull(envelopes);
+        checkOpen();
+        int size = envelopes.size();
+        List<Optional<Ack>> result = new ArrayList<>(size);
+        List<Integer> passed = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(letPass());
+            passed.add(i);
+        }
+        for (BusFilter<E> filter : chain) {
+            if (passed.isEmpty()) {
+                break;
+            }
+            List<E> batch = new ArrayList<>(passed.size());
+            passed.forEach(index -> batch.add(envelopes.get(index)));
+            List<Optional<Ack>> outputs = filter.filterBatch(batch);
+            checkState(outputs.size() == batch.size(),
+                       "Filter `%s` returned %s results for %s envelopes.",
+                       filter, outputs.size(), batch.size());
+            List<Integer> stillPassed = new ArrayList<>(passed.size());
+            for (int i = 0; i < outputs.size(); i++) {
+                Optional<Ack> output = outputs.get(i);
+                int index = passed.get(i);
+                if (output.isPresent()) {
+                    result.set(index, output);
+                } else {
+                    stillPassed.add(index);
+                }
+            }
+            passed = stillPassed;
+        }
+        return result;
+    }
+
     boolean contains(BusFilter<E> filter) {
         return chain.contains(filter);
     }
@@ -29,10 +29,12 @@ import com.google.protobuf.Message;
 import io.spine.core.Signal;
 import io.spine.core.SignalId;
 import io.spine.server.ServerEnvironment;
+import io.spine.server.delivery.Delivery;
 import io.spine.server.type.SignalEnvelope;
 import io.spine.type.MessageClass;
 
 import java.util.Collection;
+import java.util.List;
 
 /**
  * A {@code Bus}, which delivers a single message to multiple dispatchers.
@@ -48,13 +50,14 @@ public abstract class MulticastBus<M extends Signal<?, ?, ?>,
                                    D extends MessageDispatcher<C, E>>
         extends Bus<M, E, C, D> {
 
+    private final Delivery delivery;
     private final MulticastDispatchListener listener;
 
     protected MulticastBus(BusBuilder<?, M, E, C, D> builder) {
         super(builder);
-        this.listener = ServerEnvironment.instance()
-                                         .delivery()
-                                         .dispatchListener();
+        this.delivery = ServerEnvironment.instance()
+                                         .delivery();
+        this.listener = delivery.dispatchListener();
     }
 
     /**
@@ -71,6 +74,17 @@ public abstract class MulticastBus<M extends Signal<?, ?, ?>,
         return dispatchers.size();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The messages sent to the inboxes of the dispatchers are
+     * {@linkplain Delivery#writeInBatch(Runnable) written} in a single batch.
+     */
+    @Override
+    protected void dispatchAll(List<E> envelopes, Runnable dispatching) {
+        delivery.writeInBatch(dispatching);
+    }
+
     @Override
     protected final void onDispatchingStarted(SignalId signal) {
         listener.onStarted(signal);
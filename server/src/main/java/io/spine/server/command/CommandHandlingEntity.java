@@ -26,11 +26,9 @@
 
 package io.spine.server.command;
 
-import com.google.errorprone.annotations.concurrent.LazyInit;
 import com.google.protobuf.Any;
 import com.google.protobuf.Message;
 import io.spine.base.EntityState;
-import io.spine.base.Identifier;
 import io.spine.change.MessageMismatch;
 import io.spine.change.StringMismatch;
 import io.spine.change.ValueMismatch;
@@ -38,7 +36,6 @@ import io.spine.protobuf.ValidatingBuilder;
 import io.spine.server.dispatch.DispatchOutcome;
 import io.spine.server.entity.TransactionalEntity;
 import io.spine.server.type.CommandEnvelope;
-import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 
 /**
  * An entity that {@linkplain Assign handles} commands.
@@ -52,10 +49,6 @@ class CommandHandlingEntity<I,
         extends TransactionalEntity<I, S, B>
         implements CommandHandler {
 
-    /** Cached value of the ID in the form of {@code Any} instance. */
-    @LazyInit
-    private @MonotonicNonNull Any idAsAny;
-
     protected CommandHandlingEntity() {
         super();
     }
@@ -65,15 +58,11 @@ class CommandHandlingEntity<I,
      */
     protected CommandHandlingEntity(I id) {
         super(id);
-        this.idAsAny = Identifier.pack(id);
     }
 
     @Override
     public Any producerId() {
-        if (idAsAny == null) {
-            idAsAny = Identifier.pack(id());
-        }
-        return idAsAny;
+        return idAsAny();
     }
 
     /**
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.delivery;
+
+import com.google.common.collect.Iterables;
+import io.spine.core.TenantId;
+import io.spine.server.tenant.TenantAwareRunner;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A writer of {@link Inbox Inbox} messages, which is able to accumulate the messages written
+ * during an operation and to pass them to the storage at once.
+ *
+ * <p>Outside of a {@linkplain #buffering(Runnable) buffering} operation, the messages are
+ * passed to the delegate writer right away.
+ *
+ * <p>The buffer is specific to a thread. Nested buffering operations write to the buffer
+ * of the outermost operation, so that the messages reach the storage in the order
+ * they were written.
+ */
+final class BufferingWriter implements InboxWriter {
+
+    private final InboxWriter delegate;
+    private final ThreadLocal<@Nullable List<InboxMessage>> buffer = new ThreadLocal<>();
+
+    BufferingWriter(InboxWriter delegate) {
+        this.delegate = checkNotNull(delegate);
+    }
+
+    @Override
+    public void write(InboxMessage message) {
+        List<InboxMessage> current = buffer.get();
+        if (current == null) {
+            delegate.write(message);
+        } else {
+            current.add(message);
+        }
+    }
+
+    @Override
+    public void writeAll(Iterable<InboxMessage> messages) {
+        List<InboxMessage> current = buffer.get();
+        if (current == null) {
+            delegate.writeAll(messages);
+        } else {
+            Iterables.addAll(current, messages);
+        }
+    }
+
+    /**
+     * Performs the given operation accumulating the messages written by the current thread.
+     *
+     * <p>Once the operation completes, the accumulated messages are written in a single batch
+     * per tenant. The messages are written even if the operation fails.
+     *
+     * <p>If the current thread is already buffering, the messages are accumulated in
+     * the existing buffer and are written when the outermost operation completes.
+     *
+     * @param operation
+     *         the operation to perform
+     */
+    void buffering(Runnable operation) {
+        checkNotNull(operation);
+        if (buffer.get() != null) {
+            operation.run();
+            return;
+        }
+        List<InboxMessage> current = new ArrayList<>();
+        buffer.set(current);
+        try {
+            operation.run();
+        } finally {
+            buffer.remove();
+            flush(current);
+        }
+    }
+
+    private void flush(List<InboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        if (messages.size() == 1) {
+            InboxMessage message = messages.get(0);
+            TenantAwareRunner
+                    .with(message.tenant())
+                    .run(() -> delegate.write(message));
+            return;
+        }
+        Map<TenantId, List<InboxMessage>> byTenant =
+                messages.stream()
+                        .collect(groupingBy(InboxMessage::tenant, LinkedHashMap::new, toList()));
+        byTenant.forEach((tenant, batch) -> TenantAwareRunner
+                .with(tenant)
+                .run(() -> delegate.writeAll(batch)));
+    }
+}
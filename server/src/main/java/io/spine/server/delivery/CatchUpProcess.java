@@ -388,7 +388,7 @@ public final class CatchUpProcess<I>
     private void dispatchCatchUpStarted(CatchUpStarted started, EventContext ctx) {
         Event event = wrapAsEvent(started, ctx);
         Set<I> ids = targetsForCatchUpSignals(builder().getRequest());
-        Set<I> targetIds = dispatchAll(ImmutableList.of(event), ids);
+        Set<I> targetIds = dispatchEvents(ImmutableList.of(event), ids);
         builder().setInstancesToClear(targetIds.size());
     }
 
@@ -466,7 +466,7 @@ public final class CatchUpProcess<I>
             Timestamp lastEventTimestamp = lastEvent.getContext()
                                                     .getTimestamp();
             builder().setWhenLastRead(lastEventTimestamp);
-            dispatchAll(stripped);
+            dispatchEvents(stripped);
         } else {
             return EitherOf2.withB(fullyRecalled(id));
         }
@@ -497,7 +497,7 @@ public final class CatchUpProcess<I>
             Timestamp lastEventTimestamp = events.get(events.size() - 1)
                                                  .timestamp();
             builder().setWhenLastRead(lastEventTimestamp);
-            dispatchAll(events);
+            dispatchEvents(events);
         }
         return liveEventsPickedUp(id);
     }
@@ -669,17 +669,17 @@ public final class CatchUpProcess<I>
     }
 
     @CanIgnoreReturnValue
-    private Set<I> dispatchAll(List<Event> events) {
+    private Set<I> dispatchEvents(List<Event> events) {
         if (events.isEmpty()) {
             return ImmutableSet.of();
         }
         CatchUp.Request request = builder().getRequest();
         List<Any> packedIds = request.getTargetList();
         if (packedIds.isEmpty()) {
-            return dispatchAll(events, new HashSet<>());
+            return dispatchEvents(events, new HashSet<>());
         } else {
             Set<I> ids = unpack(packedIds);
-            return dispatchAll(events, ids);
+            return dispatchEvents(events, ids);
         }
     }
 
@@ -696,7 +696,7 @@ public final class CatchUpProcess<I>
      * @return the list of the identifiers to which the dispatching has been made in fact
      */
     @CanIgnoreReturnValue
-    private Set<I> dispatchAll(List<Event> events, Set<I> targets) {
+    private Set<I> dispatchEvents(List<Event> events, Set<I> targets) {
         if (events.isEmpty()) {
             return noTargets();
         }
@@ -40,9 +40,11 @@ import io.spine.server.NodeId;
 import io.spine.server.ServerEnvironment;
 import io.spine.server.bus.MulticastDispatchListener;
 import io.spine.server.delivery.memory.InMemoryShardedWorkRegistry;
+import io.spine.server.metrics.ServerMetrics;
 import io.spine.server.projection.ProjectionRepository;
 import io.spine.string.Stringifiers;
 import io.spine.type.TypeUrl;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -52,6 +54,9 @@ import java.util.stream.Stream;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.flogger.LazyArgs.lazy;
+import static io.spine.server.metrics.ServerMetrics.INBOX_BATCH;
+import static io.spine.server.metrics.ServerMetrics.INBOX_DELIVERED;
+import static io.spine.server.metrics.ServerMetrics.INBOX_DELIVERY;
 import static java.util.Collections.synchronizedList;
 
 /**
@@ -155,6 +160,15 @@ import static java.util.Collections.synchronizedList;
  * {@link DeliveryBuilder#setMonitor(DeliveryMonitor) supplying} a custom delivery monitor.
  * Please refer to the {@link DeliveryMonitor documentation} for the details.
  *
+ * <h3>Tenant quotas</h3>
+ *
+ * <p>In a multi-tenant application, all tenants share the same shards. To prevent a single tenant
+ * from delaying the delivery to all others, the number of messages delivered per tenant
+ * in a single run over a shard may be {@linkplain DeliveryBuilder#setTenantQuota(TenantQuota)
+ * limited}. The messages of a tenant which exhausted its quota are deferred until the next run.
+ * The runs are repeated within the same delivery session until there are no deferred messages
+ * left. Each next run starts reading the shard from the first deferred message.
+ *
  * <h3>Conveyor and stations</h3>
  *
  * <p>In a scope of {@code DeliveryStage} the page of the {@code InboxMessage}s is placed
@@ -305,6 +319,11 @@ public final class Delivery implements Logging {
      */
     private final int pageSize;
 
+    /**
+     * The maximum number of messages of a single tenant to deliver in a delivery run.
+     */
+    private final TenantQuota tenantQuota;
+
     /**
      * The listener of the dispatching operations inside the {@link io.spine.server.bus.MulticastBus
      * MulticastBus}es.
@@ -314,6 +333,15 @@ public final class Delivery implements Logging {
     private final DeliveryDispatchListener dispatchListener =
             new DeliveryDispatchListener(this::onNewMessage);
 
+    /**
+     * The writer of the messages sent to the inboxes.
+     *
+     * <p>Is shared by all the inboxes so that the messages sent to different inboxes
+     * within the same dispatching operation are {@linkplain #writeInBatch(Runnable) written}
+     * together.
+     */
+    private final BufferingWriter inboxWriter;
+
     Delivery(DeliveryBuilder builder) {
         this.strategy = builder.getStrategy();
         this.workRegistry = builder.getWorkRegistry();
@@ -323,9 +351,11 @@ public final class Delivery implements Logging {
         this.catchUpPageSize = builder.getCatchUpPageSize();
         this.monitor = builder.getMonitor();
         this.pageSize = builder.getPageSize();
+        this.tenantQuota = builder.getTenantQuota();
         this.deliveries = new InboxDeliveries();
         this.shardObservers = synchronizedList(new ArrayList<>());
         this.deliveredMessages = new DeliveredMessages();
+        this.inboxWriter = new BufferingWriter(notifyingWriter());
     }
 
     /**
@@ -433,18 +463,23 @@ public final class Delivery implements Logging {
         }
         ShardProcessingSession session = picked.get();
         monitor.onDeliveryStarted(index);
+        long start = System.nanoTime();
 
         RunResult runResult;
         int totalDelivered = 0;
+        InboxMessage resumeAfter = null;
+        TenantBacklog backlog = new TenantBacklog(inboxStorage, index);
         try {
             do {
-                runResult = runDelivery(session);
+                runResult = runDelivery(session, resumeAfter, backlog);
                 totalDelivered += runResult.deliveredCount();
+                resumeAfter = runResult.nextStart(resumeAfter);
             } while (runResult.shouldRunAgain());
         } finally {
             session.complete();
         }
         DeliveryStats stats = new DeliveryStats(index, totalDelivered);
+        recordMetrics(stats, start);
         monitor.onDeliveryCompleted(stats);
         Optional<InboxMessage> lateMessage = inboxStorage.newestMessageToDeliver(index);
         lateMessage.ifPresent(this::onNewMessage);
@@ -452,46 +487,85 @@ public final class Delivery implements Logging {
         return Optional.of(stats);
     }
 
+    /**
+     * Records the metrics of the delivery session started at the given moment.
+     */
+    private static void recordMetrics(DeliveryStats stats, long startNanos) {
+        if (!ServerMetrics.enabled()) {
+            return;
+        }
+        String shard = String.valueOf(stats.shardIndex()
+                                           .getIndex());
+        int delivered = stats.deliveredCount();
+        ServerMetrics.recordSince(INBOX_DELIVERY, shard, startNanos);
+        ServerMetrics.histogram(INBOX_BATCH, shard)
+                     .record(delivered);
+        ServerMetrics.counter(INBOX_DELIVERED, shard)
+                     .add(delivered);
+    }
+
     /**
      * Runs the delivery for the shard, which session is passed.
      *
      * <p>The messages are read page-by-page according to the {@link #pageSize page size} setting.
+     * The messages of the tenants which exhausted their {@link #tenantQuota quota}
+     * are deferred until the next run. Once a page worth of messages is deferred, the run stops
+     * reading the shard. The next run starts from the first deferred message.
      *
      * <p>After delivering each page of messages, a {@code DeliveryStage} is produced.
      * The configured {@link #monitor DeliveryMonitor} may stop the execution according to
      * the monitored {@code DeliveryStage}.
      *
+     * @param session
+     *         the session of the shard processing
+     * @param start
+     *         the message after which the shard is read, or {@code null} to read it
+     *         from the beginning
+     * @param backlog
+     *         the messages left to deliver per tenant
      * @return the results of the run
      */
-    private RunResult runDelivery(ShardProcessingSession session) {
+    private RunResult runDelivery(ShardProcessingSession session,
+                                  @Nullable InboxMessage start,
+                                  TenantBacklog backlog) {
         ShardIndex index = session.shardIndex();
 
-        Page<InboxMessage> startingPage = inboxStorage.readAll(index, pageSize);
+        Page<InboxMessage> startingPage = inboxStorage.readAfter(index, start, pageSize);
         Optional<Page<InboxMessage>> maybePage = Optional.of(startingPage);
 
         boolean shouldContinue = true;
         List<DeliveryStage> stages = new ArrayList<>();
         Iterable<CatchUp> catchUpJobs = refreshCatchUpJobs();
+        FairShare fairShare = new FairShare(tenantQuota, pageSize);
         while (shouldContinue && maybePage.isPresent()) {
             Page<InboxMessage> currentPage = maybePage.get();
-            ImmutableList<InboxMessage> messages = currentPage.contents();
+            ImmutableList<InboxMessage> pageContents = currentPage.contents();
+            ImmutableList<InboxMessage> messages = fairShare.admit(pageContents);
             if (!messages.isEmpty()) {
                 DeliveryStage stage = deliverMessages(messages, index, catchUpJobs);
                 stages.add(stage);
                 shouldContinue = monitorTellsToContinueAfter(stage);
             }
             if (shouldContinue) {
-                if(messages.size() < pageSize) {
+                if (fairShare.windowFull()) {
+                    break;
+                }
+                if(pageContents.size() < pageSize) {
                     catchUpJobs = refreshCatchUpJobs();
                 }
                 maybePage = currentPage.next();
             }
         }
+        backlog.update(fairShare);
+        fairShare.throttled()
+                 .forEach(tenant -> monitor.onTenantQuotaExhausted(index, tenant,
+                                                                   backlog.of(tenant)));
 
         int totalMessagesDelivered = stages.stream()
                                            .map(DeliveryStage::getMessagesDelivered)
                                            .reduce(0, Integer::sum);
-        return new RunResult(totalMessagesDelivered, !shouldContinue);
+        return new RunResult(totalMessagesDelivered, !shouldContinue,
+                             fairShare.deferredAny(), fairShare.resumeAfter());
     }
 
     private ImmutableList<CatchUp> refreshCatchUpJobs() {
@@ -598,7 +672,7 @@ public final class Delivery implements Logging {
      * @return the builder for the {@code Inbox}
      */
     public <I> Inbox.Builder<I> newInbox(TypeUrl entityType) {
-        return Inbox.newBuilder(entityType, inboxWriter());
+        return Inbox.newBuilder(entityType, inboxWriter);
     }
 
     /**
@@ -639,6 +713,21 @@ public final class Delivery implements Logging {
         return dispatchListener;
     }
 
+    /**
+     * Performs the given dispatching operation writing all the messages sent to the inboxes
+     * by the current thread during the operation in a batch.
+     *
+     * <p>The messages are passed to the {@code InboxStorage} once the operation completes.
+     * The shard observers are notified once per each of the updated shards.
+     *
+     * @param operation
+     *         the dispatching operation to perform
+     */
+    @Internal
+    public void writeInBatch(Runnable operation) {
+        inboxWriter.buffering(operation);
+    }
+
     /**
      * Subscribes to the updates of shard contents.
      *
@@ -671,7 +760,8 @@ public final class Delivery implements Logging {
      *         the state type of the entity, to which the message is heading
      * @return the index of the shard for the message
      */
-    ShardIndex whichShardFor(Object entityId, TypeUrl entityStateType) {
+    @Internal
+    public ShardIndex whichShardFor(Object entityId, TypeUrl entityStateType) {
         return strategy.determineIndex(entityId, entityStateType);
     }
 
@@ -708,7 +798,7 @@ public final class Delivery implements Logging {
         return ImmutableList.copyOf(shardObservers);
     }
 
-    private InboxWriter inboxWriter() {
+    private InboxWriter notifyingWriter() {
         return new NotifyingWriter(inboxStorage) {
 
             @Override
@@ -63,6 +63,7 @@ public final class DeliveryBuilder {
     private @MonotonicNonNull DeliveryMonitor deliveryMonitor;
     private @MonotonicNonNull Integer pageSize;
     private @MonotonicNonNull Integer catchUpPageSize;
+    private @MonotonicNonNull TenantQuota tenantQuota;
 
     /**
      * Prevents a direct instantiation of this class.
@@ -181,6 +182,18 @@ public final class DeliveryBuilder {
         return checkNotNull(catchUpPageSize);
     }
 
+    /**
+     * Returns the value of the configured {@code TenantQuota} or {@code Optional.empty()}
+     * if no such value was configured.
+     */
+    public Optional<TenantQuota> tenantQuota() {
+        return Optional.ofNullable(tenantQuota);
+    }
+
+    TenantQuota getTenantQuota() {
+        return checkNotNull(tenantQuota);
+    }
+
     @CanIgnoreReturnValue
     public DeliveryBuilder setWorkRegistry(ShardedWorkRegistry workRegistry) {
         this.workRegistry = checkNotNull(workRegistry);
@@ -277,6 +290,18 @@ public final class DeliveryBuilder {
         return this;
     }
 
+    /**
+     * Sets the maximum number of messages of a single tenant to deliver from a shard
+     * in a single delivery run.
+     *
+     * <p>If none set, {@link TenantQuota#unlimited()} is used.
+     */
+    @CanIgnoreReturnValue
+    public DeliveryBuilder setTenantQuota(TenantQuota tenantQuota) {
+        this.tenantQuota = checkNotNull(tenantQuota);
+        return this;
+    }
+
     @SuppressWarnings("PMD.NPathComplexity")    // The readability of this method is fine.
     public Delivery build() {
         if (strategy == null) {
@@ -312,6 +337,10 @@ public final class DeliveryBuilder {
             catchUpPageSize = DEFAULT_CATCH_UP_PAGE_SIZE;
         }
 
+        if (tenantQuota == null) {
+            tenantQuota = TenantQuota.unlimited();
+        }
+
         Delivery delivery = new Delivery(this);
         return delivery;
     }
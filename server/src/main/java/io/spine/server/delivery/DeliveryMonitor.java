@@ -27,6 +27,7 @@
 package io.spine.server.delivery;
 
 import io.spine.annotation.SPI;
+import io.spine.core.TenantId;
 import io.spine.server.NodeId;
 
 /**
@@ -93,6 +94,30 @@ public class DeliveryMonitor {
         // do nothing.
     }
 
+    /**
+     * Called once a delivery run for the shard has ended, if some tenant has exhausted
+     * its {@linkplain DeliveryBuilder#setTenantQuota(TenantQuota) quota} during the run.
+     *
+     * <p>The descendants may override this method to track the per-tenant backlogs and to detect
+     * the tenants producing the excessive load.
+     *
+     * <p>The backlog is counted in the storage after the first run of the delivery session
+     * in which some tenant was throttled, and then lowered by the number of the messages
+     * delivered in each next run. The messages which arrived to the shard after the counting
+     * are not included.
+     *
+     * @param index
+     *         the index of the delivered shard
+     * @param tenant
+     *         the tenant which exhausted its quota
+     * @param backlog
+     *         the number of the tenant messages left to deliver from the shard
+     */
+    @SuppressWarnings("unused")  // This SPI method is designed for descendants.
+    public void onTenantQuotaExhausted(ShardIndex index, TenantId tenant, int backlog) {
+        // do nothing.
+    }
+
     /**
      * Returns an instance of {@code DeliveryMonitor} which always tells to continue.
      */
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.delivery;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.spine.core.TenantId;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.server.delivery.InboxMessageStatus.TO_DELIVER;
+
+/**
+ * Admits the messages for the delivery according to the {@link TenantQuota}.
+ *
+ * <p>The instance is created per delivery run. It counts the messages admitted for each tenant.
+ * Once a tenant exhausts its quota, all its subsequent messages
+ * {@linkplain InboxMessageStatus#TO_DELIVER to deliver} are held back until the end of the run.
+ * In this way, the order of delivery is preserved for each tenant.
+ *
+ * <p>Messages in other statuses are always admitted, as they are either required for
+ * the deduplication or are a part of a catch-up.
+ *
+ * <p>The run reads the shard until the number of deferred messages reaches the {@code window}.
+ * The next run starts {@linkplain #resumeAfter() after} the last message read before the first
+ * deferred one. Therefore, each run reads a bounded number of the messages it does not deliver.
+ */
+final class FairShare {
+
+    private final TenantQuota quota;
+    private final int window;
+    private final Map<TenantId, Integer> admitted = new HashMap<>();
+    private final Set<TenantId> throttled = new LinkedHashSet<>();
+    private int deferredCount;
+    private @Nullable InboxMessage lastRead;
+    private @Nullable InboxMessage resumeAfter;
+
+    /**
+     * Creates a new instance for a delivery run.
+     *
+     * @param quota
+     *         the quota of the tenants
+     * @param window
+     *         the maximum number of the deferred messages to read in the run
+     */
+    FairShare(TenantQuota quota, int window) {
+        checkArgument(window > 0, "The window must be positive, but was %s.", window);
+        this.quota = checkNotNull(quota);
+        this.window = window;
+    }
+
+    /**
+     * Selects the messages, which may be delivered in this run.
+     *
+     * @param messages
+     *         the messages read from the shard in the order of their receiving
+     * @return the admitted messages in the same order
+     */
+    ImmutableList<InboxMessage> admit(List<InboxMessage> messages) {
+        ImmutableList.Builder<InboxMessage> result = ImmutableList.builder();
+        for (InboxMessage message : messages) {
+            if (admit(message)) {
+                result.add(message);
+            }
+            lastRead = message;
+        }
+        return result.build();
+    }
+
+    private boolean admit(InboxMessage message) {
+        if (message.getStatus() != TO_DELIVER) {
+            return true;
+        }
+        TenantId tenant = message.tenant();
+        if (!throttled.contains(tenant)) {
+            int count = admitted.getOrDefault(tenant, 0);
+            if (count < messagesPerRun(tenant)) {
+                admitted.put(tenant, count + 1);
+                return true;
+            }
+            throttled.add(tenant);
+        }
+        if (deferredCount == 0) {
+            resumeAfter = lastRead;
+        }
+        deferredCount++;
+        return false;
+    }
+
+    /**
+     * Obtains the quota of the tenant.
+     *
+     * <p>At least one message of each tenant is admitted per run, so that the delivery
+     * always progresses.
+     */
+    private int messagesPerRun(TenantId tenant) {
+        return Math.max(quota.messagesPerRun(tenant), 1);
+    }
+
+    /**
+     * Tells if the run has read as many deferred messages as allowed by the window.
+     */
+    boolean windowFull() {
+        return deferredCount >= window;
+    }
+
+    /**
+     * Tells if some messages were deferred during the run.
+     */
+    boolean deferredAny() {
+        return deferredCount > 0;
+    }
+
+    /**
+     * Returns the last message read before the first deferred message.
+     *
+     * <p>Returns {@code null} if either no messages were deferred, or the very first message
+     * read in the run was deferred.
+     */
+    @Nullable InboxMessage resumeAfter() {
+        return resumeAfter;
+    }
+
+    /**
+     * Returns the tenants which exhausted their quota in this run.
+     */
+    ImmutableSet<TenantId> throttled() {
+        return ImmutableSet.copyOf(throttled);
+    }
+
+    /**
+     * Returns the number of messages to deliver admitted during the run per tenant.
+     */
+    ImmutableMap<TenantId, Integer> admitted() {
+        return ImmutableMap.copyOf(admitted);
+    }
+}
@@ -90,8 +90,16 @@ final class InboxColumn {
     static final RecordColumn<InboxMessage, Timestamp>
             received_at = create("received_at", Timestamp.class, InboxMessage::getWhenReceived);
 
+    /**
+     * Stores the sequence of the inbox message, which defines the order of the delivery.
+     */
+    static final RecordColumn<InboxMessage, String>
+            sequence = create("sequence", String.class, InboxMessage::getSequence);
+
     /**
      * Stores the version of the inbox message.
+     *
+     * <p>Only used to order the messages stored before the {@code sequence} was introduced.
      */
     static final RecordColumn<InboxMessage, Integer>
             version = create("version", Integer.class, InboxMessage::getVersion);
@@ -111,6 +119,6 @@ final class InboxColumn {
      */
     static ImmutableList<RecordColumn<InboxMessage, ?>> definitions() {
         return ImmutableList.of(signal_id, inbox_id, inbox_shard, is_event,
-                                is_command, label, status, received_at, version);
+                                is_command, label, status, received_at, sequence, version);
     }
 }
@@ -36,7 +36,11 @@ import java.util.Comparator;
  * A comparator comparing the {@link InboxMessage}s so that they appear in a chronological order
  * of their appearance in the corresponding {@code Inbox}.
  *
- * <p>If case the timestamps are equal, the {@linkplain InboxMessage#getVersion() versions}
+ * <p>The messages are compared by their {@linkplain InboxMessage#getSequence() sequence} first.
+ * The messages stored before the sequence was introduced have it empty, and thus go first.
+ *
+ * <p>If the sequences are equal, the timestamps of receiving are compared. If case
+ * the timestamps are equal too, the {@linkplain InboxMessage#getVersion() versions}
  * are compared.
  *
  * <p>If the versions are the same too, the messages are compared according to their ID values
@@ -54,7 +58,8 @@ public final class InboxMessageComparator implements Comparator<InboxMessage>, S
     @Override
     public int compare(InboxMessage m1, InboxMessage m2) {
         int result = Comparator
-                .comparing(InboxMessage::getWhenReceived, Timestamps.comparator())
+                .comparing(InboxMessage::getSequence)
+                .thenComparing(InboxMessage::getWhenReceived, Timestamps.comparator())
                 .thenComparing(InboxMessage::getVersion)
                 .thenComparing((m) -> m.getId()
                                        .getUuid())
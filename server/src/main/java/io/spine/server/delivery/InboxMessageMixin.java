@@ -29,8 +29,7 @@ package io.spine.server.delivery;
 import io.spine.annotation.GeneratedMixin;
 import io.spine.annotation.Internal;
 import io.spine.core.TenantId;
-
-import static io.spine.base.Identifier.newUuid;
+import io.spine.server.ServerEnvironment;
 
 /**
  * A mixin for {@link InboxMessage}.
@@ -54,12 +53,18 @@ public interface InboxMessageMixin extends ShardedRecord, InboxMessageOrBuilder
     }
 
     /**
-     * Generates a new {@code InboxMessageId} with a auto-generated UUID and the given shard
+     * Generates a new {@code InboxMessageId} with a time-ordered identifier and the given shard
      * index as parts.
+     *
+     * <p>The identifier is produced by the {@linkplain ServerEnvironment#idGenerator() configured}
+     * {@link io.spine.server.id.IdGenerator IdGenerator}.
      */
     static InboxMessageId generateIdWith(ShardIndex index) {
+        String uuid = ServerEnvironment.instance()
+                                       .idGenerator()
+                                       .newId();
         return InboxMessageId.newBuilder()
-                             .setUuid(newUuid())
+                             .setUuid(uuid)
                              .setIndex(index)
                              .vBuild();
     }
@@ -27,8 +27,6 @@
 package io.spine.server.delivery;
 
 import com.google.common.collect.ImmutableList;
-import com.google.protobuf.Timestamp;
-import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Optional;
@@ -36,7 +34,7 @@ import java.util.Optional;
 /**
  * A single page of the messages read from the {@link InboxStorage}.
  *
- * <p>Provides the navigation to the next page basing on the time of the last message read in the
+ * <p>Provides the navigation to the next page basing on the last message read in the
  * scope of current page.
  */
 public final class InboxPage implements Page<InboxMessage> {
@@ -44,13 +42,20 @@ public final class InboxPage implements Page<InboxMessage> {
     private final Lookup lookup;
     private final ImmutableList<InboxMessage> contents;
 
-    private @MonotonicNonNull Timestamp whenLastRead = null;
+    private @Nullable InboxMessage lastRead;
 
     /**
-     * Creates a new page with the specified way to read the next messages.
+     * Creates a new page with the messages going after the specified one.
+     *
+     * @param lookup
+     *         the way to read the next messages
+     * @param lastRead
+     *         the message after which the page starts, or {@code null} to start
+     *         from the beginning
      */
-    InboxPage(Lookup lookup) {
+    InboxPage(Lookup lookup, @Nullable InboxMessage lastRead) {
         this.lookup = lookup;
+        this.lastRead = lastRead;
         this.contents = readNext();
     }
 
@@ -64,15 +69,14 @@ public final class InboxPage implements Page<InboxMessage> {
      */
     private InboxPage(InboxPage previous, ImmutableList<InboxMessage> initialContents) {
         this.lookup = previous.lookup;
-        this.whenLastRead = previous.whenLastRead;
+        this.lastRead = previous.lastRead;
         this.contents = initialContents;
     }
 
     private ImmutableList<InboxMessage> readNext() {
-        ImmutableList<InboxMessage> contents = lookup.readAll(whenLastRead);
+        ImmutableList<InboxMessage> contents = lookup.readAll(lastRead);
         if (!contents.isEmpty()) {
-            this.whenLastRead = contents.get(contents.size() - 1)
-                                        .getWhenReceived();
+            this.lastRead = contents.get(contents.size() - 1);
         }
         return contents;
     }
@@ -105,22 +109,20 @@ public final class InboxPage implements Page<InboxMessage> {
 
     /**
      * A strategy on fetching the {@link InboxMessage}s from the storage based
-     * on the passed timestamp.
+     * on the last message read.
      */
     interface Lookup {
 
         /**
-         * Reads the messages which were received strictly later than the specified
-         * {@code sinceWhen} value.
+         * Reads the messages which go strictly after the specified {@code lastRead} message.
          *
-         * <p>If the passed value is {@code null}, the time filtering is not applied.
+         * <p>If the passed value is {@code null}, the messages are read from the beginning.
          *
-         * @param sinceWhen
-         *         the time since when the messages should be read; all satisfying messages
-         *         must be received strictly later than this value;
+         * @param lastRead
+         *         the last message read previously;
          *         {@code null} if no filtering should be applied
          * @return the iterator over the results
          */
-        ImmutableList<InboxMessage> readAll(@Nullable Timestamp sinceWhen);
+        ImmutableList<InboxMessage> readAll(@Nullable InboxMessage lastRead);
     }
 }
@@ -26,12 +26,19 @@
 
 package io.spine.server.delivery;
 
+import com.google.protobuf.Duration;
 import io.spine.base.Time;
 import io.spine.server.ServerEnvironment;
 import io.spine.server.tenant.TenantAwareRunner;
+import io.spine.server.trace.ServerTracing;
 import io.spine.server.type.SignalEnvelope;
 import io.spine.type.TypeUrl;
 
+import static com.google.protobuf.util.Durations.toNanos;
+import static com.google.protobuf.util.Timestamps.between;
+import static io.spine.server.trace.SpanKind.INBOX_ENQUEUE;
+import static io.spine.server.trace.SpanKind.INBOX_WAIT;
+
 /**
  * An abstract base of {@link Inbox inbox} part.
  *
@@ -84,6 +91,7 @@ abstract class InboxPart<I, M extends SignalEnvelope<?, ?, ?>> {
     }
 
     void store(M envelope, I entityId, InboxLabel label) {
+        long start = System.nanoTime();
         InboxId inboxId = InboxIds.wrap(entityId, entityStateType);
         Delivery delivery = ServerEnvironment.instance()
                                              .delivery();
@@ -92,18 +100,20 @@ abstract class InboxPart<I, M extends SignalEnvelope<?, ?, ?>> {
         InboxMessage.Builder builder = InboxMessage
                 .newBuilder()
                 .setId(id)
+                .setSequence(id.getUuid())
                 .setSignalId(signalIdFrom(envelope, entityId))
                 .setInboxId(inboxId)
                 .setLabel(label)
                 .setWhenReceived(Time.currentTime())
-                .setStatus(determineStatus(envelope, label))
-                .setVersion(VersionCounter.next());
+                .setStatus(determineStatus(envelope, label));
         setRecordPayload(envelope, builder);
         InboxMessage message = builder.vBuild();
 
         TenantAwareRunner
                 .with(envelope.tenantId())
                 .run(() -> writer.write(message));
+        ServerTracing.recordSince(INBOX_ENQUEUE, envelope.outerObject(),
+                                  entityStateType.value(), start);
     }
 
     private InboxSignalId signalIdFrom(M envelope, I targetId) {
@@ -115,7 +125,22 @@ abstract class InboxPart<I, M extends SignalEnvelope<?, ?, ?>> {
      * Delivers the message to its message endpoint.
      */
     void deliver(InboxMessage message) {
-        callEndpoint(message, (endpoint, targetId, envelope) -> endpoint.dispatchTo(targetId));
+        callEndpoint(message, (endpoint, targetId, envelope) -> {
+            traceWaiting(message, envelope);
+            endpoint.dispatchTo(targetId);
+        });
+    }
+
+    /**
+     * Records the time the message spent in the inbox before being delivered.
+     */
+    private void traceWaiting(InboxMessage message, M envelope) {
+        if (!ServerTracing.enabled()) {
+            return;
+        }
+        Duration waited = between(message.getWhenReceived(), Time.currentTime());
+        ServerTracing.recordLasting(INBOX_WAIT, envelope.outerObject(),
+                                    entityStateType.value(), toNanos(waited));
     }
 
     /**
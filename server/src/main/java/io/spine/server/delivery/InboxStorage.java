@@ -43,6 +43,7 @@ import java.util.Optional;
 import static com.google.common.collect.Streams.stream;
 import static io.spine.server.delivery.InboxColumn.inbox_shard;
 import static io.spine.server.delivery.InboxColumn.received_at;
+import static io.spine.server.delivery.InboxColumn.sequence;
 import static io.spine.server.delivery.InboxColumn.status;
 import static io.spine.server.delivery.InboxColumn.version;
 import static io.spine.server.delivery.InboxMessageStatus.TO_DELIVER;
@@ -109,18 +110,57 @@ public class InboxStorage extends MessageStorage<InboxMessageId, InboxMessage> {
      * @return the first page of the results
      */
     public Page<InboxMessage> readAll(ShardIndex index, int pageSize) {
-        Page<InboxMessage> page = new InboxPage(sinceWhen -> readAll(index, sinceWhen, pageSize));
+        return readAfter(index, null, pageSize);
+    }
+
+    /**
+     * Reads the contents of the shard which go after the specified {@code lastRead} message
+     * page-by-page.
+     *
+     * @param index
+     *         the shard index to return the results for
+     * @param lastRead
+     *         the message read last, or {@code null} to read from the very beginning
+     * @param pageSize
+     *         the maximum number of the elements per page
+     * @return the first page of the results
+     */
+    Page<InboxMessage> readAfter(ShardIndex index, @Nullable InboxMessage lastRead, int pageSize) {
+        Page<InboxMessage> page =
+                new InboxPage(previous -> readAll(index, previous, pageSize), lastRead);
         return page;
     }
 
+    /**
+     * Reads the messages of the given shard which go after the specified {@code lastRead} message.
+     *
+     * <p>The messages having a {@linkplain InboxMessage#getSequence() sequence} are read
+     * in its order. The messages stored before the sequence was introduced have none,
+     * and are read first, ordered by the time of receiving.
+     *
+     * @param index
+     *         the shard index to return the results for
+     * @param lastRead
+     *         the message read last, or {@code null} to read from the very beginning
+     * @param pageSize
+     *         the maximum number of the elements to read
+     * @return the messages read
+     */
     public ImmutableList<InboxMessage>
-    readAll(ShardIndex index, @Nullable Timestamp sinceWhen, int pageSize) {
+    readAll(ShardIndex index, @Nullable InboxMessage lastRead, int pageSize) {
         RecordQueryBuilder<InboxMessageId, InboxMessage> builder =
                 queryBuilder().where(inbox_shard)
                               .is(index);
-        if (sinceWhen != null) {
-            builder.where(received_at)
-                   .isGreaterThan(sinceWhen);
+        if (lastRead != null) {
+            String lastSequence = lastRead.getSequence();
+            if (lastSequence.isEmpty()) {
+                Timestamp sinceWhen = lastRead.getWhenReceived();
+                builder.where(received_at)
+                       .isGreaterThan(sinceWhen);
+            } else {
+                builder.where(sequence)
+                       .isGreaterThan(lastSequence);
+            }
         }
         RecordQuery<InboxMessageId, InboxMessage> query = limitAndOrder(pageSize, builder).build();
         Iterator<InboxMessage> iterator = readAll(query);
@@ -130,6 +170,7 @@ public class InboxStorage extends MessageStorage<InboxMessageId, InboxMessage> {
     private static RecordQueryBuilder<InboxMessageId, InboxMessage>
     limitAndOrder(int pageSize, RecordQueryBuilder<InboxMessageId, InboxMessage> builder) {
         return builder.limit(pageSize)
+                      .sortAscendingBy(sequence)
                       .sortAscendingBy(received_at)
                       .sortAscendingBy(version);
     }
@@ -147,6 +188,7 @@ public class InboxStorage extends MessageStorage<InboxMessageId, InboxMessage> {
         RecordQuery<InboxMessageId, InboxMessage> query =
                 queryBuilder().where(inbox_shard).is(index)
                               .where(status).is(TO_DELIVER)
+                              .sortDescendingBy(sequence)
                               .sortDescendingBy(received_at)
                               .limit(1)
                               .build();
@@ -156,6 +198,22 @@ public class InboxStorage extends MessageStorage<InboxMessageId, InboxMessage> {
         return result;
     }
 
+    /**
+     * Reads all the messages {@linkplain InboxMessageStatus#TO_DELIVER to deliver}
+     * in the given shard.
+     *
+     * @param index
+     *         the shard index to look in
+     * @return the iterator over the messages
+     */
+    Iterator<InboxMessage> readToDeliver(ShardIndex index) {
+        RecordQuery<InboxMessageId, InboxMessage> query =
+                queryBuilder().where(inbox_shard).is(index)
+                              .where(status).is(TO_DELIVER)
+                              .build();
+        return readAll(query);
+    }
+
     /**
      * Removes the passed messages from the storage.
      *
@@ -36,4 +36,9 @@ interface InboxWriter {
      * Writes the passed message to the storage.
      */
     void write(InboxMessage message);
+
+    /**
+     * Writes the passed messages to the storage.
+     */
+    void writeAll(Iterable<InboxMessage> messages);
 }
@@ -26,11 +26,16 @@
 
 package io.spine.server.delivery;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * A writer of {@link Inbox Inbox} messages.
  *
  * <p>After writing a message to the storage, notifies of the index of the shard,
  * to which the message has been written.
+ *
+ * <p>When writing several messages at once, notifies of each of the affected shards once.
  */
 abstract class NotifyingWriter implements InboxWriter {
 
@@ -53,4 +58,15 @@ abstract class NotifyingWriter implements InboxWriter {
         storage.write(message);
         onShardUpdated(message);
     }
+
+    @Override
+    public void writeAll(Iterable<InboxMessage> messages) {
+        storage.writeBatch(messages);
+        Map<ShardIndex, InboxMessage> lastPerShard = new LinkedHashMap<>();
+        for (InboxMessage message : messages) {
+            lastPerShard.put(message.shardIndex(), message);
+        }
+        lastPerShard.values()
+                    .forEach(this::onShardUpdated);
+    }
 }
@@ -26,6 +26,8 @@
 
 package io.spine.server.delivery;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
+
 /**
  * How ended the delivery of all messages read from the {@code Inbox} according to a certain
  * {@code ShardIndex}.
@@ -34,20 +36,45 @@ class RunResult {
 
     private final int deliveredMsgCount;
     private final boolean stoppedByMonitor;
+    private final boolean deferred;
+    private final @Nullable InboxMessage resumeAfter;
 
-    RunResult(int count, boolean stoppedByMonitor) {
+    RunResult(int count,
+              boolean stoppedByMonitor,
+              boolean deferred,
+              @Nullable InboxMessage resumeAfter) {
         deliveredMsgCount = count;
         this.stoppedByMonitor = stoppedByMonitor;
+        this.deferred = deferred;
+        this.resumeAfter = resumeAfter;
     }
 
     /**
      * Tells if another run is required.
      *
-     * <p>The run is not required either if there were no messages delivered or if
-     * the {@code DeliveryMonitor} stopped the execution.
+     * <p>The run is not required either if there were no messages delivered and none
+     * deferred, or if the {@code DeliveryMonitor} stopped the execution.
      */
     boolean shouldRunAgain() {
-        return !stoppedByMonitor && deliveredMsgCount > 0;
+        return !stoppedByMonitor && (deliveredMsgCount > 0 || deferred);
+    }
+
+    /**
+     * Returns the message after which the next run should start reading the shard.
+     *
+     * <p>If some messages were deferred, it is the last message read before the first deferred
+     * one, or the {@code start} of this run if the first message read was deferred.
+     * Otherwise, returns {@code null}, so that the next run reads the shard from the beginning.
+     *
+     * @param start
+     *         the message after which this run started reading,
+     *         or {@code null} if it read the shard from the beginning
+     */
+    @Nullable InboxMessage nextStart(@Nullable InboxMessage start) {
+        if (!deferred) {
+            return null;
+        }
+        return resumeAfter != null ? resumeAfter : start;
     }
 
     /**
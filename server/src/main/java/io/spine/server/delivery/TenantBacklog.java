@@ -0,0 +1,88 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package io.spine.server.delivery;
+
+import io.spine.core.TenantId;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * The number of the messages left to deliver from a shard per tenant.
+ *
+ * <p>The instance is created per delivery session. The messages to deliver are counted in
+ * the storage once, after the first run in which some tenant exhausted its quota.
+ * After each of the following runs, the counts are lowered by the number of
+ * the {@linkplain FairShare#admitted() admitted} messages.
+ *
+ * <p>The messages arriving to the shard after the counting are not taken into account.
+ */
+final class TenantBacklog {
+
+    private final InboxStorage storage;
+    private final ShardIndex index;
+    private @MonotonicNonNull Map<TenantId, Integer> pending;
+
+    TenantBacklog(InboxStorage storage, ShardIndex index) {
+        this.storage = storage;
+        this.index = index;
+    }
+
+    /**
+     * Updates the backlog after the delivery run.
+     */
+    void update(FairShare run) {
+        if (pending == null) {
+            if (run.deferredAny()) {
+                pending = count();
+            }
+            return;
+        }
+        run.admitted()
+           .forEach((tenant, delivered) -> pending.computeIfPresent(
+                   tenant, (t, count) -> count > delivered ? count - delivered : null
+           ));
+    }
+
+    private Map<TenantId, Integer> count() {
+        Map<TenantId, Integer> result = new HashMap<>();
+        Iterator<InboxMessage> messages = storage.readToDeliver(index);
+        while (messages.hasNext()) {
+            result.merge(messages.next()
+                                 .tenant(), 1, Integer::sum);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of the messages of the tenant left to deliver.
+     */
+    int of(TenantId tenant) {
+        return pending == null ? 0 : pending.getOrDefault(tenant, 0);
+    }
+}
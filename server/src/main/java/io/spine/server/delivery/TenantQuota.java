@@ -0,0 +1,82 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.delivery;
+
+import io.spine.annotation.SPI;
+import io.spine.core.TenantId;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Limits the number of messages of a single tenant, which are delivered from a shard
+ * in a single delivery run.
+ *
+ * <p>All tenants of a multi-tenant application share the same shards. Without a quota,
+ * the messages are delivered strictly in the order they were received. So a tenant which
+ * produces a lot of messages at once delays the delivery for all other tenants.
+ *
+ * <p>Once a tenant exhausts its quota within a delivery run, the rest of its messages are
+ * deferred until the next run, while the messages of other tenants continue to be delivered.
+ * The order of the messages of each particular tenant is preserved.
+ *
+ * <p>Returning different values for different tenants allows to weigh the tenants.
+ *
+ * @see DeliveryBuilder#setTenantQuota(TenantQuota)
+ */
+@SPI
+@FunctionalInterface
+public interface TenantQuota {
+
+    /**
+     * Obtains the maximum number of messages of the given tenant to deliver
+     * in a single delivery run.
+     *
+     * @param tenant
+     *         the tenant to obtain the quota for
+     * @return the positive number of messages
+     */
+    int messagesPerRun(TenantId tenant);
+
+    /**
+     * Returns the quota, which does not limit the tenants.
+     */
+    static TenantQuota unlimited() {
+        return tenant -> Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns the quota, which allows the same number of messages for each tenant.
+     *
+     * @param messagesPerRun
+     *         the positive number of messages per tenant per delivery run
+     */
+    static TenantQuota of(int messagesPerRun) {
+        checkArgument(messagesPerRun > 0,
+                      "The tenant quota must be positive, but was %s.", messagesPerRun);
+        return tenant -> messagesPerRun;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.enrich;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.protobuf.Any;
+import io.spine.base.EntityState;
+import io.spine.server.event.EventDispatcher;
+import io.spine.server.type.EventClass;
+import io.spine.server.type.EventEnvelope;
+import io.spine.system.server.event.EntityStateChanged;
+import io.spine.type.TypeUrl;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static io.spine.protobuf.AnyPacker.unpack;
+
+/**
+ * Drops the values of {@link EnrichmentCache}s when the entities they were looked up
+ * from change their states.
+ *
+ * <p>Dispatches the {@link EntityStateChanged} system events.
+ */
+final class CacheInvalidator implements EventDispatcher {
+
+    private static final ImmutableSet<EventClass> STATE_CHANGES =
+            EventClass.setOf(EntityStateChanged.class);
+
+    private final ImmutableSet<EnrichmentCache<?, ?>> caches;
+
+    /**
+     * The types of the entity states which invalidate at least one of the caches.
+     */
+    private final ImmutableSet<String> stateTypes;
+
+    CacheInvalidator(ImmutableSet<EnrichmentCache<?, ?>> caches) {
+        this.caches = checkNotNull(caches);
+        this.stateTypes = caches.stream()
+                                .flatMap(cache -> cache.invalidatingStates()
+                                                       .stream())
+                                .map(TypeUrl::value)
+                                .collect(toImmutableSet());
+    }
+
+    /**
+     * Tells if there are caches to invalidate.
+     */
+    boolean hasWork() {
+        return !stateTypes.isEmpty();
+    }
+
+    @Override
+    public ImmutableSet<EventClass> messageClasses() {
+        return hasWork()
+               ? STATE_CHANGES
+               : ImmutableSet.of();
+    }
+
+    @Override
+    public ImmutableSet<EventClass> domesticEventClasses() {
+        return messageClasses();
+    }
+
+    @Override
+    public ImmutableSet<EventClass> externalEventClasses() {
+        return ImmutableSet.of();
+    }
+
+    @Override
+    public void dispatch(EventEnvelope event) {
+        EntityStateChanged changed = (EntityStateChanged) event.message();
+        Any newState = changed.getNewState();
+        if (!stateTypes.contains(newState.getTypeUrl())) {
+            return;
+        }
+        EntityState<?> state = (EntityState<?>) unpack(newState);
+        for (EnrichmentCache<?, ?> cache : caches) {
+            cache.onStateChanged(event.tenantId(), state);
+        }
+    }
+}
@@ -63,4 +63,11 @@ final class CompositeFn<M extends Message, C extends EnrichableMessageContext>
             put(container, enrichment);
         }
     }
+
+    @Override
+    void requestPrefetch(M m, C c, Prefetch prefetch) {
+        for (EnrichmentFn<M, C, ?> function : functions) {
+            prefetchVia(function, m, c, prefetch);
+        }
+    }
 }
@@ -27,13 +27,18 @@
 package io.spine.server.enrich;
 
 import com.google.protobuf.Message;
+import io.spine.annotation.Internal;
 import io.spine.core.EnrichableMessageContext;
 import io.spine.core.Enrichment;
 import io.spine.server.type.EnrichableMessageEnvelope;
+import io.spine.system.server.SystemReadSide;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.List;
 import java.util.Optional;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 /**
  * Enriches messages <em>after</em> they are stored, and <em>before</em> they are dispatched.
  */
@@ -41,12 +46,14 @@ public abstract class Enricher<M extends Message, C extends EnrichableMessageCon
         implements EnrichmentService<M, C> {
 
     private final Schema<M, C> schema;
+    private final CacheInvalidator invalidator;
 
     /**
      * Creates a new instance taking functions from the passed builder.
      */
     protected Enricher(EnricherBuilder<M, C, ?> builder) {
         this.schema = Schema.newInstance(builder);
+        this.invalidator = new CacheInvalidator(schema.caches());
     }
 
     /**
@@ -69,6 +76,51 @@ public abstract class Enricher<M extends Message, C extends EnrichableMessageCon
         return  result;
     }
 
+    /**
+     * Starts loading the enrichments of the passed messages which are obtained
+     * from {@link EnrichmentCache}s.
+     *
+     * <p>The enrichments not obtained from caches are not affected.
+     *
+     * @param sources
+     *         the envelopes with the messages which are about to be enriched
+     */
+    public <E extends EnrichableMessageEnvelope<?, ?, M, C, E>> void prefetch(List<E> sources) {
+        if (schema.caches().isEmpty()) {
+            return;
+        }
+        Prefetch prefetch = new Prefetch();
+        for (E source : sources) {
+            @SuppressWarnings("unchecked") // correct type is ensured by a Bus which uses the Enricher.
+            M message = (M) source.message();
+            @SuppressWarnings("unchecked") // see above.
+            Class<? extends M> cls = (Class<? extends M>) message.getClass();
+            @SuppressWarnings("unchecked") // the function accepts messages of the class.
+            @Nullable SchemaFn<M, C> fn = (SchemaFn<M, C>) schema.enrichmentOf(cls);
+            if (fn != null) {
+                fn.requestPrefetch(message, source.context(), prefetch);
+            }
+        }
+        prefetch.submit();
+    }
+
+    /**
+     * Registers the dispatcher of the entity state updates which invalidate
+     * the {@linkplain EnrichmentCache caches} of this enricher.
+     *
+     * <p>Has no effect if none of the caches is invalidated by entity state updates.
+     *
+     * @param systemReadSide
+     *         the read side of the system context which posts the entity state updates
+     */
+    @Internal
+    public final void registerInvalidationWith(SystemReadSide systemReadSide) {
+        checkNotNull(systemReadSide);
+        if (invalidator.hasWork()) {
+            systemReadSide.register(invalidator);
+        }
+    }
+
     @Override
     public Optional<Enrichment> createEnrichment(M message, C context) {
         @SuppressWarnings("unchecked") // correct type is ensured by a Bus which uses the Enricher.
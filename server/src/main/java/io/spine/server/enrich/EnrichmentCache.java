@@ -0,0 +1,578 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.enrich;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.google.protobuf.Duration;
+import com.google.protobuf.Message;
+import com.google.protobuf.util.Durations;
+import io.spine.base.EntityState;
+import io.spine.base.EventMessage;
+import io.spine.core.EnrichableMessageContext;
+import io.spine.core.EventContext;
+import io.spine.core.TenantId;
+import io.spine.core.WithActor;
+import io.spine.logging.Logging;
+import io.spine.server.metrics.ServerMetrics;
+import io.spine.server.tenant.IdInTenant;
+import io.spine.server.tenant.TenantAwareRunner;
+import io.spine.type.TypeUrl;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static io.spine.server.metrics.ServerMetrics.CACHE_HIT;
+import static io.spine.server.metrics.ServerMetrics.CACHE_MISS;
+import static io.spine.util.Preconditions2.checkNotEmptyOrBlank;
+
+/**
+ * A cache of enrichment messages looked up by a key, such as an ID of an entity.
+ *
+ * <p>Enrichment functions usually load entities or query other data for each enriched event.
+ * A cache lets events which refer to the same data share a single lookup:
+ *
+ * <pre>{@code
+ *   EnrichmentCache<UserId, UserInfo> users = EnrichmentCache
+ *       .newBuilder(userRepository::info)
+ *       .setMaximumSize(10_000)
+ *       .setExpireAfterWrite(Durations.fromMinutes(5))
+ *       .invalidateOn(UserView.class, UserView::getId)
+ *       .build();
+ *
+ *   EventEnricher enricher = EventEnricher
+ *       .newBuilder()
+ *       .add(TaskAssigned.class, UserInfo.class, users.by(TaskAssigned::getAssignee))
+ *       .build();
+ * }</pre>
+ *
+ * <p>The cached values are kept separately for each tenant. The tenant is taken from
+ * the context of the enriched message.
+ *
+ * <p>If {@linkplain Builder#invalidateOn(Class, Function) configured}, a cached value is dropped
+ * when the entity it was looked up from changes its state. Such invalidation relies on
+ * the {@code EntityStateChanged} system events, which are only emitted for entities visible for
+ * subscription. The invalidation is eventual, so setting an expiration period as well is
+ * recommended for the data which must not go stale.
+ *
+ * <p>A value loaded while its key is invalidated may be stale, so it is not cached.
+ *
+ * <p>If a {@linkplain Builder#setPrefetchExecutor(Executor) prefetch executor} is set and
+ * several events are dispatched at once, the {@link Enricher} asks the cache to
+ * {@linkplain #prefetch(TenantId, Iterable) prefetch} the keys of all of them. If a
+ * {@linkplain Builder#setBatchLoader(Function) batch loader} is set, the missing values are
+ * loaded in a single call. The prefetch runs asynchronously; the enrichment of an event whose
+ * key is still being prefetched does not wait for the prefetch and loads the value on its own.
+ *
+ * @param <K>
+ *         the type of the lookup keys
+ * @param <E>
+ *         the type of the enrichment messages
+ */
+public final class EnrichmentCache<K, E extends Message> implements Logging {
+
+    private static final int GENERATION_STRIPES = 64;
+
+    private final Cache<IdInTenant<K>, E> cache;
+    private final Function<K, E> loader;
+    private final @Nullable Function<Set<K>, Map<K, E>> batchLoader;
+    private final @Nullable Executor prefetchExecutor;
+    private final ImmutableList<Invalidation<?, K>> invalidations;
+    private final String name;
+
+    /**
+     * The values which are being prefetched at the moment.
+     */
+    private final Map<IdInTenant<K>, CompletableFuture<E>> pending =
+            new ConcurrentHashMap<>();
+
+    /**
+     * The counters of the invalidations of the keys.
+     *
+     * <p>The keys are spread over a fixed number of stripes, each having its own counter.
+     * If the counter of a key changes while its value is loaded, the value is not cached.
+     */
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    private EnrichmentCache(Builder<K, E> builder) {
+        this.cache = builder.cacheBuilder()
+                            .build();
+        this.loader = builder.loader;
+        this.batchLoader = builder.batchLoader;
+        this.prefetchExecutor = builder.prefetchExecutor;
+        this.invalidations = builder.invalidations.build();
+        this.name = builder.name;
+    }
+
+    /**
+     * Creates a new builder of the cache which loads values with the passed function.
+     *
+     * @param loader
+     *         the function which loads an enrichment by its key
+     */
+    public static <K, E extends Message> Builder<K, E> newBuilder(Function<K, E> loader) {
+        checkNotNull(loader);
+        return new Builder<>(loader);
+    }
+
+    /**
+     * Creates an event enrichment function which obtains the enrichment from this cache
+     * by the key calculated from the event message.
+     *
+     * @param key
+     *         the function obtaining the lookup key from the event message
+     * @param <M>
+     *         the type of the event message
+     */
+    public <M extends EventMessage> EventEnrichmentFn<M, E> by(Function<M, K> key) {
+        checkNotNull(key);
+        return new EventFn<>(key);
+    }
+
+    /**
+     * Obtains the enrichment for the given key, loading it if it is not cached.
+     *
+     * @param tenant
+     *         the tenant for which the value is obtained
+     * @param key
+     *         the lookup key
+     * @return the enrichment or {@code null} if the loader produced none
+     */
+    public @Nullable E get(TenantId tenant, K key) {
+        IdInTenant<K> id = IdInTenant.of(key, tenant);
+        E cached = cache.getIfPresent(id);
+        if (cached != null) {
+            count(CACHE_HIT);
+            return cached;
+        }
+        count(CACHE_MISS);
+        CompletableFuture<E> inFlight = pending.get(id);
+        if (inFlight != null) {
+            E prefetched = inFlight.getNow(null);
+            if (prefetched != null) {
+                return prefetched;
+            }
+        }
+        long generation = generationOf(id);
+        E loaded = loader.apply(key);
+        if (loaded != null) {
+            cacheIfCurrent(id, loaded, generation);
+        }
+        return loaded;
+    }
+
+    /**
+     * Counts the cache hit or miss in the server metrics, tagged by the name of the cache.
+     */
+    private void count(String metric) {
+        if (ServerMetrics.enabled()) {
+            ServerMetrics.counter(metric, name)
+                         .increment();
+        }
+    }
+
+    /**
+     * Caches the loaded value unless its key was invalidated since the given generation.
+     *
+     * @return {@code true} if the value is cached, {@code false} otherwise
+     */
+    @CanIgnoreReturnValue
+    private boolean cacheIfCurrent(IdInTenant<K> id, E value, long generation) {
+        cache.put(id, value);
+        if (generationOf(id) != generation) {
+            cache.asMap()
+                 .remove(id, value);
+            return false;
+        }
+        return true;
+    }
+
+    private long generationOf(IdInTenant<K> id) {
+        return generations.get(stripeOf(id));
+    }
+
+    private static int stripeOf(IdInTenant<?> id) {
+        return (id.hashCode() & Integer.MAX_VALUE) % GENERATION_STRIPES;
+    }
+
+    /**
+     * Starts loading the values of the given keys which are not yet cached.
+     *
+     * <p>The values are loaded on the {@linkplain Builder#setPrefetchExecutor(Executor)
+     * prefetch executor} in the scope of the given tenant. If the executor is not set,
+     * does nothing.
+     *
+     * @param tenant
+     *         the tenant for which the values are loaded
+     * @param keys
+     *         the lookup keys
+     */
+    public void prefetch(TenantId tenant, Iterable<K> keys) {
+        checkNotNull(tenant);
+        checkNotNull(keys);
+        if (prefetchExecutor == null) {
+            return;
+        }
+        Map<K, CompletableFuture<E>> claimed = new HashMap<>();
+        for (K key : keys) {
+            IdInTenant<K> id = IdInTenant.of(key, tenant);
+            if (claimed.containsKey(key) || cache.getIfPresent(id) != null) {
+                continue;
+            }
+            CompletableFuture<E> future = new CompletableFuture<>();
+            if (pending.putIfAbsent(id, future) == null) {
+                claimed.put(key, future);
+            }
+        }
+        if (claimed.isEmpty()) {
+            return;
+        }
+        try {
+            prefetchExecutor.execute(
+                    () -> TenantAwareRunner.with(tenant)
+                                           .run(() -> load(tenant, claimed))
+            );
+        } catch (RejectedExecutionException e) {
+            _warn().withCause(e)
+                   .log("Unable to schedule prefetching of %d enrichment(s).", claimed.size());
+            release(tenant, claimed);
+        }
+    }
+
+    private void load(TenantId tenant, Map<K, CompletableFuture<E>> claimed) {
+        try {
+            Map<K, Long> loadedSince = new HashMap<>();
+            for (K key : claimed.keySet()) {
+                loadedSince.put(key, generationOf(IdInTenant.of(key, tenant)));
+            }
+            Map<K, E> loaded = loadAll(claimed.keySet());
+            claimed.forEach((key, future) -> {
+                IdInTenant<K> id = IdInTenant.of(key, tenant);
+                @Nullable E value = loaded.get(key);
+                if (value != null && !cacheIfCurrent(id, value, loadedSince.get(key))) {
+                    value = null;
+                }
+                pending.remove(id, future);
+                future.complete(value);
+            });
+        } catch (RuntimeException e) {
+            _warn().withCause(e)
+                   .log("Unable to prefetch %d enrichment(s).", claimed.size());
+        } finally {
+            release(tenant, claimed);
+        }
+    }
+
+    /**
+     * Completes the prefetch of the claimed keys.
+     *
+     * <p>The keys which were not loaded or were invalidated during the loading are completed
+     * with {@code null}, so that the enrichment of their events falls back to the regular
+     * loading.
+     */
+    private void release(TenantId tenant, Map<K, CompletableFuture<E>> claimed) {
+        claimed.forEach((key, future) -> {
+            future.complete(null);
+            pending.remove(IdInTenant.of(key, tenant), future);
+        });
+    }
+
+    private Map<K, E> loadAll(Set<K> keys) {
+        if (batchLoader != null) {
+            Map<K, E> result = batchLoader.apply(new LinkedHashSet<>(keys));
+            return checkNotNull(result);
+        }
+        Map<K, E> result = new HashMap<>();
+        for (K key : keys) {
+            E value = loader.apply(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Drops the cached value of the given key.
+     */
+    public void invalidate(TenantId tenant, K key) {
+        IdInTenant<K> id = IdInTenant.of(key, tenant);
+        generations.incrementAndGet(stripeOf(id));
+        cache.invalidate(id);
+    }
+
+    /**
+     * Drops all the cached values.
+     */
+    public void invalidateAll() {
+        for (int stripe = 0; stripe < GENERATION_STRIPES; stripe++) {
+            generations.incrementAndGet(stripe);
+        }
+        cache.invalidateAll();
+    }
+
+    /**
+     * Obtains the statistics of the cache usage.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Obtains the types of the entity states which invalidate the values of this cache.
+     */
+    ImmutableSet<TypeUrl> invalidatingStates() {
+        return invalidations.stream()
+                            .map(Invalidation::stateType)
+                            .collect(toImmutableSet());
+    }
+
+    /**
+     * Drops the values looked up from the entity which now has the passed state.
+     */
+    void onStateChanged(TenantId tenant, EntityState<?> newState) {
+        for (Invalidation<?, K> invalidation : invalidations) {
+            K key = invalidation.keyOf(newState);
+            if (key != null) {
+                invalidate(tenant, key);
+            }
+        }
+    }
+
+    private static TenantId tenantOf(EnrichableMessageContext context) {
+        return context instanceof WithActor
+               ? ((WithActor) context).tenant()
+               : TenantId.getDefaultInstance();
+    }
+
+    /**
+     * An enrichment function which obtains the enrichments from the enclosing cache.
+     */
+    private class CachedFn<M extends Message, C extends EnrichableMessageContext>
+            implements EnrichmentFn<M, C, E>, Prefetching<M, C> {
+
+        private final Function<M, K> key;
+
+        private CachedFn(Function<M, K> key) {
+            this.key = key;
+        }
+
+        @Override
+        public @Nullable E apply(M message, C context) {
+            return get(tenantOf(context), key.apply(message));
+        }
+
+        @Override
+        public void requestPrefetch(M message, C context, Prefetch prefetch) {
+            prefetch.add(EnrichmentCache.this, tenantOf(context), key.apply(message));
+        }
+
+        @Override
+        public EnrichmentCache<?, ?> cache() {
+            return EnrichmentCache.this;
+        }
+    }
+
+    /**
+     * A cached enrichment function for events.
+     */
+    private final class EventFn<M extends EventMessage>
+            extends CachedFn<M, EventContext>
+            implements EventEnrichmentFn<M, E> {
+
+        private EventFn(Function<M, K> key) {
+            super(key);
+        }
+    }
+
+    /**
+     * Obtains a key of the cached value from an entity state.
+     */
+    private static final class Invalidation<S extends EntityState<?>, K> {
+
+        private final Class<S> stateClass;
+        private final Function<S, K> key;
+
+        private Invalidation(Class<S> stateClass, Function<S, K> key) {
+            this.stateClass = stateClass;
+            this.key = key;
+        }
+
+        private TypeUrl stateType() {
+            return TypeUrl.of(stateClass);
+        }
+
+        private @Nullable K keyOf(EntityState<?> state) {
+            if (!stateClass.isInstance(state)) {
+                return null;
+            }
+            return key.apply(stateClass.cast(state));
+        }
+    }
+
+    /**
+     * The builder of {@code EnrichmentCache}.
+     */
+    public static final class Builder<K, E extends Message> {
+
+        private final Function<K, E> loader;
+        private final ImmutableList.Builder<Invalidation<?, K>> invalidations =
+                ImmutableList.builder();
+        private @Nullable Function<Set<K>, Map<K, E>> batchLoader;
+        private @Nullable Executor prefetchExecutor;
+        private long maximumSize = -1;
+        private @Nullable Duration expireAfterWrite;
+        private String name = EnrichmentCache.class.getSimpleName();
+
+        private Builder(Function<K, E> loader) {
+            this.loader = loader;
+        }
+
+        /**
+         * Sets the name of the cache.
+         *
+         * <p>The hits and misses of the cache are recorded in the
+         * {@linkplain io.spine.server.metrics.ServerMetrics server metrics} under this name.
+         *
+         * <p>If not set, the simple name of the {@code EnrichmentCache} class is used.
+         */
+        @CanIgnoreReturnValue
+        public Builder<K, E> setName(String name) {
+            checkNotEmptyOrBlank(name);
+            this.name = name;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of values the cache keeps.
+         *
+         * <p>If not set, the size of the cache is not limited.
+         */
+        @CanIgnoreReturnValue
+        public Builder<K, E> setMaximumSize(long maximumSize) {
+            checkArgument(maximumSize >= 0, "The maximum size must not be negative.");
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Sets the time after which a cached value expires.
+         *
+         * <p>If not set, the values do not expire.
+         */
+        @CanIgnoreReturnValue
+        public Builder<K, E> setExpireAfterWrite(Duration expireAfterWrite) {
+            checkNotNull(expireAfterWrite);
+            checkArgument(Durations.toNanos(expireAfterWrite) > 0,
+                          "The expiration period must be positive.");
+            this.expireAfterWrite = expireAfterWrite;
+            return this;
+        }
+
+        /**
+         * Sets the function which loads the values of several keys at once.
+         *
+         * <p>The function is used for {@linkplain #prefetch(TenantId, Iterable) prefetching}.
+         * The keys absent in the returned map are considered to have no values.
+         */
+        @CanIgnoreReturnValue
+        public Builder<K, E> setBatchLoader(Function<Set<K>, Map<K, E>> batchLoader) {
+            this.batchLoader = checkNotNull(batchLoader);
+            return this;
+        }
+
+        /**
+         * Sets the executor for prefetching the values.
+         *
+         * <p>The prefetch may block on loading the values, so the executor should be dedicated
+         * to the cache rather than shared with the other tasks of the application.
+         *
+         * <p>If not set, the values are not prefetched.
+         */
+        @CanIgnoreReturnValue
+        public Builder<K, E> setPrefetchExecutor(Executor executor) {
+            this.prefetchExecutor = checkNotNull(executor);
+            return this;
+        }
+
+        /**
+         * Makes the cache drop a value when the entity of the given type changes its state.
+         *
+         * @param stateClass
+         *         the type of the entity state
+         * @param key
+         *         the function obtaining the key of the cached value from the new entity state
+         * @param <S>
+         *         the type of the entity state
+         */
+        @CanIgnoreReturnValue
+        public <S extends EntityState<?>>
+        Builder<K, E> invalidateOn(Class<S> stateClass, Function<S, K> key) {
+            checkNotNull(stateClass);
+            checkNotNull(key);
+            invalidations.add(new Invalidation<>(stateClass, key));
+            return this;
+        }
+
+        private CacheBuilder<Object, Object> cacheBuilder() {
+            CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder()
+                                                               .recordStats();
+            if (maximumSize >= 0) {
+                builder.maximumSize(maximumSize);
+            }
+            if (expireAfterWrite != null) {
+                builder.expireAfterWrite(Durations.toNanos(expireAfterWrite),
+                                         TimeUnit.NANOSECONDS);
+            }
+            return builder;
+        }
+
+        /**
+         * Creates a new cache.
+         */
+        public EnrichmentCache<K, E> build() {
+            return new EnrichmentCache<>(this);
+        }
+    }
+}
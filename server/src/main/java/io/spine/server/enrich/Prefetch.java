@@ -0,0 +1,68 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.enrich;
+
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.SetMultimap;
+import io.spine.core.TenantId;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects the keys to prefetch from the {@link EnrichmentCache}s of an enricher.
+ *
+ * <p>The keys are grouped by the cache and by the tenant, so that each cache receives
+ * a single prefetch request per tenant.
+ */
+final class Prefetch {
+
+    private final Map<EnrichmentCache<?, ?>, SetMultimap<TenantId, Object>> keys =
+            new LinkedHashMap<>();
+
+    /**
+     * Adds the key to prefetch from the given cache.
+     */
+    <K> void add(EnrichmentCache<K, ?> cache, TenantId tenant, K key) {
+        keys.computeIfAbsent(cache, c -> LinkedHashMultimap.create())
+            .put(tenant, key);
+    }
+
+    /**
+     * Starts prefetching all the collected keys.
+     */
+    void submit() {
+        keys.forEach(Prefetch::submit);
+    }
+
+    @SuppressWarnings("unchecked") // Ensured by `add(..)`.
+    private static <K> void submit(EnrichmentCache<K, ?> cache,
+                                   SetMultimap<TenantId, Object> keys) {
+        keys.asMap()
+            .forEach((tenant, ofTenant) -> cache.prefetch(tenant, (Iterable<K>) ofTenant));
+    }
+}
@@ -48,6 +48,11 @@ final class Schema<M extends Message, C extends EnrichableMessageContext> implem
 
     private final int size;
 
+    /**
+     * The caches used by the functions of this schema.
+     */
+    private final ImmutableSet<EnrichmentCache<?, ?>> caches;
+
     static <M extends Message, C extends EnrichableMessageContext>
     Schema<M, C> newInstance(EnricherBuilder<? extends M, C, ?> eBuilder) {
         Factory<M, C> factory = new Factory<>(eBuilder);
@@ -58,6 +63,11 @@ final class Schema<M extends Message, C extends EnrichableMessageContext> implem
     private Schema(Factory<M, C> factory) {
         this.map = ImmutableMap.copyOf(factory.schemaMap);
         this.size = factory.functions.size();
+        this.caches = factory.functions.values()
+                                       .stream()
+                                       .filter(Prefetching.class::isInstance)
+                                       .map(fn -> ((Prefetching<?, ?>) fn).cache())
+                                       .collect(toImmutableSet());
         _debug().log("Created enrichment schema with %d entries.", this.size);
     }
 
@@ -70,6 +80,13 @@ final class Schema<M extends Message, C extends EnrichableMessageContext> implem
         return fn;
     }
 
+    /**
+     * Obtains the caches used by the functions of this schema.
+     */
+    ImmutableSet<EnrichmentCache<?, ?>> caches() {
+        return caches;
+    }
+
     /**
      * Creates new {@code Schema}.
      *
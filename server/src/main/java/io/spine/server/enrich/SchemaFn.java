@@ -64,6 +64,23 @@ abstract class SchemaFn<M extends Message, C extends EnrichableMessageContext>
      */
     abstract void applyAndPut(Container.Builder container, M m, C c);
 
+    /**
+     * Adds the lookups of the {@linkplain Prefetching prefetching} functions for the passed
+     * message to the prefetch.
+     */
+    abstract void requestPrefetch(M m, C c, Prefetch prefetch);
+
+    /**
+     * Adds the lookup of the passed function to the prefetch, if the function supports it.
+     */
+    @SuppressWarnings("unchecked") // The function accepts the same message and context types.
+    static <M extends Message, C extends EnrichableMessageContext>
+    void prefetchVia(EnrichmentFn<M, C, ?> function, M m, C c, Prefetch prefetch) {
+        if (function instanceof Prefetching) {
+            ((Prefetching<M, C>) function).requestPrefetch(m, c, prefetch);
+        }
+    }
+
     /**
      * Puts a single enrichment message into the container.
      */
@@ -56,4 +56,9 @@ final class SingularFn<M extends Message, C extends EnrichableMessageContext>
         checkResult(output, m, c, function);
         put(container, output);
     }
+
+    @Override
+    void requestPrefetch(M m, C c, Prefetch prefetch) {
+        prefetchVia(function, m, c, prefetch);
+    }
 }
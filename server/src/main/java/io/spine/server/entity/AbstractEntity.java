@@ -101,6 +101,10 @@ public abstract class AbstractEntity<I, S extends EntityState<I>>
     @LazyInit
     private volatile @MonotonicNonNull String stringId;
 
+    /** Cached version of the ID packed into {@code Any}. */
+    @LazyInit
+    private volatile @MonotonicNonNull Any packedId;
+
     /**
      * The state of the entity.
      *
@@ -320,6 +324,28 @@ public abstract class AbstractEntity<I, S extends EntityState<I>>
         return result;
     }
 
+    /**
+     * Obtains ID of the entity {@linkplain Identifier#pack(Object) packed} into {@code Any}.
+     *
+     * <p>As with {@link #idAsString()}, the packed value is computed once and cached.
+     *
+     * @return the packed entity ID
+     */
+    @Internal
+    public final Any idAsAny() {
+        Any result = packedId;
+        if (result == null) {
+            synchronized (this) {
+                result = packedId;
+                if (result == null) {
+                    packedId = Identifier.pack(id());
+                    result = packedId;
+                }
+            }
+        }
+        return result;
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this)
@@ -393,10 +419,9 @@ public abstract class AbstractEntity<I, S extends EntityState<I>>
      */
     protected void checkNotArchived() throws CannotModifyArchivedEntity {
         if (lifecycleFlags().getArchived()) {
-            Any packedId = Identifier.pack(id());
             throw CannotModifyArchivedEntity
                     .newBuilder()
-                    .setEntityId(packedId)
+                    .setEntityId(idAsAny())
                     .build();
         }
     }
@@ -411,10 +436,9 @@ public abstract class AbstractEntity<I, S extends EntityState<I>>
      */
     protected void checkNotDeleted() throws CannotModifyDeletedEntity {
         if (lifecycleFlags().getDeleted()) {
-            Any packedId = Identifier.pack(id());
             throw CannotModifyDeletedEntity
                     .newBuilder()
-                    .setEntityId(packedId)
+                    .setEntityId(idAsAny())
                     .build();
         }
     }
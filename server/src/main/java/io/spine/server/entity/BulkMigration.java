@@ -0,0 +1,345 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.entity;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.google.protobuf.FieldMask;
+import io.spine.annotation.Experimental;
+import io.spine.base.EntityState;
+import io.spine.base.Identifier;
+import io.spine.logging.Logging;
+import io.spine.server.ServerEnvironment;
+import io.spine.server.delivery.Delivery;
+import io.spine.server.delivery.ShardIndex;
+import io.spine.server.tenant.TenantAwareRunner;
+import io.spine.type.TypeUrl;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static io.spine.base.Time.currentTime;
+import static io.spine.util.Preconditions2.checkNotEmptyOrBlank;
+
+/**
+ * Applies a {@link Migration} to all the active entities of a repository.
+ *
+ * <p>Unlike {@link RecordBasedRepository#applyMigration(java.util.Set, Migration)
+ * RecordBasedRepository.applyMigration(Set, Migration)}, does not load all the entities
+ * at once. The identifiers of the active entities are read from the storage in pages
+ * {@linkplain io.spine.server.entity.storage.EntityRecordStorage#indexPage(Object, int)
+ * ordered by the identifier}. Each page is read by a fresh keyset query, which starts after
+ * the last identifier of the previous page. The entities of a page are grouped by their
+ * {@linkplain ShardIndex shards}. The groups are migrated concurrently by a bounded pool
+ * of threads, while the entities of a single shard are migrated sequentially. The entities
+ * of each group are stored in bulk.
+ *
+ * <p>Since the {@code Migration} instances hold the state of the currently performed
+ * operation, a new instance is obtained from the given supplier for each group.
+ *
+ * <p>Once a page is migrated, the progress is saved as a {@link MigrationCheckpoint}.
+ * If the migration is interrupted, e.g. by a crash of the application node, running it
+ * again under the same name resumes it after the last identifier of the last migrated page.
+ * Some entities of the interrupted page may be migrated twice, so the migration should tolerate
+ * being applied to an already migrated entity.
+ *
+ * <p>In a multi-tenant context, the migration is applied to the entities of the current tenant.
+ *
+ * <p>Example:
+ * <pre>
+ *     BulkMigration.newBuilder(repository, RenameField::new)
+ *                  .setName("rename-field")
+ *                  .setPageSize(1000)
+ *                  .setParallelism(8)
+ *                  .build()
+ *                  .run();
+ * </pre>
+ *
+ * @param <I>
+ *         the type of the entity identifiers
+ * @param <E>
+ *         the type of the migrated entities
+ * @param <S>
+ *         the type of the entity state
+ */
+@Experimental
+public final class BulkMigration<I,
+                                 E extends TransactionalEntity<I, S, ?>,
+                                 S extends EntityState<I>>
+        implements Logging {
+
+    private static final int DEFAULT_PAGE_SIZE = 500;
+
+    private final RecordBasedRepository<I, E, S> repository;
+    private final Supplier<? extends Migration<I, E, S>> migration;
+    private final MigrationId id;
+    private final int pageSize;
+    private final int parallelism;
+
+    private BulkMigration(Builder<I, E, S> builder) {
+        this.repository = builder.repository;
+        this.migration = builder.migration;
+        this.id = MigrationId
+                .newBuilder()
+                .setEntityType(repository.entityStateType()
+                                         .value())
+                .setName(checkNotNull(builder.name, "The migration name must be set."))
+                .build();
+        this.pageSize = builder.pageSize;
+        this.parallelism = builder.parallelism;
+    }
+
+    /**
+     * Creates a new builder of the migration.
+     *
+     * @param repository
+     *         the repository of the migrated entities
+     * @param migration
+     *         the supplier of the instances of the migration
+     */
+    public static <I, E extends TransactionalEntity<I, S, ?>, S extends EntityState<I>>
+    Builder<I, E, S> newBuilder(RecordBasedRepository<I, E, S> repository,
+                                Supplier<? extends Migration<I, E, S>> migration) {
+        checkNotNull(repository);
+        checkNotNull(migration);
+        return new Builder<>(repository, migration);
+    }
+
+    /**
+     * Runs the migration until all the entities are migrated.
+     *
+     * <p>If the migration with the same name was already completed, does nothing.
+     *
+     * @return the checkpoint of the completed migration
+     */
+    @CanIgnoreReturnValue
+    public MigrationCheckpoint run() {
+        MigrationCheckpointStorage storage = repository.migrationCheckpoints();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, threadFactory());
+        try {
+            return run(storage, executor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private MigrationCheckpoint run(MigrationCheckpointStorage storage, ExecutorService executor) {
+        MigrationCheckpoint checkpoint = storage.read(id)
+                                                .orElse(MigrationCheckpoint.newBuilder()
+                                                                           .setId(id)
+                                                                           .build());
+        if (checkpoint.getCompleted()) {
+            _debug().log("The migration `%s` of `%s` is already completed.",
+                         id.getName(), id.getEntityType());
+            return checkpoint;
+        }
+        TenantAwareRunner tenant = TenantAwareRunner.withCurrentTenant(repository.isMultitenant());
+        @Nullable I lastId = lastId(checkpoint);
+        List<I> page = nextPage(lastId);
+        while (!page.isEmpty()) {
+            migrate(page, tenant, executor);
+            lastId = page.get(page.size() - 1);
+            checkpoint = advance(checkpoint, page.size(), lastId);
+            storage.save(checkpoint);
+            page = nextPage(lastId);
+        }
+        checkpoint = checkpoint.toBuilder()
+                               .setCompleted(true)
+                               .setWhenUpdated(currentTime())
+                               .build();
+        storage.save(checkpoint);
+        return checkpoint;
+    }
+
+    private @Nullable I lastId(MigrationCheckpoint checkpoint) {
+        if (!checkpoint.hasLastId()) {
+            return null;
+        }
+        return Identifier.unpack(checkpoint.getLastId(), repository.idClass());
+    }
+
+    /**
+     * Reads the identifiers of the next page of the active entities.
+     *
+     * <p>Each page is read anew by a keyset query, so the writes performed by the migration
+     * do not interfere with the reading of the following pages.
+     */
+    private List<I> nextPage(@Nullable I lastId) {
+        Iterator<I> ids = repository.recordStorage()
+                                    .indexPage(lastId, pageSize);
+        return ImmutableList.copyOf(ids);
+    }
+
+    /**
+     * Migrates the entities with the given IDs, grouped by their shards.
+     */
+    private void migrate(List<I> page, TenantAwareRunner tenant, ExecutorService executor) {
+        Map<ShardIndex, List<I>> byShard = groupByShard(page);
+        CompletableFuture<?>[] groups =
+                byShard.values()
+                       .stream()
+                       .map(group -> CompletableFuture.runAsync(
+                               () -> tenant.run(() -> migrateGroup(group)), executor))
+                       .toArray(CompletableFuture<?>[]::new);
+        CompletableFuture.allOf(groups)
+                         .join();
+    }
+
+    private Map<ShardIndex, List<I>> groupByShard(List<I> page) {
+        Delivery delivery = ServerEnvironment.instance()
+                                             .delivery();
+        TypeUrl stateType = repository.entityStateType();
+        Map<ShardIndex, List<I>> result = new LinkedHashMap<>();
+        for (I entityId : page) {
+            ShardIndex shard = delivery.whichShardFor(entityId, stateType);
+            result.computeIfAbsent(shard, s -> new ArrayList<>())
+                  .add(entityId);
+        }
+        return result;
+    }
+
+    /**
+     * Sequentially migrates the entities of a single shard and stores them in bulk.
+     */
+    private void migrateGroup(List<I> group) {
+        Migration<I, E, S> operation = migration.get();
+        Iterator<E> entities = repository.loadAll(group, FieldMask.getDefaultInstance());
+        List<E> toStore = new ArrayList<>(group.size());
+        while (entities.hasNext()) {
+            E entity = entities.next();
+            operation.applyTo(entity, repository);
+            if (operation.physicallyRemoveRecord()) {
+                repository.delete(entity.id(), operation);
+            } else {
+                toStore.add(entity);
+            }
+            operation.finishCurrentOperation();
+        }
+        repository.store(toStore);
+    }
+
+    /**
+     * Creates a checkpoint, which follows the given one, after the page is migrated.
+     */
+    private static MigrationCheckpoint
+    advance(MigrationCheckpoint checkpoint, int pageSize, Object lastId) {
+        return checkpoint.toBuilder()
+                         .setProcessed(checkpoint.getProcessed() + pageSize)
+                         .setLastId(Identifier.pack(lastId))
+                         .setWhenUpdated(currentTime())
+                         .build();
+    }
+
+    private ThreadFactory threadFactory() {
+        String nameFormat = String.format("migration-%s-%%d", id.getName());
+        return new ThreadFactoryBuilder().setNameFormat(nameFormat)
+                                         .setDaemon(true)
+                                         .build();
+    }
+
+    /**
+     * The builder of {@code BulkMigration}s.
+     */
+    public static final class Builder<I,
+                                      E extends TransactionalEntity<I, S, ?>,
+                                      S extends EntityState<I>> {
+
+        private final RecordBasedRepository<I, E, S> repository;
+        private final Supplier<? extends Migration<I, E, S>> migration;
+        private @Nullable String name;
+        private int pageSize = DEFAULT_PAGE_SIZE;
+        private int parallelism = Runtime.getRuntime()
+                                         .availableProcessors();
+
+        private Builder(RecordBasedRepository<I, E, S> repository,
+                        Supplier<? extends Migration<I, E, S>> migration) {
+            this.repository = repository;
+            this.migration = migration;
+        }
+
+        /**
+         * Sets the name of the migration.
+         *
+         * <p>The progress of the migration is saved under this name. Running a migration
+         * with the same name resumes the previous run.
+         */
+        @CanIgnoreReturnValue
+        public Builder<I, E, S> setName(String name) {
+            checkNotEmptyOrBlank(name);
+            this.name = name;
+            return this;
+        }
+
+        /**
+         * Sets the number of the entities migrated between the checkpoints.
+         *
+         * <p>If not set, {@value BulkMigration#DEFAULT_PAGE_SIZE} is used.
+         */
+        @CanIgnoreReturnValue
+        public Builder<I, E, S> setPageSize(int pageSize) {
+            checkArgument(pageSize > 0, "The page size must be positive.");
+            this.pageSize = pageSize;
+            return this;
+        }
+
+        /**
+         * Sets the number of the threads migrating the entities.
+         *
+         * <p>If not set, the number of the available processors is used.
+         */
+        @CanIgnoreReturnValue
+        public Builder<I, E, S> setParallelism(int parallelism) {
+            checkArgument(parallelism > 0, "The parallelism must be positive.");
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Creates a new instance of {@code BulkMigration}.
+         *
+         * @throws IllegalStateException
+         *         if the name of the migration is not set
+         */
+        public BulkMigration<I, E, S> build() {
+            checkState(name != null, "The migration name must be set.");
+            return new BulkMigration<>(this);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.entity;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.google.protobuf.Duration;
+import com.google.protobuf.util.Durations;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Defines which entities a repository keeps in memory between the deliveries of messages.
+ *
+ * <p>By default, the loaded entities are {@linkplain #disabled() not kept}. Each delivered batch
+ * of messages loads the target entity from the storage anew.
+ *
+ * <p>A repository with a retaining policy serves repeated loads of the same entity from memory,
+ * as long as the entity is not evicted due to the {@linkplain Builder#setMaximumSize(long) size}
+ * or {@linkplain Builder#setExpireAfterAccess(Duration) idle time} limits. The stored entities
+ * are written through to the storage.
+ *
+ * <p>By default, before serving a kept entity, the repository reads the stored record and
+ * checks that it has the same version. An entity modified bypassing the repository, e.g. by
+ * another server instance writing to the same storage, is loaded from the storage anew.
+ *
+ * <p>The check costs a storage read per served entity. If the entities are only written by
+ * this server instance, e.g. the shards of the entities are never handed over to other
+ * instances, the check may be {@linkplain Builder#setVerifyStoredVersion(boolean) turned off}.
+ * The kept entities are then evicted only when the repository is notified of the changes
+ * made to their records bypassing the cache.
+ */
+public final class EntityCachePolicy {
+
+    private static final EntityCachePolicy DISABLED = new EntityCachePolicy(0, null, true);
+
+    private final long maximumSize;
+    private final @Nullable Duration expireAfterAccess;
+    private final boolean verifyStoredVersion;
+
+    private EntityCachePolicy(long maximumSize,
+                              @Nullable Duration expireAfterAccess,
+                              boolean verifyStoredVersion) {
+        this.maximumSize = maximumSize;
+        this.expireAfterAccess = expireAfterAccess;
+        this.verifyStoredVersion = verifyStoredVersion;
+    }
+
+    /**
+     * Obtains the policy which does not keep entities between the deliveries.
+     */
+    public static EntityCachePolicy disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Creates a new builder of the policy.
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Tells if the entities are kept between the deliveries.
+     */
+    public boolean isEnabled() {
+        return maximumSize > 0;
+    }
+
+    /**
+     * Tells if the version of the stored record is checked before serving a kept entity.
+     */
+    public boolean verifiesStoredVersion() {
+        return verifyStoredVersion;
+    }
+
+    /**
+     * Creates a cache builder configured according to this policy.
+     */
+    CacheBuilder<Object, Object> toCacheBuilder() {
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder()
+                                                           .maximumSize(maximumSize)
+                                                           .recordStats();
+        if (expireAfterAccess != null) {
+            builder.expireAfterAccess(Durations.toNanos(expireAfterAccess), TimeUnit.NANOSECONDS);
+        }
+        return builder;
+    }
+
+    /**
+     * The builder of {@code EntityCachePolicy}.
+     */
+    public static final class Builder {
+
+        private long maximumSize = 1_000;
+        private @Nullable Duration expireAfterAccess;
+        private boolean verifyStoredVersion = true;
+
+        /** Prevents direct instantiation. */
+        private Builder() {
+        }
+
+        /**
+         * Sets the maximum number of entities kept in memory.
+         *
+         * <p>If not set, up to 1000 entities are kept.
+         */
+        @CanIgnoreReturnValue
+        public Builder setMaximumSize(long maximumSize) {
+            checkArgument(maximumSize > 0, "The maximum size must be positive.");
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Sets the time after which an entity which was neither loaded nor stored
+         * is evicted.
+         *
+         * <p>If not set, the entities are only evicted when the maximum size is reached.
+         */
+        @CanIgnoreReturnValue
+        public Builder setExpireAfterAccess(Duration expireAfterAccess) {
+            checkNotNull(expireAfterAccess);
+            checkArgument(Durations.toNanos(expireAfterAccess) > 0,
+                          "The idle time must be positive.");
+            this.expireAfterAccess = expireAfterAccess;
+            return this;
+        }
+
+        /**
+         * Sets whether the version of the stored record is checked before serving
+         * a kept entity.
+         *
+         * <p>If not set, the version is checked.
+         */
+        @CanIgnoreReturnValue
+        public Builder setVerifyStoredVersion(boolean verifyStoredVersion) {
+            this.verifyStoredVersion = verifyStoredVersion;
+            return this;
+        }
+
+        /**
+         * Creates a new policy.
+         */
+        public EntityCachePolicy build() {
+            return new EntityCachePolicy(maximumSize, expireAfterAccess, verifyStoredVersion);
+        }
+    }
+}
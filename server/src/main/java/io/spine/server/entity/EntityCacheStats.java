@@ -0,0 +1,87 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.entity;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.cache.CacheStats;
+
+/**
+ * The statistics of serving entities kept in memory between the deliveries of messages.
+ *
+ * @see EntityCachePolicy
+ */
+public final class EntityCacheStats {
+
+    private final CacheStats stats;
+    private final long staleCount;
+
+    EntityCacheStats(CacheStats stats, long staleCount) {
+        this.stats = stats;
+        this.staleCount = staleCount;
+    }
+
+    /**
+     * Obtains the number of loads served by an entity kept in memory.
+     */
+    public long hitCount() {
+        return stats.hitCount() - staleCount;
+    }
+
+    /**
+     * Obtains the number of loads which read the entity from the storage.
+     */
+    public long missCount() {
+        return stats.missCount() + staleCount;
+    }
+
+    /**
+     * Obtains the number of entities kept in memory which were found to be modified
+     * without being stored.
+     *
+     * <p>Such entities are loaded from the storage anew.
+     */
+    public long staleCount() {
+        return staleCount;
+    }
+
+    /**
+     * Obtains the number of entities evicted due to the size or idle time limits.
+     */
+    public long evictionCount() {
+        return stats.evictionCount();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("hitCount", hitCount())
+                          .add("missCount", missCount())
+                          .add("staleCount", staleCount)
+                          .add("evictionCount", evictionCount())
+                          .toString();
+    }
+}
@@ -29,8 +29,12 @@ package io.spine.server.entity;
 import io.spine.annotation.Internal;
 import io.spine.server.delivery.MessageEndpoint;
 import io.spine.server.dispatch.DispatchOutcome;
+import io.spine.server.trace.ServerTracing;
+import io.spine.server.trace.SpanKind;
 import io.spine.server.type.SignalEnvelope;
 
+import static io.spine.server.trace.SpanKind.ENTITY_STORE;
+
 /**
  * Abstract base for endpoints handling messages sent to entities.
  *
@@ -77,12 +81,29 @@ public abstract class EntityMessageEndpoint<I,
     protected final void store(E entity) {
         boolean isModified = isModified(entity);
         if (isModified) {
+            long start = System.nanoTime();
             onModified(entity);
+            traceSince(ENTITY_STORE, start);
         } else {
             onEmptyResult(entity);
         }
     }
 
+    /**
+     * Records the span of the processing stage of the message which started at the given moment.
+     *
+     * @param kind
+     *         the processing stage
+     * @param startNanos
+     *         the moment the stage started, as returned by {@link System#nanoTime()}
+     */
+    protected final void traceSince(SpanKind kind, long startNanos) {
+        ServerTracing.recordSince(kind, envelope.outerObject(),
+                                  repository.entityStateType()
+                                            .value(),
+                                  startNanos);
+    }
+
     /**
      * Verifies whether the entity was modified during the message dispatching.
      */
@@ -51,9 +51,31 @@ public abstract class EventDispatchingRepository<I,
 
     private final EventRouting<I> eventRouting;
 
+    /**
+     * Tells if a derived class customizes the {@linkplain #route(EventEnvelope) routing}.
+     *
+     * <p>If so, the unicast events are routed via the overriding method too.
+     */
+    private final boolean customRoute;
+
     protected EventDispatchingRepository() {
         super();
         this.eventRouting = EventRouting.withDefaultByProducerId();
+        this.customRoute = overridesRoute(getClass());
+    }
+
+    private static boolean overridesRoute(Class<?> repositoryClass) {
+        for (Class<?> cls = repositoryClass;
+             cls != EventDispatchingRepository.class;
+             cls = cls.getSuperclass()) {
+            try {
+                cls.getDeclaredMethod("route", EventEnvelope.class);
+                return true;
+            } catch (NoSuchMethodException ignored) {
+                // Check the superclass.
+            }
+        }
+        return false;
     }
 
     /**
@@ -111,9 +133,18 @@ public abstract class EventDispatchingRepository<I,
     }
 
     private void doDispatch(EventEnvelope event) {
-        Set<I> targets = route(event);
         Event outerObject = event.outerObject();
-        targets.forEach(id -> dispatchTo(id, outerObject));
+        EventRouting<I> routing = eventRouting();
+        if (!customRoute && routing.isUnicast(event.message()
+                                                   .getClass())) {
+            I target = routeUnicast(routing, event);
+            if (target != null) {
+                dispatchTo(target, outerObject);
+            }
+        } else {
+            Set<I> targets = route(event);
+            targets.forEach(id -> dispatchTo(id, outerObject));
+        }
     }
 
     /**
@@ -129,6 +160,10 @@ public abstract class EventDispatchingRepository<I,
     /**
      * Determines the targets of the given event.
      *
+     * <p>Unless this method is overridden, the events which are
+     * {@linkplain EventRouting#isUnicast(Class) routed to a single entity} are dispatched
+     * without calling it.
+     *
      * @param event the event to find targets for
      * @return a set of IDs of projections to dispatch the given event to
      */
@@ -26,9 +26,12 @@
 
 package io.spine.server.entity;
 
+import com.google.protobuf.Any;
+import com.google.protobuf.FieldMask;
 import io.spine.annotation.Internal;
 import io.spine.client.ResponseFormat;
 import io.spine.client.TargetFilters;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Iterator;
 
@@ -58,4 +61,23 @@ public interface QueryableRepository {
      * @return an iterator over the results
      */
     Iterator<EntityRecord> findRecords(ResponseFormat format);
+
+    /**
+     * Reads a page of the records passing the filters, in the order of the entity identifiers.
+     *
+     * <p>The next page is read by passing the identifier of the last record of the previous one.
+     *
+     * @param filters
+     *         filters to apply to the records
+     * @param mask
+     *         the mask to apply to the entity states
+     * @param after
+     *         the packed identifier of the entity after which the page starts,
+     *         or {@code null} to read the first page
+     * @param limit
+     *         the maximum number of the records in the page
+     * @return an iterator over the records of the page
+     */
+    Iterator<EntityRecord>
+    findRecordsPage(TargetFilters filters, FieldMask mask, @Nullable Any after, int limit);
 }
@@ -29,13 +29,18 @@ package io.spine.server.entity;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableList;
 import io.spine.core.Event;
+import io.spine.core.MessageId;
+import io.spine.core.SignalId;
 
 import java.util.Deque;
 import java.util.Iterator;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Stream;
 
+import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.collect.Queues.newArrayDeque;
+import static com.google.common.collect.Sets.newHashSet;
 
 /**
  * A copy of recent history of an {@linkplain TransactionalEntity
@@ -54,6 +59,16 @@ public final class RecentHistory {
      */
     private final Deque<Event> history = newArrayDeque();
 
+    /**
+     * Identifiers of the signals which caused the events in the {@link #history}.
+     *
+     * <p>Kept in sync with the history, so that it is bounded by the number of events
+     * since the last snapshot as well.
+     *
+     * @see #containsOutcomeOf(SignalId)
+     */
+    private final Set<SignalId> origins = newHashSet();
+
     /**
      * Creates a new instance.
      */
@@ -73,6 +88,24 @@ public final class RecentHistory {
      */
     void clear() {
         history.clear();
+        origins.clear();
+    }
+
+    /**
+     * Checks if the recent history contains an event caused directly by the signal
+     * with the given ID.
+     *
+     * <p>Unlike looking through the {@linkplain #iterator() events}, the check takes
+     * constant time.
+     *
+     * @param signalId
+     *         the ID of a command or an event
+     * @return {@code true} if there is an event produced in response to the signal,
+     *         {@code false} otherwise
+     */
+    public boolean containsOutcomeOf(SignalId signalId) {
+        checkNotNull(signalId);
+        return origins.contains(signalId);
     }
 
     /**
@@ -109,6 +142,18 @@ public final class RecentHistory {
     void addAll(Iterable<Event> events) {
         for (Event event : events) {
             history.addFirst(event);
+            rememberOrigin(event);
+        }
+    }
+
+    private void rememberOrigin(Event event) {
+        MessageId pastMessage = event.context()
+                                     .getPastMessage()
+                                     .messageId();
+        if (pastMessage.isCommand()) {
+            origins.add(pastMessage.asCommandId());
+        } else if (pastMessage.isEvent()) {
+            origins.add(pastMessage.asEventId());
         }
     }
 
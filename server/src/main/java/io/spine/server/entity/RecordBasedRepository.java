@@ -36,6 +36,7 @@ import com.google.protobuf.Message;
 import io.spine.annotation.Experimental;
 import io.spine.annotation.Internal;
 import io.spine.base.EntityState;
+import io.spine.base.Identifier;
 import io.spine.client.EntityId;
 import io.spine.client.OrderBy;
 import io.spine.client.ResponseFormat;
@@ -43,6 +44,7 @@ import io.spine.client.TargetFilters;
 import io.spine.client.Targets;
 import io.spine.core.Event;
 import io.spine.core.Signal;
+import io.spine.core.Version;
 import io.spine.query.EntityQuery;
 import io.spine.query.RecordQuery;
 import io.spine.server.entity.storage.EntityRecordStorage;
@@ -61,6 +63,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
@@ -88,6 +91,9 @@ import static io.spine.validate.Validate.checkValid;
 public abstract class RecordBasedRepository<I, E extends Entity<I, S>, S extends EntityState<I>>
         extends Repository<I, E> implements QueryableRepository {
 
+    /** The storage of the bulk migration checkpoints, or {@code null} until first used. */
+    private @Nullable MigrationCheckpointStorage migrationCheckpoints;
+
     /** Creates a new instance. */
     protected RecordBasedRepository() {
         super();
@@ -116,6 +122,50 @@ public abstract class RecordBasedRepository<I, E extends Entity<I, S>, S extends
         return storage;
     }
 
+    /**
+     * Reads the version of the stored record of the entity with the passed ID.
+     *
+     * @return the version of the stored record, or {@code Optional.empty()}
+     *         if there is no such record
+     */
+    @Internal
+    protected final Optional<Version> storedVersion(I id) {
+        return recordStorage().read(id)
+                              .map(EntityRecord::getVersion);
+    }
+
+    /**
+     * Obtains the storage of the {@linkplain BulkMigration bulk migration} checkpoints.
+     *
+     * <p>The storage is created on the first call and closed along with the repository.
+     */
+    synchronized MigrationCheckpointStorage migrationCheckpoints() {
+        if (migrationCheckpoints == null) {
+            migrationCheckpoints =
+                    new MigrationCheckpointStorage(context().spec(), defaultStorageFactory());
+        }
+        return migrationCheckpoints;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Also closes the storage of the bulk migration checkpoints, if it was created.
+     */
+    @Override
+    @OverridingMethodsMustInvokeSuper
+    public void close() {
+        closeMigrationCheckpoints();
+        super.close();
+    }
+
+    private synchronized void closeMigrationCheckpoints() {
+        if (migrationCheckpoints != null) {
+            migrationCheckpoints.close();
+            migrationCheckpoints = null;
+        }
+    }
+
     @OverridingMethodsMustInvokeSuper
     @Override
     public E create(I id) {
@@ -193,6 +243,7 @@ public abstract class RecordBasedRepository<I, E extends Entity<I, S>, S extends
      * @throws IllegalStateException
      *         if the repository manages a non-transactional entity type
      * @see Migration
+     * @see #bulkMigration(Supplier) the migration of all the entities
      */
     @SuppressWarnings("unchecked") // Checked at runtime.
     @Experimental
@@ -221,6 +272,33 @@ public abstract class RecordBasedRepository<I, E extends Entity<I, S>, S extends
         store(toStore);
     }
 
+    /**
+     * Creates a builder of a {@link BulkMigration} of all the active entities
+     * of this repository.
+     *
+     * <p>The entities are migrated in pages, concurrently across the shards, and the progress
+     * is saved after each page, so that an interrupted migration may be resumed.
+     *
+     * <p>This operation is only supported for entities that are
+     * {@linkplain TransactionalEntity transactional}.
+     *
+     * @param migration
+     *         the supplier of the migration instances, one per a concurrently migrated
+     *         group of entities
+     * @throws IllegalStateException
+     *         if the repository manages a non-transactional entity type
+     * @see #applyMigration(Set, Migration)
+     */
+    @SuppressWarnings("unchecked") // Checked at runtime.
+    @Experimental
+    public final <T extends TransactionalEntity<I, S, ?>>
+    BulkMigration.Builder<I, T, S>
+    bulkMigration(Supplier<? extends Migration<I, T, S>> migration) {
+        checkNotNull(migration);
+        checkEntityIsTransactional();
+        return BulkMigration.newBuilder((RecordBasedRepository<I, T, S>) this, migration);
+    }
+
     @Override
     protected EntityRecordStorage<I, S> createStorage() {
         StorageFactory sf = defaultStorageFactory();
@@ -243,6 +321,21 @@ public abstract class RecordBasedRepository<I, E extends Entity<I, S>, S extends
                         .map(this::toRecord)
                         .collect(toImmutableList());
         recordStorage().writeAll(records);
+        entities.forEach(entity -> onRecordChanged(entity.id()));
+    }
+
+    /**
+     * A callback invoked when the stored record of the entity is written in bulk or deleted.
+     *
+     * <p>Repositories which keep entities in memory override this method to drop
+     * the outdated copies.
+     *
+     * @param id
+     *         the ID of the entity which record has changed
+     */
+    @SuppressWarnings("NoopMethodInAbstractClass") // see Javadoc
+    protected void onRecordChanged(I id) {
+        // Do nothing by default.
     }
 
     /**
@@ -444,6 +537,17 @@ public abstract class RecordBasedRepository<I, E extends Entity<I, S>, S extends
         return records;
     }
 
+    @Override
+    @Internal
+    public Iterator<EntityRecord>
+    findRecordsPage(TargetFilters filters, FieldMask mask, @Nullable Any after, int limit) {
+        checkNotNull(filters);
+        checkValid(filters);
+        checkNotNull(mask);
+        I afterId = after == null ? null : Identifier.unpack(after, idClass());
+        return recordStorage().readPage(filters, mask, afterId, limit);
+    }
+
     private E findOrThrow(I id) {
         return find(id).orElseThrow(() -> newIllegalArgumentException(
                 "An entity `%s` with ID `%s` is not found in the repository.",
@@ -456,6 +560,7 @@ public abstract class RecordBasedRepository<I, E extends Entity<I, S>, S extends
      */
     private boolean delete(I id) {
         boolean deleted = recordStorage().delete(id);
+        onRecordChanged(id);
         return deleted;
     }
 
@@ -478,7 +583,7 @@ public abstract class RecordBasedRepository<I, E extends Entity<I, S>, S extends
     /**
      * Deletes an entity record as a result of the {@link Migration} operation.
      */
-    private void delete(I id, Migration<I, ?, S> migration) {
+    void delete(I id, Migration<I, ?, S> migration) {
         Optional<Event> event = migration.systemEvent();
         boolean deleted = event.map(value -> deleteAndPostEvent(id, value))
                                .orElseGet(() -> delete(id));
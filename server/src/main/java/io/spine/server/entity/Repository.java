@@ -41,9 +41,11 @@ import io.spine.server.Closeable;
 import io.spine.server.ContextAware;
 import io.spine.server.ServerEnvironment;
 import io.spine.server.entity.model.EntityClass;
+import io.spine.server.route.EventRouting;
 import io.spine.server.route.Route;
 import io.spine.server.storage.Storage;
 import io.spine.server.storage.StorageFactory;
+import io.spine.server.type.EventEnvelope;
 import io.spine.server.type.SignalEnvelope;
 import io.spine.system.server.RoutingFailed;
 import io.spine.system.server.SystemWriteSide;
@@ -386,6 +388,28 @@ public abstract class Repository<I, E extends Entity<I, ?>>
         }
     }
 
+    /**
+     * Obtains the sole target of the event which is {@linkplain EventRouting#isUnicast(Class)
+     * routed to one entity}.
+     *
+     * <p>Unlike {@link #route(Route, SignalEnvelope)}, does not wrap the result into
+     * a collection or an {@code Optional}.
+     *
+     * @return the ID of the target entity or {@code null} if the routing failed
+     */
+    @Internal
+    protected final @Nullable I routeUnicast(EventRouting<I> routing, EventEnvelope event) {
+        try {
+            I result = routing.unicastTarget(event.message(), event.context());
+            checkMatchesIdType(result);
+            return result;
+        } catch (RuntimeException e) {
+            Throwable cause = getRootCause(e);
+            onRoutingFailed(event, cause);
+            return null;
+        }
+    }
+
     /**
      * Ensures that the passed routing result corresponds to the {@linkplain #idClass() type of
      * the identifiers} served by this repository.
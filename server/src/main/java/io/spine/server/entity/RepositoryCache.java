@@ -26,17 +26,26 @@
 
 package io.spine.server.entity;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheStats;
 import io.spine.annotation.Internal;
+import io.spine.core.Version;
 import io.spine.logging.Logging;
+import io.spine.server.metrics.ServerMetrics;
 import io.spine.server.tenant.IdInTenant;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
+import static io.spine.server.metrics.ServerMetrics.CACHE_HIT;
+import static io.spine.server.metrics.ServerMetrics.CACHE_MISS;
+
 /**
  * The cache of {@code Entity} objects for a certain {@code Repository} and
  * {@linkplain #startCaching(Object) selected} identifiers.
@@ -67,6 +76,19 @@ import java.util.function.Function;
  * <p>The users of this class should keep the number of the simultaneously cached entities
  * reasonable due to a potentially huge significant memory footprint.
  *
+ * <p>If an {@link EntityCachePolicy} is {@linkplain EntityCachePolicy#isEnabled() enabled},
+ * the cache also retains the entities after they are stored, so that the next batch of messages
+ * does not load them from the storage again. A retained entity is only served if its version
+ * has not changed since it was loaded or stored, and equals the version of the stored record.
+ * Otherwise, the entity was either modified without being stored, e.g. by a failed dispatching,
+ * or the stored record was written bypassing this cache, e.g. by another server instance which
+ * took over the shard of the entity. Such an entity is loaded from the storage anew.
+ *
+ * <p>Reading the stored version is a storage read, but it skips building the entity
+ * from its record. If the policy does not {@linkplain EntityCachePolicy#verifiesStoredVersion()
+ * verify} the stored version, the retained entity is served without reading the storage, and is
+ * only dropped when {@linkplain #evict(Object) evicted} explicitly.
+ *
  * @param <I>
  *         the type of {@code Entity} identifiers
  * @param <E>
@@ -81,15 +103,49 @@ public final class RepositoryCache<I, E extends Entity<I, ?>> implements Logging
     private final boolean multitenant;
     private final Load<I, E> loadFn;
     private final Store<E> storeFn;
+    private final StoredVersion<I> versionFn;
+    private final boolean verifyStoredVersion;
+
+    /**
+     * The entities retained between the batches, or {@code null} if retaining is disabled.
+     */
+    private final @Nullable Cache<IdInTenant<I>, Retained<E>> retained;
+
+    /**
+     * The number of retained entities which were modified without being stored.
+     */
+    private long staleCount;
 
     /**
      * Creates the instance of the cache considering the multi-tenancy setting,
      * the function to load entities and the function to store the entity .
      */
     public RepositoryCache(boolean multitenant, Load<I, E> loadFn, Store<E> storeFn) {
+        this(multitenant, loadFn, storeFn, EntityCachePolicy.disabled(), id -> Optional.empty());
+    }
+
+    /**
+     * Creates the instance of the cache which retains the entities between the batches
+     * according to the passed policy.
+     *
+     * @param versionFn
+     *         the function reading the version of the stored entity record, which is used
+     *         to check that a retained entity is still up-to-date
+     */
+    public RepositoryCache(boolean multitenant,
+                           Load<I, E> loadFn,
+                           Store<E> storeFn,
+                           EntityCachePolicy policy,
+                           StoredVersion<I> versionFn) {
         this.multitenant = multitenant;
         this.loadFn = loadFn;
         this.storeFn = storeFn;
+        this.versionFn = versionFn;
+        this.verifyStoredVersion = policy.verifiesStoredVersion();
+        this.retained = policy.isEnabled()
+                        ? policy.toCacheBuilder()
+                                .build()
+                        : null;
     }
 
     /**
@@ -105,17 +161,99 @@ public final class RepositoryCache<I, E extends Entity<I, ?>> implements Logging
     public synchronized E load(I id) {
         IdInTenant<I> idInTenant = idInTenant(id);
         if (!idsToCache.contains(idInTenant)) {
-            return loadFn.apply(idInTenant.value());
+            return loadThrough(idInTenant);
         }
 
         if (!cache.containsKey(idInTenant)) {
-            E entity = loadFn.apply(idInTenant.value());
+            E entity = loadThrough(idInTenant);
             cache.put(idInTenant, entity);
             return entity;
         }
         return cache.get(idInTenant);
     }
 
+    /**
+     * Obtains the retained entity if it is consistent, or loads the entity otherwise.
+     */
+    private E loadThrough(IdInTenant<I> id) {
+        if (retained == null) {
+            return loadFn.apply(id.value());
+        }
+        Retained<E> found = retained.getIfPresent(id);
+        if (found != null) {
+            if (isConsistent(id, found)) {
+                count(CACHE_HIT, found.entity);
+                return found.entity;
+            }
+            staleCount++;
+            retained.invalidate(id);
+        }
+        E entity = loadFn.apply(id.value());
+        count(CACHE_MISS, entity);
+        retain(id, entity);
+        return entity;
+    }
+
+    /**
+     * Tells if the retained entity was not modified since it was retained and, if the policy
+     * requires so, has the same version as the stored record.
+     */
+    private boolean isConsistent(IdInTenant<I> id, Retained<E> found) {
+        if (!found.isUnmodified()) {
+            return false;
+        }
+        if (!verifyStoredVersion) {
+            return true;
+        }
+        Optional<Version> storedVersion = versionFn.apply(id.value());
+        return found.isStoredAs(storedVersion);
+    }
+
+    /**
+     * Counts the cache hit or miss in the server metrics, tagged by the class of the entity.
+     */
+    private static void count(String metric, Entity<?, ?> entity) {
+        if (!ServerMetrics.enabled()) {
+            return;
+        }
+        String entityClass = entity.getClass()
+                                   .getName();
+        ServerMetrics.counter(metric, entityClass)
+                     .increment();
+    }
+
+    private void retain(IdInTenant<I> id, E entity) {
+        if (retained != null) {
+            retained.put(id, new Retained<>(entity));
+        }
+    }
+
+    /**
+     * Drops the entity retained between the batches, if any.
+     *
+     * <p>Must be called when the stored entity is modified or deleted bypassing this cache.
+     *
+     * @param id
+     *         the identifier of the entity
+     */
+    public synchronized void evict(I id) {
+        if (retained != null) {
+            retained.invalidate(idInTenant(id));
+        }
+    }
+
+    /**
+     * Obtains the statistics of serving the entities retained between the batches.
+     *
+     * <p>If retaining is disabled, returns empty statistics.
+     */
+    public synchronized EntityCacheStats stats() {
+        CacheStats stats = retained == null
+                           ? new CacheStats(0, 0, 0, 0, 0, 0)
+                           : retained.stats();
+        return new EntityCacheStats(stats, staleCount);
+    }
+
     /**
      * Starts caching the {@code load} and {@code store} operation results in memory
      * for the given {@code Entity} identifier.
@@ -152,11 +290,28 @@ public final class RepositoryCache<I, E extends Entity<I, ?>> implements Logging
                         idInTenant, cache.keySet(), idsToCache);
             return;
         }
-        storeFn.accept(entity);
+        storeThrough(idInTenant, entity);
         cache.remove(idInTenant);
         idsToCache.remove(idInTenant);
     }
 
+    /**
+     * Writes the entity to the storage and retains it if retaining is enabled.
+     *
+     * <p>If the write fails, the entity is no longer retained.
+     */
+    private void storeThrough(IdInTenant<I> id, E entity) {
+        try {
+            storeFn.accept(entity);
+        } catch (RuntimeException e) {
+            if (retained != null) {
+                retained.invalidate(id);
+            }
+            throw e;
+        }
+        retain(id, entity);
+    }
+
     private IdInTenant<I> idInTenant(I id) {
         return IdInTenant.of(id, multitenant);
     }
@@ -181,7 +336,36 @@ public final class RepositoryCache<I, E extends Entity<I, ?>> implements Logging
         if (idsToCache.contains(idInTenant)) {
             cache.put(idInTenant, entity);
         } else {
-            storeFn.accept(entity);
+            storeThrough(idInTenant, entity);
+        }
+    }
+
+    /**
+     * An entity retained between the batches along with its version at the moment of retaining.
+     */
+    private static final class Retained<E extends Entity<?, ?>> {
+
+        private final E entity;
+        private final Version version;
+
+        private Retained(E entity) {
+            this.entity = entity;
+            this.version = entity.version();
+        }
+
+        /**
+         * Tells if the entity was not modified since it was retained.
+         */
+        private boolean isUnmodified() {
+            return version.equals(entity.version());
+        }
+
+        /**
+         * Tells if the stored record has the version of the entity at the moment of retaining.
+         */
+        private boolean isStoredAs(Optional<Version> storedVersion) {
+            return storedVersion.map(version::equals)
+                                .orElse(false);
         }
     }
 
@@ -208,4 +392,17 @@ public final class RepositoryCache<I, E extends Entity<I, ?>> implements Logging
     public interface Store<E extends Entity> extends Consumer<E> {
 
     }
+
+    /**
+     * A function which reads the version of the stored {@code Entity} record by the entity ID.
+     *
+     * <p>Returns {@code Optional.empty()} if there is no stored record.
+     *
+     * @param <I>
+     *         the type of {@code Entity} identifiers
+     */
+    @FunctionalInterface
+    public interface StoredVersion<I> extends Function<I, Optional<Version>> {
+
+    }
 }
@@ -91,7 +91,9 @@ public abstract class StorageConverter<I, E extends Entity<I, S>, S extends Enti
 
     @Override
     protected EntityRecord doForward(E entity) {
-        Any entityId = Identifier.pack(entity.id());
+        Any entityId = entity instanceof AbstractEntity
+                       ? ((AbstractEntity<?, ?>) entity).idAsAny()
+                       : Identifier.pack(entity.id());
         Any stateAny = pack(entity.state());
         EntityRecord.Builder builder = EntityRecord
                 .newBuilder()
@@ -32,7 +32,6 @@ import com.google.protobuf.Any;
 import io.spine.annotation.Internal;
 import io.spine.base.EntityState;
 import io.spine.base.Error;
-import io.spine.base.Identifier;
 import io.spine.core.Event;
 import io.spine.core.MessageId;
 import io.spine.core.Version;
@@ -255,7 +254,7 @@ public abstract class Transaction<I,
         TypeUrl typeUrl = entity.state().typeUrl();
         return MessageId
                 .newBuilder()
-                .setId(Identifier.pack(entity.id()))
+                .setId(entity.idAsAny())
                 .setTypeUrl(typeUrl.value())
                 .setVersion(entity.version())
                 .vBuild();
@@ -449,7 +448,7 @@ public abstract class Transaction<I,
         LifecycleFlags newFlags = lifecycleFlags();
         @NonValidated EntityRecord record = EntityRecord
                 .newBuilder()
-                .setEntityId(Identifier.pack(entity.id()))
+                .setEntityId(entity.idAsAny())
                 .setState(pack(newState))
                 .setLifecycleFlags(newFlags)
                 .setVersion(newVersion)
@@ -493,7 +492,7 @@ public abstract class Transaction<I,
     private void doRollback(Consumer<EntityRecord> recordConsumer) {
         @NonValidated EntityRecord record = EntityRecord
                 .newBuilder()
-                .setEntityId(Identifier.pack(entity.id()))
+                .setEntityId(entity.idAsAny())
                 .setState(pack(currentBuilderState()))
                 .setVersion(version)
                 .setLifecycleFlags(lifecycleFlags())
@@ -523,7 +522,7 @@ public abstract class Transaction<I,
      */
     private EntityRecord entityRecord() {
         E entity = entity();
-        Any entityId = Identifier.pack(entity.id());
+        Any entityId = entity.idAsAny();
         Version version = entity.version();
         Any state = pack(entity.state());
         LifecycleFlags lifecycleFlags = entity.lifecycleFlags();
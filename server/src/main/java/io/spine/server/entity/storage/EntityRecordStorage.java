@@ -27,10 +27,13 @@
 package io.spine.server.entity.storage;
 
 import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Any;
 import com.google.protobuf.FieldMask;
 import io.spine.annotation.Internal;
 import io.spine.base.EntityState;
 import io.spine.base.Identifier;
+import io.spine.client.ResponseFormat;
+import io.spine.client.TargetFilters;
 import io.spine.query.Column;
 import io.spine.query.ColumnName;
 import io.spine.query.EntityQuery;
@@ -42,17 +45,23 @@ import io.spine.query.Subject;
 import io.spine.server.ContextSpec;
 import io.spine.server.entity.Entity;
 import io.spine.server.entity.EntityRecord;
+import io.spine.server.storage.QueryConverter;
 import io.spine.server.storage.RecordStorageDelegate;
 import io.spine.server.storage.RecordWithColumns;
 import io.spine.server.storage.StorageFactory;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
 
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.Streams.stream;
 import static io.spine.server.entity.storage.EntityRecordColumn.archived;
 import static io.spine.server.entity.storage.EntityRecordColumn.deleted;
 import static io.spine.server.entity.storage.ToEntityRecordQuery.transform;
+import static java.util.Collections.emptyIterator;
 
 /**
  * A storage for {@link EntityRecord}s.
@@ -139,6 +148,72 @@ public class EntityRecordStorage<I, S extends EntityState<I>>
         return index(recordQuery);
     }
 
+    /**
+     * Returns a page of the identifiers of the active entity records.
+     *
+     * <p>The identifiers are ordered, so that the next page is read by passing the last
+     * identifier of the previous one.
+     *
+     * @param after
+     *         the identifier after which the page starts, or {@code null} to read
+     *         the first page
+     * @param limit
+     *         the maximum number of the identifiers in the page
+     * @throws IllegalStateException
+     *         if the storage is already closed
+     * @see #indexPage(RecordQuery, Object, int)
+     */
+    public Iterator<I> indexPage(@Nullable I after, int limit) {
+        return indexPage(findActiveRecordsQuery, after, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Unless the query specifies the IDs or the lifecycle columns, only the identifiers
+     * of the active entity records are returned.
+     */
+    @Override
+    public Iterator<I> indexPage(RecordQuery<I, EntityRecord> query, @Nullable I after, int limit) {
+        RecordQuery<I, EntityRecord> toExecute = onlyActive(query);
+        return super.indexPage(toExecute, after, limit);
+    }
+
+    /**
+     * Reads a page of the entity records passing the filters, in the order of
+     * the {@linkplain #indexPage(RecordQuery, Object, int) record identifiers}.
+     *
+     * <p>The next page is read by passing the identifier of the last record of the previous one.
+     *
+     * @param filters
+     *         the filters of the records
+     * @param mask
+     *         the mask to apply to the entity states
+     * @param after
+     *         the identifier after which the page starts, or {@code null} to read
+     *         the first page
+     * @param limit
+     *         the maximum number of the records in the page
+     * @return the records of the page ordered by their identifiers
+     */
+    public Iterator<EntityRecord>
+    readPage(TargetFilters filters, FieldMask mask, @Nullable I after, int limit) {
+        RecordQuery<I, EntityRecord> query =
+                QueryConverter.convert(filters, ResponseFormat.getDefaultInstance(), recordSpec());
+        ImmutableList<I> ids = ImmutableList.copyOf(indexPage(query, after, limit));
+        if (ids.isEmpty()) {
+            return emptyIterator();
+        }
+        Map<Any, EntityRecord> byId = new HashMap<>(ids.size());
+        readAll(ids, mask).forEachRemaining(record -> byId.put(record.getEntityId(), record));
+        Iterator<EntityRecord> result =
+                ids.stream()
+                   .map(id -> byId.get(Identifier.pack(id)))
+                   .filter(Objects::nonNull)
+                   .iterator();
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -50,6 +50,7 @@ import io.spine.server.type.EventEnvelope;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -251,6 +252,20 @@ public final class EventBus
                           event.id().getValue()));
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Before dispatching, asks the enricher to prefetch the cached enrichments of all
+     * the events, so that they are looked up in batches.
+     */
+    @Override
+    protected void dispatchAll(List<EventEnvelope> events, Runnable dispatching) {
+        if (enricher != null) {
+            enricher.prefetch(events);
+        }
+        super.dispatchAll(events, dispatching);
+    }
+
     @Override
     protected void store(Iterable<Event> events) {
         eventStore().appendAll(events);
@@ -279,6 +294,10 @@ public final class EventBus
                 ServerEnvironment.instance()
                                  .storageFactory()
                                  .createEventStore(context.spec());
+        if (enricher != null) {
+            enricher.registerInvalidationWith(context.systemClient()
+                                                     .readSide());
+        }
     }
 
     @Override
@@ -34,10 +34,10 @@ import io.spine.core.ActorContext;
 import io.spine.core.Event;
 import io.spine.core.EventContext;
 import io.spine.core.EventId;
-import io.spine.core.Events;
 import io.spine.core.RejectionEventContext;
 import io.spine.core.Version;
 import io.spine.protobuf.AnyPacker;
+import io.spine.server.ServerEnvironment;
 import io.spine.server.type.MessageEnvelope;
 import io.spine.type.TypeName;
 import io.spine.validate.ValidationException;
@@ -147,11 +147,24 @@ public class EventFactory {
         checkNotNull(message);
         validate(message);     // we must validate it now before emitting the next ID.
 
-        EventId eventId = Events.generateId();
+        EventId eventId = newEventId();
         Event result = createEvent(eventId, message, context);
         return result;
     }
 
+    /**
+     * Generates a new event identifier with the {@linkplain ServerEnvironment#idGenerator()
+     * configured} ID generator.
+     */
+    private static EventId newEventId() {
+        String value = ServerEnvironment.instance()
+                                        .idGenerator()
+                                        .newId();
+        return EventId.newBuilder()
+                      .setValue(value)
+                      .build();
+    }
+
     /**
      * Validates an event message according to their Protobuf definition.
      *
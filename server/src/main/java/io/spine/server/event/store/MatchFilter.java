@@ -26,6 +26,8 @@
 
 package io.spine.server.event.store;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.protobuf.Any;
 import com.google.protobuf.Message;
 import io.spine.base.EventMessage;
@@ -34,63 +36,64 @@ import io.spine.base.FieldFilter;
 import io.spine.core.Event;
 import io.spine.core.EventContext;
 import io.spine.server.event.EventFilter;
-import io.spine.type.TypeName;
-import io.spine.type.TypeUrl;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
-import java.util.Collection;
-import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static io.spine.protobuf.AnyPacker.unpackFunc;
 import static io.spine.util.Exceptions.newIllegalArgumentException;
-import static java.util.stream.Collectors.toList;
 
 /**
  * The predicate for filtering events by {@link EventFilter}.
+ *
+ * <p>The field paths and the expected values of the filter are resolved once, when
+ * the predicate is created.
  */
 final class MatchFilter implements Predicate<Event> {
 
     /**
-     * The type URL of events to accept.
+     * The name of the type of events to accept.
      *
      * <p>If null, all events are accepted.
      */
-    private final @Nullable TypeUrl eventTypeUrl;
+    private final @Nullable String eventType;
 
     /**
-     * The list of aggregate IDs of which events to accept.
+     * The aggregate IDs of which events to accept.
      *
-     * <p>If null, all IDs are accepted.
+     * <p>If empty, all IDs are accepted.
      */
-    private final @Nullable List<Any> aggregateIds;
+    private final ImmutableSet<Any> aggregateIds;
 
-    private final Collection<FieldFilter> eventFieldFilters;
-    private final Collection<FieldFilter> contextFieldFilters;
+    private final ImmutableList<FieldCondition> eventFieldFilters;
+    private final ImmutableList<FieldCondition> contextFieldFilters;
 
     MatchFilter(EventFilter filter) {
-        this.eventTypeUrl = getEventTypeUrl(filter);
-        this.aggregateIds = getAggregateIdentifiers(filter);
-        this.eventFieldFilters = filter.getEventFieldFilterList();
-        this.contextFieldFilters = filter.getContextFieldFilterList();
+        String eventType = filter.getEventType();
+        this.eventType = eventType.isEmpty() ? null : eventType;
+        this.aggregateIds = ImmutableSet.copyOf(filter.getAggregateIdList());
+        this.eventFieldFilters = conditions(filter.getEventFieldFilterList());
+        this.contextFieldFilters = conditions(filter.getContextFieldFilterList());
     }
 
-    private static @Nullable TypeUrl getEventTypeUrl(EventFilter filter) {
-        String eventType = filter.getEventType();
-        TypeUrl result = eventType.isEmpty()
-                         ? null
-                         : TypeName.of(eventType)
-                                   .toUrl();
-        return result;
+    private static ImmutableList<FieldCondition> conditions(Iterable<FieldFilter> filters) {
+        ImmutableList.Builder<FieldCondition> result = ImmutableList.builder();
+        for (FieldFilter filter : filters) {
+            result.add(new FieldCondition(filter));
+        }
+        return result.build();
     }
 
-    private static @Nullable List<Any> getAggregateIdentifiers(EventFilter filter) {
-        List<Any> aggregateIdList = filter.getAggregateIdList();
-        List<Any> result = aggregateIdList.isEmpty()
-                           ? null
-                           : aggregateIdList;
-        return result;
+    /**
+     * Obtains the name of the type of events accepted by this filter.
+     *
+     * @return the type name or {@code Optional.empty()} if events of all types are accepted
+     */
+    Optional<String> eventType() {
+        return Optional.ofNullable(eventType);
     }
 
     @Override
@@ -98,28 +101,45 @@ final class MatchFilter implements Predicate<Event> {
         if (event == null) {
             return false;
         }
-
-        EventMessage eventMessage = event.enclosedMessage();
-        EventContext context = event.context();
-
-        if (!checkEventType(eventMessage)) {
+        if (!checkEventType(typeNameOf(event))) {
             return false;
         }
+        return matches(event, event::enclosedMessage);
+    }
 
+    /**
+     * Tells if the passed event matches the filter, assuming that the type of the event
+     * has already been checked.
+     *
+     * @param event
+     *         the event to check
+     * @param message
+     *         the supplier of the event message, which is only called if the filter
+     *         has conditions on the event message fields
+     */
+    boolean matches(Event event, Supplier<EventMessage> message) {
+        EventContext context = event.context();
         if (!checkAggregateIds(context)) {
             return false;
         }
-
-        if (!check(eventMessage, eventFieldFilters)) {
+        if (!eventFieldFilters.isEmpty() && !check(message.get(), eventFieldFilters)) {
             return false;
         }
-
         boolean result = check(context, contextFieldFilters);
         return result;
     }
 
+    /**
+     * Obtains the name of the type of the event message without unpacking it.
+     */
+    static String typeNameOf(Event event) {
+        String typeUrl = event.getMessage()
+                              .getTypeUrl();
+        return typeUrl.substring(typeUrl.lastIndexOf('/') + 1);
+    }
+
     private boolean checkAggregateIds(EventContext context) {
-        if (aggregateIds == null) {
+        if (aggregateIds.isEmpty()) {
             return true;
         }
         Any aggregateId = context.getProducerId();
@@ -127,41 +147,52 @@ final class MatchFilter implements Predicate<Event> {
         return result;
     }
 
-    private boolean checkEventType(EventMessage event) {
-        boolean result = (eventTypeUrl == null) || eventTypeUrl.equals(event.typeUrl());
+    private boolean checkEventType(String typeName) {
+        boolean result = (eventType == null) || eventType.equals(typeName);
         return result;
     }
 
     /**
      * Tells if the passed message matches the filters.
      */
-    private static boolean check(Message message, Collection<FieldFilter> filters) {
-        for (FieldFilter filter : filters) {
-            boolean matchesFilter = checkFields(message, filter);
-            if (!matchesFilter) {
+    private static boolean check(Message message, ImmutableList<FieldCondition> filters) {
+        for (FieldCondition filter : filters) {
+            if (!filter.test(message)) {
                 return false;
             }
         }
         return true;
     }
 
-    private static boolean checkFields(Message object, FieldFilter filter) {
-        Field field = fieldFrom(filter);
-        Optional<Object> value = field.findValue(object);
-        if (!value.isPresent()) {
-            /* If there is no value in the field, return `true`
-               when the list of required values is also empty. */
-            boolean nothingIsExpected = filter.getValueList().isEmpty();
-            return nothingIsExpected;
+    /**
+     * A {@link FieldFilter} with the resolved field and the unpacked expected values.
+     */
+    private static final class FieldCondition implements Predicate<Message> {
+
+        private final Field field;
+        private final ImmutableSet<Message> expectedValues;
+
+        private FieldCondition(FieldFilter filter) {
+            this.field = fieldFrom(filter);
+            this.expectedValues = filter.getValueList()
+                                        .stream()
+                                        .map(unpackFunc())
+                                        .collect(toImmutableSet());
+        }
+
+        @Override
+        public boolean test(Message object) {
+            Optional<Object> value = field.findValue(object);
+            if (!value.isPresent()) {
+                /* If there is no value in the field, return `true`
+                   when the list of required values is also empty. */
+                boolean nothingIsExpected = expectedValues.isEmpty();
+                return nothingIsExpected;
+            }
+            Message msg = (Message) value.get();
+            boolean result = expectedValues.contains(msg);
+            return result;
         }
-        Collection<Message> expectedValues =
-                filter.getValueList()
-                      .stream()
-                      .map(unpackFunc())
-                      .collect(toList());
-        Message msg = (Message) value.get();
-        boolean result = expectedValues.contains(msg);
-        return result;
     }
 
     /**
@@ -26,15 +26,20 @@
 
 package io.spine.server.event.store;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import io.spine.base.EventMessage;
 import io.spine.core.Event;
 import io.spine.server.event.EventFilter;
 import io.spine.server.event.EventStreamQuery;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
-import java.util.List;
+import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Suppliers.memoize;
 
 /**
  * The predicate for filtering {@code Event} instances by {@link EventStreamQuery}.
@@ -42,26 +47,58 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * <p>The predicate ignores the time of bounds and matches only
  * the {@link io.spine.base.FieldFilter fields} of the event message and
  * the {@link io.spine.core.EventContext EventContext}.
+ *
+ * <p>The query is compiled once, when the predicate is created. The filters are grouped
+ * by the event type they accept, so that only the filters applicable to the type of
+ * a particular event are checked. An event of a type which no filter accepts is rejected
+ * without unpacking its message. Otherwise, the event message is unpacked at most once.
  */
 final class MatchesStreamQuery implements Predicate<Event> {
 
-    private final List<EventFilter> filterList;
+    private final boolean noFilters;
+    private final ImmutableListMultimap<String, MatchFilter> typedFilters;
+    private final ImmutableList<MatchFilter> untypedFilters;
 
     MatchesStreamQuery(EventStreamQuery query) {
         checkNotNull(query);
-        this.filterList = query.getFilterList();
+        ImmutableListMultimap.Builder<String, MatchFilter> typed = ImmutableListMultimap.builder();
+        ImmutableList.Builder<MatchFilter> untyped = ImmutableList.builder();
+        for (EventFilter filter : query.getFilterList()) {
+            MatchFilter matchFilter = new MatchFilter(filter);
+            Optional<String> type = matchFilter.eventType();
+            if (type.isPresent()) {
+                typed.put(type.get(), matchFilter);
+            } else {
+                untyped.add(matchFilter);
+            }
+        }
+        this.noFilters = query.getFilterList()
+                              .isEmpty();
+        this.typedFilters = typed.build();
+        this.untypedFilters = untyped.build();
     }
 
     @Override
     public boolean test(@Nullable Event input) {
         checkNotNull(input);
-        if (filterList.isEmpty()) {
+        if (noFilters) {
             return true; // No filters specified.
         }
+        ImmutableList<MatchFilter> forType = typedFilters.get(MatchFilter.typeNameOf(input));
+        if (forType.isEmpty() && untypedFilters.isEmpty()) {
+            return false;
+        }
+        Supplier<EventMessage> message = memoize(input::enclosedMessage);
         // Check if one of the filters matches. If so, the event matches.
-        for (EventFilter filter : filterList) {
-            Predicate<Event> filterPredicate = new MatchFilter(filter);
-            if (filterPredicate.test(input)) {
+        return anyMatches(forType, input, message)
+                || anyMatches(untypedFilters, input, message);
+    }
+
+    private static boolean anyMatches(ImmutableList<MatchFilter> filters,
+                                      Event event,
+                                      Supplier<EventMessage> message) {
+        for (MatchFilter filter : filters) {
+            if (filter.matches(event, message)) {
                 return true;
             }
         }
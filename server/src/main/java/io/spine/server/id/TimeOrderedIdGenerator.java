@@ -0,0 +1,135 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.id;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hashing;
+import io.spine.server.NodeId;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Generates identifiers which grow in time, in the manner of ULID.
+ *
+ * <p>An identifier is a 128-bit number written as 26 characters of the Crockford's Base32
+ * alphabet. The number is composed of:
+ * <ol>
+ *     <li>44 bits of the current time in milliseconds;
+ *     <li>20 bits of the sequence of identifiers generated within the same millisecond;
+ *     <li>64 bits of the hash of the {@link NodeId} of the generating server node.
+ * </ol>
+ *
+ * <p>The time and sequence parts are advanced together with a single compare-and-set operation,
+ * so the generation does not block. If more than 2<sup>20</sup> identifiers are requested within
+ * a millisecond, or the system clock goes back, the generator proceeds from the last issued
+ * value. Therefore, the identifiers generated by the same instance always grow.
+ *
+ * <p>The identifiers generated on different nodes are ordered by the time of their generation
+ * to the accuracy of the clock synchronization between the nodes.
+ */
+public final class TimeOrderedIdGenerator implements IdGenerator {
+
+    private static final int SEQUENCE_BITS = 20;
+    private static final int LENGTH = 26;
+    private static final int BITS_PER_CHAR = 5;
+    private static final int CHAR_MASK = (1 << BITS_PER_CHAR) - 1;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    /**
+     * The last issued time and sequence parts of the identifier.
+     */
+    private final AtomicLong last = new AtomicLong();
+
+    /**
+     * The node-specific part of the identifiers.
+     */
+    private final long node;
+
+    /**
+     * Provides the current time in milliseconds.
+     */
+    private final LongSupplier clock;
+
+    private TimeOrderedIdGenerator(long node, LongSupplier clock) {
+        this.node = node;
+        this.clock = clock;
+    }
+
+    /**
+     * Creates a new generator for the given server node.
+     */
+    public static TimeOrderedIdGenerator forNode(NodeId node) {
+        return forNode(node, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a new generator for the given server node, which obtains the current time
+     * from the given clock.
+     */
+    @VisibleForTesting
+    static TimeOrderedIdGenerator forNode(NodeId node, LongSupplier clock) {
+        checkNotNull(node);
+        checkNotNull(clock);
+        long hash = Hashing.murmur3_128()
+                           .hashString(node.getValue(), UTF_8)
+                           .asLong();
+        return new TimeOrderedIdGenerator(hash, clock);
+    }
+
+    @Override
+    public String newId() {
+        long stamp = nextStamp();
+        return encode(stamp, node);
+    }
+
+    private long nextStamp() {
+        long now = clock.getAsLong() << SEQUENCE_BITS;
+        return last.updateAndGet(previous -> Math.max(now, previous + 1));
+    }
+
+    /**
+     * Writes the 128-bit number composed of the given parts in Base32.
+     *
+     * <p>As the fixed-length representation has 130 bits, the first character is always
+     * one of the first eight characters of the alphabet.
+     */
+    private static String encode(long high, long low) {
+        char[] chars = new char[LENGTH];
+        long hi = high;
+        long lo = low;
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (lo & CHAR_MASK)];
+            lo = (lo >>> BITS_PER_CHAR) | (hi << (Long.SIZE - BITS_PER_CHAR));
+            hi >>>= BITS_PER_CHAR;
+        }
+        return new String(chars);
+    }
+}
@@ -26,17 +26,21 @@
 package io.spine.server.integration;
 
 import com.google.protobuf.Message;
+import com.google.common.collect.ImmutableList;
 import io.grpc.stub.StreamObserver;
 import io.spine.annotation.SPI;
 import io.spine.core.BoundedContextName;
 import io.spine.logging.Logging;
 import io.spine.server.transport.Subscriber;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
+import static io.spine.server.integration.ExternalMessages.isBatch;
+import static io.spine.server.integration.ExternalMessages.unpackBatch;
 import static io.spine.util.Exceptions.newIllegalStateException;
 
 /**
@@ -66,6 +70,20 @@ public abstract class AbstractChannelObserver implements StreamObserver<External
      */
     protected abstract void handle(ExternalMessage message);
 
+    /**
+     * Handles the messages received via this channel in a {@linkplain ExternalMessageBatch batch}.
+     *
+     * <p>By default, {@linkplain #handle(ExternalMessage) handles} the messages one by one.
+     *
+     * @param messages
+     *         the received messages in the order of their publishing
+     */
+    protected void handleBatch(List<ExternalMessage> messages) {
+        for (ExternalMessage message : messages) {
+            handle(message);
+        }
+    }
+
     @Override
     public void onError(Throwable t) {
         boolean wasCompleted = !completed.compareAndSet(false, true);
@@ -94,7 +112,13 @@ public abstract class AbstractChannelObserver implements StreamObserver<External
         boolean sameContext = boundedContextName.equals(source)
                            || boundedContextName.isSystemOf(source)
                            || source.isSystemOf(boundedContextName);
-        if (!sameContext) {
+        if (sameContext) {
+            return;
+        }
+        if (isBatch(message)) {
+            ImmutableList<ExternalMessage> messages = unpackBatch(message);
+            handleBatch(messages);
+        } else {
             handle(message);
         }
     }
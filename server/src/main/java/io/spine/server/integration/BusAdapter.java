@@ -35,6 +35,8 @@ import io.spine.server.event.EventBus;
 import io.spine.server.event.EventDispatcher;
 import io.spine.server.type.EventClass;
 
+import java.util.List;
+
 import static io.spine.core.Events.toExternal;
 
 /**
@@ -58,6 +60,10 @@ final class BusAdapter {
         targetBus.post(toExternal(event), ackObserver);
     }
 
+    void dispatch(List<Event> events, StreamObserver<Ack> ackObserver) {
+        targetBus.post(toExternal(events), ackObserver);
+    }
+
     void register(Class<? extends Message> messageClass) {
         EventDispatcher dispatcher = createDispatcher(messageClass);
         targetBus.register(dispatcher);
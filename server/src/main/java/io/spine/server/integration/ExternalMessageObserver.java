@@ -25,11 +25,16 @@
  */
 package io.spine.server.integration;
 
+import com.google.common.collect.ImmutableList;
 import com.google.protobuf.Message;
 import io.spine.core.BoundedContextName;
 import io.spine.core.Event;
 import io.spine.protobuf.AnyPacker;
 
+import java.util.List;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
 /**
  * An observer of the incoming external messages of the specified message class.
  *
@@ -49,7 +54,22 @@ final class ExternalMessageObserver extends AbstractChannelObserver {
 
     @Override
     protected void handle(ExternalMessage message) {
-        Event event = AnyPacker.unpack(message.getOriginalMessage(), Event.class);
+        Event event = toEvent(message);
         broker.dispatchLocally(event);
     }
+
+    /**
+     * Posts all the events of the batch to the local {@code EventBus} at once.
+     */
+    @Override
+    protected void handleBatch(List<ExternalMessage> messages) {
+        ImmutableList<Event> events = messages.stream()
+                                              .map(ExternalMessageObserver::toEvent)
+                                              .collect(toImmutableList());
+        broker.dispatchLocally(events);
+    }
+
+    private static Event toEvent(ExternalMessage message) {
+        return AnyPacker.unpack(message.getOriginalMessage(), Event.class);
+    }
 }
@@ -25,7 +25,9 @@
  */
 package io.spine.server.integration;
 
+import com.google.common.collect.ImmutableList;
 import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
 import com.google.protobuf.Message;
 import com.google.protobuf.StringValue;
 import io.spine.annotation.Internal;
@@ -34,8 +36,18 @@ import io.spine.core.BoundedContextName;
 import io.spine.core.Command;
 import io.spine.core.Event;
 import io.spine.protobuf.AnyPacker;
+import io.spine.type.TypeUrl;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
 
 /**
  * Utilities for working with {@linkplain ExternalMessage external messages}.
@@ -43,6 +55,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
 @Internal
 public final class ExternalMessages {
 
+    private static final TypeUrl BATCH = TypeUrl.of(ExternalMessageBatch.class);
+
     /** Prevents instantiation of this utility class. */
     private ExternalMessages() {}
 
@@ -96,6 +110,82 @@ public final class ExternalMessages {
         return result;
     }
 
+    /**
+     * Wraps the passed messages into a single {@code ExternalMessage} holding
+     * an {@link ExternalMessageBatch}.
+     *
+     * @param messages
+     *         the messages to batch; must not be empty
+     * @param origin
+     *         the name of the bounded context in which the messages were created
+     * @param compress
+     *         if {@code true}, the batched messages are compressed with GZIP
+     * @return the external message wrapping the batch
+     */
+    public static ExternalMessage batchOf(List<ExternalMessage> messages,
+                                          BoundedContextName origin,
+                                          boolean compress) {
+        checkNotNull(messages);
+        checkNotNull(origin);
+        checkArgument(!messages.isEmpty(), "A batch of external messages cannot be empty.");
+        ExternalMessageBatch plain = ExternalMessageBatch
+                .newBuilder()
+                .addAllMessage(messages)
+                .build();
+        ExternalMessageBatch batch = compress
+                                     ? ExternalMessageBatch.newBuilder()
+                                                           .setCompressed(gzip(plain))
+                                                           .build()
+                                     : plain;
+        StringValue batchId = StringValue.of(Identifier.newUuid());
+        ExternalMessage result = of(batchId, batch, origin);
+        return result;
+    }
+
+    /**
+     * Tells whether the passed message wraps an {@link ExternalMessageBatch}.
+     */
+    public static boolean isBatch(ExternalMessage message) {
+        checkNotNull(message);
+        String typeUrl = message.getOriginalMessage()
+                                .getTypeUrl();
+        return BATCH.value()
+                    .equals(typeUrl);
+    }
+
+    /**
+     * Obtains the messages from the {@linkplain #isBatch(ExternalMessage) batch}, decompressing
+     * them if needed.
+     */
+    public static ImmutableList<ExternalMessage> unpackBatch(ExternalMessage message) {
+        checkArgument(isBatch(message), "The message `%s` is not a batch.", message.getId());
+        ExternalMessageBatch batch =
+                AnyPacker.unpack(message.getOriginalMessage(), ExternalMessageBatch.class);
+        ExternalMessageBatch plain = batch.getCompressed()
+                                          .isEmpty()
+                                     ? batch
+                                     : gunzip(batch.getCompressed());
+        return ImmutableList.copyOf(plain.getMessageList());
+    }
+
+    private static ByteString gzip(ExternalMessageBatch batch) {
+        ByteString.Output bytes = ByteString.newOutput(batch.getSerializedSize());
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            batch.writeTo(out);
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+        return bytes.toByteString();
+    }
+
+    private static ExternalMessageBatch gunzip(ByteString compressed) {
+        try (InputStream in = new GZIPInputStream(compressed.newInput())) {
+            return ExternalMessageBatch.parseFrom(in);
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
     private static ExternalMessage of(Message messageId,
                                       Message message,
                                       BoundedContextName boundedContextName) {
@@ -47,6 +47,8 @@ import io.spine.server.type.EventEnvelope;
 import io.spine.type.TypeUrl;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 
+import java.util.List;
+
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static io.spine.grpc.StreamObservers.noOpObserver;
 import static io.spine.server.transport.MessageChannel.channelIdFor;
@@ -188,6 +190,13 @@ public final class IntegrationBroker implements ContextAware, AutoCloseable {
         busAdapter.dispatch(event, ackObserver);
     }
 
+    /**
+     * Dispatches the given events via the local {@code EventBus} in a single post.
+     */
+    void dispatchLocally(List<Event> events) {
+        busAdapter.dispatch(events, noOpObserver());
+    }
+
     /**
      * Registers a local dispatcher which is subscribed to {@code external} messages.
      *
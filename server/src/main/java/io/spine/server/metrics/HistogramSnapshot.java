@@ -0,0 +1,134 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.metrics;
+
+import com.google.common.base.MoreObjects;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * The values recorded by a {@link LongHistogram} at some moment.
+ */
+public final class HistogramSnapshot {
+
+    private static final HistogramSnapshot EMPTY =
+            new HistogramSnapshot(new long[0], 0, 0, 0, 0);
+
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long min;
+    private final long max;
+
+    HistogramSnapshot(long[] counts, long count, long sum, long min, long max) {
+        this.counts = counts;
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * Returns a snapshot of a histogram with no values.
+     */
+    static HistogramSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns the number of the recorded values.
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Returns the sum of the recorded values.
+     */
+    public long sum() {
+        return sum;
+    }
+
+    /**
+     * Returns the smallest recorded value, or zero if there are no values.
+     */
+    public long min() {
+        return min;
+    }
+
+    /**
+     * Returns the largest recorded value, or zero if there are no values.
+     */
+    public long max() {
+        return max;
+    }
+
+    /**
+     * Returns the mean of the recorded values, or zero if there are no values.
+     */
+    public double mean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Returns the value below which the given percentage of the recorded values fall.
+     *
+     * <p>The returned value is precise to the width of the bucket it falls in.
+     *
+     * @param percentile
+     *         the percentile in the range of {@code [0, 100]}
+     * @return the value at the percentile, or zero if there are no values
+     */
+    public long valueAt(double percentile) {
+        checkArgument(percentile >= 0 && percentile <= 100,
+                      "The percentile must be in `[0, 100]`, but was %s.", percentile);
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                long bucketValue = LongHistogram.highestValueAt(i);
+                return Math.max(min, Math.min(bucketValue, max));
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("count", count)
+                          .add("min", min)
+                          .add("p50", valueAt(50))
+                          .add("p99", valueAt(99))
+                          .add("max", max)
+                          .toString();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.metrics;
+
+import com.google.common.collect.ImmutableMap;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@code MetricsFactory} which keeps the measurements in memory.
+ *
+ * <p>The histograms are {@link LongHistogram}s, and the counters are {@link StripedCounter}s.
+ * Both record the values without locking.
+ *
+ * <p>The recorded values may be obtained at any time, e.g. to be exported to a monitoring
+ * system or logged.
+ */
+public final class InMemoryMetricsFactory implements MetricsFactory {
+
+    private final ConcurrentMap<MetricId, LongHistogram> histograms = new ConcurrentHashMap<>();
+    private final ConcurrentMap<MetricId, StripedCounter> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public LongHistogram histogram(MetricId id) {
+        checkNotNull(id);
+        LongHistogram histogram = histograms.get(id);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(id, i -> new LongHistogram());
+        }
+        return histogram;
+    }
+
+    @Override
+    public StripedCounter counter(MetricId id) {
+        checkNotNull(id);
+        StripedCounter counter = counters.get(id);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(id, i -> new StripedCounter());
+        }
+        return counter;
+    }
+
+    /**
+     * Takes the snapshots of all the histograms.
+     */
+    public ImmutableMap<MetricId, HistogramSnapshot> histograms() {
+        ImmutableMap.Builder<MetricId, HistogramSnapshot> result = ImmutableMap.builder();
+        for (Map.Entry<MetricId, LongHistogram> entry : histograms.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return result.build();
+    }
+
+    /**
+     * Obtains the current values of all the counters.
+     */
+    public ImmutableMap<MetricId, Long> counters() {
+        ImmutableMap.Builder<MetricId, Long> result = ImmutableMap.builder();
+        for (Map.Entry<MetricId, StripedCounter> entry : counters.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().value());
+        }
+        return result.build();
+    }
+
+    /**
+     * Discards all the recorded values.
+     *
+     * <p>The instruments obtained before remain in use, since the callers may keep them.
+     */
+    public void clear() {
+        histograms.values()
+                  .forEach(LongHistogram::reset);
+        counters.values()
+                .forEach(StripedCounter::reset);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.lang.Long.numberOfLeadingZeros;
+
+/**
+ * A lock-free histogram of non-negative {@code long} values.
+ *
+ * <p>In the manner of HDR histograms, the values are counted in buckets of exponentially
+ * growing width. Each power-of-two range is split into {@value #SUB_BUCKETS} sub-buckets,
+ * so that a value is approximated with the relative error of at most 1/{@value #SUB_BUCKETS}.
+ * The values below {@value #LINEAR_LIMIT} are counted exactly.
+ *
+ * <p>Recording a value takes a few atomic increments and never blocks. The negative values
+ * are recorded as zero.
+ */
+public final class LongHistogram implements Histogram {
+
+    /**
+     * The number of sub-buckets in a power-of-two range.
+     */
+    private static final int SUB_BUCKETS = 16;
+
+    /**
+     * The number of bits needed to address a sub-bucket.
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /**
+     * The values below this limit have a bucket of their own.
+     */
+    private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+
+    /**
+     * The power of two of the {@link #LINEAR_LIMIT}.
+     */
+    private static final int LINEAR_BITS = SUB_BUCKET_BITS + 1;
+
+    private static final int BUCKET_COUNT =
+            LINEAR_LIMIT + (Long.SIZE - 1 - LINEAR_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    @Override
+    public void record(long value) {
+        long v = Math.max(value, 0);
+        buckets.incrementAndGet(indexOf(v));
+        count.increment();
+        sum.add(v);
+        if (v < min.get()) {
+            min.accumulateAndGet(v, Math::min);
+        }
+        if (v > max.get()) {
+            max.accumulateAndGet(v, Math::max);
+        }
+    }
+
+    /**
+     * Obtains the index of the bucket for the given non-negative value.
+     */
+    private static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return LINEAR_LIMIT + (exponent - LINEAR_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Obtains the highest value counted in the bucket with the given index.
+     */
+    static long highestValueAt(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int relative = index - LINEAR_LIMIT;
+        int exponent = relative / SUB_BUCKETS + LINEAR_BITS;
+        long subBucket = relative % SUB_BUCKETS + SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * Discards the values recorded so far.
+     *
+     * <p>The values recorded concurrently with the reset may be partially preserved.
+     */
+    void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        min.set(Long.MAX_VALUE);
+        max.set(Long.MIN_VALUE);
+    }
+
+    /**
+     * Takes a snapshot of the values recorded so far.
+     *
+     * <p>The values recorded concurrently with taking the snapshot may be partially reflected
+     * in it.
+     */
+    public HistogramSnapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+        }
+        long total = count.sum();
+        if (total == 0) {
+            return HistogramSnapshot.empty();
+        }
+        return new HistogramSnapshot(counts, total, sum.sum(), min.get(), max.get());
+    }
+}
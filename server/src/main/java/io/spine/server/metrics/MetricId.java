@@ -0,0 +1,96 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.metrics;
+
+import com.google.common.base.Objects;
+import com.google.errorprone.annotations.Immutable;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Preconditions2.checkNotEmptyOrBlank;
+
+/**
+ * An identifier of a metric.
+ *
+ * <p>Consists of the name of the metric, such as {@code "bus.dispatch"}, and a tag which
+ * distinguishes the measured subjects, such as the name of a message class.
+ */
+@Immutable
+public final class MetricId {
+
+    private final String name;
+    private final String tag;
+
+    private MetricId(String name, String tag) {
+        this.name = name;
+        this.tag = tag;
+    }
+
+    /**
+     * Creates a new ID of the metric with the given name and tag.
+     */
+    public static MetricId of(String name, String tag) {
+        checkNotEmptyOrBlank(name, "The metric name cannot be empty or blank.");
+        checkNotNull(tag);
+        return new MetricId(name, tag);
+    }
+
+    /**
+     * Returns the name of the metric.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns the tag of the metric.
+     */
+    public String tag() {
+        return tag;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MetricId)) {
+            return false;
+        }
+        MetricId other = (MetricId) o;
+        return name.equals(other.name) && tag.equals(other.tag);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(name, tag);
+    }
+
+    @Override
+    public String toString() {
+        return name + '[' + tag + ']';
+    }
+}
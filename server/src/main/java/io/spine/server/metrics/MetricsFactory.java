@@ -0,0 +1,61 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.metrics;
+
+import io.spine.annotation.SPI;
+
+/**
+ * A factory of the instruments recording the metrics of a server.
+ *
+ * <p>The framework caches the obtained instruments, so the factory is called once per metric ID.
+ * Implementations are expected to return the same instrument for equal metric IDs, and to keep
+ * the returned instruments in use for as long as the factory is in use.
+ *
+ * <p>The instruments are used from many threads at once, and must be thread-safe.
+ *
+ * @see ServerMetrics for the metrics recorded by the framework
+ */
+@SPI
+public interface MetricsFactory {
+
+    /**
+     * Obtains the histogram for the metric with the given ID.
+     */
+    Histogram histogram(MetricId id);
+
+    /**
+     * Obtains the counter for the metric with the given ID.
+     */
+    Counter counter(MetricId id);
+
+    /**
+     * Returns a factory which discards all the measurements.
+     */
+    static MetricsFactory noOp() {
+        return NoOpMetricsFactory.INSTANCE;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.metrics;
+
+import io.spine.annotation.Internal;
+import io.spine.server.ServerEnvironment;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * The metrics recorded by the framework.
+ *
+ * <p>The latencies are recorded in nanoseconds into the {@linkplain Histogram histograms}
+ * with the following names:
+ * <ul>
+ *     <li>{@value #BUS_POST}, {@value #BUS_FILTER}, {@value #BUS_DISPATCH} — posting a signal
+ *         to a bus, filtering it and dispatching it, tagged by the signal class;
+ *     <li>{@value #STORAGE_READ}, {@value #STORAGE_WRITE}, {@value #STORAGE_DELETE} — operations
+ *         of a {@link io.spine.server.storage.RecordStorage RecordStorage}, tagged by
+ *         the record type;
+ *     <li>{@value #HANDLER_INVOKE} — invocation of a handler method, tagged by the method name.
+ * </ul>
+ *
+ * <p>The delivery of the inbox messages is measured per shard, tagged by the shard index:
+ * <ul>
+ *     <li>{@value #INBOX_DELIVERY} — a histogram of the duration of a delivery session;
+ *     <li>{@value #INBOX_BATCH} — a histogram of the number of messages delivered
+ *         in a single delivery session;
+ *     <li>{@value #INBOX_DELIVERED} — a counter of the delivered messages.
+ * </ul>
+ *
+ * <p>The caches count the {@value #CACHE_HIT}s and the {@value #CACHE_MISS}es, tagged by
+ * the name of the cache.
+ *
+ * <p>The {@code CommandService} counts the {@value #COMMAND_SHED} commands, tagged by
+ * the command type.
+ *
+ * <p>The {@code GrpcContainer} counts the {@value #GRPC_CALL_STARTED} and
+ * the {@value #GRPC_CALL_COMPLETED} calls, tagged by the name of the gRPC service.
+ * The difference of the two is the number of the active calls.
+ *
+ * <p>The instruments obtained from the {@code MetricsFactory} are cached until another
+ * factory is configured.
+ */
+@Internal
+public final class ServerMetrics {
+
+    public static final String BUS_POST = "bus.post";
+    public static final String BUS_FILTER = "bus.filter";
+    public static final String BUS_DISPATCH = "bus.dispatch";
+    public static final String STORAGE_READ = "storage.read";
+    public static final String STORAGE_WRITE = "storage.write";
+    public static final String STORAGE_DELETE = "storage.delete";
+    public static final String HANDLER_INVOKE = "handler.invoke";
+    public static final String INBOX_DELIVERY = "inbox.delivery";
+    public static final String INBOX_BATCH = "inbox.batch";
+    public static final String INBOX_DELIVERED = "inbox.delivered";
+    public static final String CACHE_HIT = "cache.hit";
+    public static final String CACHE_MISS = "cache.miss";
+    public static final String COMMAND_SHED = "command.shed";
+    public static final String GRPC_CALL_STARTED = "grpc.call.started";
+    public static final String GRPC_CALL_COMPLETED = "grpc.call.completed";
+
+    /**
+     * The instruments of the factory which was in use at the last measurement.
+     */
+    private static volatile Instruments instruments = new Instruments(MetricsFactory.noOp());
+
+    /**
+     * Prevents the utility class instantiation.
+     */
+    private ServerMetrics() {
+    }
+
+    /**
+     * Tells if the metrics are recorded in the current environment.
+     *
+     * <p>Callers may check it to avoid preparing the measurements which would be discarded.
+     */
+    public static boolean enabled() {
+        return factory() != MetricsFactory.noOp();
+    }
+
+    /**
+     * Obtains the histogram of the metric from the factory configured in
+     * the {@code ServerEnvironment}.
+     */
+    public static Histogram histogram(String name, String tag) {
+        Instruments current = instruments();
+        if (current.factory == MetricsFactory.noOp()) {
+            return NoOpMetricsFactory.INSTANCE;
+        }
+        Histogram cached = current.histograms.find(name, tag);
+        if (cached != null) {
+            return cached;
+        }
+        return current.histograms.add(name, tag, current.factory::histogram);
+    }
+
+    /**
+     * Obtains the counter of the metric from the factory configured in
+     * the {@code ServerEnvironment}.
+     */
+    public static Counter counter(String name, String tag) {
+        Instruments current = instruments();
+        if (current.factory == MetricsFactory.noOp()) {
+            return NoOpMetricsFactory.INSTANCE;
+        }
+        Counter cached = current.counters.find(name, tag);
+        if (cached != null) {
+            return cached;
+        }
+        return current.counters.add(name, tag, current.factory::counter);
+    }
+
+    /**
+     * Records the time elapsed since the given moment into the histogram of the metric.
+     *
+     * @param name
+     *         the name of the metric
+     * @param tag
+     *         the tag of the metric
+     * @param startNanos
+     *         the moment of the operation start, as returned by {@link System#nanoTime()}
+     */
+    public static void recordSince(String name, String tag, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        histogram(name, tag).record(elapsed);
+    }
+
+    private static MetricsFactory factory() {
+        return ServerEnvironment.instance()
+                                .metrics();
+    }
+
+    private static Instruments instruments() {
+        MetricsFactory factory = factory();
+        Instruments current = instruments;
+        if (current.factory != factory) {
+            current = new Instruments(factory);
+            instruments = current;
+        }
+        return current;
+    }
+
+    /**
+     * The instruments obtained from a factory.
+     */
+    private static final class Instruments {
+
+        private final MetricsFactory factory;
+        private final Cache<Histogram> histograms = new Cache<>();
+        private final Cache<Counter> counters = new Cache<>();
+
+        private Instruments(MetricsFactory factory) {
+            this.factory = factory;
+        }
+    }
+
+    /**
+     * The instruments of one kind, looked up by the metric name and tag without allocating
+     * a {@code MetricId}.
+     */
+    private static final class Cache<T> {
+
+        private final ConcurrentMap<String, ConcurrentMap<String, T>> byName =
+                new ConcurrentHashMap<>();
+
+        private @Nullable T find(String name, String tag) {
+            ConcurrentMap<String, T> byTag = byName.get(name);
+            return byTag == null ? null : byTag.get(tag);
+        }
+
+        private T add(String name, String tag, Function<MetricId, T> factory) {
+            return byName.computeIfAbsent(name, n -> new ConcurrentHashMap<>())
+                         .computeIfAbsent(tag, t -> factory.apply(MetricId.of(name, t)));
+        }
+    }
+}
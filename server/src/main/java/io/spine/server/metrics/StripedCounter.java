@@ -24,37 +24,35 @@
  * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
 
-package io.spine.server.delivery;
+package io.spine.server.metrics;
 
-import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * A counter providing the version for the incoming {@code InboxMessage}s.
+ * A counter which spreads the concurrent updates across several cells.
  *
- * <p>Serves to distinguish the messages arrived at the very same millisecond, even from
- * different threads.
- *
- * <p>Hard-coded to reset the value to zero every {@link #MAX_VERSION} times. This allows
- * to avoid any number overflows, but still is sufficient for realistic use-cases.
+ * <p>Updating the counter does not block, and does not contend even under a high load.
  */
-@ThreadSafe
-final class VersionCounter {
+public final class StripedCounter implements Counter {
 
-    private static final int MAX_VERSION = 10_000;
-    private static final VersionCounter instance = new VersionCounter();
+    private final LongAdder count = new LongAdder();
 
-    private int counter;
+    @Override
+    public void add(long count) {
+        this.count.add(count);
+    }
 
-    private synchronized int getNextValue() {
-        counter++;
-        counter = counter % MAX_VERSION;
-        return counter;
+    /**
+     * Returns the current count.
+     */
+    public long value() {
+        return count.sum();
     }
 
     /**
-     * Obtains the next version value.
+     * Sets the count to zero.
      */
-    static int next() {
-        return instance.getNextValue();
+    void reset() {
+        count.reset();
     }
 }
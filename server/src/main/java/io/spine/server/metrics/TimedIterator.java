@@ -0,0 +1,108 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.metrics;
+
+import io.spine.annotation.Internal;
+
+import java.util.Iterator;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * An iterator which records the time spent on reading the elements of another iterator.
+ *
+ * <p>Lazy iterators, such as the ones returned by storages, do the most of the work while
+ * being iterated. The time spent in {@link #hasNext()} and {@link #next()} is summed with
+ * the time spent on obtaining the iterator, and is recorded once the iterator is exhausted.
+ * The readers which do not need all the elements may {@linkplain #complete() complete}
+ * the measurement earlier.
+ */
+@Internal
+public final class TimedIterator<T> implements Iterator<T> {
+
+    private final Iterator<T> delegate;
+    private final Histogram histogram;
+    private long elapsedNanos;
+    private boolean recorded;
+
+    private TimedIterator(Iterator<T> delegate, Histogram histogram, long elapsedNanos) {
+        this.delegate = delegate;
+        this.histogram = histogram;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Wraps the iterator to record the time spent on reading it into the given histogram.
+     *
+     * @param iterator
+     *         the iterator to wrap
+     * @param histogram
+     *         the histogram to record the time into
+     * @param startNanos
+     *         the moment the iterator was requested, as returned by {@link System#nanoTime()}
+     */
+    public static <T> Iterator<T> timed(Iterator<T> iterator, Histogram histogram,
+                                        long startNanos) {
+        checkNotNull(iterator);
+        checkNotNull(histogram);
+        return new TimedIterator<>(iterator, histogram, System.nanoTime() - startNanos);
+    }
+
+    @Override
+    public boolean hasNext() {
+        long start = System.nanoTime();
+        boolean result = delegate.hasNext();
+        elapsedNanos += System.nanoTime() - start;
+        if (!result) {
+            complete();
+        }
+        return result;
+    }
+
+    @Override
+    public T next() {
+        long start = System.nanoTime();
+        T result = delegate.next();
+        elapsedNanos += System.nanoTime() - start;
+        return result;
+    }
+
+    @Override
+    public void remove() {
+        delegate.remove();
+    }
+
+    /**
+     * Records the time spent on reading so far, unless it is already recorded.
+     */
+    public void complete() {
+        if (!recorded) {
+            recorded = true;
+            histogram.record(elapsedNanos);
+        }
+    }
+}
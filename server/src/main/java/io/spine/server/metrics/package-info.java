@@ -0,0 +1,51 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+/**
+ * This package defines the Spine Metrics API.
+ *
+ * <p>The framework measures the latency of posting, filtering and dispatching the signals
+ * in the buses, the delivery of the inbox messages, the storage operations and the invocation
+ * of the handler methods. It also counts the cache hits and misses.
+ *
+ * <p>The measurements are passed to the {@link io.spine.server.metrics.MetricsFactory}
+ * configured in the {@linkplain io.spine.server.ServerEnvironment#metrics() server environment}.
+ * If none is configured, the measurements are discarded.
+ *
+ * <p>The {@link io.spine.server.metrics.InMemoryMetricsFactory} keeps the measurements
+ * in memory, so that they can be inspected or exported to a monitoring system of choice.
+ *
+ * @see io.spine.server.metrics.MetricsFactory
+ * @see io.spine.server.metrics.ServerMetrics
+ */
+
+@CheckReturnValue
+@ParametersAreNonnullByDefault
+package io.spine.server.metrics;
+
+import com.google.errorprone.annotations.CheckReturnValue;
+
+import javax.annotation.ParametersAreNonnullByDefault;
@@ -36,6 +36,7 @@ import io.spine.core.Signal;
 import io.spine.server.dispatch.DispatchOutcome;
 import io.spine.server.dispatch.Success;
 import io.spine.server.log.HandlerLifecycle;
+import io.spine.server.trace.ServerTracing;
 import io.spine.server.type.MessageEnvelope;
 import io.spine.type.MessageClass;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -55,7 +56,10 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Suppliers.memoize;
 import static io.spine.base.Errors.causeOf;
 import static io.spine.base.Errors.fromThrowable;
+import static io.spine.server.metrics.ServerMetrics.HANDLER_INVOKE;
+import static io.spine.server.metrics.ServerMetrics.recordSince;
 import static io.spine.server.model.MethodResults.collectMessageClasses;
+import static io.spine.server.trace.SpanKind.HANDLER_INVOCATION;
 import static io.spine.util.Exceptions.illegalStateWithCauseOf;
 import static java.lang.String.format;
 import static java.util.stream.Collectors.joining;
@@ -121,6 +125,12 @@ public abstract class AbstractHandlerMethod<T,
     @SuppressWarnings("Immutable") // Memoizing supplier is effectively immutable.
     private final Supplier<ImmutableSet<R>> producedTypes;
 
+    /**
+     * The {@linkplain #getFullName() full name} of the method.
+     */
+    @SuppressWarnings("Immutable") // Memoizing supplier is effectively immutable.
+    private final Supplier<String> fullName;
+
     /**
      * Creates a new instance to wrap {@code method} on {@code target}.
      *
@@ -135,6 +145,7 @@ public abstract class AbstractHandlerMethod<T,
         this.attributes = discoverAttributes(method);
         this.parameterSpec = parameterSpec;
         this.producedTypes = memoize(() -> collectMessageClasses(method));
+        this.fullName = memoize(() -> fullNameOf(method));
         method.setAccessible(true);
     }
 
@@ -266,6 +277,7 @@ public abstract class AbstractHandlerMethod<T,
         if (lifecycle != null) {
             lifecycle.beforeInvoke(this);
         }
+        long start = System.nanoTime();
         try {
             Success success = doInvoke(target, envelope);
             outcome.setSuccess(success);
@@ -285,6 +297,9 @@ public abstract class AbstractHandlerMethod<T,
         } catch (IllegalArgumentException | IllegalAccessException e) {
             throw illegalStateWithCauseOf(e);
         } finally {
+            recordSince(HANDLER_INVOKE, getFullName(), start);
+            ServerTracing.recordSince(HANDLER_INVOCATION, envelope.outerObject(),
+                                      getFullName(), start);
             if (lifecycle != null) {
                 lifecycle.afterInvoke(this);
             }
@@ -340,6 +355,10 @@ public abstract class AbstractHandlerMethod<T,
      * @return full name of the subscriber
      */
     public String getFullName() {
+        return fullName.get();
+    }
+
+    private static String fullNameOf(Method method) {
         String template = "%s.%s(%s)";
         String className = method.getDeclaringClass()
                                  .getName();
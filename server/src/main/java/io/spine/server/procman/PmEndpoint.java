@@ -34,6 +34,8 @@ import io.spine.server.dispatch.DispatchOutcomeHandler;
 import io.spine.server.entity.EntityMessageEndpoint;
 import io.spine.server.type.SignalEnvelope;
 
+import static io.spine.server.trace.SpanKind.ENTITY_LOAD;
+
 /**
  * Common base message for endpoints of Process Managers.
  *
@@ -75,7 +77,9 @@ abstract class PmEndpoint<I,
     @SuppressWarnings("UnnecessaryInheritDoc") // IDEA bug.
     @Override
     public void dispatchTo(I id) {
+        long start = System.nanoTime();
         P manager = repository().findOrCreate(id);
+        traceSince(ENTITY_LOAD, start);
         DispatchOutcomeHandler
                 .from(runTransactionFor(manager))
                 .onSuccess(success -> store(manager))
@@ -30,6 +30,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableSet;
 import com.google.errorprone.annotations.OverridingMethodsMustInvokeSuper;
 import io.spine.annotation.Internal;
+import io.spine.annotation.SPI;
 import io.spine.base.EntityState;
 import io.spine.core.Command;
 import io.spine.core.CommandId;
@@ -43,6 +44,8 @@ import io.spine.server.delivery.BatchDeliveryListener;
 import io.spine.server.delivery.Delivery;
 import io.spine.server.delivery.Inbox;
 import io.spine.server.delivery.InboxLabel;
+import io.spine.server.entity.EntityCachePolicy;
+import io.spine.server.entity.EntityCacheStats;
 import io.spine.server.entity.EntityLifecycle;
 import io.spine.server.entity.EntityLifecycleMonitor;
 import io.spine.server.entity.EntityRecord;
@@ -165,7 +168,40 @@ public abstract class ProcessManagerRepository<I,
     }
 
     private void initCache(boolean multitenant) {
-        cache = new RepositoryCache<>(multitenant, this::doFindOrCreate, this::doStore);
+        cache = new RepositoryCache<>(multitenant, this::doFindOrCreate, this::doStore,
+                                      entityCachePolicy(), this::storedVersion);
+    }
+
+    /**
+     * Obtains the policy of keeping the process managers in memory between the deliveries of messages.
+     *
+     * <p>By default, the process managers are {@linkplain EntityCachePolicy#disabled() not kept}.
+     * Override this method to serve the frequently updated instances from memory.
+     */
+    @SPI
+    protected EntityCachePolicy entityCachePolicy() {
+        return EntityCachePolicy.disabled();
+    }
+
+    /**
+     * Obtains the statistics of serving the process managers kept in memory between the deliveries.
+     *
+     * @see #entityCachePolicy()
+     */
+    public final EntityCacheStats entityCacheStats() {
+        return checkNotNull(cache).stats();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Drops the copy of the entity kept in memory.
+     */
+    @Override
+    protected final void onRecordChanged(I id) {
+        if (cache != null) {
+            cache.evict(id);
+        }
     }
 
     /**
@@ -76,6 +76,7 @@ final class CatchUpEndpoint<I, P extends Projection<I, S, ?>, S extends EntitySt
         CatchUpStarted event = (CatchUpStarted) envelope().message();
         repository.recordStorage()
                   .delete(entityId);
+        repository.onRecordChanged(entityId);
         repository.lifecycleOf(entityId)
                   .onProjectionStateCleared(event.getId());
     }
@@ -39,6 +39,7 @@ import io.spine.server.entity.TransactionListener;
 import io.spine.server.type.EventEnvelope;
 
 import static io.spine.server.projection.ProjectionTransaction.start;
+import static io.spine.server.trace.SpanKind.ENTITY_LOAD;
 
 /**
  * Dispatches an event to projections.
@@ -65,7 +66,9 @@ public class ProjectionEndpoint<I, P extends Projection<I, S, ?>, S extends Enti
     @Override
     public void dispatchTo(I entityId) {
         ProjectionRepository<I, P, ?> repository = repository();
+        long start = System.nanoTime();
         P projection = repository.findOrCreate(entityId);
+        traceSince(ENTITY_LOAD, start);
         runTransactionFor(projection);
         store(projection);
     }
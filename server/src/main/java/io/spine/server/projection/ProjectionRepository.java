@@ -32,6 +32,7 @@ import com.google.common.collect.ImmutableSet;
 import com.google.errorprone.annotations.OverridingMethodsMustInvokeSuper;
 import com.google.protobuf.Timestamp;
 import io.spine.annotation.Internal;
+import io.spine.annotation.SPI;
 import io.spine.base.EntityState;
 import io.spine.base.Time;
 import io.spine.core.Event;
@@ -46,6 +47,8 @@ import io.spine.server.delivery.CatchUpSignal;
 import io.spine.server.delivery.Delivery;
 import io.spine.server.delivery.Inbox;
 import io.spine.server.delivery.InboxLabel;
+import io.spine.server.entity.EntityCachePolicy;
+import io.spine.server.entity.EntityCacheStats;
 import io.spine.server.entity.EventDispatchingRepository;
 import io.spine.server.entity.RepositoryCache;
 import io.spine.server.entity.model.StateClass;
@@ -172,7 +175,40 @@ public abstract class ProjectionRepository<I,
     }
 
     private void initCache(boolean multitenant) {
-        cache = new RepositoryCache<>(multitenant, this::doFindOrCreate, this::doStore);
+        cache = new RepositoryCache<>(multitenant, this::doFindOrCreate, this::doStore,
+                                      entityCachePolicy(), this::storedVersion);
+    }
+
+    /**
+     * Obtains the policy of keeping the projections in memory between the deliveries of messages.
+     *
+     * <p>By default, the projections are {@linkplain EntityCachePolicy#disabled() not kept}.
+     * Override this method to serve the frequently updated instances from memory.
+     */
+    @SPI
+    protected EntityCachePolicy entityCachePolicy() {
+        return EntityCachePolicy.disabled();
+    }
+
+    /**
+     * Obtains the statistics of serving the projections kept in memory between the deliveries.
+     *
+     * @see #entityCachePolicy()
+     */
+    public final EntityCacheStats entityCacheStats() {
+        return checkNotNull(cache).stats();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Drops the copy of the entity kept in memory.
+     */
+    @Override
+    protected final void onRecordChanged(I id) {
+        if (cache != null) {
+            cache.evict(id);
+        }
     }
 
     /**
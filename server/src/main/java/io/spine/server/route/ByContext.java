@@ -29,18 +29,16 @@ package io.spine.server.route;
 import io.spine.base.EventMessage;
 import io.spine.core.EventContext;
 
-import java.util.Set;
-
 /**
  * Obtains an event producer ID from the context of the event.
  */
-final class ByContext<I> implements EventRoute<I, EventMessage> {
+final class ByContext<I> implements UnicastEventRoute<I, EventMessage> {
 
     private static final long serialVersionUID = 0L;
 
     @Override
-    public Set<I> apply(EventMessage message, EventContext context) {
+    public I target(EventMessage message, EventContext context) {
         @SuppressWarnings("unchecked") I id = (I) context.producer();
-        return EventRoute.withId(id);
+        return id;
     }
 }
@@ -29,12 +29,10 @@ package io.spine.server.route;
 import io.spine.base.EventMessage;
 import io.spine.core.EventContext;
 
-import java.util.Set;
-
 /**
  * The route that obtains a producer ID from the first field of the event message.
  */
-final class ByFirstMessageField<I> implements EventRoute<I, EventMessage> {
+final class ByFirstMessageField<I> implements UnicastEventRoute<I, EventMessage> {
 
     private static final long serialVersionUID = 0L;
 
@@ -45,8 +43,7 @@ final class ByFirstMessageField<I> implements EventRoute<I, EventMessage> {
     }
 
     @Override
-    public Set<I> apply(EventMessage message, EventContext context) {
-        I id = field.apply(message, context);
-        return EventRoute.withId(id);
+    public I target(EventMessage message, EventContext context) {
+        return field.apply(message, context);
     }
 }
@@ -29,7 +29,6 @@ package io.spine.server.route;
 import io.spine.base.EventMessage;
 import io.spine.core.EventContext;
 
-import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -44,7 +43,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * @param <E>
  *         the type of the event message
  */
-final class EventFnRoute<I, E extends EventMessage> implements EventRoute<I, E> {
+final class EventFnRoute<I, E extends EventMessage> implements UnicastEventRoute<I, E> {
 
     private static final long serialVersionUID = 0L;
     private final BiFunction<E, EventContext, I> fn;
@@ -65,8 +64,7 @@ final class EventFnRoute<I, E extends EventMessage> implements EventRoute<I, E>
     }
 
     @Override
-    public Set<I> apply(E message, EventContext context) {
-        I id = fn.apply(message, context);
-        return EventRoute.withId(id);
+    public I target(E message, EventContext context) {
+        return fn.apply(message, context);
     }
 }
@@ -28,6 +28,7 @@ package io.spine.server.route;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.protobuf.Message;
+import io.spine.annotation.Internal;
 import io.spine.base.EventMessage;
 import io.spine.core.EventContext;
 import io.spine.system.server.event.EntityStateChanged;
@@ -38,6 +39,7 @@ import java.util.function.BiFunction;
 import java.util.function.Function;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 
 /**
  * A routing schema used to deliver events.
@@ -241,4 +243,41 @@ public final class EventRouting<I>
         }
         return Optional.empty();
     }
+
+    /**
+     * Tells whether the events of the passed class are delivered to exactly one entity.
+     *
+     * <p>This is the case for the events routed by the {@linkplain #defaultRoute() default} route
+     * {@linkplain EventRoute#byProducerId() by producer ID} or
+     * {@linkplain EventRoute#byFirstMessageField(Class) by the first message field}, and by
+     * the routes set via {@link #unicast(Class, Function) unicast(...)}.
+     *
+     * @see #unicastTarget(EventMessage, EventContext)
+     */
+    @Internal
+    public boolean isUnicast(Class<? extends EventMessage> eventClass) {
+        checkNotNull(eventClass);
+        return resolve(eventClass) instanceof UnicastEventRoute;
+    }
+
+    /**
+     * Obtains the ID of the sole entity to which the passed event should be delivered.
+     *
+     * <p>Unlike {@link #apply(EventMessage, EventContext) apply(...)}, does not wrap the ID
+     * into a set.
+     *
+     * @throws IllegalStateException
+     *         if the events of this class are not {@linkplain #isUnicast(Class) unicast}
+     */
+    @Internal
+    public I unicastTarget(EventMessage message, EventContext context) {
+        checkNotNull(message);
+        checkNotNull(context);
+        Route<EventMessage, EventContext, Set<I>> route = resolve(message.getClass());
+        checkState(route instanceof UnicastEventRoute,
+                   "The event `%s` is not routed to a single target.", message.getClass());
+        @SuppressWarnings("unchecked") // Protected by the generic params of this class.
+        UnicastEventRoute<I, EventMessage> unicast = (UnicastEventRoute<I, EventMessage>) route;
+        return unicast.target(message, context);
+    }
 }
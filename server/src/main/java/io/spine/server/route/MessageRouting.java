@@ -33,6 +33,7 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static io.spine.util.Exceptions.newIllegalStateException;
@@ -57,6 +58,14 @@ abstract class MessageRouting<M extends Message, C extends MessageContext, R>
 
     private final Map<Class<? extends M>, Route<M, C, R>> routes = new LinkedHashMap<>();
 
+    /**
+     * The routes resolved for the concrete message classes.
+     *
+     * <p>Contains either a custom route found for the class directly or via an interface,
+     * or the default route. Is cleared each time the routing schema changes.
+     */
+    private final Map<Class<? extends M>, Route<M, C, R>> resolved = new ConcurrentHashMap<>();
+
     /** The default route to be used if there is no matching entry set in {@link #routes}. */
     private Route<M, C, R> defaultRoute;
 
@@ -79,6 +88,7 @@ abstract class MessageRouting<M extends Message, C extends MessageContext, R>
     MessageRouting<M, C, R> replaceDefault(Route<M, C, R> newDefault) {
         checkNotNull(newDefault);
         defaultRoute = newDefault;
+        resolved.clear();
         return this;
     }
 
@@ -135,6 +145,7 @@ abstract class MessageRouting<M extends Message, C extends MessageContext, R>
             }
         }
         routes.put(messageType, via);
+        resolved.clear();
     }
 
     /**
@@ -198,6 +209,7 @@ abstract class MessageRouting<M extends Message, C extends MessageContext, R>
                     messageClass.getName());
         }
         routes.remove(messageClass);
+        resolved.clear();
     }
 
     /**
@@ -215,16 +227,27 @@ abstract class MessageRouting<M extends Message, C extends MessageContext, R>
         checkNotNull(context);
         @SuppressWarnings("unchecked") Class<? extends M>
         cls = (Class<? extends M>) message.getClass();
-        Match match = routeFor(cls);
-        if (match.found()) {
-            Route<M, C, R> func = match.route();
-            R result = func.apply(message, context);
-            return result;
-        }
-        R result = defaultRoute().apply(message, context);
+        Route<M, C, R> route = resolve(cls);
+        R result = route.apply(message, context);
         return result;
     }
 
+    /**
+     * Obtains the route to be applied to the messages of the passed class.
+     *
+     * <p>The route is looked up once per message class. Later calls obtain it from the cache.
+     *
+     * @return a custom route for the class or the default route
+     */
+    final Route<M, C, R> resolve(Class<? extends M> msgCls) {
+        return resolved.computeIfAbsent(msgCls, cls -> {
+            Match match = routeFor(cls);
+            return match.found()
+                   ? match.route()
+                   : defaultRoute();
+        });
+    }
+
     /**
      * Provides information on routing availability.
      */
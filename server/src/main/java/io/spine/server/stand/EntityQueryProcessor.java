@@ -27,11 +27,14 @@ package io.spine.server.stand;
 
 import com.google.common.collect.ImmutableCollection;
 import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Any;
+import com.google.protobuf.FieldMask;
 import io.spine.client.EntityStateWithVersion;
 import io.spine.client.Query;
 import io.spine.client.ResponseFormat;
 import io.spine.server.entity.EntityRecord;
 import io.spine.server.entity.QueryableRepository;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Iterator;
 
@@ -60,6 +63,15 @@ class EntityQueryProcessor implements QueryProcessor {
         return result;
     }
 
+    @Override
+    public Iterator<EntityRecord> readPage(Query query, @Nullable Any after, int limit) {
+        FieldMask mask = query.responseFormat()
+                              .getFieldMask();
+        Iterator<EntityRecord> result =
+                repository.findRecordsPage(query.filters(), mask, after, limit);
+        return result;
+    }
+
     private Iterator<EntityRecord> loadByQuery(Query query) {
         Iterator<EntityRecord> entities =
                 repository.findRecords(query.filters(), query.responseFormat());
@@ -71,7 +83,7 @@ class EntityQueryProcessor implements QueryProcessor {
         return entities;
     }
 
-    private static EntityStateWithVersion toEntityState(EntityRecord record) {
+    static EntityStateWithVersion toEntityState(EntityRecord record) {
         EntityStateWithVersion result = EntityStateWithVersion
                 .newBuilder()
                 .setState(record.getState())
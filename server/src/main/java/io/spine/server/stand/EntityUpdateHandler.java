@@ -27,28 +27,36 @@
 package io.spine.server.stand;
 
 import com.google.protobuf.Any;
+import com.google.protobuf.Message;
 import io.spine.base.EntityState;
 import io.spine.base.Identifier;
 import io.spine.client.EntityId;
 import io.spine.client.EntityStateUpdate;
 import io.spine.client.EntityUpdates;
+import io.spine.client.FilterCompiler;
 import io.spine.client.Subscription;
 import io.spine.client.SubscriptionUpdate;
-import io.spine.client.TargetFilters;
 import io.spine.core.Responses;
 import io.spine.protobuf.AnyPacker;
 import io.spine.server.type.EventEnvelope;
 import io.spine.system.server.event.EntityStateChanged;
 
 import java.util.Optional;
+import java.util.function.Predicate;
 
 /**
  * The update handler of {@code Subscription}s for {@code Entity} state updates.
  */
 final class EntityUpdateHandler extends UpdateHandler {
 
+    /**
+     * The subscription filters compiled for testing the entity states.
+     */
+    private final Predicate<Message> filters;
+
     EntityUpdateHandler(Subscription subscription) {
         super(subscription);
+        this.filters = FilterCompiler.compile(target().getFilters());
     }
 
     /**
@@ -108,11 +116,7 @@ final class EntityUpdateHandler extends UpdateHandler {
      * Checks if the entity state matches the subscription filters.
      */
     private boolean stateMatches(EntityState state) {
-        TargetFilters filters = target().getFilters();
-        boolean result = filters
-                .getFilterList()
-                .stream()
-                .allMatch(f -> f.test(state));
+        boolean result = filters.test(state);
         return result;
     }
 
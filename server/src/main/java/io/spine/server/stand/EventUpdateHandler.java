@@ -29,15 +29,15 @@ package io.spine.server.stand;
 import com.google.protobuf.Any;
 import io.spine.base.Identifier;
 import io.spine.client.EventUpdates;
-import io.spine.client.Filters;
+import io.spine.client.FilterCompiler;
 import io.spine.client.Subscription;
 import io.spine.client.SubscriptionUpdate;
-import io.spine.client.TargetFilters;
 import io.spine.core.Event;
 import io.spine.core.EventId;
 import io.spine.server.type.EventEnvelope;
 
 import java.util.Optional;
+import java.util.function.Predicate;
 
 import static io.spine.core.Responses.ok;
 
@@ -46,8 +46,14 @@ import static io.spine.core.Responses.ok;
  */
 final class EventUpdateHandler extends UpdateHandler {
 
+    /**
+     * The subscription filters compiled for testing the events.
+     */
+    private final Predicate<Event> filters;
+
     EventUpdateHandler(Subscription subscription) {
         super(subscription);
+        this.filters = FilterCompiler.compileForEvents(target().getFilters());
     }
 
     @Override
@@ -110,13 +116,8 @@ final class EventUpdateHandler extends UpdateHandler {
      * Checks if the event message matches the subscription filters.
      */
     private boolean eventMatches(EventEnvelope event) {
-        TargetFilters filters = target().getFilters();
         Event evt = event.outerObject();
-        boolean result = filters
-                .getFilterList()
-                .stream()
-                .map(Filters::toEventFilter)
-                .allMatch(f -> f.test(evt));
+        boolean result = filters.test(evt);
         return result;
     }
 }
@@ -27,8 +27,15 @@ package io.spine.server.stand;
 
 import com.google.common.collect.ImmutableCollection;
 import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Any;
 import io.spine.client.EntityStateWithVersion;
 import io.spine.client.Query;
+import io.spine.server.entity.EntityRecord;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Iterator;
+
+import static java.util.Collections.emptyIterator;
 
 /**
  * An {@link QueryProcessor} implementation that always returns empty result.
@@ -42,4 +49,9 @@ class NoOpQueryProcessor implements QueryProcessor {
     public ImmutableCollection<EntityStateWithVersion> process(Query query) {
         return ImmutableList.of();
     }
+
+    @Override
+    public Iterator<EntityRecord> readPage(Query query, @Nullable Any after, int limit) {
+        return emptyIterator();
+    }
 }
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package io.spine.server.stand;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Value;
+import io.spine.base.Error;
+import io.spine.client.Query;
+import io.spine.client.QueryCursor;
+import io.spine.client.QueryValidationError;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.nio.ByteBuffer;
+
+import static com.google.common.io.BaseEncoding.base64;
+import static io.spine.client.QueryValidationError.INVALID_QUERY_CURSOR;
+
+/**
+ * Encodes and decodes the {@linkplain QueryCursor positions} in the results of streamed queries.
+ *
+ * <p>The streamed results are ordered by the identifiers of the entities. A cursor holds
+ * the packed identifier of the last result preceding the position, along with the fingerprint
+ * of the query target and response format. Resuming from a cursor reads the results with
+ * the greater identifiers, so the cost of resuming does not depend on the position.
+ *
+ * <p>The fingerprint prevents passing the cursor obtained for one query to another one.
+ */
+final class QueryCursors {
+
+    private static final int FINGERPRINT_SIZE = Long.BYTES;
+
+    /** Prevents the utility class instantiation. */
+    private QueryCursors() {
+    }
+
+    /**
+     * Creates the cursor pointing to the position after the result with the given identifier.
+     */
+    static QueryCursor cursorAfter(Query query, Any lastId) {
+        ByteBuffer fingerprint = ByteBuffer.allocate(FINGERPRINT_SIZE);
+        fingerprint.putLong(fingerprint(query));
+        fingerprint.flip();
+        ByteString value = ByteString.copyFrom(fingerprint)
+                                     .concat(lastId.toByteString());
+        QueryCursor result = QueryCursor
+                .newBuilder()
+                .setValue(value)
+                .build();
+        return result;
+    }
+
+    /**
+     * Obtains the packed identifier of the last result preceding the cursor.
+     *
+     * <p>The default cursor points to the beginning of the results, in which case
+     * {@code null} is returned.
+     *
+     * @throws InvalidQueryException
+     *         if the cursor was not created for the given query
+     */
+    static @Nullable Any lastIdOf(QueryCursor cursor, Query query) throws InvalidQueryException {
+        ByteString value = cursor.getValue();
+        if (value.isEmpty()) {
+            return null;
+        }
+        if (value.size() <= FINGERPRINT_SIZE) {
+            throw invalidCursor(query, cursor);
+        }
+        long fingerprint = value.substring(0, FINGERPRINT_SIZE)
+                                .asReadOnlyByteBuffer()
+                                .getLong();
+        if (fingerprint != fingerprint(query)) {
+            throw invalidCursor(query, cursor);
+        }
+        try {
+            Any result = Any.parseFrom(value.substring(FINGERPRINT_SIZE));
+            return result;
+        } catch (InvalidProtocolBufferException e) {
+            throw invalidCursor(query, cursor);
+        }
+    }
+
+    private static long fingerprint(Query query) {
+        Hasher hasher = Hashing.farmHashFingerprint64()
+                               .newHasher();
+        hasher.putBytes(query.getTarget()
+                             .toByteArray());
+        hasher.putBytes(query.getFormat()
+                             .toByteArray());
+        return hasher.hash()
+                     .asLong();
+    }
+
+    private static InvalidQueryException invalidCursor(Query query, QueryCursor cursor) {
+        Value cursorValue = Value
+                .newBuilder()
+                .setStringValue(base64().encode(cursor.getValue()
+                                                      .toByteArray()))
+                .build();
+        String message = "The query cursor does not belong to the query.";
+        Error error = Error
+                .newBuilder()
+                .setType(QueryValidationError.class.getSimpleName())
+                .setCode(INVALID_QUERY_CURSOR.getNumber())
+                .setMessage(message)
+                .putAttributes("cursor", cursorValue)
+                .build();
+        return new InvalidQueryException(message, query, error);
+    }
+}
@@ -26,9 +26,15 @@
 package io.spine.server.stand;
 
 import com.google.common.collect.ImmutableCollection;
+import com.google.protobuf.Any;
 import io.grpc.stub.StreamObserver;
 import io.spine.client.EntityStateWithVersion;
 import io.spine.client.Query;
+import io.spine.client.QueryStreamRequest;
+import io.spine.server.entity.EntityRecord;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Iterator;
 
 /**
  * Processes a {@linkplain Query query} and returns the result.
@@ -42,4 +48,16 @@ interface QueryProcessor {
      * @return the query result
      */
     ImmutableCollection<EntityStateWithVersion> process(Query query);
+
+    /**
+     * Reads a page of the query results ordered by the entity identifiers as a part of
+     * {@link Stand#executeStreaming(QueryStreamRequest, StreamObserver)}.
+     *
+     * @param query an instance of {@code Query} to process
+     * @param after the packed identifier of the entity after which the page starts,
+     *              or {@code null} to read the first page
+     * @param limit the maximum number of the results in the page
+     * @return the iterator over the page of the query result
+     */
+    Iterator<EntityRecord> readPage(Query query, @Nullable Any after, int limit);
 }
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package io.spine.server.stand;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Any;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.spine.client.EntityStateWithVersion;
+import io.spine.client.Query;
+import io.spine.client.QueryResponseChunk;
+import io.spine.core.Responses;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.tenant.TenantAwareRunner;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+/**
+ * Feeds the results of a streamed query to an observer by chunks.
+ *
+ * <p>If the observer is a gRPC {@link ServerCallStreamObserver}, the next chunk is read
+ * from the storage only when the observer {@linkplain ServerCallStreamObserver#isReady() is
+ * ready} to accept it. Otherwise, the stream waits for the observer to become ready, so
+ * a slow client does not make the unsent chunks pile up in memory. The stream stops when
+ * the call is cancelled.
+ *
+ * <p>Other observers receive all the chunks at once.
+ *
+ * <p>If the query {@linkplain io.spine.client.ResponseFormat#getLimit() limits} the number of
+ * the results, the stream completes once this number of results is sent. A stream resumed from
+ * a cursor sends up to this number of the following results.
+ *
+ * <p>Each page of the results is read in the tenant in which the stream was created, as
+ * the readiness callbacks come from the threads of the transport.
+ */
+final class QueryStream implements Runnable {
+
+    private final Query query;
+    private final QueryProcessor processor;
+    private final int chunkSize;
+    private final StreamObserver<QueryResponseChunk> observer;
+    private final @Nullable ServerCallStreamObserver<QueryResponseChunk> callObserver;
+    private final TenantAwareRunner tenant;
+
+    private @Nullable Any lastId;
+    private volatile boolean done;
+
+    /**
+     * The number of the results to send before the stream completes,
+     * or {@code -1} if the results are not limited.
+     */
+    private int remaining;
+
+    /**
+     * Creates a new stream.
+     *
+     * @param query
+     *         the query to stream the results of
+     * @param processor
+     *         the processor reading the results of the query
+     * @param chunkSize
+     *         the maximum number of the results in a chunk
+     * @param lastId
+     *         the packed identifier of the entity after which the results start,
+     *         or {@code null} to start from the beginning
+     * @param observer
+     *         the observer to feed the chunks to
+     * @param tenant
+     *         the runner of the operations in the tenant of the query
+     */
+    QueryStream(Query query,
+                QueryProcessor processor,
+                int chunkSize,
+                @Nullable Any lastId,
+                StreamObserver<QueryResponseChunk> observer,
+                TenantAwareRunner tenant) {
+        checkArgument(chunkSize > 0, "The chunk size must be positive.");
+        this.query = checkNotNull(query);
+        this.processor = checkNotNull(processor);
+        this.chunkSize = chunkSize;
+        this.lastId = lastId;
+        this.observer = checkNotNull(observer);
+        this.callObserver = observer instanceof ServerCallStreamObserver
+                            ? (ServerCallStreamObserver<QueryResponseChunk>) observer
+                            : null;
+        this.tenant = checkNotNull(tenant);
+        int limit = query.getFormat()
+                         .getLimit();
+        this.remaining = limit > 0 ? limit : -1;
+    }
+
+    /**
+     * Starts sending the chunks to the observer.
+     */
+    void start() {
+        if (callObserver != null) {
+            callObserver.setOnCancelHandler(this::cancel);
+            callObserver.setOnReadyHandler(this);
+        }
+        run();
+    }
+
+    /**
+     * Sends the chunks while the observer is ready to accept them.
+     *
+     * <p>Called when the stream is started and each time the observer becomes ready again.
+     */
+    @Override
+    public synchronized void run() {
+        try {
+            tenant.run(() -> {
+                while (!done && isReady()) {
+                    sendNextChunk();
+                }
+            });
+        } catch (RuntimeException e) {
+            done = true;
+            observer.onError(e);
+        }
+    }
+
+    private boolean isReady() {
+        return callObserver == null || callObserver.isReady();
+    }
+
+    private void cancel() {
+        done = true;
+    }
+
+    private void sendNextChunk() {
+        int pageSize = remaining >= 0
+                       ? Math.min(chunkSize, remaining)
+                       : chunkSize;
+        ImmutableList<EntityRecord> page =
+                ImmutableList.copyOf(processor.readPage(query, lastId, pageSize));
+        if (!page.isEmpty()) {
+            EntityRecord last = page.get(page.size() - 1);
+            lastId = last.getEntityId();
+            ImmutableList<EntityStateWithVersion> states = page.stream()
+                    .map(EntityQueryProcessor::toEntityState)
+                    .collect(toImmutableList());
+            QueryResponseChunk chunk = QueryResponseChunk
+                    .newBuilder()
+                    .setResponse(Responses.ok())
+                    .addAllMessage(states)
+                    .setCursor(QueryCursors.cursorAfter(query, lastId))
+                    .build();
+            observer.onNext(chunk);
+        }
+        if (remaining >= 0) {
+            remaining -= page.size();
+        }
+        if (page.size() < pageSize || remaining == 0) {
+            done = true;
+            observer.onCompleted();
+        }
+    }
+}
@@ -31,10 +31,15 @@ import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.protobuf.Any;
 import io.grpc.stub.StreamObserver;
 import io.spine.annotation.Internal;
+import io.spine.base.Error;
 import io.spine.base.Identifier;
 import io.spine.client.EntityStateWithVersion;
 import io.spine.client.Query;
 import io.spine.client.QueryResponse;
+import io.spine.client.QueryResponseChunk;
+import io.spine.client.QueryStreamRequest;
+import io.spine.client.QueryValidationError;
+import io.spine.client.ResponseFormat;
 import io.spine.client.Subscription;
 import io.spine.client.Topic;
 import io.spine.core.MessageId;
@@ -54,6 +59,7 @@ import io.spine.server.entity.Repository;
 import io.spine.server.tenant.QueryOperation;
 import io.spine.server.tenant.SubscriptionOperation;
 import io.spine.server.tenant.TenantAwareOperation;
+import io.spine.server.tenant.TenantAwareRunner;
 import io.spine.server.type.EventEnvelope;
 import io.spine.system.server.event.EntityStateChanged;
 import io.spine.type.TypeUrl;
@@ -63,6 +69,7 @@ import java.util.Collection;
 import java.util.Optional;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.client.QueryValidationError.INVALID_QUERY;
 import static io.spine.grpc.StreamObservers.ack;
 
 /**
@@ -94,6 +101,18 @@ public class Stand implements AutoCloseable {
      */
     private static final QueryProcessor NO_OP_PROCESSOR = new NoOpQueryProcessor();
 
+    /**
+     * The number of results sent in a single chunk of a streamed query,
+     * unless specified by the request.
+     */
+    private static final int DEFAULT_CHUNK_SIZE = 500;
+
+    /**
+     * The maximum number of results sent in a single chunk of a streamed query.
+     */
+    @VisibleForTesting
+    static final int MAX_CHUNK_SIZE = 1000;
+
     /**
      * Manages the subscriptions for this instance of {@code Stand}.
      *
@@ -362,6 +381,90 @@ public class Stand implements AutoCloseable {
         op.execute();
     }
 
+    /**
+     * Reads the results of the query and feeds them to the observer by chunks.
+     *
+     * <p>Unlike {@link #execute(Query, StreamObserver) execute()}, does not load the whole
+     * result set into memory. The results are read from the storage page by page, in the order
+     * of the entity identifiers. If the observer is a gRPC server observer, the next page is read
+     * only when the observer is ready to send it.
+     *
+     * <p>Each chunk carries the {@linkplain io.spine.client.QueryCursor cursor} pointing
+     * after its last result. If the request specifies a cursor, the reading starts after it.
+     *
+     * <p>The chunk size requested by the client is lowered to {@link #MAX_CHUNK_SIZE}.
+     *
+     * <p>As the results are ordered by the entity identifiers, the query may
+     * {@linkplain ResponseFormat#getLimit() limit} the number of the streamed results
+     * without specifying the ordering.
+     *
+     * @param request
+     *         the query along with the chunk size and the cursor
+     * @param responseObserver
+     *         the observer to feed the chunks to
+     * @throws InvalidRequestException
+     *         if the query is invalid, specifies an ordering, or does not match the cursor
+     */
+    public void executeStreaming(QueryStreamRequest request,
+                                 StreamObserver<QueryResponseChunk> responseObserver)
+            throws InvalidRequestException {
+        checkNotNull(request);
+        checkNotNull(responseObserver);
+        Query query = request.getQuery();
+        checkUnordered(query);
+        queryValidator.validate(withoutLimit(query));
+        Any lastId = QueryCursors.lastIdOf(request.getCursor(), query);
+        int chunkSize = request.getChunkSize() > 0
+                        ? Math.min(request.getChunkSize(), MAX_CHUNK_SIZE)
+                        : DEFAULT_CHUNK_SIZE;
+
+        TypeUrl type = query.targetType();
+        QueryProcessor queryProcessor = processorFor(type);
+
+        QueryOperation op = new QueryOperation(query) {
+            @Override
+            public void run() {
+                TenantAwareRunner tenant = TenantAwareRunner.withCurrentTenant(multitenant);
+                QueryStream stream = new QueryStream(
+                        query(), queryProcessor, chunkSize, lastId, responseObserver, tenant
+                );
+                stream.start();
+            }
+        };
+        op.execute();
+    }
+
+    /**
+     * Obtains the copy of the passed query which does not limit the number of the results.
+     *
+     * <p>Used to validate the streamed queries, which are ordered by the entity identifiers
+     * and so may be limited without the ordering directives.
+     */
+    private static Query withoutLimit(Query query) {
+        ResponseFormat format = query.getFormat()
+                                     .toBuilder()
+                                     .clearLimit()
+                                     .build();
+        return query.toBuilder()
+                    .setFormat(format)
+                    .build();
+    }
+
+    private static void checkUnordered(Query query) throws InvalidQueryException {
+        if (query.getFormat()
+                 .getOrderByCount() > 0) {
+            String message = "Streamed query results are ordered by the entity identifiers. " +
+                    "Queries with `order_by` cannot be streamed.";
+            Error error = Error
+                    .newBuilder()
+                    .setType(QueryValidationError.class.getSimpleName())
+                    .setCode(INVALID_QUERY.getNumber())
+                    .setMessage(message)
+                    .build();
+            throw new InvalidQueryException(message, query, error);
+        }
+    }
+
     /**
      * Registers the passed {@code Repository} as an entity/event type supplier.
      */
@@ -26,12 +26,11 @@
 
 package io.spine.server.stand;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.protobuf.Any;
-import io.spine.client.IdFilter;
 import io.spine.client.Subscription;
 import io.spine.client.SubscriptionUpdate;
 import io.spine.client.Target;
-import io.spine.client.TargetFilters;
 import io.spine.logging.Logging;
 import io.spine.server.type.EventEnvelope;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
@@ -51,6 +50,13 @@ abstract class UpdateHandler implements Logging {
 
     private final Subscription subscription;
 
+    /**
+     * The IDs accepted by the subscription ID filter.
+     *
+     * <p>Empty if the ID filter is not set.
+     */
+    private final ImmutableSet<Any> acceptedIds;
+
     /**
      * An action which accepts the update and notifies the read-side accordingly.
      */
@@ -62,6 +68,9 @@ abstract class UpdateHandler implements Logging {
      */
     UpdateHandler(Subscription subscription) {
         this.subscription = subscription;
+        this.acceptedIds = ImmutableSet.copyOf(target().getFilters()
+                                                       .getIdFilter()
+                                                       .getIdList());
     }
 
     /**
@@ -150,16 +159,11 @@ abstract class UpdateHandler implements Logging {
      * Checks if the event matches the subscription ID filter.
      */
     boolean idMatches(EventEnvelope event) {
-        TargetFilters filters = target().getFilters();
-        IdFilter idFilter = filters.getIdFilter();
-        boolean idFilterSet = !IdFilter.getDefaultInstance()
-                                       .equals(idFilter);
-        if (!idFilterSet) {
+        if (acceptedIds.isEmpty()) {
             return true;
         }
         Any id = extractId(event);
-        boolean result = idFilter.getIdList()
-                                 .contains(id);
+        boolean result = acceptedIds.contains(id);
         return result;
     }
 
@@ -26,19 +26,32 @@
 
 package io.spine.server.storage;
 
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Ordering;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.protobuf.FieldMask;
 import com.google.protobuf.Message;
 import io.spine.annotation.Internal;
 import io.spine.annotation.SPI;
+import io.spine.base.Identifier;
 import io.spine.client.ResponseFormat;
 import io.spine.query.RecordQuery;
 import io.spine.query.RecordQueryBuilder;
 import io.spine.server.ContextSpec;
+import io.spine.server.metrics.ServerMetrics;
+import io.spine.server.metrics.TimedIterator;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.Optional;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.spine.server.metrics.ServerMetrics.STORAGE_DELETE;
+import static io.spine.server.metrics.ServerMetrics.STORAGE_READ;
+import static io.spine.server.metrics.ServerMetrics.STORAGE_WRITE;
+import static io.spine.server.metrics.TimedIterator.timed;
+
 /**
  * An abstract base for storage implementations, which store the Protobuf messages as records.
  *
@@ -80,6 +93,58 @@ public abstract class RecordStorage<I, R extends Message> extends AbstractStorag
      */
     protected abstract Iterator<I> index(RecordQuery<I, R> query);
 
+    /**
+     * Reads a page of the identifiers of the records selected by the passed query.
+     *
+     * <p>The identifiers are returned in the {@linkplain #idOrder() ascending order}, starting
+     * after the passed identifier. A sequence of calls, each passing the last identifier of
+     * the previous page, visits every matching record once, even if the records are written
+     * or deleted between the calls.
+     *
+     * <p>The default implementation is a fallback for the storages which cannot seek
+     * the records by their identifiers. It selects the page out of all the
+     * {@linkplain #index(RecordQuery) query results}, keeping at most {@code limit}
+     * identifiers in memory. As each page scans the whole result, reading all the pages
+     * is quadratic in the number of the records. The storages which keep their identifiers
+     * ordered should override this method, starting the page right after the passed
+     * identifier.
+     *
+     * @param query
+     *         the query selecting the records
+     * @param after
+     *         the identifier after which the page starts, or {@code null} to read
+     *         the first page
+     * @param limit
+     *         the maximum number of the identifiers in the page
+     * @return an iterator over the identifiers of the page
+     */
+    protected Iterator<I> indexPage(RecordQuery<I, R> query, @Nullable I after, int limit) {
+        checkNotClosed();
+        checkArgument(limit > 0, "The page limit must be positive.");
+        Ordering<I> order = Ordering.from(idOrder());
+        Iterator<I> ids = index(query);
+        if (after != null) {
+            ids = Iterators.filter(ids, id -> order.compare(id, after) > 0);
+        }
+        return order.leastOf(ids, limit)
+                    .iterator();
+    }
+
+    /**
+     * Returns the order of the record identifiers, in which the records are
+     * {@linkplain #indexPage(RecordQuery, Object, int) paged}.
+     *
+     * <p>The identifiers of {@link Comparable} types are ordered naturally. Other identifiers
+     * are ordered by their {@linkplain Identifier#toString(Object) string form}.
+     */
+    @SuppressWarnings("unchecked")  // Checked by the ID type.
+    protected Comparator<I> idOrder() {
+        if (Comparable.class.isAssignableFrom(recordSpec.idType())) {
+            return (Comparator<I>) Comparator.naturalOrder();
+        }
+        return Comparator.comparing(id -> Identifier.toString(id));
+    }
+
     /**
      * Writes the record along with its filled-in column values to the storage.
      *
@@ -90,7 +155,9 @@ public abstract class RecordStorage<I, R extends Message> extends AbstractStorag
      */
     protected void write(RecordWithColumns<I, R> record) {
         checkNotClosed();
+        long start = System.nanoTime();
         writeRecord(record);
+        recordSince(STORAGE_WRITE, start);
     }
 
     /**
@@ -103,7 +170,9 @@ public abstract class RecordStorage<I, R extends Message> extends AbstractStorag
      */
     protected void writeAll(Iterable<? extends RecordWithColumns<I, R>> records) {
         checkNotClosed();
+        long start = System.nanoTime();
         writeAllRecords(records);
+        recordSince(STORAGE_WRITE, start);
     }
 
     @Override
@@ -196,7 +265,12 @@ public abstract class RecordStorage<I, R extends Message> extends AbstractStorag
      */
     protected Iterator<R> readAll(RecordQuery<I, R> query) {
         checkNotClosed();
-        return readAllRecords(query);
+        if (!ServerMetrics.enabled()) {
+            return readAllRecords(query);
+        }
+        long start = System.nanoTime();
+        Iterator<R> result = readAllRecords(query);
+        return timed(result, ServerMetrics.histogram(STORAGE_READ, recordType()), start);
     }
 
     /**
@@ -215,7 +289,10 @@ public abstract class RecordStorage<I, R extends Message> extends AbstractStorag
     @CanIgnoreReturnValue
     protected boolean delete(I id) {
         checkNotClosed();
-        return deleteRecord(id);
+        long start = System.nanoTime();
+        boolean result = deleteRecord(id);
+        recordSince(STORAGE_DELETE, start);
+        return result;
     }
 
     /**
@@ -329,11 +406,28 @@ public abstract class RecordStorage<I, R extends Message> extends AbstractStorag
         return recordSpec;
     }
 
+    /**
+     * Records the time elapsed since the given moment as the latency of the storage operation
+     * with the records of this storage.
+     */
+    private void recordSince(String metric, long startNanos) {
+        ServerMetrics.recordSince(metric, recordType(), startNanos);
+    }
+
+    private String recordType() {
+        return recordSpec.recordType()
+                         .getName();
+    }
+
     private Optional<R> readSingleRecord(RecordQuery<I, R> query) {
         Iterator<R> iterator = readAll(query);
-        return iterator.hasNext()
-               ? Optional.of(iterator.next())
-               : Optional.empty();
+        Optional<R> result = iterator.hasNext()
+                             ? Optional.of(iterator.next())
+                             : Optional.empty();
+        if (iterator instanceof TimedIterator) {
+            ((TimedIterator<?>) iterator).complete();
+        }
+        return result;
     }
 }
 
@@ -32,7 +32,9 @@ import com.google.protobuf.Message;
 import io.spine.annotation.Internal;
 import io.spine.query.RecordQuery;
 import io.spine.server.ContextSpec;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.Optional;
 
@@ -83,6 +85,16 @@ public abstract class RecordStorageDelegate<I, R extends Message> extends Record
         return delegate.index(query);
     }
 
+    @Override
+    protected Iterator<I> indexPage(RecordQuery<I, R> query, @Nullable I after, int limit) {
+        return delegate.indexPage(query, after, limit);
+    }
+
+    @Override
+    protected Comparator<I> idOrder() {
+        return delegate.idOrder();
+    }
+
     @Override
     public Optional<R> read(I id) {
         return delegate.read(id);
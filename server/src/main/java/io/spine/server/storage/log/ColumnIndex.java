@@ -0,0 +1,103 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package io.spine.server.storage.log;
+
+import com.google.common.collect.ImmutableSet;
+import io.spine.query.ColumnName;
+import io.spine.server.storage.RecordWithColumns;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An in-memory index of the records of a {@link RecordLog} by the values of a single column.
+ *
+ * <p>Maps each non-{@code null} value of the column to the IDs of the records having it.
+ *
+ * <p>The index is updated under the lock of the log. The lookups do not lock.
+ *
+ * @param <I>
+ *         the type of the record identifiers
+ */
+final class ColumnIndex<I> {
+
+    private final ColumnName column;
+    private final ConcurrentMap<Object, Set<I>> ids = new ConcurrentHashMap<>();
+
+    ColumnIndex(ColumnName column) {
+        this.column = column;
+    }
+
+    /**
+     * Adds the record to the index.
+     */
+    void add(RecordWithColumns<I, ?> record) {
+        @Nullable Object value = valueIn(record);
+        if (value != null) {
+            ids.computeIfAbsent(value, v -> ConcurrentHashMap.newKeySet())
+               .add(record.id());
+        }
+    }
+
+    /**
+     * Removes the record from the index.
+     */
+    void remove(RecordWithColumns<I, ?> record) {
+        @Nullable Object value = valueIn(record);
+        if (value != null) {
+            ids.computeIfPresent(value, (v, records) -> {
+                records.remove(record.id());
+                return records.isEmpty() ? null : records;
+            });
+        }
+    }
+
+    private @Nullable Object valueIn(RecordWithColumns<I, ?> record) {
+        return record.hasColumn(column)
+               ? record.columnValue(column)
+               : null;
+    }
+
+    /**
+     * Obtains the number of the records having the given value of the column.
+     */
+    int countWith(Object value) {
+        Set<I> result = ids.get(value);
+        return result == null ? 0 : result.size();
+    }
+
+    /**
+     * Obtains the IDs of the records having the given value of the column.
+     */
+    ImmutableSet<I> idsWith(Object value) {
+        Set<I> result = ids.get(value);
+        return result == null
+               ? ImmutableSet.of()
+               : ImmutableSet.copyOf(result);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.storage.log;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Message;
+import io.spine.query.ColumnName;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.spine.protobuf.AnyPacker.pack;
+import static io.spine.protobuf.AnyPacker.unpack;
+import static io.spine.util.Exceptions.newIllegalArgumentException;
+import static io.spine.util.Exceptions.newIllegalStateException;
+
+/**
+ * Converts the values of the record columns to and from their stored form.
+ *
+ * <p>Supports the column types listed in {@link io.spine.server.storage.AbstractColumnMapping
+ * AbstractColumnMapping} and the {@code Message}-typed columns.
+ */
+final class ColumnValues {
+
+    /**
+     * Prevents the utility class instantiation.
+     */
+    private ColumnValues() {
+    }
+
+    /**
+     * Converts the column values into their stored form.
+     */
+    static Map<String, ColumnValue> toStored(Map<ColumnName, @Nullable Object> values) {
+        Map<String, ColumnValue> result = new HashMap<>(values.size());
+        for (Map.Entry<ColumnName, @Nullable Object> entry : values.entrySet()) {
+            ColumnName column = entry.getKey();
+            result.put(column.value(), toStored(column, entry.getValue()));
+        }
+        return result;
+    }
+
+    @SuppressWarnings({"ChainOfInstanceofChecks", "OverlyComplexMethod"})
+        // Dispatching over the supported column types.
+    private static ColumnValue toStored(ColumnName column, @Nullable Object value) {
+        ColumnValue.Builder result = ColumnValue.newBuilder();
+        if (value == null) {
+            result.setNullValue(true);
+        } else if (value instanceof Boolean) {
+            result.setBoolValue((Boolean) value);
+        } else if (value instanceof Integer) {
+            result.setIntValue((Integer) value);
+        } else if (value instanceof Long) {
+            result.setLongValue((Long) value);
+        } else if (value instanceof Float) {
+            result.setFloatValue((Float) value);
+        } else if (value instanceof Double) {
+            result.setDoubleValue((Double) value);
+        } else if (value instanceof String) {
+            result.setStringValue((String) value);
+        } else if (value instanceof ByteString) {
+            result.setBytesValue((ByteString) value);
+        } else if (value instanceof Enum) {
+            Enum<?> enumValue = (Enum<?>) value;
+            EnumValue stored = EnumValue
+                    .newBuilder()
+                    .setType(enumValue.getDeclaringClass()
+                                      .getName())
+                    .setName(enumValue.name())
+                    .build();
+            result.setEnumValue(stored);
+        } else if (value instanceof Message) {
+            result.setMessageValue(pack((Message) value));
+        } else {
+            throw newIllegalArgumentException(
+                    "The value of the column `%s` has an unsupported type `%s`.",
+                    column, value.getClass()
+                                 .getName());
+        }
+        return result.build();
+    }
+
+    /**
+     * Restores the column values from their stored form.
+     */
+    static Map<ColumnName, @Nullable Object> fromStored(Map<String, ColumnValue> stored) {
+        Map<ColumnName, @Nullable Object> result = new HashMap<>(stored.size());
+        for (Map.Entry<String, ColumnValue> entry : stored.entrySet()) {
+            result.put(ColumnName.of(entry.getKey()), fromStored(entry.getValue()));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("OverlyComplexMethod") // Dispatching over the supported column types.
+    private static @Nullable Object fromStored(ColumnValue value) {
+        switch (value.getKindCase()) {
+            case BOOL_VALUE:
+                return value.getBoolValue();
+            case INT_VALUE:
+                return value.getIntValue();
+            case LONG_VALUE:
+                return value.getLongValue();
+            case FLOAT_VALUE:
+                return value.getFloatValue();
+            case DOUBLE_VALUE:
+                return value.getDoubleValue();
+            case STRING_VALUE:
+                return value.getStringValue();
+            case BYTES_VALUE:
+                return value.getBytesValue();
+            case ENUM_VALUE:
+                return toEnum(value.getEnumValue());
+            case MESSAGE_VALUE:
+                return unpack(value.getMessageValue());
+            case NULL_VALUE:
+            case KIND_NOT_SET:
+            default:
+                return null;
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"}) // The enum class is checked by `isEnum()`.
+    private static Enum<?> toEnum(EnumValue value) {
+        String type = value.getType();
+        try {
+            Class<?> enumClass = Class.forName(type);
+            if (!enumClass.isEnum()) {
+                throw newIllegalStateException("The column type `%s` is not an enum.", type);
+            }
+            return Enum.valueOf((Class<? extends Enum>) enumClass, value.getName());
+        } catch (ClassNotFoundException e) {
+            throw newIllegalStateException(e, "Unable to find the enum type `%s`.", type);
+        }
+    }
+}
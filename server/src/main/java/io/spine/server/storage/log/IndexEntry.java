@@ -0,0 +1,118 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.storage.log;
+
+import com.google.protobuf.Message;
+import io.spine.query.ColumnName;
+import io.spine.server.storage.RecordWithColumns;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Map;
+
+/**
+ * An entry of the in-memory index of a {@link RecordLog}.
+ *
+ * <p>Holds the record ID and column values, which allows to match and sort the records
+ * without reading them, and the location of the serialized record in the log.
+ *
+ * <p>The {@linkplain #record() record} of an index entry is a default instance of the record
+ * type. The actual record is {@linkplain RecordLog#read(IndexEntry) read} from the log.
+ *
+ * @param <I>
+ *         the type of the record identifiers
+ * @param <R>
+ *         the type of the records
+ */
+final class IndexEntry<I, R extends Message> extends RecordWithColumns<I, R> {
+
+    private final Segment segment;
+    private final int offset;
+    private final int size;
+    private final int recordOffset;
+    private final int recordLength;
+
+    @SuppressWarnings("ConstructorWithTooManyParameters") // The location of the entry is flat.
+    IndexEntry(I id,
+               R defaultRecord,
+               Map<ColumnName, @Nullable Object> columns,
+               Segment segment,
+               int offset,
+               int size,
+               int recordOffset,
+               int recordLength) {
+        super(id, defaultRecord, columns);
+        this.segment = segment;
+        this.offset = offset;
+        this.size = size;
+        this.recordOffset = recordOffset;
+        this.recordLength = recordLength;
+    }
+
+    /**
+     * Creates a copy of this entry located in another segment.
+     */
+    IndexEntry<I, R> movedTo(Segment segment, int offset) {
+        int shift = offset - this.offset;
+        return new IndexEntry<>(id(), record(), storageFields(),
+                                segment, offset, size, recordOffset + shift, recordLength);
+    }
+
+    /**
+     * Obtains the segment which holds the entry.
+     */
+    Segment segment() {
+        return segment;
+    }
+
+    /**
+     * Obtains the offset of the entry in the segment.
+     */
+    int offset() {
+        return offset;
+    }
+
+    /**
+     * Obtains the total size of the entry in the segment.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Obtains the offset of the serialized record in the segment.
+     */
+    int recordOffset() {
+        return recordOffset;
+    }
+
+    /**
+     * Obtains the length of the serialized record.
+     */
+    int recordLength() {
+        return recordLength;
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.storage.log;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.protobuf.FieldMask;
+import com.google.protobuf.Message;
+import io.spine.core.TenantId;
+import io.spine.query.ColumnName;
+import io.spine.query.QueryPredicate;
+import io.spine.query.RecordQuery;
+import io.spine.query.SortBy;
+import io.spine.query.Subject;
+import io.spine.query.SubjectParameter;
+import io.spine.server.ContextSpec;
+import io.spine.server.storage.RecordSpec;
+import io.spine.server.storage.RecordStorage;
+import io.spine.server.storage.RecordWithColumns;
+import io.spine.server.storage.memory.FieldMaskApplier;
+import io.spine.server.storage.memory.RecordQueryMatcher;
+import io.spine.server.tenant.TenantFunction;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.query.ComparisonOperator.EQUALS;
+import static io.spine.query.LogicalOperator.AND;
+import static io.spine.server.storage.memory.RecordComparator.accordingTo;
+
+/**
+ * A {@link RecordStorage} which keeps the records in the {@linkplain RecordLog append-only log}
+ * on the local file system.
+ *
+ * <p>The records of each tenant are stored in a separate log.
+ *
+ * <p>The queries are matched and sorted against the column values held in memory. Only
+ * the matching records are read from the log.
+ *
+ * <p>Once a column of the {@linkplain RecordSpec record specification} is queried for
+ * an exact value, the log starts {@linkplain RecordLog#indexColumn indexing} the records by
+ * this column. The following queries with such a condition check only the records having
+ * the queried value.
+ *
+ * @param <I>
+ *         the type of the record identifiers
+ * @param <R>
+ *         the type of the stored records
+ */
+public class LogRecordStorage<I, R extends Message> extends RecordStorage<I, R> {
+
+    private final LogStorageFactory factory;
+    private final Path directory;
+    private final ConcurrentMap<TenantId, RecordLog<I, R>> logs = new ConcurrentHashMap<>();
+
+    LogRecordStorage(ContextSpec context,
+                     RecordSpec<I, R, ?> recordSpec,
+                     LogStorageFactory factory,
+                     Path directory) {
+        super(context, recordSpec);
+        this.factory = checkNotNull(factory);
+        this.directory = checkNotNull(directory);
+    }
+
+    /**
+     * Obtains the log of the current tenant.
+     */
+    private RecordLog<I, R> log() {
+        TenantFunction<RecordLog<I, R>> func =
+                new TenantFunction<RecordLog<I, R>>(isMultitenant()) {
+                    @Override
+                    public RecordLog<I, R> apply(@Nullable TenantId tenant) {
+                        checkNotNull(tenant);
+                        return logOf(tenant);
+                    }
+                };
+        RecordLog<I, R> result = func.execute();
+        checkNotNull(result, "The log of the current tenant is null.");
+        return result;
+    }
+
+    private RecordLog<I, R> logOf(TenantId tenant) {
+        RecordLog<I, R> log = logs.get(tenant);
+        if (log == null) {
+            log = logs.computeIfAbsent(tenant, this::openLog);
+        }
+        return log;
+    }
+
+    private RecordLog<I, R> openLog(TenantId tenant) {
+        Path tenantDirectory = directory.resolve(LogStorageFactory.directoryOf(tenant));
+        return factory.openLog(tenantDirectory, recordSpec().recordType(), idOrder());
+    }
+
+    @Override
+    public Iterator<I> index() {
+        checkNotClosed();
+        return log().ids()
+                    .iterator();
+    }
+
+    @Override
+    protected Iterator<I> index(RecordQuery<I, R> query) {
+        return find(log(), query).map(IndexEntry::id)
+                                 .iterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Seeks the page in the {@linkplain RecordLog#idsAfter(Object) sorted identifiers} of
+     * the log and checks the following records until the page is filled. If the query
+     * restricts the IDs, only these IDs are checked.
+     *
+     * <p>The queries which specify sorting or a limit are paged by
+     * {@linkplain RecordStorage#indexPage(RecordQuery, Object, int) scanning} their results.
+     */
+    @Override
+    protected Iterator<I> indexPage(RecordQuery<I, R> query, @Nullable I after, int limit) {
+        if (!query.sorting().isEmpty() || isLimited(query)) {
+            return super.indexPage(query, after, limit);
+        }
+        checkNotClosed();
+        checkArgument(limit > 0, "The page limit must be positive.");
+        RecordLog<I, R> log = log();
+        Subject<I, R> subject = query.subject();
+        ImmutableSet<I> requested = subject.id()
+                                           .values();
+        Iterable<I> ids = log.idsAfter(after);
+        if (!requested.isEmpty()) {
+            TreeSet<I> sorted = new TreeSet<>(idOrder());
+            sorted.addAll(requested);
+            ids = after == null ? sorted : sorted.tailSet(after, false);
+        }
+        RecordQueryMatcher<I, R> matcher = new RecordQueryMatcher<>(subject);
+        List<I> page = new ArrayList<>(limit);
+        for (Iterator<I> iterator = ids.iterator(); iterator.hasNext() && page.size() < limit; ) {
+            I id = iterator.next();
+            Optional<IndexEntry<I, R>> entry = log.find(id);
+            if (entry.isPresent() && matcher.test(entry.get())) {
+                page.add(id);
+            }
+        }
+        return page.iterator();
+    }
+
+    private static boolean isLimited(RecordQuery<?, ?> query) {
+        Integer limit = query.limit();
+        return limit != null && limit > 0;
+    }
+
+    @Override
+    public void write(I id, R record) {
+        writeRecord(RecordWithColumns.of(id, record));
+    }
+
+    @Override
+    protected void writeRecord(RecordWithColumns<I, R> record) {
+        log().write(record);
+    }
+
+    @Override
+    protected void writeAllRecords(Iterable<? extends RecordWithColumns<I, R>> records) {
+        log().writeAll(records);
+    }
+
+    @Override
+    protected Iterator<R> readAllRecords(RecordQuery<I, R> query) {
+        RecordLog<I, R> log = log();
+        FieldMask mask = query.mask();
+        Iterator<R> records = find(log, query)
+                .map(log::read)
+                .map(new FieldMaskApplier<R>(mask))
+                .iterator();
+        return records;
+    }
+
+    @Override
+    protected boolean deleteRecord(I id) {
+        return log().delete(id);
+    }
+
+    /**
+     * Finds the index entries of the records matching the query.
+     *
+     * <p>If the query is restricted by IDs, the entries are looked up in the index by these
+     * IDs. Otherwise, if the query requires some columns to have exact values, the entries
+     * are looked up by the indexed column values. Otherwise, all the entries are checked.
+     */
+    private Stream<IndexEntry<I, R>> find(RecordLog<I, R> log, RecordQuery<I, R> query) {
+        Subject<I, R> subject = query.subject();
+        Stream<IndexEntry<I, R>> candidates =
+                candidateIds(log, subject)
+                        .map(ids -> ids.stream()
+                                       .map(log::find)
+                                       .filter(Optional::isPresent)
+                                       .map(Optional::get))
+                        .orElseGet(() -> log.entries()
+                                            .stream());
+        RecordQueryMatcher<I, R> matcher = new RecordQueryMatcher<>(subject);
+        Stream<IndexEntry<I, R>> result = candidates.filter(matcher);
+        ImmutableList<SortBy<?, R>> sorting = query.sorting();
+        if (!sorting.isEmpty()) {
+            Comparator<RecordWithColumns<I, R>> comparator = accordingTo(sorting);
+            result = result.sorted(comparator);
+        }
+        Integer limit = query.limit();
+        if (limit != null && limit > 0) {
+            result = result.limit(limit);
+        }
+        return result;
+    }
+
+    /**
+     * Obtains the IDs of the records which may match the query subject.
+     *
+     * <p>If the subject restricts the IDs, they are returned. Otherwise, the IDs are looked up
+     * by the value of a column, which the subject requires to be equal to this value.
+     * If there are several such columns, the one with the fewest records is used.
+     *
+     * @return the IDs of the candidate records, or {@code Optional.empty()} if all the records
+     *         should be checked
+     */
+    private Optional<ImmutableSet<I>> candidateIds(RecordLog<I, R> log, Subject<I, R> subject) {
+        ImmutableSet<I> ids = subject.id()
+                                     .values();
+        if (!ids.isEmpty()) {
+            return Optional.of(ids);
+        }
+        @Nullable SubjectParameter<R, ?, ?> selective = null;
+        int fewest = log.size();
+        for (QueryPredicate<R> predicate : subject.predicates()) {
+            if (predicate.operator() != AND) {
+                continue;
+            }
+            for (SubjectParameter<R, ?, ?> param : predicate.parameters()) {
+                if (param.operator() != EQUALS || !isSpecified(param)) {
+                    continue;
+                }
+                ColumnName column = param.column()
+                                         .name();
+                log.indexColumn(column);
+                int count = log.countWith(column, param.value());
+                if (count < fewest) {
+                    fewest = count;
+                    selective = param;
+                }
+            }
+        }
+        if (selective == null) {
+            return Optional.empty();
+        }
+        ColumnName column = selective.column()
+                                     .name();
+        return Optional.of(log.idsWith(column, selective.value()));
+    }
+
+    private boolean isSpecified(SubjectParameter<R, ?, ?> param) {
+        ColumnName column = param.column()
+                                 .name();
+        return recordSpec().findColumn(column)
+                           .isPresent();
+    }
+}
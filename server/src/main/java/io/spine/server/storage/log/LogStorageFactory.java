@@ -0,0 +1,329 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.storage.log;
+
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.google.protobuf.Duration;
+import com.google.protobuf.Message;
+import com.google.protobuf.util.Durations;
+import io.spine.base.EntityState;
+import io.spine.core.TenantId;
+import io.spine.logging.Logging;
+import io.spine.server.ContextSpec;
+import io.spine.server.aggregate.Aggregate;
+import io.spine.server.aggregate.AggregateStorage;
+import io.spine.server.entity.storage.EntityRecordSpec;
+import io.spine.server.storage.RecordSpec;
+import io.spine.server.storage.StorageFactory;
+
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.regex.Pattern;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * A factory of the storages which persist the records in append-only logs on the local
+ * file system.
+ *
+ * <p>Each {@link io.spine.server.storage.RecordStorage RecordStorage} keeps its records in
+ * a separate directory:
+ * <pre>
+ *     {root directory}/{context name}/{record type or entity class}/{tenant}/segment-*.log
+ * </pre>
+ * The storages of the same record type in the same Bounded Context share the log. The storages
+ * of an {@link Aggregate} are additionally placed into the directory named after
+ * the aggregate class, so that the events of different aggregate types are not mixed.
+ *
+ * <p>The log files are mapped into memory. The records are written into the mapped files and
+ * parsed from them without intermediate copies. The IDs, the column values and the locations
+ * of the records are kept in memory, so the whole index of a storage is read from the files
+ * when the storage is first accessed.
+ *
+ * <p>The logs are periodically compacted in background, once the share of the outdated
+ * entries in a log reaches the configured threshold.
+ *
+ * <p>The factory is intended for single-node deployments, local development, and benchmarks.
+ * A directory must not be used by more than one factory at a time.
+ */
+public final class LogStorageFactory implements StorageFactory, Logging {
+
+    private static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final double DEFAULT_COMPACTION_THRESHOLD = 0.5;
+    private static final Duration DEFAULT_COMPACTION_INTERVAL = Durations.fromSeconds(30);
+    private static final Pattern UNSAFE_CHARS = Pattern.compile("[^A-Za-z0-9._$-]");
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean syncWrites;
+    private final double compactionThreshold;
+    private final ConcurrentMap<Path, RecordLog<?, ?>> logs = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService compactor;
+
+    private LogStorageFactory(Builder builder) {
+        this.directory = builder.directory.toAbsolutePath();
+        this.segmentSize = builder.segmentSize;
+        this.syncWrites = builder.syncWrites;
+        this.compactionThreshold = builder.compactionThreshold;
+        this.compactor = newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("log-storage-compaction-%d")
+                                          .setDaemon(true)
+                                          .build()
+        );
+        long intervalMillis = Durations.toMillis(builder.compactionInterval);
+        compactor.scheduleWithFixedDelay(this::compactDue,
+                                         intervalMillis, intervalMillis, MILLISECONDS);
+    }
+
+    /**
+     * Creates a new builder of the factory storing the data in the given directory.
+     */
+    public static Builder newBuilder(Path directory) {
+        checkNotNull(directory);
+        return new Builder(directory);
+    }
+
+    @Override
+    public <I, R extends Message> LogRecordStorage<I, R>
+    createRecordStorage(ContextSpec context, RecordSpec<I, R, ?> recordSpec) {
+        return createRecordStorage(context, recordSpec, contextDirectory(context));
+    }
+
+    private <I, R extends Message> LogRecordStorage<I, R>
+    createRecordStorage(ContextSpec context, RecordSpec<I, R, ?> recordSpec, Path parent) {
+        checkNotNull(context);
+        checkNotNull(recordSpec);
+        checkOpen();
+        Path storageDirectory = parent.resolve(storageName(recordSpec));
+        return new LogRecordStorage<>(context, recordSpec, this, storageDirectory);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Places the storages of the aggregate into the directory named after
+     * the aggregate class.
+     */
+    @Override
+    public <I, S extends EntityState<I>> AggregateStorage<I, S>
+    createAggregateStorage(ContextSpec context,
+                           Class<? extends Aggregate<I, S, ?>> aggregateCls) {
+        checkNotNull(aggregateCls);
+        Path aggregateDirectory = contextDirectory(context)
+                .resolve(safeName(aggregateCls.getName()));
+        StorageFactory scoped = new ScopedFactory(this, aggregateDirectory);
+        return new AggregateStorage<>(context, aggregateCls, scoped);
+    }
+
+    private Path contextDirectory(ContextSpec context) {
+        String name = context.name()
+                             .getValue();
+        return directory.resolve(safeName(name));
+    }
+
+    private static String storageName(RecordSpec<?, ?, ?> recordSpec) {
+        String name = recordSpec instanceof EntityRecordSpec
+                      ? ((EntityRecordSpec<?, ?, ?>) recordSpec).entityClass()
+                                                                .value()
+                                                                .getName()
+                      : recordSpec.recordType()
+                                  .getName();
+        return safeName(name);
+    }
+
+    private static String safeName(String name) {
+        return UNSAFE_CHARS.matcher(name)
+                           .replaceAll("_");
+    }
+
+    /**
+     * Obtains the name of the directory storing the data of the given tenant.
+     */
+    static String directoryOf(TenantId tenant) {
+        String hash = Hashing.murmur3_128()
+                             .hashBytes(tenant.toByteArray())
+                             .toString();
+        return "tenant-" + hash;
+    }
+
+    /**
+     * Opens the log in the given directory, or returns the log already opened by
+     * another storage.
+     */
+    @SuppressWarnings("unchecked") // The logs in a directory store the records of the same type.
+    <I, R extends Message> RecordLog<I, R>
+    openLog(Path logDirectory, Class<R> recordType, Comparator<I> idOrder) {
+        checkOpen();
+        return (RecordLog<I, R>) logs.computeIfAbsent(
+                logDirectory,
+                dir -> RecordLog.open(dir, recordType, idOrder, segmentSize, syncWrites)
+        );
+    }
+
+    private void compactDue() {
+        for (RecordLog<?, ?> log : logs.values()) {
+            try {
+                log.compactIfNeeded(compactionThreshold);
+            } catch (RuntimeException e) {
+                _error().withCause(e)
+                        .log("Unable to compact the log `%s`.", log.directory());
+            }
+        }
+    }
+
+    private void checkOpen() {
+        checkState(isOpen(), "The storage factory is closed.");
+    }
+
+    /**
+     * Tells if the factory is open.
+     */
+    public boolean isOpen() {
+        return !compactor.isShutdown();
+    }
+
+    /**
+     * Stops the compaction and flushes all the logs to the storage device.
+     */
+    @Override
+    public void close() {
+        compactor.shutdown();
+        logs.values()
+            .forEach(RecordLog::close);
+        logs.clear();
+    }
+
+    /**
+     * A view of the factory which places the record storages into the given directory.
+     */
+    private static final class ScopedFactory implements StorageFactory {
+
+        private final LogStorageFactory origin;
+        private final Path directory;
+
+        private ScopedFactory(LogStorageFactory origin, Path directory) {
+            this.origin = origin;
+            this.directory = directory;
+        }
+
+        @Override
+        public <I, R extends Message> LogRecordStorage<I, R>
+        createRecordStorage(ContextSpec context, RecordSpec<I, R, ?> recordSpec) {
+            return origin.createRecordStorage(context, recordSpec, directory);
+        }
+
+        @Override
+        public void close() {
+            // The logs are owned by the origin factory.
+        }
+    }
+
+    /**
+     * A builder of {@code LogStorageFactory}.
+     */
+    public static final class Builder {
+
+        private final Path directory;
+        private int segmentSize = DEFAULT_SEGMENT_SIZE;
+        private boolean syncWrites;
+        private double compactionThreshold = DEFAULT_COMPACTION_THRESHOLD;
+        private Duration compactionInterval = DEFAULT_COMPACTION_INTERVAL;
+
+        private Builder(Path directory) {
+            this.directory = directory;
+        }
+
+        /**
+         * Sets the size of the log segment files in bytes.
+         *
+         * <p>A record larger than the segment size is written into a segment of its own.
+         *
+         * <p>If not set, 64 MiB segments are used.
+         */
+        @CanIgnoreReturnValue
+        public Builder setSegmentSize(int segmentSize) {
+            checkArgument(segmentSize > 0, "The segment size must be positive.");
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        /**
+         * Makes the storages flush each write to the storage device before returning.
+         *
+         * <p>Otherwise, the written records survive a crash of the process, but may be lost
+         * in case of an operating system failure.
+         */
+        @CanIgnoreReturnValue
+        public Builder syncWrites() {
+            this.syncWrites = true;
+            return this;
+        }
+
+        /**
+         * Sets the share of the outdated entries in a log which triggers its compaction.
+         *
+         * <p>If not set, a log is compacted when half of it is outdated.
+         */
+        @CanIgnoreReturnValue
+        public Builder setCompactionThreshold(double compactionThreshold) {
+            checkArgument(compactionThreshold > 0 && compactionThreshold <= 1,
+                          "The compaction threshold must be in `(0, 1]`.");
+            this.compactionThreshold = compactionThreshold;
+            return this;
+        }
+
+        /**
+         * Sets how often the logs are checked for compaction.
+         *
+         * <p>If not set, the logs are checked every 30 seconds.
+         */
+        @CanIgnoreReturnValue
+        public Builder setCompactionInterval(Duration compactionInterval) {
+            checkNotNull(compactionInterval);
+            checkArgument(Durations.toMillis(compactionInterval) > 0,
+                          "The compaction interval must be positive.");
+            this.compactionInterval = compactionInterval;
+            return this;
+        }
+
+        /**
+         * Creates a new instance of the factory.
+         */
+        public LogStorageFactory build() {
+            return new LogStorageFactory(this);
+        }
+    }
+}
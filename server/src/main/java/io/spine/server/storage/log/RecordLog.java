@@ -0,0 +1,538 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.storage.log;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.protobuf.Message;
+import com.google.protobuf.Parser;
+import io.spine.base.Identifier;
+import io.spine.logging.Logging;
+import io.spine.query.ColumnName;
+import io.spine.server.storage.RecordWithColumns;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+import static com.google.common.base.Preconditions.checkState;
+import static io.spine.protobuf.Messages.defaultInstance;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static java.util.Collections.unmodifiableCollection;
+import static java.util.Collections.unmodifiableNavigableSet;
+
+/**
+ * An append-only log of the records stored in a directory.
+ *
+ * <p>The records are appended to the {@linkplain Segment segments} of the log. Updating
+ * a record appends its new version, deleting a record appends a tombstone. The latest
+ * location of each record is kept in an in-memory hash index along with the values of
+ * the record columns, so that the queries are matched without reading the records.
+ * The index is rebuilt by reading all the segments when the log is opened.
+ *
+ * <p>The identifiers of the records are also kept sorted, so that the records are
+ * {@linkplain #idsAfter(Object) paged} without checking the preceding ones.
+ *
+ * <p>The records may also be {@linkplain #indexColumn(ColumnName) indexed} by the values of
+ * their columns, so that the queries by the column values do not check every record.
+ *
+ * <p>The outdated versions of the records are removed by {@linkplain #compact() compaction},
+ * which copies the live records into new segments and deletes the old ones.
+ *
+ * <p>The writes and the compaction are serialized. The reads do not lock.
+ *
+ * @param <I>
+ *         the type of the record identifiers
+ * @param <R>
+ *         the type of the records
+ */
+final class RecordLog<I, R extends Message> implements Logging {
+
+    private final Path directory;
+    private final R defaultRecord;
+    private final Parser<? extends Message> parser;
+    private final int segmentSize;
+    private final boolean syncWrites;
+
+    private final ConcurrentMap<I, IndexEntry<I, R>> index = new ConcurrentHashMap<>();
+
+    /**
+     * The identifiers of the indexed records in the order of paging.
+     *
+     * <p>Modified under the lock of {@code this} along with the {@code index}.
+     */
+    private final NavigableSet<I> sortedIds;
+
+    /**
+     * The indexes of the records by the values of the queried columns.
+     *
+     * <p>Modified under the lock of {@code this}.
+     */
+    private final ConcurrentMap<ColumnName, ColumnIndex<I>> columnIndexes =
+            new ConcurrentHashMap<>();
+
+    /**
+     * The segments of the log ordered by their sequence numbers.
+     *
+     * <p>Guarded by {@code this}.
+     */
+    private final List<Segment> segments = new ArrayList<>();
+
+    /**
+     * The total size of all entries in the segments.
+     *
+     * <p>Guarded by {@code this}.
+     */
+    private long totalBytes;
+
+    /**
+     * The total size of the entries referenced by the index.
+     *
+     * <p>Guarded by {@code this}.
+     */
+    private long liveBytes;
+
+    /**
+     * Guarded by {@code this}.
+     */
+    private boolean closed;
+
+    private RecordLog(Path directory,
+                      Class<R> recordType,
+                      Comparator<I> idOrder,
+                      int segmentSize,
+                      boolean syncWrites) {
+        this.directory = directory;
+        this.sortedIds = new ConcurrentSkipListSet<>(idOrder);
+        this.defaultRecord = defaultInstance(recordType);
+        this.parser = defaultRecord.getParserForType();
+        this.segmentSize = segmentSize;
+        this.syncWrites = syncWrites;
+    }
+
+    /**
+     * Opens the log stored in the given directory, creating the directory if needed.
+     *
+     * @param directory
+     *         the directory of the log
+     * @param recordType
+     *         the type of the stored records
+     * @param idOrder
+     *         the order in which the record identifiers are {@linkplain #idsAfter(Object) paged}
+     * @param segmentSize
+     *         the size of the newly created segments in bytes
+     * @param syncWrites
+     *         whether each write should be flushed to the storage device
+     */
+    static <I, R extends Message> RecordLog<I, R>
+    open(Path directory,
+         Class<R> recordType,
+         Comparator<I> idOrder,
+         int segmentSize,
+         boolean syncWrites) {
+        RecordLog<I, R> log =
+                new RecordLog<>(directory, recordType, idOrder, segmentSize, syncWrites);
+        log.recover();
+        return log;
+    }
+
+    private synchronized void recover() {
+        try {
+            Files.createDirectories(directory);
+            ImmutableList<Path> files = segmentFiles();
+            for (Path file : files) {
+                Segment segment = Segment.open(file, sequenceOf(file));
+                segment.recover((header, offset, size, recordOffset, recordLength) -> {
+                    totalBytes += size;
+                    restore(header, segment, offset, size, recordOffset, recordLength);
+                });
+                segments.add(segment);
+            }
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+        if (segments.isEmpty()) {
+            segments.add(Segment.create(directory, 0, segmentSize));
+        }
+    }
+
+    private ImmutableList<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> Segment.sequenceOf(file)
+                                               .isPresent())
+                        .sorted(Comparator.comparingLong(RecordLog::sequenceOf))
+                        .collect(ImmutableList.toImmutableList());
+        }
+    }
+
+    private static long sequenceOf(Path segmentFile) {
+        return Segment.sequenceOf(segmentFile)
+                      .orElseThrow(IllegalStateException::new);
+    }
+
+    @SuppressWarnings("unchecked") // Only the IDs of type `I` are written to the log.
+    private void restore(LogEntryHeader header,
+                         Segment segment,
+                         int offset,
+                         int size,
+                         int recordOffset,
+                         int recordLength) {
+        I id = (I) Identifier.unpack(header.getId());
+        if (header.getTombstone()) {
+            forget(id);
+            return;
+        }
+        Map<ColumnName, @Nullable Object> columns = ColumnValues.fromStored(header.getColumnMap());
+        IndexEntry<I, R> entry = new IndexEntry<>(id, defaultRecord, columns, segment,
+                                                  offset, size, recordOffset, recordLength);
+        remember(entry);
+    }
+
+    /**
+     * Appends the record to the log.
+     */
+    synchronized void write(RecordWithColumns<I, R> record) {
+        append(record);
+        syncIfNeeded();
+    }
+
+    /**
+     * Appends the records to the log.
+     *
+     * <p>If the writes are synchronized with the storage device, the whole batch is flushed
+     * at once.
+     */
+    synchronized void writeAll(Iterable<? extends RecordWithColumns<I, R>> records) {
+        for (RecordWithColumns<I, R> record : records) {
+            append(record);
+        }
+        syncIfNeeded();
+    }
+
+    private void append(RecordWithColumns<I, R> record) {
+        checkNotClosed();
+        I id = record.id();
+        Map<ColumnName, @Nullable Object> columns = columnsOf(record);
+        LogEntryHeader header = LogEntryHeader
+                .newBuilder()
+                .setId(Identifier.pack(id))
+                .putAllColumn(ColumnValues.toStored(columns))
+                .build();
+        R message = record.record();
+        int headerLength = header.getSerializedSize();
+        int bodyLength = Integer.BYTES + headerLength + message.getSerializedSize();
+        int size = Segment.entrySize(bodyLength);
+        Segment segment = segmentFor(size);
+        int offset = segment.append(header, message);
+        int recordOffset = offset + Segment.ENTRY_OVERHEAD + headerLength;
+        int recordLength = bodyLength - Integer.BYTES - headerLength;
+        totalBytes += size;
+        remember(new IndexEntry<>(id, defaultRecord, columns, segment,
+                                  offset, size, recordOffset, recordLength));
+    }
+
+    private static <I, R extends Message> Map<ColumnName, @Nullable Object>
+    columnsOf(RecordWithColumns<I, R> record) {
+        Map<ColumnName, @Nullable Object> result = new HashMap<>();
+        for (ColumnName column : record.columnNames()) {
+            result.put(column, record.columnValue(column));
+        }
+        return result;
+    }
+
+    /**
+     * Appends a tombstone of the record with the given ID.
+     *
+     * @return {@code true} if the record was present in the log, {@code false} otherwise
+     */
+    synchronized boolean delete(I id) {
+        checkNotClosed();
+        if (!index.containsKey(id)) {
+            return false;
+        }
+        LogEntryHeader tombstone = LogEntryHeader
+                .newBuilder()
+                .setId(Identifier.pack(id))
+                .setTombstone(true)
+                .build();
+        int size = Segment.entrySize(Integer.BYTES + tombstone.getSerializedSize());
+        segmentFor(size).append(tombstone, null);
+        totalBytes += size;
+        forget(id);
+        syncIfNeeded();
+        return true;
+    }
+
+    private void remember(IndexEntry<I, R> entry) {
+        IndexEntry<I, R> previous = index.put(entry.id(), entry);
+        liveBytes += entry.size();
+        if (previous != null) {
+            liveBytes -= previous.size();
+        } else {
+            sortedIds.add(entry.id());
+        }
+        for (ColumnIndex<I> columnIndex : columnIndexes.values()) {
+            if (previous != null) {
+                columnIndex.remove(previous);
+            }
+            columnIndex.add(entry);
+        }
+    }
+
+    private void forget(I id) {
+        IndexEntry<I, R> removed = index.remove(id);
+        if (removed != null) {
+            sortedIds.remove(id);
+            liveBytes -= removed.size();
+            columnIndexes.values()
+                         .forEach(columnIndex -> columnIndex.remove(removed));
+        }
+    }
+
+    /**
+     * Starts indexing the records by the values of the given column.
+     *
+     * <p>The index is built from the records present in the log, and then kept up to date
+     * with the writes. Does nothing if the column is indexed already.
+     */
+    void indexColumn(ColumnName column) {
+        if (columnIndexes.containsKey(column)) {
+            return;
+        }
+        synchronized (this) {
+            if (columnIndexes.containsKey(column)) {
+                return;
+            }
+            ColumnIndex<I> columnIndex = new ColumnIndex<>(column);
+            index.values()
+                 .forEach(columnIndex::add);
+            columnIndexes.put(column, columnIndex);
+        }
+    }
+
+    /**
+     * Obtains the number of the records having the given value of
+     * the {@linkplain #indexColumn(ColumnName) indexed} column.
+     */
+    int countWith(ColumnName column, Object value) {
+        return columnIndex(column).countWith(value);
+    }
+
+    /**
+     * Obtains the IDs of the records having the given value of
+     * the {@linkplain #indexColumn(ColumnName) indexed} column.
+     */
+    ImmutableSet<I> idsWith(ColumnName column, Object value) {
+        return columnIndex(column).idsWith(value);
+    }
+
+    private ColumnIndex<I> columnIndex(ColumnName column) {
+        ColumnIndex<I> result = columnIndexes.get(column);
+        checkState(result != null, "The column `%s` is not indexed.", column);
+        return result;
+    }
+
+    /**
+     * Obtains the number of the records in the log.
+     */
+    int size() {
+        return index.size();
+    }
+
+    /**
+     * Obtains the segment to append the entry of the given size to.
+     *
+     * <p>If the entry does not fit into the last segment, a new segment is created. The segment
+     * is large enough for the entry even if the entry is larger than the configured
+     * segment size.
+     */
+    private Segment segmentFor(int entrySize) {
+        Segment last = activeSegment();
+        if (last.fits(entrySize)) {
+            return last;
+        }
+        if (syncWrites) {
+            last.force();
+        }
+        Segment next = Segment.create(directory, last.sequence() + 1,
+                                      Math.max(segmentSize, entrySize));
+        segments.add(next);
+        return next;
+    }
+
+    private Segment activeSegment() {
+        return segments.get(segments.size() - 1);
+    }
+
+    private void syncIfNeeded() {
+        if (syncWrites) {
+            activeSegment().force();
+        }
+    }
+
+    /**
+     * Obtains the index entry of the record with the given ID.
+     */
+    Optional<IndexEntry<I, R>> find(I id) {
+        return Optional.ofNullable(index.get(id));
+    }
+
+    /**
+     * Obtains the index entries of all the records.
+     */
+    Collection<IndexEntry<I, R>> entries() {
+        return unmodifiableCollection(index.values());
+    }
+
+    /**
+     * Obtains the IDs of all the records.
+     */
+    ImmutableList<I> ids() {
+        return ImmutableList.copyOf(index.keySet());
+    }
+
+    /**
+     * Obtains the IDs of the records following the given one, in the ascending order.
+     *
+     * <p>The returned view reflects the concurrent writes and deletions.
+     *
+     * @param after
+     *         the ID after which the returned IDs start, or {@code null} to obtain all the IDs
+     */
+    NavigableSet<I> idsAfter(@Nullable I after) {
+        NavigableSet<I> result = after == null
+                                 ? sortedIds
+                                 : sortedIds.tailSet(after, false);
+        return unmodifiableNavigableSet(result);
+    }
+
+    /**
+     * Reads the record referenced by the index entry.
+     *
+     * <p>The record is parsed straight from the mapped segment file.
+     */
+    @SuppressWarnings("unchecked") // The parser is obtained from the default record of type `R`.
+    R read(IndexEntry<I, R> entry) {
+        return (R) entry.segment()
+                        .parse(parser, entry.recordOffset(), entry.recordLength());
+    }
+
+    /**
+     * Obtains the share of the log occupied by the outdated entries.
+     */
+    synchronized double garbageRatio() {
+        if (totalBytes == 0) {
+            return 0;
+        }
+        return (double) (totalBytes - liveBytes) / totalBytes;
+    }
+
+    /**
+     * Compacts the log if the share of the outdated entries reaches the given threshold
+     * and there is more than a single segment to compact.
+     */
+    synchronized void compactIfNeeded(double threshold) {
+        if (!closed && segments.size() > 1 && garbageRatio() >= threshold) {
+            compact();
+        }
+    }
+
+    /**
+     * Copies the live entries into new segments and deletes the old segments.
+     *
+     * <p>The new segments have greater sequence numbers than the old ones. If the process stops
+     * before the old segments are deleted, the copies of the entries override the originals
+     * when the log is opened.
+     *
+     * <p>The records being read concurrently from the old segments stay accessible.
+     */
+    synchronized void compact() {
+        checkNotClosed();
+        List<Segment> oldSegments = new ArrayList<>(segments);
+        List<Segment> newSegments = new ArrayList<>();
+        Segment target = Segment.create(directory, activeSegment().sequence() + 1, segmentSize);
+        newSegments.add(target);
+        List<IndexEntry<I, R>> moved = new ArrayList<>(index.size());
+        for (IndexEntry<I, R> entry : index.values()) {
+            int size = entry.size();
+            if (!target.fits(size)) {
+                target = Segment.create(directory, target.sequence() + 1,
+                                        Math.max(segmentSize, size));
+                newSegments.add(target);
+            }
+            int offset = target.appendCopy(entry.segment(), entry.offset(), size);
+            moved.add(entry.movedTo(target, offset));
+        }
+        newSegments.forEach(Segment::force);
+        long compactedBytes = 0;
+        for (IndexEntry<I, R> entry : moved) {
+            index.put(entry.id(), entry);
+            compactedBytes += entry.size();
+        }
+        segments.clear();
+        segments.addAll(newSegments);
+        totalBytes = compactedBytes;
+        liveBytes = compactedBytes;
+        oldSegments.forEach(Segment::delete);
+        _debug().log("Compacted the log `%s` into %d segment(s).", directory, newSegments.size());
+    }
+
+    /**
+     * Flushes the log to the storage device and prevents further writes.
+     */
+    synchronized void close() {
+        if (closed) {
+            return;
+        }
+        segments.forEach(Segment::force);
+        closed = true;
+    }
+
+    private void checkNotClosed() {
+        checkState(!closed, "The log `%s` is closed.", directory);
+    }
+
+    /**
+     * Obtains the directory of the log.
+     */
+    Path directory() {
+        return directory;
+    }
+}
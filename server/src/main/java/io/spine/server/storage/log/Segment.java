@@ -0,0 +1,375 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.storage.log;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.Parser;
+import io.spine.logging.Logging;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static java.lang.String.format;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * A file of the {@link RecordLog} mapped into memory.
+ *
+ * <p>A segment is created with a fixed capacity and filled with the entries sequentially.
+ * Each entry has the following layout:
+ * <pre>
+ *     | body length: int | CRC32 of the body: int | header length: int | header | record |
+ * </pre>
+ * where the body consists of the header length, the serialized {@link LogEntryHeader} and
+ * the serialized record. The body length is written last, so a zero length marks the end of
+ * the written entries, and an entry which was not written completely fails the CRC check.
+ *
+ * <p>The entries are written and read directly in the mapped memory of the file, without
+ * intermediate copies.
+ *
+ * <p>Segments are not thread-safe for writing. The owning {@code RecordLog} appends
+ * the entries under its lock, while the written entries may be read concurrently.
+ */
+final class Segment implements Logging {
+
+    /**
+     * The number of bytes preceding the header in an entry.
+     */
+    static final int ENTRY_OVERHEAD = 3 * Integer.BYTES;
+
+    /**
+     * The number of bytes preceding the body in an entry.
+     */
+    private static final int BODY_OFFSET = 2 * Integer.BYTES;
+
+    private static final String FILE_NAME_FORMAT = "segment-%019d.log";
+    private static final Pattern FILE_NAME = Pattern.compile("segment-(\\d{19})\\.log");
+
+    private final long sequence;
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    /**
+     * The offset at which the next entry is written.
+     *
+     * <p>Guarded by the owning {@code RecordLog}.
+     */
+    private int writePosition;
+
+    private Segment(long sequence, Path file, MappedByteBuffer buffer) {
+        this.sequence = sequence;
+        this.file = file;
+        this.buffer = buffer;
+        this.capacity = buffer.capacity();
+    }
+
+    /**
+     * Creates a new empty segment file in the given directory.
+     *
+     * @param directory
+     *         the directory of the log
+     * @param sequence
+     *         the sequence number of the segment in the log
+     * @param capacity
+     *         the size of the segment file in bytes
+     */
+    static Segment create(Path directory, long sequence, int capacity) {
+        Path file = directory.resolve(format(FILE_NAME_FORMAT, sequence));
+        try (FileChannel channel = FileChannel.open(file, CREATE_NEW, READ, WRITE)) {
+            MappedByteBuffer buffer = channel.map(READ_WRITE, 0, capacity);
+            return new Segment(sequence, file, buffer);
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    /**
+     * Opens an existing segment file.
+     *
+     * <p>The returned segment does not accept new entries until it is
+     * {@linkplain #recover(EntryVisitor) recovered}.
+     */
+    static Segment open(Path file, long sequence) {
+        try (FileChannel channel = FileChannel.open(file, READ, WRITE)) {
+            long size = channel.size();
+            MappedByteBuffer buffer = channel.map(READ_WRITE, 0, size);
+            Segment segment = new Segment(sequence, file, buffer);
+            segment.writePosition = segment.capacity;
+            return segment;
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    /**
+     * Obtains the sequence number of the segment stored in the given file.
+     *
+     * @return the sequence number or {@code Optional.empty()} if the file is not a segment
+     */
+    static Optional<Long> sequenceOf(Path file) {
+        Matcher matcher = FILE_NAME.matcher(file.getFileName()
+                                                .toString());
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(Long.parseLong(matcher.group(1)));
+    }
+
+    /**
+     * Obtains the number of bytes an entry with a body of the given length takes.
+     */
+    static int entrySize(int bodyLength) {
+        return BODY_OFFSET + bodyLength;
+    }
+
+    /**
+     * Obtains the sequence number of this segment in the log.
+     */
+    long sequence() {
+        return sequence;
+    }
+
+    /**
+     * Tells if an entry of the given size fits into the remaining space of the segment.
+     */
+    boolean fits(int entrySize) {
+        return (long) writePosition + entrySize <= capacity;
+    }
+
+    /**
+     * Appends a new entry to the segment.
+     *
+     * @param header
+     *         the header of the entry
+     * @param record
+     *         the record, or {@code null} for a tombstone
+     * @return the offset of the entry in the segment
+     */
+    int append(LogEntryHeader header, @Nullable Message record) {
+        int headerLength = header.getSerializedSize();
+        int recordLength = record == null ? 0 : record.getSerializedSize();
+        int bodyLength = Integer.BYTES + headerLength + recordLength;
+        int offset = writePosition;
+        ByteBuffer target = buffer.duplicate();
+        target.putInt(offset + BODY_OFFSET, headerLength);
+        int headerOffset = offset + ENTRY_OVERHEAD;
+        writeTo(header, target, headerOffset);
+        if (record != null) {
+            writeTo(record, target, headerOffset + headerLength);
+        }
+        commit(target, offset, bodyLength);
+        return offset;
+    }
+
+    /**
+     * Appends a copy of the entry from another segment.
+     *
+     * @param source
+     *         the segment holding the entry
+     * @param sourceOffset
+     *         the offset of the entry in the source segment
+     * @param entrySize
+     *         the size of the entry
+     * @return the offset of the copied entry in this segment
+     */
+    int appendCopy(Segment source, int sourceOffset, int entrySize) {
+        int offset = writePosition;
+        ByteBuffer target = buffer.duplicate();
+        target.position(offset);
+        target.put(source.slice(sourceOffset, entrySize));
+        writePosition = offset + entrySize;
+        return offset;
+    }
+
+    private static void writeTo(Message message, ByteBuffer target, int offset) {
+        target.position(offset);
+        CodedOutputStream output = CodedOutputStream.newInstance(target);
+        try {
+            message.writeTo(output);
+            output.flush();
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    /**
+     * Writes the checksum and then the length of the entry body, making the entry visible
+     * to the recovery.
+     */
+    private void commit(ByteBuffer target, int offset, int bodyLength) {
+        int checksum = checksum(offset + BODY_OFFSET, bodyLength);
+        target.putInt(offset + Integer.BYTES, checksum);
+        target.putInt(offset, bodyLength);
+        writePosition = offset + BODY_OFFSET + bodyLength;
+    }
+
+    private int checksum(int bodyOffset, int bodyLength) {
+        CRC32 crc = new CRC32();
+        crc.update(slice(bodyOffset, bodyLength));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Parses the message stored at the given position of the segment.
+     */
+    <M extends Message> M parse(Parser<M> parser, int offset, int length) {
+        try {
+            return parser.parseFrom(slice(offset, length));
+        } catch (InvalidProtocolBufferException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    /**
+     * Obtains a read-only view of the given region of the segment.
+     */
+    private ByteBuffer slice(int offset, int length) {
+        ByteBuffer view = buffer.asReadOnlyBuffer();
+        view.position(offset);
+        view.limit(offset + length);
+        return view.slice();
+    }
+
+    /**
+     * Reads the entries of the segment and positions the segment for appending after
+     * the last valid entry.
+     *
+     * <p>If an entry is incomplete or does not match its checksum, the reading stops and
+     * the rest of the segment is cleared, so that it could be reused for new entries.
+     *
+     * @param visitor
+     *         the receiver of the entries
+     */
+    void recover(EntryVisitor visitor) {
+        int offset = 0;
+        while (offset + ENTRY_OVERHEAD <= capacity) {
+            int bodyLength = buffer.getInt(offset);
+            if (bodyLength == 0) {
+                break;
+            }
+            if (!isValid(offset, bodyLength)) {
+                _warn().log("The log segment `%s` is corrupted at the offset %d." +
+                                    " The following entries are discarded.", file, offset);
+                clearFrom(offset);
+                break;
+            }
+            int headerLength = buffer.getInt(offset + BODY_OFFSET);
+            int headerOffset = offset + ENTRY_OVERHEAD;
+            LogEntryHeader header = parse(LogEntryHeader.parser(), headerOffset, headerLength);
+            int recordOffset = headerOffset + headerLength;
+            int recordLength = bodyLength - Integer.BYTES - headerLength;
+            int entrySize = entrySize(bodyLength);
+            visitor.visit(header, offset, entrySize, recordOffset, recordLength);
+            offset += entrySize;
+        }
+        writePosition = offset;
+    }
+
+    private boolean isValid(int offset, int bodyLength) {
+        if (bodyLength < Integer.BYTES || (long) offset + BODY_OFFSET + bodyLength > capacity) {
+            return false;
+        }
+        int headerLength = buffer.getInt(offset + BODY_OFFSET);
+        if (headerLength < 0 || headerLength > bodyLength - Integer.BYTES) {
+            return false;
+        }
+        int expected = buffer.getInt(offset + Integer.BYTES);
+        return expected == checksum(offset + BODY_OFFSET, bodyLength);
+    }
+
+    private void clearFrom(int offset) {
+        for (int i = offset; i < capacity; i++) {
+            buffer.put(i, (byte) 0);
+        }
+        buffer.force();
+    }
+
+    /**
+     * Flushes the written entries to the storage device.
+     */
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * Deletes the segment file.
+     *
+     * <p>The entries already read from the segment stay accessible until the segment
+     * is garbage-collected.
+     */
+    void delete() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return file.toString();
+    }
+
+    /**
+     * A receiver of the entries read from a segment.
+     */
+    @FunctionalInterface
+    interface EntryVisitor {
+
+        /**
+         * Receives an entry of the segment.
+         *
+         * @param header
+         *         the header of the entry
+         * @param offset
+         *         the offset of the entry
+         * @param size
+         *         the total size of the entry
+         * @param recordOffset
+         *         the offset of the serialized record
+         * @param recordLength
+         *         the length of the serialized record
+         */
+        void visit(LogEntryHeader header, int offset, int size, int recordOffset, int recordLength);
+    }
+}
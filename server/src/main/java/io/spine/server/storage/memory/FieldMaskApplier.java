@@ -0,0 +1,94 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.storage.memory;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.FieldMask;
+import com.google.protobuf.Message;
+import io.spine.annotation.Internal;
+import io.spine.server.entity.EntityRecord;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.protobuf.AnyPacker.pack;
+import static io.spine.protobuf.AnyPacker.unpack;
+import static io.spine.server.entity.FieldMasks.applyMask;
+
+/**
+ * A {@link Function} applying the given {@link FieldMask} to the stored records.
+ *
+ * <p>If the record is an {@link EntityRecord}, the mask is applied to the entity state. The
+ * resulting {@link EntityRecord} has the same fields as the given one except the {@code state}
+ * field, which is masked.
+ *
+ * @param <R>
+ *         the type of the records
+ */
+@Internal
+public final class FieldMaskApplier<R extends Message> implements Function<R, R> {
+
+    private final FieldMask fieldMask;
+
+    /**
+     * Creates a new applier of the given mask.
+     */
+    public FieldMaskApplier(FieldMask fieldMask) {
+        this.fieldMask = checkNotNull(fieldMask);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public @Nullable R apply(@Nullable R input) {
+        if (null == input || fieldMask.getPathsList()
+                                      .isEmpty()) {
+            return input;
+        }
+        if (input instanceof EntityRecord) {
+            return (R) maskEntityRecord((EntityRecord) input);
+        }
+        return applyMask(fieldMask, input);
+    }
+
+    private EntityRecord maskEntityRecord(EntityRecord input) {
+        checkNotNull(input);
+        Any maskedState = maskAny(input.getState());
+        EntityRecord result = EntityRecord
+                .newBuilder(input)
+                .setState(maskedState)
+                .build();
+        return result;
+    }
+
+    private Any maskAny(Any message) {
+        Message stateMessage = unpack(message);
+        Message maskedMessage = applyMask(fieldMask, stateMessage);
+        Any result = pack(maskedMessage);
+        return result;
+    }
+}
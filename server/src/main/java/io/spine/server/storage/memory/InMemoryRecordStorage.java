@@ -27,13 +27,20 @@
 package io.spine.server.storage.memory;
 
 import com.google.protobuf.Message;
+import io.spine.core.TenantId;
 import io.spine.query.RecordQuery;
 import io.spine.server.ContextSpec;
 import io.spine.server.storage.RecordSpec;
 import io.spine.server.storage.RecordStorage;
 import io.spine.server.storage.RecordWithColumns;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Iterator;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
 
 /**
  * An in-memory implementation of {@link RecordStorage}.
@@ -47,29 +54,88 @@ public class InMemoryRecordStorage<I, R extends Message> extends RecordStorage<I
 
     private final MultitenantStorage<TenantRecords<I, R>> multitenantStorage;
 
+    /** Cancels the periodic eviction of the tenant slices, or {@code null} if none. */
+    private final @Nullable ScheduledFuture<?> eviction;
+
     InMemoryRecordStorage(ContextSpec context, RecordSpec<I, R, ?> recordSpec) {
         super(context, recordSpec);
         this.multitenantStorage =
                 new MultitenantStorage<TenantRecords<I, R>>(context.isMultitenant()) {
                     @Override
                     TenantRecords<I, R> createSlice() {
-                        return new TenantRecords<>();
+                        return new TenantRecords<>(idOrder());
                     }
                 };
+        this.eviction = null;
     }
 
-    private TenantRecords<I, R> records() {
-        return multitenantStorage.currentSlice();
+    /**
+     * Creates a storage which evicts the tenant slices according to the passed policy.
+     *
+     * @param sweeper
+     *         the executor which periodically checks the slices for eviction
+     */
+    InMemoryRecordStorage(ContextSpec context,
+                          RecordSpec<I, R, ?> recordSpec,
+                          TenantSlicePolicy slicePolicy,
+                          ScheduledExecutorService sweeper) {
+        super(context, recordSpec);
+        this.multitenantStorage =
+                new MultitenantStorage<TenantRecords<I, R>>(context.isMultitenant(), slicePolicy) {
+                    @Override
+                    TenantRecords<I, R> createSlice() {
+                        return new TenantRecords<>(idOrder());
+                    }
+
+                    @Override
+                    void spill(TenantSlicePolicy policy,
+                               TenantId tenant,
+                               TenantRecords<I, R> slice) {
+                        policy.spillOut(tenant, recordSpec, slice.all());
+                    }
+
+                    @Override
+                    void restore(TenantSlicePolicy policy,
+                                 TenantId tenant,
+                                 TenantRecords<I, R> slice) {
+                        slice.putAll(policy.reload(tenant, recordSpec));
+                    }
+                };
+        this.eviction = multitenantStorage.scheduleEviction(sweeper);
+    }
+
+    private <T> T withRecords(Function<TenantRecords<I, R>, T> operation) {
+        return multitenantStorage.evaluate(operation);
     }
 
     @Override
     public Iterator<I> index() {
-        return records().index();
+        return withRecords(TenantRecords::index);
     }
 
     @Override
     protected Iterator<I> index(RecordQuery<I, R> query) {
-        return records().index(query);
+        return withRecords(records -> records.index(query));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Seeks the page in the sorted identifiers of the records of the current tenant.
+     *
+     * <p>The queries which specify sorting or a limit are paged by
+     * {@linkplain RecordStorage#indexPage(RecordQuery, Object, int) scanning} their results.
+     */
+    @Override
+    protected Iterator<I> indexPage(RecordQuery<I, R> query, @Nullable I after, int limit) {
+        Integer queryLimit = query.limit();
+        boolean limited = queryLimit != null && queryLimit > 0;
+        if (!query.sorting().isEmpty() || limited) {
+            return super.indexPage(query, after, limit);
+        }
+        checkNotClosed();
+        checkArgument(limit > 0, "The page limit must be positive.");
+        return withRecords(records -> records.indexPage(query, after, limit));
     }
 
     @Override
@@ -79,23 +145,38 @@ public class InMemoryRecordStorage<I, R extends Message> extends RecordStorage<I
 
     @Override
     protected void writeRecord(RecordWithColumns<I, R> record) {
-        records().put(record.id(), record);
+        multitenantStorage.run(records -> records.put(record.id(), record));
     }
 
     @Override
     protected void writeAllRecords(Iterable<? extends RecordWithColumns<I, R>> records) {
-        for (RecordWithColumns<I, R> record : records) {
-            records().put(record.id(), record);
-        }
+        multitenantStorage.run(slice -> {
+            for (RecordWithColumns<I, R> record : records) {
+                slice.put(record.id(), record);
+            }
+        });
     }
 
     @Override
     protected Iterator<R> readAllRecords(RecordQuery<I, R> query) {
-        return records().readAll(query);
+        return withRecords(records -> records.readAll(query));
     }
 
     @Override
     protected boolean deleteRecord(I id) {
-        return records().delete(id);
+        return withRecords(records -> records.delete(id));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Also stops the eviction of the tenant slices.
+     */
+    @Override
+    public void close() {
+        super.close();
+        if (eviction != null) {
+            eviction.cancel(false);
+        }
     }
 }
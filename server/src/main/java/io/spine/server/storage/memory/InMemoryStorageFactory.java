@@ -26,36 +26,83 @@
 
 package io.spine.server.storage.memory;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.protobuf.Message;
 import io.spine.server.ContextSpec;
 import io.spine.server.storage.RecordSpec;
 import io.spine.server.storage.StorageFactory;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
 
 /**
  * A factory for in-memory storages.
  */
 public final class InMemoryStorageFactory implements StorageFactory {
 
+    /** The policy of evicting the tenant slices, or {@code null} if they are never evicted. */
+    private final @Nullable TenantSlicePolicy slicePolicy;
+
+    /**
+     * The executor checking the tenant slices of the storages for eviction,
+     * or {@code null} if the slices are never evicted.
+     */
+    private final @Nullable ScheduledExecutorService sweeper;
+
     /**
      * Creates new instance of the factory which would serve the specified context.
      *
      * @return new instance of the factory
      */
     public static InMemoryStorageFactory newInstance() {
-        return new InMemoryStorageFactory();
+        return new InMemoryStorageFactory(null);
+    }
+
+    /**
+     * Creates new instance of the factory, the storages of which evict the tenant slices
+     * according to the passed policy.
+     *
+     * @param policy
+     *         the policy deciding which tenant slices are evicted from memory
+     * @return new instance of the factory
+     */
+    public static InMemoryStorageFactory withSlicePolicy(TenantSlicePolicy policy) {
+        checkNotNull(policy);
+        return new InMemoryStorageFactory(policy);
     }
 
-    private InMemoryStorageFactory() {
+    private InMemoryStorageFactory(@Nullable TenantSlicePolicy slicePolicy) {
+        this.slicePolicy = slicePolicy;
+        this.sweeper = slicePolicy == null
+                       ? null
+                       : newSingleThreadScheduledExecutor(
+                               new ThreadFactoryBuilder().setNameFormat("in-memory-sweep-%d")
+                                                         .setDaemon(true)
+                                                         .build()
+                       );
     }
 
     @Override
     public <I, M extends Message> InMemoryRecordStorage<I, M>
     createRecordStorage(ContextSpec context, RecordSpec<I, M, ?> spec) {
-        return new InMemoryRecordStorage<>(context, spec);
+        if (slicePolicy == null || sweeper == null) {
+            return new InMemoryRecordStorage<>(context, spec);
+        }
+        checkState(!sweeper.isShutdown(), "The storage factory is closed.");
+        return new InMemoryRecordStorage<>(context, spec, slicePolicy, sweeper);
     }
 
+    /**
+     * Stops the eviction of the tenant slices, if any.
+     */
     @Override
     public void close() {
-        // NOP
+        if (sweeper != null) {
+            sweeper.shutdown();
+        }
     }
 }
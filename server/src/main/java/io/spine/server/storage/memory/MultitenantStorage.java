@@ -23,67 +23,360 @@
  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
  * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-
 package io.spine.server.storage.memory;
 
+import com.google.protobuf.Duration;
 import io.spine.core.TenantId;
+import io.spine.logging.Logging;
 import io.spine.server.tenant.TenantFunction;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import static java.util.Collections.synchronizedMap;
+import static com.google.common.util.concurrent.Uninterruptibles.awaitUninterruptibly;
+import static com.google.protobuf.TextFormat.shortDebugString;
+import static com.google.protobuf.util.Durations.fromNanos;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
  * The multitenant storage.
  *
+ * <p>The operations over the slice of the current tenant are performed via
+ * {@link #evaluate(Function)} and {@link #run(Consumer)}. The slice is pinned for the duration
+ * of an operation, so that it is never evicted while being read or written.
+ *
+ * <p>If the storage is created with a {@link TenantSlicePolicy}, the slices which are
+ * not pinned are {@linkplain #evictIdleSlices() offered} to the policy for eviction. Without
+ * a policy, the slices are never evicted.
+ *
+ * <p>The slices are pinned without locking. The records of the slices are spilled out and
+ * restored outside of the locks of the map holding the slices, so that these operations do not
+ * block the operations over other tenants.
+ *
  * @param <S> the type of the storage "slice" for each tenant
  */
-abstract class MultitenantStorage<S extends TenantDataStorage<?, ?>> {
+abstract class MultitenantStorage<S extends TenantDataStorage<?, ?>> implements Logging {
 
-    /** The lock for {@code MultitenantStorage} accessor methods. */
-    private final Lock lock = new ReentrantLock();
+    /** How often the slices are checked for eviction. */
+    private static final long SWEEP_INTERVAL_MILLIS = SECONDS.toMillis(1);
 
     /** The map from {@code TenantId} to its slice of data. */
-    private final Map<TenantId, S> tenantSlices = synchronizedMap(new HashMap<>());
+    private final ConcurrentMap<TenantId, Slot<S>> tenantSlices = new ConcurrentHashMap<>();
 
     /** If {@code true} the storage will contain a data slice for each tenant. */
     private final boolean multitenant;
 
+    /** Decides which slices are evicted, or {@code null} if the slices are never evicted. */
+    private final @Nullable TenantSlicePolicy policy;
+
+    /**
+     * Creates a storage which never evicts its slices.
+     */
     MultitenantStorage(boolean multitenant) {
         this.multitenant = multitenant;
+        this.policy = null;
+    }
+
+    /**
+     * Creates a storage which evicts its slices according to the passed policy.
+     */
+    MultitenantStorage(boolean multitenant, TenantSlicePolicy policy) {
+        this.multitenant = multitenant;
+        this.policy = checkNotNull(policy);
     }
 
     /**
-     * Obtains the data slice for the current tenant.
+     * Applies the passed function to the data slice of the current tenant.
+     *
+     * <p>If the slice has not been created for this tenant, or has been evicted,
+     * it is created.
      *
-     * <p>If the slice has not been created for this tenant, it will be created.
+     * <p>The slice is not evicted until the function completes. The function should not
+     * let the slice escape, e.g. via a lazy iterator, if it relies on the slice being current.
      */
-    final S currentSlice() {
-        TenantFunction<S> func = new TenantFunction<S>(isMultitenant()) {
+    final <T> T evaluate(Function<S, T> operation) {
+        checkNotNull(operation);
+        TenantFunction<T> func = new TenantFunction<T>(isMultitenant()) {
             @Override
-            public @Nullable S apply(@Nullable TenantId tenantId) {
+            public @Nullable T apply(@Nullable TenantId tenantId) {
                 checkNotNull(tenantId);
-                lock.lock();
+                Slot<S> slot = pin(tenantId);
                 try {
-                    return tenantSlices.computeIfAbsent(tenantId, id -> createSlice());
+                    return operation.apply(slot.slice);
                 } finally {
-                    lock.unlock();
+                    slot.unpin();
                 }
             }
         };
-        S result = func.execute();
-        checkNotNull(result, "Current tenant slice is null.");
+        @SuppressWarnings("ConstantConditions") // The nullability is defined by the `operation`.
+        T result = func.execute();
         return result;
     }
 
+    /**
+     * Performs the passed operation over the data slice of the current tenant.
+     *
+     * @see #evaluate(Function)
+     */
+    final void run(Consumer<S> operation) {
+        checkNotNull(operation);
+        evaluate(slice -> {
+            operation.accept(slice);
+            return null;
+        });
+    }
+
+    /**
+     * Obtains the slot of the tenant and pins it.
+     *
+     * <p>An existing slot is pinned without locking. If there is no slot, a new one is put
+     * into the map already pinned, and then its records are restored. The concurrent
+     * operations over the same tenant wait for the records to be restored.
+     *
+     * <p>If the slot is being evicted, waits until its records are spilled out and retries,
+     * so that the records are restored into the new slot.
+     */
+    private Slot<S> pin(TenantId tenant) {
+        while (true) {
+            Slot<S> slot = tenantSlices.get(tenant);
+            if (slot == null) {
+                Slot<S> created = new Slot<>(createSlice(), 1);
+                slot = tenantSlices.putIfAbsent(tenant, created);
+                if (slot == null) {
+                    load(tenant, created);
+                    return created;
+                }
+            }
+            if (slot.tryPin()) {
+                slot.awaitLoaded();
+                return slot;
+            }
+            slot.awaitEvicted();
+        }
+    }
+
+    /**
+     * Restores the records of the newly created slot.
+     *
+     * <p>If the records cannot be restored, the slot is removed, so that the next operation
+     * over the tenant tries to restore them again.
+     */
+    private void load(TenantId tenant, Slot<S> slot) {
+        try {
+            if (policy != null) {
+                restore(policy, tenant, slot.slice);
+            }
+            slot.markLoaded();
+        } catch (RuntimeException e) {
+            tenantSlices.remove(tenant, slot);
+            slot.markFailed(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Schedules the periodic {@linkplain #evictIdleSlices() eviction} of the slices with
+     * the passed executor.
+     *
+     * @return the future which cancels the eviction
+     */
+    final ScheduledFuture<?> scheduleEviction(ScheduledExecutorService executor) {
+        checkNotNull(executor);
+        return executor.scheduleWithFixedDelay(this::sweep,
+                                               SWEEP_INTERVAL_MILLIS, SWEEP_INTERVAL_MILLIS,
+                                               MILLISECONDS);
+    }
+
+    private void sweep() {
+        try {
+            evictIdleSlices();
+        } catch (RuntimeException e) {
+            _error().withCause(e)
+                    .log("Unable to evict the idle tenant slices.");
+        }
+    }
+
+    /**
+     * Evicts the slices which the policy decides to evict, except the slices pinned by
+     * the ongoing operations.
+     *
+     * <p>An evicted slot cannot be pinned anymore. Its records are spilled out outside of
+     * the map lock. An operation over the same tenant waits for the spill to complete and then
+     * restores the records into a new slice.
+     *
+     * <p>If the records cannot be spilled out, the slice is put back into the map.
+     *
+     * <p>Does nothing if the storage has no eviction policy.
+     */
+    final void evictIdleSlices() {
+        TenantSlicePolicy policy = this.policy;
+        if (policy == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        tenantSlices.forEach((tenant, slot) -> {
+            if (slot.isPinned() || !policy.shouldEvict(slot.stats(tenant, now))) {
+                return;
+            }
+            if (slot.tryEvict()) {
+                evict(policy, tenant, slot);
+            }
+        });
+    }
+
+    private void evict(TenantSlicePolicy policy, TenantId tenant, Slot<S> slot) {
+        try {
+            if (!slot.slice.isEmpty()) {
+                spill(policy, tenant, slot.slice);
+            }
+            tenantSlices.remove(tenant, slot);
+        } catch (RuntimeException e) {
+            Slot<S> kept = new Slot<>(slot.slice, 0);
+            kept.markLoaded();
+            tenantSlices.replace(tenant, slot, kept);
+            _error().withCause(e)
+                    .log("Unable to spill out the slice of the tenant `%s`.",
+                         shortDebugString(tenant));
+        } finally {
+            slot.markEvicted();
+        }
+    }
+
+    /**
+     * Returns the number of slices currently held in memory.
+     */
+    final int sliceCount() {
+        return tenantSlices.size();
+    }
+
     abstract S createSlice();
 
+    /**
+     * Hands the records of the evicted slice over to the policy.
+     *
+     * <p>Does nothing by default.
+     */
+    void spill(TenantSlicePolicy policy, TenantId tenant, S slice) {
+        // Do nothing by default.
+    }
+
+    /**
+     * Populates the newly created slice with the records previously spilled out for the tenant.
+     *
+     * <p>Does nothing by default.
+     */
+    void restore(TenantSlicePolicy policy, TenantId tenant, S slice) {
+        // Do nothing by default.
+    }
+
     final boolean isMultitenant() {
         return multitenant;
     }
+
+    /**
+     * A slice along with the time of its last access and the number of the operations
+     * currently using it.
+     *
+     * <p>Once evicted, the slot cannot be pinned again.
+     */
+    private static final class Slot<S extends TenantDataStorage<?, ?>> {
+
+        /** The number of pins of an evicted slot. */
+        private static final int EVICTED = -1;
+
+        private final S slice;
+        private final AtomicInteger pins;
+        private final CountDownLatch loaded = new CountDownLatch(1);
+        private final CountDownLatch evicted = new CountDownLatch(1);
+        private volatile @Nullable RuntimeException loadFailure;
+        private volatile long lastAccess;
+
+        private Slot(S slice, int pins) {
+            this.slice = slice;
+            this.pins = new AtomicInteger(pins);
+            this.lastAccess = System.nanoTime();
+        }
+
+        /**
+         * Pins the slot unless it is evicted.
+         *
+         * @return {@code true} if the slot is pinned, {@code false} if it is evicted
+         */
+        private boolean tryPin() {
+            int current = pins.get();
+            while (current != EVICTED) {
+                if (pins.compareAndSet(current, current + 1)) {
+                    lastAccess = System.nanoTime();
+                    return true;
+                }
+                current = pins.get();
+            }
+            return false;
+        }
+
+        private void unpin() {
+            lastAccess = System.nanoTime();
+            pins.decrementAndGet();
+        }
+
+        private boolean isPinned() {
+            return pins.get() > 0;
+        }
+
+        /**
+         * Marks the slot evicted unless it is pinned.
+         */
+        private boolean tryEvict() {
+            return pins.compareAndSet(0, EVICTED);
+        }
+
+        private void markLoaded() {
+            loaded.countDown();
+        }
+
+        private void markFailed(RuntimeException cause) {
+            loadFailure = cause;
+            loaded.countDown();
+        }
+
+        /**
+         * Waits until the records of the slot are restored.
+         *
+         * @throws IllegalStateException
+         *         if the records could not be restored
+         */
+        private void awaitLoaded() {
+            awaitUninterruptibly(loaded);
+            RuntimeException failure = loadFailure;
+            if (failure != null) {
+                throw illegalStateWithCauseOf(failure);
+            }
+        }
+
+        private void markEvicted() {
+            evicted.countDown();
+        }
+
+        /**
+         * Waits until the records of the evicted slot are spilled out.
+         */
+        private void awaitEvicted() {
+            awaitUninterruptibly(evicted);
+        }
+
+        private TenantSliceStats stats(TenantId tenant, long now) {
+            Duration idle = fromNanos(Math.max(0, now - lastAccess));
+            return new TenantSliceStats(tenant, slice.recordCount(), slice.serializedSize(), idle);
+        }
+    }
 }
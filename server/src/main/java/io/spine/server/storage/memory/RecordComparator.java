@@ -29,6 +29,7 @@ package io.spine.server.storage.memory;
 import com.google.protobuf.Message;
 import com.google.protobuf.Timestamp;
 import com.google.protobuf.util.Timestamps;
+import io.spine.annotation.Internal;
 import io.spine.query.ColumnName;
 import io.spine.query.Direction;
 import io.spine.query.RecordColumn;
@@ -54,6 +55,7 @@ import static io.spine.util.Exceptions.newIllegalStateException;
  *         that. Trying to {@linkplain SortBy sort by} column of non-comparable type will lead to
  *         an exception being thrown.
  */
+@Internal
 public class RecordComparator<I, R extends Message>
         implements Comparator<RecordWithColumns<I, R>>, Serializable {
 
@@ -76,7 +78,7 @@ public class RecordComparator<I, R extends Message>
      * @throws IllegalArgumentException
      *         if the provided {@code SortBy} list is empty
      */
-    static <I, R extends Message>
+    public static <I, R extends Message>
     Comparator<RecordWithColumns<I, R>> accordingTo(List<SortBy<?, R>> sortByList) {
         checkArgument(!sortByList.isEmpty(),
                       "`RecordComparator` requires at least one `SortBy` instance.");
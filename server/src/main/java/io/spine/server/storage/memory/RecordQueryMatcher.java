@@ -30,6 +30,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.protobuf.Message;
+import io.spine.annotation.Internal;
 import io.spine.query.Column;
 import io.spine.query.LogicalOperator;
 import io.spine.query.QueryPredicate;
@@ -52,6 +53,7 @@ import static io.spine.util.Exceptions.newIllegalArgumentException;
  * @param <R>
  *         the type of the messages stored as records
  */
+@Internal
 public class RecordQueryMatcher<I, R extends Message>
         implements Predicate<@Nullable RecordWithColumns<I, R>> {
 
@@ -61,7 +63,7 @@ public class RecordQueryMatcher<I, R extends Message>
     /**
      * Creates a new matcher for the given subject.
      */
-    RecordQueryMatcher(Subject<I, R> subject) {
+    public RecordQueryMatcher(Subject<I, R> subject) {
         checkNotNull(subject);
         // Pack IDs from the query for faster search using packed IDs from loaded records.
         this.acceptedIds = subject.id()
@@ -56,4 +56,14 @@ interface TenantDataStorage<I, R> {
      * Verifies whether the storage is empty.
      */
     boolean isEmpty();
+
+    /**
+     * Returns the number of stored records.
+     */
+    int recordCount();
+
+    /**
+     * Returns the total serialized size of the stored records, in bytes.
+     */
+    long serializedSize();
 }
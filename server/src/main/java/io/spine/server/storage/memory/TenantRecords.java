@@ -27,30 +27,30 @@
 package io.spine.server.storage.memory;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterators;
-import com.google.protobuf.Any;
 import com.google.protobuf.FieldMask;
 import com.google.protobuf.Message;
 import io.spine.query.RecordQuery;
 import io.spine.query.SortBy;
 import io.spine.query.Subject;
-import io.spine.server.entity.EntityRecord;
 import io.spine.server.storage.RecordWithColumns;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Optional;
-import java.util.function.Function;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.stream.Stream;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.collect.Maps.filterValues;
-import static io.spine.protobuf.AnyPacker.pack;
-import static io.spine.protobuf.AnyPacker.unpack;
-import static io.spine.server.entity.FieldMasks.applyMask;
 import static io.spine.server.storage.memory.RecordComparator.accordingTo;
 import static java.util.Collections.synchronizedMap;
 import static java.util.stream.Collectors.toList;
@@ -59,17 +59,55 @@ import static java.util.stream.Collectors.toList;
  * The memory-based storage for message records.
  *
  * <p>Acts like a facade API for the operations available over the data of a single tenant.
+ *
+ * <p>Keeps track of the total serialized size of the stored records.
+ *
+ * <p>Keeps the identifiers of the records sorted, so that the records are
+ * {@linkplain #indexPage(RecordQuery, Object, int) paged} without checking the preceding ones.
  */
 final class TenantRecords<I, R extends Message>
         implements TenantDataStorage<I, RecordWithColumns<I, R>> {
 
     private final Map<I, RecordWithColumns<I, R>> records = synchronizedMap(new HashMap<>());
 
+    /**
+     * The order of paging the records.
+     */
+    private final Comparator<I> idOrder;
+
+    /**
+     * The identifiers of the stored records in the order of paging.
+     *
+     * <p>Modified under the {@code records} monitor.
+     */
+    private final NavigableSet<I> sortedIds;
+
+    /**
+     * The total serialized size of the stored records.
+     *
+     * <p>Guarded by the {@code records} monitor.
+     */
+    private long serializedSize;
+
+    /**
+     * Creates a new storage paging the records in the passed order of their identifiers.
+     */
+    TenantRecords(Comparator<I> idOrder) {
+        this.idOrder = checkNotNull(idOrder);
+        this.sortedIds = new ConcurrentSkipListSet<>(idOrder);
+    }
+
+    /**
+     * Obtains the iterator over the snapshot of the stored identifiers.
+     *
+     * <p>The records may be written or deleted while the iterator is used.
+     */
     @Override
     public Iterator<I> index() {
-        Iterator<I> result = records.keySet()
-                                    .iterator();
-        return result;
+        synchronized (records) {
+            return ImmutableList.copyOf(records.keySet())
+                                .iterator();
+        }
     }
 
     /**
@@ -82,9 +120,65 @@ final class TenantRecords<I, R extends Message>
         return result;
     }
 
+    /**
+     * Obtains a page of the identifiers of the records which match the passed query.
+     *
+     * <p>Seeks the page in the sorted identifiers and checks the following records until
+     * the page is filled. If the query restricts the IDs, only these IDs are checked.
+     *
+     * <p>The sorting and the limit of the query are not applied.
+     *
+     * @param query
+     *         the query selecting the records
+     * @param after
+     *         the identifier after which the page starts, or {@code null} to read
+     *         the first page
+     * @param limit
+     *         the maximum number of the identifiers in the page
+     */
+    Iterator<I> indexPage(RecordQuery<I, R> query, @Nullable I after, int limit) {
+        Subject<I, R> subject = query.subject();
+        ImmutableSet<I> requested = subject.id()
+                                           .values();
+        NavigableSet<I> ids = sortedIds;
+        if (!requested.isEmpty()) {
+            ids = new TreeSet<>(idOrder);
+            ids.addAll(requested);
+        }
+        if (after != null) {
+            ids = ids.tailSet(after, false);
+        }
+        RecordQueryMatcher<I, R> matcher = new RecordQueryMatcher<>(subject);
+        List<I> page = new ArrayList<>(limit);
+        for (Iterator<I> iterator = ids.iterator(); iterator.hasNext() && page.size() < limit; ) {
+            I id = iterator.next();
+            if (matcher.test(records.get(id))) {
+                page.add(id);
+            }
+        }
+        return page.iterator();
+    }
+
     @Override
     public void put(I id, RecordWithColumns<I, R> record) {
-        records.put(id, record);
+        synchronized (records) {
+            RecordWithColumns<I, R> previous = records.put(id, record);
+            serializedSize += sizeOf(record) - sizeOf(previous);
+            if (previous == null) {
+                sortedIds.add(id);
+            }
+        }
+    }
+
+    /**
+     * Puts all the passed records into the storage.
+     */
+    void putAll(Iterable<RecordWithColumns<I, R>> batch) {
+        synchronized (records) {
+            for (RecordWithColumns<I, R> record : batch) {
+                put(record.id(), record);
+            }
+        }
     }
 
     /**
@@ -93,7 +187,7 @@ final class TenantRecords<I, R extends Message>
      * <p>If there is no such a message stored, returns {@code Optional.empty()}.
      */
     public Optional<R> get(I id, FieldMask mask) {
-        return get(id).map(r -> new FieldMaskApplier(mask).apply(r.record()));
+        return get(id).map(r -> new FieldMaskApplier<R>(mask).apply(r.record()));
     }
 
     @Override
@@ -103,7 +197,27 @@ final class TenantRecords<I, R extends Message>
     }
 
     boolean delete(I id) {
-        return records.remove(id) != null;
+        synchronized (records) {
+            RecordWithColumns<I, R> removed = records.remove(id);
+            serializedSize -= sizeOf(removed);
+            if (removed != null) {
+                sortedIds.remove(id);
+            }
+            return removed != null;
+        }
+    }
+
+    /**
+     * Obtains all the stored records.
+     */
+    ImmutableList<RecordWithColumns<I, R>> all() {
+        synchronized (records) {
+            return ImmutableList.copyOf(records.values());
+        }
+    }
+
+    private static long sizeOf(@Nullable RecordWithColumns<?, ?> record) {
+        return record == null ? 0 : record.record().getSerializedSize();
     }
 
     Iterator<R> readAll(RecordQuery<I, R> query) {
@@ -112,15 +226,13 @@ final class TenantRecords<I, R extends Message>
         return records
                 .stream()
                 .map(RecordWithColumns::record)
-                .map(new FieldMaskApplier(fieldMask))
+                .map(new FieldMaskApplier<>(fieldMask))
                 .iterator();
     }
 
     private List<RecordWithColumns<I, R>> findRecords(RecordQuery<I, R> query) {
         synchronized (records) {
-            Map<I, RecordWithColumns<I, R>> filtered = filterRecords(query.subject());
-            Stream<RecordWithColumns<I, R>> stream = filtered.values()
-                                                             .stream();
+            Stream<RecordWithColumns<I, R>> stream = filterRecords(query.subject());
             return sortAndLimit(stream, query).collect(toList());
         }
     }
@@ -142,10 +254,20 @@ final class TenantRecords<I, R extends Message>
     /**
      * Filters the records returning only the ones matching the
      * {@linkplain Subject subject of the record query}.
+     *
+     * <p>If the subject restricts the IDs, only the records with these IDs are checked.
      */
-    private Map<I, RecordWithColumns<I, R>> filterRecords(Subject<I, R> subject) {
+    private Stream<RecordWithColumns<I, R>> filterRecords(Subject<I, R> subject) {
         RecordQueryMatcher<I, R> matcher = new RecordQueryMatcher<>(subject);
-        return filterValues(records, matcher::test);
+        ImmutableSet<I> ids = subject.id()
+                                     .values();
+        if (!ids.isEmpty()) {
+            return ids.stream()
+                      .map(records::get)
+                      .filter(matcher);
+        }
+        return filterValues(records, matcher::test).values()
+                                                   .stream();
     }
 
     @Override
@@ -153,49 +275,15 @@ final class TenantRecords<I, R extends Message>
         return records.isEmpty();
     }
 
-    /**
-     * A {@link Function} transforming the {@link EntityRecord} state by applying the given
-     * {@link FieldMask} to it.
-     *
-     * <p>The resulting {@link EntityRecord} has the same fields as the given one except
-     * the {@code state} field, which is masked.
-     */
-    private class FieldMaskApplier implements Function<R, R> {
-
-        private final FieldMask fieldMask;
-
-        private FieldMaskApplier(FieldMask fieldMask) {
-            this.fieldMask = fieldMask;
-        }
-
-        @SuppressWarnings("unchecked")
-        @Override
-        public @Nullable R apply(@Nullable R input) {
-            if (null == input || fieldMask.getPathsList()
-                                          .isEmpty()) {
-                return input;
-            }
-            if (input instanceof EntityRecord) {
-                return (R) maskEntityRecord((EntityRecord) input);
-            }
-            return applyMask(fieldMask, input);
-        }
-
-        private EntityRecord maskEntityRecord(EntityRecord input) {
-            checkNotNull(input);
-            Any maskedState = maskAny(input.getState());
-            EntityRecord result = EntityRecord
-                    .newBuilder(input)
-                    .setState(maskedState)
-                    .build();
-            return result;
-        }
+    @Override
+    public int recordCount() {
+        return records.size();
+    }
 
-        private Any maskAny(Any message) {
-            Message stateMessage = unpack(message);
-            Message maskedMessage = applyMask(fieldMask, stateMessage);
-            Any result = pack(maskedMessage);
-            return result;
+    @Override
+    public long serializedSize() {
+        synchronized (records) {
+            return serializedSize;
         }
     }
 }
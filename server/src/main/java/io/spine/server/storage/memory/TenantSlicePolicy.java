@@ -0,0 +1,96 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.storage.memory;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Message;
+import io.spine.annotation.SPI;
+import io.spine.core.TenantId;
+import io.spine.server.storage.RecordSpec;
+import io.spine.server.storage.RecordWithColumns;
+
+/**
+ * Decides which tenant slices of an in-memory storage may be evicted from the heap.
+ *
+ * <p>The in-memory storages keep the data of each tenant in a separate "slice". By default,
+ * a slice stays in memory for as long as the storage lives, and no policy is involved.
+ * When the storage serves as a cache tier in front of a durable store for many short-lived
+ * tenants, the policy allows to bound the heap by evicting the slices which are no longer
+ * in use.
+ *
+ * <p>The storage periodically asks the policy, on a background thread of its
+ * {@link InMemoryStorageFactory}, whether each slice which is not in use
+ * {@linkplain #shouldEvict(TenantSliceStats) should be evicted}. The records
+ * of an evicted slice are {@linkplain #spillOut(TenantId, RecordSpec, ImmutableList) spilled out}
+ * to the policy. Once the tenant is accessed again, a new slice is created and populated with
+ * the records {@linkplain #reload(TenantId, RecordSpec) reloaded} from the policy.
+ *
+ * <p>The storages of a single {@link InMemoryStorageFactory} share the same policy. Each storage
+ * passes its own {@link RecordSpec} instance to the hooks, so that the implementations may tell
+ * apart the storages of the same record type.
+ *
+ * <p>A slice is never evicted while an operation of the storage is using it.
+ */
+@SPI
+public interface TenantSlicePolicy {
+
+    /**
+     * Tells whether the slice described by the passed statistics should be evicted.
+     */
+    boolean shouldEvict(TenantSliceStats stats);
+
+    /**
+     * Accepts the records of the evicted slice.
+     *
+     * <p>The storage does not call this method for an empty slice.
+     *
+     * @param tenant
+     *         the tenant which owns the records
+     * @param spec
+     *         the specification of the records of the storage which evicts the slice
+     * @param records
+     *         the records of the evicted slice
+     * @param <I>
+     *         the type of the record identifiers
+     * @param <R>
+     *         the type of the records
+     */
+    <I, R extends Message> void
+    spillOut(TenantId tenant,
+             RecordSpec<I, R, ?> spec,
+             ImmutableList<RecordWithColumns<I, R>> records);
+
+    /**
+     * Obtains the records previously {@linkplain #spillOut(TenantId, RecordSpec, ImmutableList)
+     * spilled out} for the passed tenant and storage.
+     *
+     * <p>Called each time a new slice is created for the tenant. Returns an empty list if
+     * there is nothing to reload.
+     */
+    <I, R extends Message> ImmutableList<RecordWithColumns<I, R>>
+    reload(TenantId tenant, RecordSpec<I, R, ?> spec);
+}
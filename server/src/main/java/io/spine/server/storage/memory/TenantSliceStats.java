@@ -0,0 +1,94 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.storage.memory;
+
+import com.google.common.base.MoreObjects;
+import com.google.protobuf.Duration;
+import io.spine.core.TenantId;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The memory usage and the access statistics of a single tenant slice
+ * of an in-memory storage.
+ *
+ * @see TenantSlicePolicy
+ */
+public final class TenantSliceStats {
+
+    private final TenantId tenant;
+    private final int recordCount;
+    private final long serializedSize;
+    private final Duration idleTime;
+
+    TenantSliceStats(TenantId tenant, int recordCount, long serializedSize, Duration idleTime) {
+        this.tenant = checkNotNull(tenant);
+        this.recordCount = recordCount;
+        this.serializedSize = serializedSize;
+        this.idleTime = checkNotNull(idleTime);
+    }
+
+    /**
+     * Returns the tenant which owns the slice.
+     */
+    public TenantId tenant() {
+        return tenant;
+    }
+
+    /**
+     * Returns the number of records in the slice.
+     */
+    public int recordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Returns the total serialized size of the records in the slice, in bytes.
+     *
+     * <p>The values of the record columns are not taken into account.
+     */
+    public long serializedSize() {
+        return serializedSize;
+    }
+
+    /**
+     * Returns how long the slice has not been accessed.
+     */
+    public Duration idleTime() {
+        return idleTime;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("tenant", tenant)
+                          .add("recordCount", recordCount)
+                          .add("serializedSize", serializedSize)
+                          .add("idleTime", idleTime)
+                          .toString();
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.trace;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import io.spine.core.MessageId;
+import io.spine.core.Signal;
+import io.spine.server.ContextSpec;
+import io.spine.system.server.EntityTypeName;
+
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.ImmutableListMultimap.toImmutableListMultimap;
+
+/**
+ * A {@code TracerFactory} which keeps the most recent {@linkplain Span spans} in memory.
+ *
+ * <p>The spans are written into a fixed-size ring buffer without locking. Once the buffer is
+ * full, the newest spans overwrite the oldest ones.
+ *
+ * <p>The recorded spans are grouped into {@linkplain Trace traces} by their root message, so
+ * that the {@linkplain #slowestTraces(int) slowest} of the recent traces could be inspected.
+ *
+ * <p>The {@linkplain Tracer#processedBy tracers} of this factory do not record anything.
+ */
+public final class RingBufferTracerFactory implements TracerFactory {
+
+    /**
+     * The default number of the spans kept in memory.
+     */
+    private static final int DEFAULT_CAPACITY = 64 * 1024;
+
+    private final AtomicReferenceArray<Span> buffer;
+    private final AtomicLong written = new AtomicLong();
+
+    /**
+     * Creates a new factory which keeps up to {@code 65536} most recent spans.
+     */
+    public RingBufferTracerFactory() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new factory which keeps up to {@code capacity} most recent spans.
+     */
+    public RingBufferTracerFactory(int capacity) {
+        checkArgument(capacity > 0, "The capacity must be positive, but was %s.", capacity);
+        this.buffer = new AtomicReferenceArray<>(capacity);
+    }
+
+    @Override
+    public Tracer trace(ContextSpec context, Signal<?, ?, ?> signalMessage) {
+        return new NoOpTracer(signalMessage);
+    }
+
+    @Override
+    public boolean recordsSpans() {
+        return true;
+    }
+
+    @Override
+    public void record(Span span) {
+        checkNotNull(span);
+        long position = written.getAndIncrement();
+        int index = (int) (position % buffer.length());
+        buffer.set(index, span);
+    }
+
+    /**
+     * Obtains the spans currently kept in memory ordered by their start.
+     */
+    public ImmutableList<Span> spans() {
+        ImmutableList.Builder<Span> result = ImmutableList.builder();
+        for (int i = 0; i < buffer.length(); i++) {
+            Span span = buffer.get(i);
+            if (span != null) {
+                result.add(span);
+            }
+        }
+        return ImmutableList.sortedCopyOf(Comparator.comparingLong(Span::startNanos),
+                                          result.build());
+    }
+
+    /**
+     * Obtains the traces of the spans currently kept in memory, starting from the longest.
+     *
+     * <p>The traces which started long ago may be incomplete if some of their spans
+     * have been overwritten by newer ones.
+     *
+     * @param limit
+     *         the maximum number of the returned traces
+     */
+    public ImmutableList<Trace> slowestTraces(int limit) {
+        checkArgument(limit > 0, "The limit must be positive, but was %s.", limit);
+        ImmutableListMultimap<MessageId, Span> byRoot = spans()
+                .stream()
+                .collect(toImmutableListMultimap(Span::root, span -> span));
+        return byRoot.asMap()
+                     .values()
+                     .stream()
+                     .map(Trace::of)
+                     .sorted(Comparator.comparingLong(Trace::durationNanos)
+                                       .reversed())
+                     .limit(limit)
+                     .collect(toImmutableList());
+    }
+
+    /**
+     * Discards all the recorded spans.
+     */
+    public void clear() {
+        for (int i = 0; i < buffer.length(); i++) {
+            buffer.set(i, null);
+        }
+    }
+
+    @Override
+    public void close() {
+        clear();
+    }
+
+    /**
+     * A tracer which ignores the processed signals.
+     *
+     * <p>The processing of the signals is captured by the spans instead.
+     */
+    private static final class NoOpTracer extends AbstractTracer {
+
+        private NoOpTracer(Signal<?, ?, ?> signal) {
+            super(signal);
+        }
+
+        @Override
+        public void processedBy(MessageId receiver, EntityTypeName receiverType) {
+            // Do nothing.
+        }
+
+        @Override
+        public void close() {
+            // Nothing to release.
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.trace;
+
+import io.spine.annotation.Internal;
+import io.spine.core.Signal;
+import io.spine.server.ServerEnvironment;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.logging.Level;
+
+import static io.spine.logging.Logging.loggerFor;
+
+/**
+ * Records the {@linkplain Span spans} of the signal processing into the {@link TracerFactory}
+ * configured in the current {@link ServerEnvironment}.
+ *
+ * <p>If there is no factory, or the factory does not {@linkplain TracerFactory#recordsSpans()
+ * record spans}, the calls are no-op.
+ */
+@Internal
+public final class ServerTracing {
+
+    /**
+     * Prevents the utility class instantiation.
+     */
+    private ServerTracing() {
+    }
+
+    /**
+     * Tells if the spans are recorded in the current environment.
+     *
+     * <p>Callers may check it to avoid preparing the spans which would be discarded.
+     */
+    public static boolean enabled() {
+        return factory() != null;
+    }
+
+    /**
+     * Records a span of the given signal which started at the given moment and ends now.
+     *
+     * @param kind
+     *         the processing stage
+     * @param signal
+     *         the processed signal
+     * @param component
+     *         the name of the component performing the stage
+     * @param startNanos
+     *         the moment the stage started, as returned by {@link System#nanoTime()}
+     */
+    public static void recordSince(SpanKind kind,
+                                   Signal<?, ?, ?> signal,
+                                   String component,
+                                   long startNanos) {
+        TracerFactory factory = factory();
+        if (factory == null) {
+            return;
+        }
+        long duration = Math.max(System.nanoTime() - startNanos, 0);
+        record(factory, Span.of(signal, kind, component, startNanos, duration));
+    }
+
+    /**
+     * Records a span of the given signal which lasted for the given time and ends now.
+     *
+     * @param kind
+     *         the processing stage
+     * @param signal
+     *         the processed signal
+     * @param component
+     *         the name of the component performing the stage
+     * @param durationNanos
+     *         the duration of the stage
+     */
+    public static void recordLasting(SpanKind kind,
+                                     Signal<?, ?, ?> signal,
+                                     String component,
+                                     long durationNanos) {
+        TracerFactory factory = factory();
+        if (factory == null) {
+            return;
+        }
+        long duration = Math.max(durationNanos, 0);
+        long start = System.nanoTime() - duration;
+        record(factory, Span.of(signal, kind, component, start, duration));
+    }
+
+    /**
+     * Passes the span to the factory.
+     *
+     * <p>A failure to record a span must not break the processing of the signal, so
+     * the exceptions thrown by the factory are logged.
+     */
+    @SuppressWarnings("OverlyBroadCatchBlock") // Any failure of the user code is logged.
+    private static void record(TracerFactory factory, Span span) {
+        try {
+            factory.record(span);
+        } catch (RuntimeException e) {
+            loggerFor(ServerTracing.class)
+                    .at(Level.SEVERE)
+                    .withCause(e)
+                    .log("Unable to record the span `%s`.", span);
+        }
+    }
+
+    private static @Nullable TracerFactory factory() {
+        TracerFactory factory = ServerEnvironment.instance()
+                                                 .tracing()
+                                                 .orElse(null);
+        if (factory == null || !factory.recordsSpans()) {
+            return null;
+        }
+        return factory;
+    }
+}
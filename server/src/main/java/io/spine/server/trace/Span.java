@@ -0,0 +1,173 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.trace;
+
+import com.google.common.base.MoreObjects;
+import com.google.errorprone.annotations.Immutable;
+import io.spine.core.MessageId;
+import io.spine.core.Signal;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A timed stage of the processing of a signal.
+ *
+ * <p>Spans of a signal are linked to the spans of the signal which caused it via
+ * the {@linkplain Signal#parent() parent} message ID. All the spans caused by the same
+ * {@linkplain Signal#rootMessage() root message} form a single {@link Trace}.
+ *
+ * <p>The start and the duration of a span are measured in nanoseconds of
+ * {@link System#nanoTime()}, so spans are comparable only within a single JVM.
+ */
+@Immutable
+public final class Span {
+
+    private final MessageId signal;
+    private final MessageId root;
+    private final @Nullable MessageId parent;
+    private final SpanKind kind;
+    private final String component;
+    private final long startNanos;
+    private final long durationNanos;
+
+    private Span(Signal<?, ?, ?> signal,
+                 SpanKind kind,
+                 String component,
+                 long startNanos,
+                 long durationNanos) {
+        this.signal = signal.messageId();
+        this.root = signal.rootMessage();
+        this.parent = signal.parent()
+                            .orElse(null);
+        this.kind = kind;
+        this.component = component;
+        this.startNanos = startNanos;
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * Creates a new span of the given signal.
+     *
+     * @param signal
+     *         the processed signal
+     * @param kind
+     *         the processing stage
+     * @param component
+     *         the name of the component performing the stage, such as an entity type or
+     *         a handler method
+     * @param startNanos
+     *         the moment the stage started, as returned by {@link System#nanoTime()}
+     * @param durationNanos
+     *         the duration of the stage
+     */
+    public static Span of(Signal<?, ?, ?> signal,
+                          SpanKind kind,
+                          String component,
+                          long startNanos,
+                          long durationNanos) {
+        checkNotNull(signal);
+        checkNotNull(kind);
+        checkNotNull(component);
+        checkArgument(durationNanos >= 0,
+                      "The span duration cannot be negative, but was %s.", durationNanos);
+        return new Span(signal, kind, component, startNanos, durationNanos);
+    }
+
+    /**
+     * Obtains the ID of the processed signal.
+     */
+    public MessageId signal() {
+        return signal;
+    }
+
+    /**
+     * Obtains the ID of the message which started the chain of signals.
+     *
+     * <p>Serves as the identifier of the {@link Trace}.
+     */
+    public MessageId root() {
+        return root;
+    }
+
+    /**
+     * Obtains the ID of the message which caused the processed signal.
+     *
+     * <p>Is empty for the spans of the root message.
+     */
+    public Optional<MessageId> parent() {
+        return Optional.ofNullable(parent);
+    }
+
+    /**
+     * Obtains the processing stage.
+     */
+    public SpanKind kind() {
+        return kind;
+    }
+
+    /**
+     * Obtains the name of the component which performed the stage.
+     */
+    public String component() {
+        return component;
+    }
+
+    /**
+     * Obtains the moment the stage started, in the terms of {@link System#nanoTime()}.
+     */
+    public long startNanos() {
+        return startNanos;
+    }
+
+    /**
+     * Obtains the moment the stage ended, in the terms of {@link System#nanoTime()}.
+     */
+    public long endNanos() {
+        return startNanos + durationNanos;
+    }
+
+    /**
+     * Obtains the duration of the stage in nanoseconds.
+     */
+    public long durationNanos() {
+        return durationNanos;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("signal", signal.getTypeUrl())
+                          .add("kind", kind)
+                          .add("component", component)
+                          .add("durationNanos", durationNanos)
+                          .toString();
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.trace;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.errorprone.annotations.Immutable;
+import io.spine.core.MessageId;
+
+import java.util.Comparator;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.ImmutableListMultimap.toImmutableListMultimap;
+
+/**
+ * The spans of all the signals caused by a single root message.
+ *
+ * <p>The spans of each signal are the children of the spans of
+ * its {@linkplain Span#parent() parent} signal.
+ */
+@Immutable
+public final class Trace {
+
+    private final MessageId root;
+    private final ImmutableList<Span> spans;
+    private final ImmutableListMultimap<MessageId, Span> bySignal;
+    private final long startNanos;
+    private final long endNanos;
+
+    private Trace(MessageId root, ImmutableList<Span> spans) {
+        this.root = root;
+        this.spans = spans;
+        this.bySignal = spans.stream()
+                             .collect(toImmutableListMultimap(Span::signal, span -> span));
+        this.startNanos = spans.stream()
+                               .mapToLong(Span::startNanos)
+                               .min()
+                               .getAsLong();
+        this.endNanos = spans.stream()
+                             .mapToLong(Span::endNanos)
+                             .max()
+                             .getAsLong();
+    }
+
+    /**
+     * Creates a trace of the given spans.
+     *
+     * @param spans
+     *         the spans sharing the same root message; must not be empty
+     */
+    static Trace of(Iterable<Span> spans) {
+        checkNotNull(spans);
+        ImmutableList<Span> sorted = ImmutableList.sortedCopyOf(
+                Comparator.comparingLong(Span::startNanos), spans
+        );
+        checkArgument(!sorted.isEmpty(), "A trace must contain at least one span.");
+        MessageId root = sorted.get(0)
+                               .root();
+        checkArgument(sorted.stream()
+                            .allMatch(span -> root.equals(span.root())),
+                      "All spans of a trace must have the same root message.");
+        return new Trace(root, sorted);
+    }
+
+    /**
+     * Obtains the ID of the message which started the trace.
+     */
+    public MessageId root() {
+        return root;
+    }
+
+    /**
+     * Obtains all the spans of the trace ordered by their start.
+     */
+    public ImmutableList<Span> spans() {
+        return spans;
+    }
+
+    /**
+     * Obtains the spans of the given signal ordered by their start.
+     */
+    public ImmutableList<Span> spansOf(MessageId signal) {
+        checkNotNull(signal);
+        return bySignal.get(signal);
+    }
+
+    /**
+     * Obtains the spans of the signals caused directly by the given signal.
+     */
+    public ImmutableList<Span> childrenOf(MessageId signal) {
+        checkNotNull(signal);
+        Optional<MessageId> parent = Optional.of(signal);
+        return spans.stream()
+                    .filter(span -> parent.equals(span.parent()))
+                    .collect(toImmutableList());
+    }
+
+    /**
+     * Obtains the time between the start of the earliest span and the end of the latest one.
+     */
+    public long durationNanos() {
+        return endNanos - startNanos;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("root", root.getTypeUrl())
+                          .add("spans", spans.size())
+                          .add("durationNanos", durationNanos())
+                          .toString();
+    }
+}
@@ -38,6 +38,10 @@ import io.spine.server.ContextSpec;
  * <p>Implementations may choose to perform I/O operations (i.e. send traces via network) on
  * {@code close()}. It is expected in general that each call to {@link #trace} results in some
  * tracing data produced, however, implementations may ignore some signals.
+ *
+ * <p>Factories which {@linkplain #recordsSpans() record spans} also receive the timed
+ * {@linkplain Span stages} of the signal processing, such as filtering in a bus, waiting in
+ * an inbox, loading and storing entities, and invoking handlers.
  */
 @SPI
 public interface TracerFactory extends AutoCloseable {
@@ -54,4 +58,31 @@ public interface TracerFactory extends AutoCloseable {
      * @return new {@code Tracer}
      */
     Tracer trace(ContextSpec context, Signal<?, ?, ?> signalMessage);
+
+    /**
+     * Tells if this factory accepts {@linkplain #record(Span) spans}.
+     *
+     * <p>The framework does not measure the processing stages unless a factory records spans.
+     *
+     * <p>By default, returns {@code false}.
+     */
+    default boolean recordsSpans() {
+        return false;
+    }
+
+    /**
+     * Records a completed stage of the signal processing.
+     *
+     * <p>Is invoked only if this factory {@linkplain #recordsSpans() records spans}. May be
+     * invoked concurrently from the threads processing signals, so implementations should
+     * not block.
+     *
+     * <p>By default, ignores the span.
+     *
+     * @param span
+     *         the completed span
+     */
+    default void record(Span span) {
+        // Do nothing by default.
+    }
 }
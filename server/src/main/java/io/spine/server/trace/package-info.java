@@ -42,6 +42,11 @@
  * {@link io.spine.server.trace.TracerFactory}. A single {@code TracerFactory} can be used in one or
  * more bounded contexts.
  *
+ * <p>Factories may also opt in to receive timed {@linkplain io.spine.server.trace.Span spans} of
+ * the processing stages of all signals, including the ones handled by standalone components.
+ * {@link io.spine.server.trace.RingBufferTracerFactory} keeps the recent spans in memory and
+ * allows to query the slowest {@linkplain io.spine.server.trace.Trace traces}.
+ *
  * @see io.spine.server.trace.TracerFactory
  * @see io.spine.server.trace.Tracer
  * @see io.spine.server.ServerEnvironment#tracing()
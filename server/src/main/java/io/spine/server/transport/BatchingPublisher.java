@@ -0,0 +1,229 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.transport;
+
+import com.google.protobuf.Any;
+import io.spine.core.Ack;
+import io.spine.core.BoundedContextName;
+import io.spine.logging.Logging;
+import io.spine.server.integration.ExternalMessage;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.base.Errors.fromThrowable;
+import static io.spine.core.Status.StatusCase.OK;
+import static io.spine.server.bus.Acks.acknowledge;
+import static io.spine.server.bus.Acks.reject;
+import static io.spine.server.integration.ExternalMessages.batchOf;
+import static io.spine.util.Exceptions.newIllegalStateException;
+
+/**
+ * A {@link Publisher} which accumulates the published messages and sends them
+ * to the delegate publisher in batches.
+ *
+ * <p>The accumulated messages are sent once their number reaches the maximum batch size, or
+ * upon the {@linkplain #flushIfDue(long) request} of the {@link BatchingTransportFactory} once
+ * the batching window has passed since the oldest of them was published.
+ *
+ * <p>The messages are sent in the order of their publishing. Each message is removed from
+ * the buffer as soon as the delegate publisher accepts it. If the delegate fails, the messages
+ * not yet sent stay in the buffer and are sent upon the next flush, so the sent messages
+ * are not sent again.
+ *
+ * <p>While the delegate fails, the publisher does not accept new messages. The {@link Ack}
+ * of such a message carries the error of the delegate, and {@link #publishAll(List)}
+ * throws it.
+ */
+final class BatchingPublisher extends AbstractChannel implements Publisher, Logging {
+
+    private final Publisher delegate;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final boolean compress;
+
+    /** The messages awaiting to be sent. Guarded by {@code this}. */
+    private final List<ExternalMessage> buffer = new ArrayList<>();
+
+    /** The {@link System#nanoTime()} at which the oldest buffered message was published. */
+    private long oldestPublishedAt;
+
+    /** The failure of the last flush, or {@code null} if it succeeded. Guarded by {@code this}. */
+    private @Nullable RuntimeException failure;
+
+    BatchingPublisher(Publisher delegate, int maxBatchSize, long windowNanos, boolean compress) {
+        super(delegate.id());
+        this.delegate = checkNotNull(delegate);
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = windowNanos;
+        this.compress = compress;
+    }
+
+    /**
+     * Accepts the message for sending in a batch.
+     *
+     * @return the acknowledgement of accepting the message, or the error of the delegate
+     *         publisher if it fails to send the previously accepted messages
+     */
+    @Override
+    public synchronized Ack publish(Any id, ExternalMessage message) {
+        checkNotNull(message);
+        if (failure != null && !trySend()) {
+            return reject(id, fromThrowable(failure));
+        }
+        append(message);
+        return acknowledge(id);
+    }
+
+    /**
+     * Accepts the messages for sending in batches.
+     *
+     * @throws RuntimeException
+     *         the error of the delegate publisher, if it fails to send the previously
+     *         accepted messages
+     */
+    @Override
+    public synchronized void publishAll(List<ExternalMessage> messages) {
+        checkNotNull(messages);
+        if (failure != null && !trySend()) {
+            throw failure;
+        }
+        for (ExternalMessage message : messages) {
+            append(message);
+        }
+    }
+
+    private void append(ExternalMessage message) {
+        if (buffer.isEmpty()) {
+            oldestPublishedAt = System.nanoTime();
+        }
+        buffer.add(message);
+        if (buffer.size() >= maxBatchSize && !trySend()) {
+            _warn().withCause(failure)
+                   .log("Unable to publish a batch to the channel `%s`." +
+                                " %d message(s) will be sent upon the next flush.",
+                        id().getTargetType(), buffer.size());
+        }
+    }
+
+    /**
+     * Sends the accumulated messages if the batching window has passed since the oldest
+     * of them was published.
+     *
+     * @param now
+     *         the current {@link System#nanoTime()} value
+     * @throws RuntimeException
+     *         if the delegate publisher fails to send the messages
+     */
+    synchronized void flushIfDue(long now) {
+        if (!buffer.isEmpty() && now - oldestPublishedAt >= windowNanos) {
+            flush();
+        }
+    }
+
+    /**
+     * Sends all the accumulated messages.
+     *
+     * @throws RuntimeException
+     *         if the delegate publisher fails to send the messages; the messages not sent
+     *         are kept for the next flush
+     */
+    synchronized void flush() {
+        if (!trySend()) {
+            throw checkNotNull(failure);
+        }
+    }
+
+    /**
+     * Sends the accumulated messages until the delegate publisher fails.
+     *
+     * <p>Consecutive messages originating from the same Bounded Context are sent in one batch.
+     * A sole message is sent as is. The messages are removed from the buffer once sent.
+     *
+     * @return {@code true} if all the messages are sent, {@code false} if the delegate
+     *         publisher failed
+     */
+    private boolean trySend() {
+        while (!buffer.isEmpty()) {
+            BoundedContextName origin = buffer.get(0)
+                                              .getBoundedContextName();
+            int end = 1;
+            while (end < buffer.size() && buffer.get(end)
+                                                .getBoundedContextName()
+                                                .equals(origin)) {
+                end++;
+            }
+            List<ExternalMessage> group = buffer.subList(0, end);
+            try {
+                send(group, origin);
+            } catch (RuntimeException e) {
+                failure = e;
+                return false;
+            }
+            group.clear();
+        }
+        failure = null;
+        return true;
+    }
+
+    private void send(List<ExternalMessage> messages, BoundedContextName origin) {
+        Ack ack;
+        if (messages.size() == 1) {
+            ExternalMessage message = messages.get(0);
+            ack = delegate.publish(message.getId(), message);
+        } else {
+            ExternalMessage batch = batchOf(messages, origin, compress);
+            ack = delegate.publish(batch.getId(), batch);
+        }
+        if (ack.getStatus()
+               .getStatusCase() != OK) {
+            throw newIllegalStateException(
+                    "The channel `%s` did not accept %d message(s): %s",
+                    id().getTargetType(), messages.size(), ack.getStatus()
+            );
+        }
+    }
+
+    @Override
+    public boolean isStale() {
+        return delegate.isStale();
+    }
+
+    /**
+     * Sends the accumulated messages and closes the delegate publisher.
+     *
+     * @throws RuntimeException
+     *         if the delegate publisher fails to send the messages
+     */
+    @Override
+    public void close() throws Exception {
+        flush();
+        delegate.close();
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.transport;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.google.protobuf.Duration;
+import com.google.protobuf.util.Durations;
+import io.spine.logging.Logging;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.Sets.newConcurrentHashSet;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * A {@link TransportFactory} which publishes the external messages in batches.
+ *
+ * <p>Wraps another transport factory. The publishers created by this factory accumulate
+ * the messages published to a channel and send them through the publisher of the wrapped factory
+ * as a single {@link io.spine.server.integration.ExternalMessageBatch ExternalMessageBatch}.
+ * A batch is sent once it reaches the {@linkplain Builder#setMaxBatchSize(int) maximum size}
+ * or once the {@linkplain Builder#setWindow(Duration) batching window} has passed since its oldest
+ * message was published, whichever comes first. Optionally, the batched messages
+ * are {@linkplain Builder#compress() compressed}.
+ *
+ * <p>The subscribers are created by the wrapped factory as is. The batches are unpacked by
+ * the {@linkplain io.spine.server.integration.AbstractChannelObserver channel observers}
+ * on the receiving side.
+ *
+ * <p>Batching trades the latency of the integration events for the throughput of the transport.
+ * Each message is delayed by at most the batching window.
+ */
+public final class BatchingTransportFactory implements TransportFactory, Logging {
+
+    private static final int DEFAULT_MAX_BATCH_SIZE = 100;
+    private static final Duration DEFAULT_WINDOW = Durations.fromMillis(50);
+
+    private final TransportFactory delegate;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final boolean compress;
+    private final Set<BatchingPublisher> publishers = newConcurrentHashSet();
+    private final ScheduledExecutorService flusher;
+
+    private BatchingTransportFactory(Builder builder) {
+        this.delegate = builder.delegate;
+        this.maxBatchSize = builder.maxBatchSize;
+        this.windowNanos = Durations.toNanos(builder.window);
+        this.compress = builder.compress;
+        this.flusher = newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("batching-transport-%d")
+                                          .setDaemon(true)
+                                          .build()
+        );
+        flusher.scheduleWithFixedDelay(this::flushDue, windowNanos, windowNanos, NANOSECONDS);
+    }
+
+    /**
+     * Creates a new builder of the factory wrapping the passed one.
+     *
+     * @param delegate
+     *         the factory which creates the channels delivering the batches
+     */
+    public static Builder newBuilder(TransportFactory delegate) {
+        checkNotNull(delegate);
+        return new Builder(delegate);
+    }
+
+    @Override
+    public Publisher createPublisher(ChannelId id) {
+        checkOpen();
+        Publisher publisher = delegate.createPublisher(id);
+        BatchingPublisher result =
+                new BatchingPublisher(publisher, maxBatchSize, windowNanos, compress);
+        publishers.add(result);
+        return result;
+    }
+
+    @Override
+    public Subscriber createSubscriber(ChannelId id) {
+        checkOpen();
+        return delegate.createSubscriber(id);
+    }
+
+    private void flushDue() {
+        long now = System.nanoTime();
+        for (BatchingPublisher publisher : publishers) {
+            try {
+                publisher.flushIfDue(now);
+            } catch (RuntimeException e) {
+                _error().withCause(e)
+                        .log("Unable to publish a batch to the channel `%s`.",
+                             publisher.id().getTargetType());
+            }
+        }
+    }
+
+    @Override
+    public boolean isOpen() {
+        return !flusher.isShutdown() && delegate.isOpen();
+    }
+
+    /**
+     * Sends the messages accumulated by the publishers and closes the wrapped factory.
+     *
+     * @throws RuntimeException
+     *         if some of the publishers fail to send their messages; the wrapped factory
+     *         is closed nevertheless
+     */
+    @Override
+    public void close() throws Exception {
+        flusher.shutdown();
+        @Nullable RuntimeException failure = null;
+        for (BatchingPublisher publisher : publishers) {
+            try {
+                publisher.flush();
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        publishers.clear();
+        delegate.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * A builder of {@code BatchingTransportFactory}.
+     */
+    public static final class Builder {
+
+        private final TransportFactory delegate;
+        private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+        private Duration window = DEFAULT_WINDOW;
+        private boolean compress;
+
+        private Builder(TransportFactory delegate) {
+            this.delegate = delegate;
+        }
+
+        /**
+         * Sets the maximum number of messages in a batch.
+         *
+         * <p>If not set, the batches hold up to {@value #DEFAULT_MAX_BATCH_SIZE} messages.
+         */
+        @CanIgnoreReturnValue
+        public Builder setMaxBatchSize(int maxBatchSize) {
+            checkArgument(maxBatchSize > 0, "The maximum batch size must be positive.");
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Sets for how long the published messages may be accumulated before sending.
+         *
+         * <p>If not set, 50 ms window is used.
+         */
+        @CanIgnoreReturnValue
+        public Builder setWindow(Duration window) {
+            checkNotNull(window);
+            checkArgument(Durations.toNanos(window) > 0, "The batching window must be positive.");
+            this.window = window;
+            return this;
+        }
+
+        /**
+         * Makes the factory compress the batched messages with GZIP.
+         */
+        @CanIgnoreReturnValue
+        public Builder compress() {
+            this.compress = true;
+            return this;
+        }
+
+        /**
+         * Creates a new instance of the factory.
+         */
+        public BatchingTransportFactory build() {
+            return new BatchingTransportFactory(this);
+        }
+    }
+}
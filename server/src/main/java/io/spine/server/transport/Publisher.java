@@ -30,6 +30,8 @@ import com.google.protobuf.Any;
 import io.spine.core.Ack;
 import io.spine.server.integration.ExternalMessage;
 
+import java.util.List;
+
 /**
  * Publisher of messages of a specific type.
  *
@@ -47,4 +49,20 @@ public interface Publisher extends MessageChannel {
      */
     @CanIgnoreReturnValue
     Ack publish(Any id, ExternalMessage message);
+
+    /**
+     * Publishes the given messages to the channel.
+     *
+     * <p>By default, {@linkplain #publish(Any, ExternalMessage) publishes} the messages one by one
+     * under their own IDs. Publishers which can send a number of messages at once should
+     * override this method.
+     *
+     * @param messages
+     *         the messages to publish, in the order of publishing
+     */
+    default void publishAll(List<ExternalMessage> messages) {
+        for (ExternalMessage message : messages) {
+            publish(message.getId(), message);
+        }
+    }
 }
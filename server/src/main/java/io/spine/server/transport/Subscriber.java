@@ -26,6 +26,7 @@
 package io.spine.server.transport;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.protobuf.Duration;
 import io.grpc.stub.StreamObserver;
 import io.spine.annotation.SPI;
 import io.spine.server.integration.ExternalMessage;
@@ -34,6 +35,7 @@ import java.util.Set;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.collect.Sets.newConcurrentHashSet;
+import static com.google.protobuf.util.Durations.ZERO;
 
 /**
  * Subscriber for messages of a specific type.
@@ -98,6 +100,27 @@ public abstract class Subscriber extends AbstractChannel {
         callObservers(message);
     }
 
+    /**
+     * Returns the number of received messages not yet passed to the observers.
+     *
+     * <p>Subscribers which pass the messages to the observers asynchronously should override
+     * this method. By default, returns zero.
+     */
+    public int queueDepth() {
+        return 0;
+    }
+
+    /**
+     * Returns how long the recently delivered message waited before being passed
+     * to the observers.
+     *
+     * <p>Subscribers which pass the messages to the observers asynchronously should override
+     * this method. By default, returns zero duration.
+     */
+    public Duration lag() {
+        return ZERO;
+    }
+
     protected final void callObservers(ExternalMessage message) {
         for (StreamObserver<ExternalMessage> observer : observers()) {
             observer.onNext(message);
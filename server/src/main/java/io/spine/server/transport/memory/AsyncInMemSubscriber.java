@@ -0,0 +1,130 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.transport.memory;
+
+import com.google.protobuf.Duration;
+import io.spine.base.Identifier;
+import io.spine.core.BoundedContextName;
+import io.spine.logging.Logging;
+import io.spine.server.integration.ExternalMessage;
+import io.spine.server.transport.ChannelId;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.flogger.LazyArgs.lazy;
+import static com.google.protobuf.util.Durations.fromNanos;
+
+/**
+ * The in-memory subscriber, which delivers the messages asynchronously through
+ * a {@link LaneExecutor} with bounded queues.
+ *
+ * <p>The messages published by the same Bounded Context are delivered to the observers of this
+ * subscriber in the order of their publishing. The messages of different Bounded Contexts may be
+ * delivered in parallel.
+ */
+final class AsyncInMemSubscriber extends InMemorySubscriber implements Logging {
+
+    private final LaneExecutor executor;
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicLong lagNanos = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    AsyncInMemSubscriber(ChannelId id, LaneExecutor executor) {
+        super(id);
+        this.executor = executor;
+    }
+
+    @Override
+    public void onMessage(ExternalMessage message) {
+        long received = System.nanoTime();
+        queueDepth.incrementAndGet();
+        BoundedContextName producer = message.getBoundedContextName();
+        boolean accepted = executor.submit(new LaneKey(id(), producer), () -> {
+            queueDepth.decrementAndGet();
+            lagNanos.set(System.nanoTime() - received);
+            callObservers(message);
+        });
+        if (!accepted) {
+            queueDepth.decrementAndGet();
+            dropped.incrementAndGet();
+            _warn().log("The queue of the channel `%s` is full. " +
+                                "Dropping the external message `%s` with ID `%s`.",
+                        id().getTargetType(),
+                        message.getOriginalMessage().getTypeUrl(),
+                        lazy(() -> Identifier.unpack(message.getId())));
+        }
+    }
+
+    @Override
+    public int queueDepth() {
+        return queueDepth.get();
+    }
+
+    @Override
+    public Duration lag() {
+        return fromNanos(lagNanos.get());
+    }
+
+    /**
+     * Returns the number of the messages dropped because the queue was full.
+     */
+    long droppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Routes the messages of the same producer to the same subscriber through the same lane.
+     */
+    private static final class LaneKey {
+
+        private final ChannelId channel;
+        private final BoundedContextName producer;
+
+        private LaneKey(ChannelId channel, BoundedContextName producer) {
+            this.channel = channel;
+            this.producer = producer;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * channel.hashCode() + producer.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof LaneKey)) {
+                return false;
+            }
+            LaneKey other = (LaneKey) o;
+            return channel.equals(other.channel) && producer.equals(other.producer);
+        }
+    }
+}
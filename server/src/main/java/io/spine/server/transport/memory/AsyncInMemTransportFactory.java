@@ -0,0 +1,141 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.transport.memory;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.spine.server.transport.ChannelId;
+import io.spine.server.transport.Subscriber;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The implementation of {@link io.spine.server.transport.TransportFactory TransportFactory}
+ * which delivers the messages to the subscribers asynchronously, with back-pressure.
+ *
+ * <p>All the subscribers created by the factory share a fixed number of worker threads. Each
+ * worker has a queue of a bounded capacity. The messages published by the same Bounded Context
+ * to the same channel go through the same worker and are thus delivered in order. When the queue
+ * is full, the publisher either waits or the message is dropped, depending on
+ * the {@link OverflowPolicy}. This way, a fast upstream context cannot exhaust the memory
+ * of a slow downstream one.
+ *
+ * <p>The number of the queued messages and the lag of the delivery are available via
+ * {@link Subscriber#queueDepth()} and {@link Subscriber#lag()}.
+ */
+public final class AsyncInMemTransportFactory extends InMemoryTransportFactory {
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private final LaneExecutor executor;
+
+    private AsyncInMemTransportFactory(Builder builder) {
+        super();
+        this.executor = new LaneExecutor(builder.workers,
+                                         builder.queueCapacity,
+                                         builder.overflowPolicy,
+                                         "in-mem-subscriber");
+    }
+
+    /**
+     * Creates a new builder of the factory.
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    @Override
+    protected Subscriber newSubscriber(ChannelId id) {
+        checkNotNull(id);
+        return new AsyncInMemSubscriber(id, executor);
+    }
+
+    /**
+     * Closes the factory and stops the workers once they deliver the queued messages.
+     */
+    @Override
+    public synchronized void close() {
+        super.close();
+        executor.shutdown();
+    }
+
+    /**
+     * A builder of {@code AsyncInMemTransportFactory}.
+     */
+    public static final class Builder {
+
+        private int workers = Runtime.getRuntime()
+                                     .availableProcessors();
+        private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the number of the worker threads.
+         *
+         * <p>If not set, the number of available processors is used.
+         */
+        @CanIgnoreReturnValue
+        public Builder setWorkers(int workers) {
+            checkArgument(workers > 0, "The number of workers must be positive.");
+            this.workers = workers;
+            return this;
+        }
+
+        /**
+         * Sets the capacity of the queue of each worker.
+         *
+         * <p>If not set, {@value #DEFAULT_QUEUE_CAPACITY} is used.
+         */
+        @CanIgnoreReturnValue
+        public Builder setQueueCapacity(int queueCapacity) {
+            checkArgument(queueCapacity > 0, "The queue capacity must be positive.");
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Sets what to do with a message received when the queue is full.
+         *
+         * <p>If not set, {@link OverflowPolicy#BLOCK} is used.
+         */
+        @CanIgnoreReturnValue
+        public Builder setOverflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = checkNotNull(overflowPolicy);
+            return this;
+        }
+
+        /**
+         * Creates a new instance of the factory.
+         */
+        public AsyncInMemTransportFactory build() {
+            return new AsyncInMemTransportFactory(this);
+        }
+    }
+}
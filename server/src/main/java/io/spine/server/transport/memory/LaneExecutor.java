@@ -0,0 +1,187 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.transport.memory;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.logging.Logging;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Executes tasks in several worker threads, each having a bounded queue.
+ *
+ * <p>The tasks with equal keys are executed by the same worker in the order of their submission.
+ */
+final class LaneExecutor implements Logging {
+
+    /**
+     * How long a worker of a shut down executor waits for the tasks still being submitted.
+     */
+    private static final long DRAIN_POLL_MILLIS = 10;
+
+    /**
+     * A task which only wakes up an idle worker.
+     */
+    private static final Runnable WAKE_UP = () -> {};
+
+    private final ImmutableList<Lane> lanes;
+    private final OverflowPolicy policy;
+    private volatile boolean open = true;
+
+    /**
+     * The number of the submissions in progress.
+     *
+     * <p>The workers of a shut down executor do not stop until these submissions complete,
+     * so that the tasks of the publishers waiting for the room in a queue are not lost.
+     */
+    private final AtomicInteger submitting = new AtomicInteger();
+
+    LaneExecutor(int workers, int queueCapacity, OverflowPolicy policy, String name) {
+        checkArgument(workers > 0);
+        checkArgument(queueCapacity > 0);
+        this.policy = policy;
+        ImmutableList.Builder<Lane> lanes = ImmutableList.builder();
+        for (int i = 0; i < workers; i++) {
+            Lane lane = new Lane(queueCapacity, name + '-' + i);
+            lane.start();
+            lanes.add(lane);
+        }
+        this.lanes = lanes.build();
+    }
+
+    /**
+     * Submits the task for execution after the previously submitted tasks with the same key.
+     *
+     * <p>If the queue of the worker is full, either waits for the room in the queue or
+     * rejects the task, depending on the {@link OverflowPolicy}.
+     *
+     * <p>A task submitted by a worker of this executor is rejected if the queue is full,
+     * regardless of the policy. Waiting could deadlock the workers submitting to each other,
+     * while executing the task in place would break the order of the tasks.
+     *
+     * @return {@code true} if the task is accepted, {@code false} if it is dropped
+     * @throws IllegalStateException
+     *         if the executor is shut down
+     */
+    boolean submit(Object key, Runnable task) {
+        submitting.incrementAndGet();
+        try {
+            checkState(open, "The executor is already shut down.");
+            Lane lane = lanes.get(Math.floorMod(key.hashCode(), lanes.size()));
+            if (lane.queue.offer(task)) {
+                return true;
+            }
+            if (policy == OverflowPolicy.DROP || isWorker(Thread.currentThread())) {
+                return false;
+            }
+            return put(lane, task);
+        } finally {
+            submitting.decrementAndGet();
+        }
+    }
+
+    private static boolean put(Lane lane, Runnable task) {
+        try {
+            lane.queue.put(task);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            return false;
+        }
+    }
+
+    private boolean isWorker(Thread thread) {
+        return thread instanceof Lane && lanes.contains(thread);
+    }
+
+    /**
+     * Stops accepting the tasks.
+     *
+     * <p>The workers stop once they execute the already submitted tasks, including the tasks
+     * of the publishers still waiting for the room in a queue.
+     */
+    void shutdown() {
+        open = false;
+        for (Lane lane : lanes) {
+            // Wakes up an idle worker. A busy one re-checks the state after the current task.
+            lane.queue.offer(WAKE_UP);
+        }
+    }
+
+    /**
+     * Tells if the executor is shut down and the given worker has nothing more to execute.
+     */
+    private boolean drained(Lane lane) {
+        return !open && submitting.get() == 0 && lane.queue.isEmpty();
+    }
+
+    /**
+     * A worker thread with its queue.
+     */
+    private final class Lane extends Thread {
+
+        private final BlockingQueue<Runnable> queue;
+
+        private Lane(int capacity, String name) {
+            super(name);
+            setDaemon(true);
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        @Override
+        public void run() {
+            while (!drained(this)) {
+                try {
+                    Runnable task = open
+                                    ? queue.take()
+                                    : queue.poll(DRAIN_POLL_MILLIS, MILLISECONDS);
+                    if (task != null) {
+                        execute(task);
+                    }
+                } catch (InterruptedException ignored) {
+                    // Re-check whether the executor is still open.
+                }
+            }
+        }
+
+        private void execute(Runnable task) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                _error().withCause(e)
+                        .log("Failed to execute a task in `%s`.", getName());
+            }
+        }
+    }
+}
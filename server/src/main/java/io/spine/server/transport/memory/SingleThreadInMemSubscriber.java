@@ -26,6 +26,7 @@
 
 package io.spine.server.transport.memory;
 
+import com.google.protobuf.Duration;
 import io.spine.base.Identifier;
 import io.spine.logging.Logging;
 import io.spine.server.integration.ExternalMessage;
@@ -35,9 +36,12 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 import static com.google.common.flogger.LazyArgs.lazy;
+import static com.google.protobuf.util.Durations.fromNanos;
 
 /**
  * The in-memory subscriber, which uses single-thread delivery of messages.
@@ -51,6 +55,8 @@ import static com.google.common.flogger.LazyArgs.lazy;
 final class SingleThreadInMemSubscriber extends InMemorySubscriber implements Logging {
 
     private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicLong lagNanos = new AtomicLong();
 
     SingleThreadInMemSubscriber(ChannelId id) {
         super(id);
@@ -59,10 +65,26 @@ final class SingleThreadInMemSubscriber extends InMemorySubscriber implements Lo
     @SuppressWarnings("FutureReturnValueIgnored") // Error handling is done manually.
     @Override
     public void onMessage(ExternalMessage message) {
-        CompletableFuture.runAsync(() -> callObservers(message), executor)
+        long received = System.nanoTime();
+        queueDepth.incrementAndGet();
+        CompletableFuture.runAsync(() -> {
+                             queueDepth.decrementAndGet();
+                             lagNanos.set(System.nanoTime() - received);
+                             callObservers(message);
+                         }, executor)
                          .exceptionally(throwable -> logError(throwable, message));
     }
 
+    @Override
+    public int queueDepth() {
+        return queueDepth.get();
+    }
+
+    @Override
+    public Duration lag() {
+        return fromNanos(lagNanos.get());
+    }
+
     /**
      * Conveniently logs an error in {@link CompletableFuture#exceptionally(Function)}.
      *
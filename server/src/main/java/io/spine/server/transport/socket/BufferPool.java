@@ -0,0 +1,99 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.transport.socket;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A pool of direct byte buffers of the same capacity.
+ *
+ * <p>Allows to encode the outgoing frames without allocating a new buffer for each of them.
+ * The buffers larger than the pooled ones are allocated on the heap and are not pooled.
+ */
+final class BufferPool {
+
+    /**
+     * The capacity of the pooled buffers, which fits a typical frame carrying
+     * an external message.
+     */
+    static final int FRAME_BUFFER_SIZE = 16 * 1024;
+
+    private final int bufferSize;
+    private final int maxPooled;
+    private final Queue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    /**
+     * Creates a new pool.
+     *
+     * @param bufferSize
+     *         the capacity of the pooled buffers
+     * @param maxPooled
+     *         the maximum number of buffers kept in the pool
+     */
+    BufferPool(int bufferSize, int maxPooled) {
+        checkArgument(bufferSize > 0);
+        checkArgument(maxPooled >= 0);
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+    }
+
+    /**
+     * Obtains a cleared buffer with at least the given capacity.
+     */
+    ByteBuffer acquire(int capacity) {
+        if (capacity > bufferSize) {
+            return ByteBuffer.allocate(capacity);
+        }
+        ByteBuffer buffer = free.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+        pooled.decrementAndGet();
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Returns the buffer to the pool.
+     *
+     * <p>The buffer must not be used by the caller after the release.
+     */
+    void release(ByteBuffer buffer) {
+        boolean poolable = buffer.isDirect() && buffer.capacity() == bufferSize;
+        if (poolable && pooled.incrementAndGet() <= maxPooled) {
+            free.offer(buffer);
+        } else if (poolable) {
+            pooled.decrementAndGet();
+        }
+    }
+}
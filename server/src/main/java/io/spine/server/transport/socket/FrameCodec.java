@@ -0,0 +1,161 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.transport.socket;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.function.Consumer;
+
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static io.spine.util.Exceptions.newIllegalStateException;
+
+/**
+ * Reads and writes the length-prefixed {@link Frame}s.
+ *
+ * <p>Each frame on the wire is preceded by its length encoded as a four-byte
+ * big-endian integer.
+ *
+ * <p>An instance keeps the read buffer of a single connection and is not thread-safe.
+ */
+final class FrameCodec {
+
+    /** The number of bytes of the frame length prefix. */
+    static final int PREFIX_SIZE = Integer.BYTES;
+
+    /** The maximum allowed size of a frame, prefix excluded. */
+    private static final int MAX_FRAME_SIZE = 64 * 1024 * 1024;
+
+    private static final int INITIAL_READ_BUFFER = 64 * 1024;
+
+    /** The buffer accumulating the read bytes, in the write mode. */
+    private ByteBuffer readBuffer = ByteBuffer.allocateDirect(INITIAL_READ_BUFFER);
+
+    /**
+     * Reads the available bytes from the channel and passes each complete frame to the consumer.
+     *
+     * <p>The consumer receives a view of the read buffer holding the length prefix followed by
+     * the frame bytes. The view is valid only until the consumer returns.
+     *
+     * @return {@code false} if the end of the stream is reached, {@code true} otherwise
+     * @throws IOException
+     *         if the channel fails to read
+     */
+    boolean read(ReadableByteChannel channel, Consumer<ByteBuffer> consumer) throws IOException {
+        int read = channel.read(readBuffer);
+        if (read < 0) {
+            return false;
+        }
+        readBuffer.flip();
+        while (readBuffer.remaining() >= PREFIX_SIZE) {
+            int start = readBuffer.position();
+            int size = readBuffer.getInt(start);
+            if (size < 0 || size > MAX_FRAME_SIZE) {
+                throw new IOException("Invalid frame size: " + size + '.');
+            }
+            int total = PREFIX_SIZE + size;
+            if (readBuffer.remaining() < total) {
+                break;
+            }
+            ByteBuffer frame = readBuffer.duplicate();
+            frame.limit(start + total);
+            consumer.accept(frame.slice());
+            readBuffer.position(start + total);
+        }
+        ensureRoom();
+        return true;
+    }
+
+    /**
+     * Compacts the read buffer and grows it, if the pending frame does not fit into it.
+     */
+    private void ensureRoom() {
+        int required = readBuffer.remaining() >= PREFIX_SIZE
+                       ? PREFIX_SIZE + readBuffer.getInt(readBuffer.position())
+                       : 0;
+        if (required > readBuffer.capacity()) {
+            ByteBuffer larger = ByteBuffer.allocateDirect(required);
+            larger.put(readBuffer);
+            readBuffer = larger;
+        } else {
+            readBuffer.compact();
+        }
+    }
+
+    /**
+     * Parses the frame from the view passed to the consumer of {@link #read}.
+     */
+    static Frame parse(ByteBuffer prefixedFrame) {
+        ByteBuffer body = prefixedFrame.duplicate();
+        body.position(body.position() + PREFIX_SIZE);
+        try {
+            return Frame.parseFrom(body);
+        } catch (InvalidProtocolBufferException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    /**
+     * Encodes the frame into a buffer obtained from the pool.
+     *
+     * @return the buffer in the read mode holding the length prefix and the frame bytes
+     */
+    static ByteBuffer encode(Frame frame, BufferPool pool) {
+        int size = frame.getSerializedSize();
+        ByteBuffer buffer = pool.acquire(PREFIX_SIZE + size);
+        buffer.putInt(size);
+        CodedOutputStream output = CodedOutputStream.newInstance(buffer);
+        try {
+            frame.writeTo(output);
+            output.flush();
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+        buffer.flip();
+        if (buffer.remaining() != PREFIX_SIZE + size) {
+            throw newIllegalStateException("Unable to encode the frame %s.", frame.getSequence());
+        }
+        return buffer;
+    }
+
+    /**
+     * Writes all the remaining bytes of the buffer to the blocking channel.
+     */
+    static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            int written = channel.write(buffer);
+            if (written < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.transport.socket;
+
+import io.spine.logging.Logging;
+import io.spine.server.integration.ExternalMessage;
+import io.spine.server.transport.ChannelId;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.Set;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.Sets.newConcurrentHashSet;
+import static io.spine.server.transport.socket.FrameCodec.encode;
+import static io.spine.server.transport.socket.FrameCodec.parse;
+import static io.spine.server.transport.socket.FrameCodec.writeFully;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * A connection of a {@link SocketTransportFactory} to a {@link SocketHub}.
+ *
+ * <p>The publications are pipelined: a publication is written to the socket without waiting for
+ * the acknowledgements of the previous ones. The publications stay in memory until the hub
+ * acknowledges them. The number of the unacknowledged publications is bounded. When the bound
+ * is reached, publishing blocks until the hub acknowledges some of the publications. The only
+ * exception is the publishing from the thread which delivers the received publications, since
+ * the acknowledgements are received by the same thread.
+ *
+ * <p>If the connection breaks, a dedicated reader thread reconnects to the hub, restores
+ * the subscriptions and sends again all the unacknowledged publications in their original
+ * order. Hence, a publication may be sent more than once if the connection breaks after
+ * the hub has forwarded it, but before its acknowledgement reached the publisher. The receivers
+ * {@linkplain SocketTransportFactory skip} such duplicates.
+ */
+final class SocketConnection implements AutoCloseable, Logging {
+
+    private static final long MIN_RECONNECT_DELAY_MS = 50;
+    private static final long MAX_RECONNECT_DELAY_MS = 2_000;
+
+    /** The max number of the publications awaiting for the acknowledgement of the hub. */
+    private static final int MAX_UNACKNOWLEDGED = 10_000;
+
+    private final InetSocketAddress address;
+    private final Consumer<Publication> onPublication;
+    private final BufferPool pool = new BufferPool(BufferPool.FRAME_BUFFER_SIZE, 256);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Set<ChannelId> subscriptions = newConcurrentHashSet();
+    private final ConcurrentNavigableMap<Long, Frame> unacknowledged =
+            new ConcurrentSkipListMap<>();
+    private final Semaphore window = new Semaphore(MAX_UNACKNOWLEDGED);
+
+    /** The unacknowledged publications sent by the reader thread beyond the window. */
+    private final Set<Long> beyondWindow = newConcurrentHashSet();
+    private final Object writeLock = new Object();
+    private final Thread reader;
+    private volatile @Nullable SocketChannel channel;
+    private volatile boolean open = true;
+
+    /**
+     * Connects to the hub listening on the given address.
+     *
+     * @throws IllegalStateException
+     *         if the hub is not reachable
+     */
+    SocketConnection(InetSocketAddress address, Consumer<Publication> onPublication) {
+        this.address = address;
+        this.onPublication = onPublication;
+        try {
+            this.channel = connect();
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+        this.reader = new Thread(this::readLoop, "socket-transport-" + address.getPort());
+        this.reader.setDaemon(true);
+        this.reader.start();
+    }
+
+    private SocketChannel connect() throws IOException {
+        SocketChannel result = SocketChannel.open(address);
+        result.socket()
+              .setTcpNoDelay(true);
+        return result;
+    }
+
+    /**
+     * Requests the hub to forward the publications to the given channel.
+     */
+    void subscribe(ChannelId id) {
+        subscriptions.add(id);
+        send(Frame.newBuilder()
+                  .setSequence(sequence.incrementAndGet())
+                  .setSubscribe(id)
+                  .build());
+    }
+
+    /**
+     * Requests the hub to stop forwarding the publications to the given channel.
+     */
+    void unsubscribe(ChannelId id) {
+        subscriptions.remove(id);
+        send(Frame.newBuilder()
+                  .setSequence(sequence.incrementAndGet())
+                  .setUnsubscribe(id)
+                  .build());
+    }
+
+    /**
+     * Sends the message to the given channel without waiting for the acknowledgement.
+     */
+    void publish(ChannelId id, ExternalMessage message) {
+        Publication publication = Publication
+                .newBuilder()
+                .setChannel(id)
+                .setMessage(message)
+                .build();
+        boolean inWindow = acquireSlot();
+        synchronized (writeLock) {
+            long number = sequence.incrementAndGet();
+            Frame frame = Frame.newBuilder()
+                               .setSequence(number)
+                               .setPublication(publication)
+                               .build();
+            if (!inWindow) {
+                beyondWindow.add(number);
+            }
+            unacknowledged.put(number, frame);
+            send(frame);
+        }
+    }
+
+    /**
+     * Waits until the number of the unacknowledged publications drops below the bound.
+     *
+     * <p>The reader thread never waits, as it is the one to receive the acknowledgements.
+     *
+     * @return {@code true} if the publication fits into the window, {@code false} if
+     *         the reader thread publishes beyond the window
+     * @throws IllegalStateException
+     *         if the connection is closed while waiting
+     */
+    private boolean acquireSlot() {
+        if (Thread.currentThread() == reader) {
+            return window.tryAcquire();
+        }
+        try {
+            while (!window.tryAcquire(MIN_RECONNECT_DELAY_MS, MILLISECONDS)) {
+                checkState(open, "The connection to `%s` is closed.", address);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    /**
+     * Returns the number of the publications not yet acknowledged by the hub.
+     */
+    int pendingPublications() {
+        return unacknowledged.size();
+    }
+
+    /**
+     * Writes the frame to the socket.
+     *
+     * <p>If the connection is broken, does nothing. The reader thread then restores
+     * the connection and re-sends the subscriptions and the unacknowledged publications.
+     */
+    private void send(Frame frame) {
+        synchronized (writeLock) {
+            SocketChannel current = channel;
+            if (current == null) {
+                return;
+            }
+            ByteBuffer buffer = encode(frame, pool);
+            try {
+                writeFully(current, buffer);
+            } catch (IOException e) {
+                _debug().withCause(e)
+                        .log("Unable to write to `%s`.", address);
+                drop(current);
+            } finally {
+                pool.release(buffer);
+            }
+        }
+    }
+
+    private void readLoop() {
+        FrameCodec codec = new FrameCodec();
+        while (open) {
+            SocketChannel current = channel;
+            if (current == null) {
+                current = reconnect();
+                codec = new FrameCodec();
+                if (current == null) {
+                    return;
+                }
+            }
+            try {
+                boolean connected = codec.read(current, this::onFrame);
+                if (!connected) {
+                    drop(current);
+                }
+            } catch (IOException | RuntimeException e) {
+                if (open) {
+                    _debug().withCause(e)
+                            .log("The connection to `%s` is broken.", address);
+                }
+                drop(current);
+            }
+        }
+    }
+
+    private void onFrame(ByteBuffer prefixedFrame) {
+        Frame frame = parse(prefixedFrame);
+        switch (frame.getKindCase()) {
+            case ACK:
+                long number = frame.getAck();
+                if (unacknowledged.remove(number) != null && !beyondWindow.remove(number)) {
+                    window.release();
+                }
+                break;
+            case PUBLICATION:
+                onPublication.accept(frame.getPublication());
+                break;
+            default:
+                _warn().log("Unexpected frame `%s` received from the socket hub.",
+                            frame.getKindCase());
+        }
+    }
+
+    private void drop(SocketChannel broken) {
+        synchronized (writeLock) {
+            if (channel == broken) {
+                channel = null;
+            }
+        }
+        try {
+            broken.close();
+        } catch (IOException e) {
+            _debug().withCause(e)
+                    .log("Unable to close the connection to `%s`.", address);
+        }
+    }
+
+    /**
+     * Connects to the hub again, restores the subscriptions and re-sends
+     * the unacknowledged publications.
+     *
+     * @return the new connection or {@code null} if this connection was closed meanwhile
+     */
+    private @Nullable SocketChannel reconnect() {
+        long delay = MIN_RECONNECT_DELAY_MS;
+        while (open) {
+            try {
+                SocketChannel restored = connect();
+                synchronized (writeLock) {
+                    channel = restored;
+                    for (ChannelId id : subscriptions) {
+                        send(Frame.newBuilder()
+                                  .setSequence(sequence.incrementAndGet())
+                                  .setSubscribe(id)
+                                  .build());
+                    }
+                    for (Frame frame : unacknowledged.values()) {
+                        send(frame);
+                    }
+                }
+                _info().log("Reconnected to the socket hub at `%s`.", address);
+                return restored;
+            } catch (IOException e) {
+                _debug().withCause(e)
+                        .log("Unable to reconnect to `%s`. Retrying in %d ms.", address, delay);
+                sleep(delay);
+                delay = Math.min(delay * 2, MAX_RECONNECT_DELAY_MS);
+            }
+        }
+        return null;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        }
+    }
+
+    /**
+     * Closes the connection and stops the reader thread.
+     */
+    @Override
+    public void close() throws Exception {
+        open = false;
+        SocketChannel current = channel;
+        if (current != null) {
+            drop(current);
+        }
+        reader.interrupt();
+        reader.join();
+    }
+}
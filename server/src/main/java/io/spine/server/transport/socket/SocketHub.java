@@ -0,0 +1,428 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.transport.socket;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.logging.Logging;
+import io.spine.server.transport.ChannelId;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+import static io.spine.server.transport.socket.FrameCodec.parse;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static java.nio.channels.SelectionKey.OP_ACCEPT;
+import static java.nio.channels.SelectionKey.OP_READ;
+import static java.nio.channels.SelectionKey.OP_WRITE;
+
+/**
+ * A relay of the frames published through the {@link SocketTransportFactory}s of the processes
+ * running on the same host.
+ *
+ * <p>The hub listens on a loopback port. Each connected factory tells the hub which channels
+ * it subscribes to. The hub forwards each received publication to all the connections subscribed
+ * to its channel, including the publishing one, and acknowledges the publication to its sender.
+ * The publications are forwarded as they were received, without being parsed and serialized again.
+ *
+ * <p>All the connections are served by a single thread using non-blocking I/O.
+ *
+ * <p>The frames pending to be sent to a connection are bounded. If a connection does not keep
+ * up with the forwarded publications, the hub stops reading from the other connections until
+ * the slow one catches up, so that the publishers are held back by the socket flow control.
+ * The hub keeps reading from the slow connections themselves, as they might be blocked on
+ * publishing too.
+ *
+ * <p>Typically, the hub is hosted by one of the processes of the deployment, which creates its
+ * transport factory via {@link SocketTransportFactory#hostingHub(int)}.
+ */
+public final class SocketHub implements AutoCloseable, Logging {
+
+    /** The number of the pending outbound bytes above which a connection is congested. */
+    private static final long HIGH_WATER_MARK = 4 * 1024 * 1024;
+
+    /** The number of the pending outbound bytes below which a connection is relieved. */
+    private static final long LOW_WATER_MARK = 1024 * 1024;
+
+    private final ServerSocketChannel server;
+    private final Selector selector;
+    private final Thread loop;
+    private final Map<ChannelId, Set<Peer>> subscriptions = new HashMap<>();
+    private final BufferPool pool = new BufferPool(BufferPool.FRAME_BUFFER_SIZE, 256);
+    private final Set<Peer> congested = new HashSet<>();
+    private volatile boolean open = true;
+
+    private SocketHub(ServerSocketChannel server, Selector selector) {
+        this.server = server;
+        this.selector = selector;
+        this.loop = new Thread(this::run, "socket-hub-" + port());
+        this.loop.setDaemon(true);
+    }
+
+    /**
+     * Starts a hub listening on the given loopback port.
+     *
+     * @param port
+     *         the port to listen on, or {@code 0} to choose an ephemeral port
+     * @return the started hub
+     * @throws IllegalStateException
+     *         if the port cannot be bound
+     */
+    public static SocketHub start(int port) {
+        try {
+            Selector selector = Selector.open();
+            ServerSocketChannel server = ServerSocketChannel.open();
+            server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+            server.configureBlocking(false);
+            server.register(selector, OP_ACCEPT);
+            SocketHub hub = new SocketHub(server, selector);
+            hub.loop.start();
+            return hub;
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    /**
+     * Returns the port the hub listens on.
+     */
+    public int port() {
+        return server.socket()
+                     .getLocalPort();
+    }
+
+    private void run() {
+        while (open) {
+            try {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys()
+                                                      .iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    handle(key);
+                }
+            } catch (IOException e) {
+                if (open) {
+                    _error().withCause(e)
+                            .log("The socket hub on port %d failed to select.", port());
+                }
+            }
+        }
+    }
+
+    private void handle(SelectionKey key) throws IOException {
+        if (!key.isValid()) {
+            return;
+        }
+        if (key.isAcceptable()) {
+            accept();
+            return;
+        }
+        Peer peer = (Peer) key.attachment();
+        try {
+            if (key.isReadable()) {
+                boolean connected = peer.codec.read(peer.channel, frame -> onFrame(peer, frame));
+                if (!connected) {
+                    disconnect(peer);
+                    return;
+                }
+            }
+            if (key.isValid() && key.isWritable()) {
+                peer.flush();
+            }
+        } catch (IOException | RuntimeException e) {
+            _debug().withCause(e)
+                    .log("Dropping the connection to `%s`.", peer.channel);
+            disconnect(peer);
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.socket()
+               .setTcpNoDelay(true);
+        SelectionKey key = channel.register(selector, OP_READ);
+        key.attach(new Peer(channel, key));
+    }
+
+    private void onFrame(Peer sender, ByteBuffer prefixedFrame) {
+        Frame frame = parse(prefixedFrame);
+        switch (frame.getKindCase()) {
+            case SUBSCRIBE:
+                subscriptions.computeIfAbsent(frame.getSubscribe(), id -> new LinkedHashSet<>())
+                             .add(sender);
+                break;
+            case UNSUBSCRIBE:
+                Set<Peer> peers = subscriptions.get(frame.getUnsubscribe());
+                if (peers != null) {
+                    peers.remove(sender);
+                }
+                break;
+            case PUBLICATION:
+                forward(frame.getPublication()
+                             .getChannel(), prefixedFrame);
+                acknowledge(sender, frame.getSequence());
+                break;
+            default:
+                _warn().log("Unexpected frame `%s` received by the socket hub.",
+                            frame.getKindCase());
+        }
+    }
+
+    private void forward(ChannelId channel, ByteBuffer prefixedFrame) {
+        Set<Peer> peers = subscriptions.get(channel);
+        if (peers == null || peers.isEmpty()) {
+            return;
+        }
+        ByteBuffer copy = pool.acquire(prefixedFrame.remaining());
+        copy.put(prefixedFrame.duplicate());
+        copy.flip();
+        SharedBuffer shared = new SharedBuffer(copy, peers.size());
+        for (Peer peer : ImmutableList.copyOf(peers)) {
+            peer.send(shared);
+        }
+    }
+
+    private void acknowledge(Peer sender, long sequence) {
+        Frame ack = Frame.newBuilder()
+                         .setAck(sequence)
+                         .build();
+        sender.send(new SharedBuffer(FrameCodec.encode(ack, pool), 1));
+    }
+
+    private void disconnect(Peer peer) {
+        if (!peer.key.isValid()) {
+            return;
+        }
+        peer.key.cancel();
+        try {
+            peer.channel.close();
+        } catch (IOException e) {
+            _debug().withCause(e)
+                    .log("Unable to close the connection to `%s`.", peer.channel);
+        }
+        for (Set<Peer> peers : subscriptions.values()) {
+            peers.remove(peer);
+        }
+        peer.discard();
+        if (congested.remove(peer) && congested.isEmpty()) {
+            updateInterests();
+        }
+    }
+
+    /**
+     * Starts or stops reading from the connections after the set of the congested connections
+     * becomes empty or non-empty.
+     */
+    private void updateInterests() {
+        for (SelectionKey key : selector.keys()) {
+            Object attachment = key.attachment();
+            if (attachment instanceof Peer) {
+                ((Peer) attachment).updateInterest();
+            }
+        }
+    }
+
+    /**
+     * Tells whether the hub accepts connections.
+     */
+    public boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * Stops the hub and closes all the connections.
+     */
+    @Override
+    public synchronized void close() throws Exception {
+        if (!open) {
+            return;
+        }
+        open = false;
+        selector.wakeup();
+        loop.join();
+        for (SelectionKey key : selector.keys()) {
+            key.channel()
+               .close();
+        }
+        selector.close();
+        server.close();
+        subscriptions.clear();
+    }
+
+    /**
+     * A buffer with a frame sent to one or more connections.
+     *
+     * <p>The buffer is returned to the pool after all the connections sent the frame.
+     */
+    private final class SharedBuffer {
+
+        private final ByteBuffer buffer;
+        private int references;
+
+        private SharedBuffer(ByteBuffer buffer, int references) {
+            this.buffer = buffer;
+            this.references = references;
+        }
+
+        /**
+         * Obtains a view on the frame with the independent position.
+         */
+        private ByteBuffer view() {
+            return buffer.duplicate();
+        }
+
+        /**
+         * Tells that a connection no longer needs the frame.
+         */
+        private void release() {
+            references--;
+            if (references == 0) {
+                pool.release(buffer);
+            }
+        }
+    }
+
+    /**
+     * A frame pending to be sent to a connection.
+     */
+    private static final class Outbound {
+
+        private final SharedBuffer shared;
+        private final ByteBuffer view;
+
+        private Outbound(SharedBuffer shared) {
+            this.shared = shared;
+            this.view = shared.view();
+        }
+    }
+
+    /**
+     * A connection of a transport factory to the hub.
+     */
+    private final class Peer {
+
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private final FrameCodec codec = new FrameCodec();
+        private final Queue<Outbound> outbound = new ArrayDeque<>();
+        private long pendingBytes;
+
+        private Peer(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+        }
+
+        /**
+         * Queues the frame for sending and sends as many pending frames as the socket accepts.
+         */
+        private void send(SharedBuffer frame) {
+            if (!key.isValid()) {
+                frame.release();
+                return;
+            }
+            Outbound next = new Outbound(frame);
+            outbound.add(next);
+            pendingBytes += next.view.remaining();
+            try {
+                flush();
+            } catch (IOException e) {
+                _debug().withCause(e)
+                        .log("Dropping the connection to `%s`.", channel);
+                disconnect(this);
+            }
+        }
+
+        private void flush() throws IOException {
+            while (!outbound.isEmpty()) {
+                Outbound next = outbound.peek();
+                pendingBytes -= channel.write(next.view);
+                if (next.view.hasRemaining()) {
+                    break;
+                }
+                outbound.poll();
+                next.shared.release();
+            }
+            updateCongestion();
+            updateInterest();
+        }
+
+        private void updateCongestion() {
+            if (pendingBytes > HIGH_WATER_MARK && congested.add(this)) {
+                if (congested.size() == 1) {
+                    updateInterests();
+                }
+            } else if (pendingBytes < LOW_WATER_MARK && congested.remove(this)) {
+                if (congested.isEmpty()) {
+                    updateInterests();
+                }
+            }
+        }
+
+        /**
+         * Reads from the connection unless the other connections are congested, and writes to
+         * the connection while there are pending frames.
+         */
+        private void updateInterest() {
+            if (!key.isValid()) {
+                return;
+            }
+            boolean reading = congested.isEmpty() || congested.contains(this);
+            int ops = (reading ? OP_READ : 0) | (outbound.isEmpty() ? 0 : OP_WRITE);
+            key.interestOps(ops);
+        }
+
+        /**
+         * Drops the pending frames of the closed connection.
+         */
+        private void discard() {
+            for (Outbound frame : outbound) {
+                frame.shared.release();
+            }
+            outbound.clear();
+            pendingBytes = 0;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.transport.socket;
+
+import com.google.protobuf.Any;
+import io.spine.core.Ack;
+import io.spine.server.integration.ExternalMessage;
+import io.spine.server.transport.AbstractChannel;
+import io.spine.server.transport.ChannelId;
+import io.spine.server.transport.Publisher;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.server.bus.Acks.acknowledge;
+
+/**
+ * A {@link Publisher} which sends the messages to the {@link SocketHub}.
+ *
+ * <p>The returned acknowledgement only tells that the message is accepted for sending.
+ * The message is kept by the connection until the hub receives it. If too many messages await
+ * for the hub, the publishing blocks until the hub receives some of them.
+ */
+final class SocketPublisher extends AbstractChannel implements Publisher {
+
+    private final SocketConnection connection;
+
+    SocketPublisher(ChannelId id, SocketConnection connection) {
+        super(id);
+        this.connection = connection;
+    }
+
+    @Override
+    public Ack publish(Any id, ExternalMessage message) {
+        checkNotNull(id);
+        checkNotNull(message);
+        connection.publish(id(), message);
+        return acknowledge(id);
+    }
+
+    /**
+     * Always returns {@code false} as publishers don't get stale.
+     */
+    @Override
+    public boolean isStale() {
+        return false;
+    }
+
+    /**
+     * Does nothing as the connection is shared by all the channels of the factory.
+     */
+    @Override
+    public void close() {
+        // Do nothing.
+    }
+}
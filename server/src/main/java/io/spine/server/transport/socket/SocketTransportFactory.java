@@ -0,0 +1,215 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.transport.socket;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Multimap;
+import com.google.protobuf.Any;
+import io.spine.server.integration.ExternalMessage;
+import io.spine.server.transport.ChannelId;
+import io.spine.server.transport.Publisher;
+import io.spine.server.transport.Subscriber;
+import io.spine.server.transport.TransportFactory;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.Maps.immutableEntry;
+import static java.util.Collections.newSetFromMap;
+
+/**
+ * A {@link TransportFactory} connecting the Bounded Contexts which run in several processes
+ * on the same host.
+ *
+ * <p>The factories of all the processes connect to a single {@link SocketHub} over
+ * the loopback interface. One of the processes hosts the hub:
+ * <pre>{@code
+ * SocketTransportFactory transport = SocketTransportFactory.hostingHub(port);
+ * }</pre>
+ * while the other ones connect to it:
+ * <pre>{@code
+ * SocketTransportFactory transport = SocketTransportFactory.connectingTo(port);
+ * }</pre>
+ *
+ * <p>All the channels of a factory share a single connection. The messages are sent as
+ * length-prefixed Protobuf frames. The publishing does not wait for the hub to receive
+ * the message. Should the connection break, the factory reconnects to the hub and sends again
+ * the messages which the hub has not acknowledged. The receiving factories skip the messages
+ * with the IDs they have recently delivered to the same channel. Thus, the messages sent again
+ * after a reconnection are delivered once.
+ *
+ * <p>The messages are delivered to the subscribers of the same process as well. Same as
+ * for the {@linkplain io.spine.server.transport.memory.InMemoryTransportFactory in-memory
+ * transport}, the messages are delivered to all the subscribers of the channel, including those
+ * which belong to the publishing Bounded Context.
+ */
+public final class SocketTransportFactory implements TransportFactory {
+
+    /** The number of the recently delivered messages remembered to skip their duplicates. */
+    private static final int MAX_REMEMBERED = 10_000;
+
+    private final SocketConnection connection;
+    private final @Nullable SocketHub hub;
+    private final Multimap<ChannelId, SocketSubscriber> subscribers = HashMultimap.create();
+    private final Set<Map.Entry<ChannelId, Any>> delivered = newSetFromMap(new Recent<>());
+    private volatile boolean open = true;
+
+    private SocketTransportFactory(int port, @Nullable SocketHub hub) {
+        this.hub = hub;
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+        this.connection = new SocketConnection(address, this::onPublication);
+    }
+
+    /**
+     * Starts a {@link SocketHub} on the given loopback port and creates a factory connected to it.
+     *
+     * <p>The hub is stopped when the factory is closed.
+     *
+     * @param port
+     *         the port for the hub to listen on
+     * @throws IllegalStateException
+     *         if the port cannot be bound
+     */
+    public static SocketTransportFactory hostingHub(int port) {
+        checkPort(port);
+        SocketHub hub = SocketHub.start(port);
+        return new SocketTransportFactory(hub.port(), hub);
+    }
+
+    /**
+     * Creates a factory connected to the {@link SocketHub} hosted by another process
+     * on the same host.
+     *
+     * @param port
+     *         the port on which the hub listens
+     * @throws IllegalStateException
+     *         if the hub is not reachable
+     */
+    public static SocketTransportFactory connectingTo(int port) {
+        checkPort(port);
+        return new SocketTransportFactory(port, null);
+    }
+
+    private static void checkPort(int port) {
+        checkArgument(port > 0 && port <= 0xFFFF, "Invalid port: %s.", port);
+    }
+
+    @Override
+    public Publisher createPublisher(ChannelId id) {
+        checkNotNull(id);
+        checkOpen();
+        return new SocketPublisher(id, connection);
+    }
+
+    @Override
+    public Subscriber createSubscriber(ChannelId id) {
+        checkNotNull(id);
+        checkOpen();
+        SocketSubscriber subscriber = new SocketSubscriber(id, this);
+        boolean firstForChannel;
+        synchronized (subscribers) {
+            firstForChannel = !subscribers.containsKey(id);
+            subscribers.put(id, subscriber);
+        }
+        if (firstForChannel) {
+            connection.subscribe(id);
+        }
+        return subscriber;
+    }
+
+    /**
+     * Stops delivering the messages to the given subscriber.
+     */
+    void remove(SocketSubscriber subscriber) {
+        ChannelId id = subscriber.id();
+        boolean lastForChannel;
+        synchronized (subscribers) {
+            subscribers.remove(id, subscriber);
+            lastForChannel = !subscribers.containsKey(id);
+        }
+        if (lastForChannel && open) {
+            connection.unsubscribe(id);
+        }
+    }
+
+    private void onPublication(Publication publication) {
+        ChannelId channel = publication.getChannel();
+        ExternalMessage message = publication.getMessage();
+        ImmutableList<SocketSubscriber> receivers;
+        synchronized (subscribers) {
+            boolean duplicate = !delivered.add(immutableEntry(channel, message.getId()));
+            if (duplicate) {
+                return;
+            }
+            receivers = ImmutableList.copyOf(subscribers.get(channel));
+        }
+        for (SocketSubscriber subscriber : receivers) {
+            subscriber.onMessage(message);
+        }
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * Closes the connection to the hub and stops the hub, if it is hosted by this factory.
+     */
+    @Override
+    public void close() throws Exception {
+        open = false;
+        connection.close();
+        if (hub != null) {
+            hub.close();
+        }
+        synchronized (subscribers) {
+            subscribers.clear();
+            delivered.clear();
+        }
+    }
+
+    /**
+     * A map which keeps only the {@link #MAX_REMEMBERED} recently added entries.
+     */
+    private static final class Recent<K, V> extends LinkedHashMap<K, V> {
+
+        private static final long serialVersionUID = 0L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > MAX_REMEMBERED;
+        }
+    }
+}
@@ -32,6 +32,7 @@ import io.spine.core.CommandContext;
 import io.spine.core.CommandId;
 import io.spine.core.TenantId;
 import io.spine.type.TypeName;
+import io.spine.type.TypeUrl;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -42,12 +43,16 @@ public final class CommandEnvelope
         extends AbstractMessageEnvelope<CommandId, Command, CommandContext>
         implements SignalEnvelope<CommandId, Command, CommandContext> {
 
+    /** The command message unpacked once from the wrapped command. */
+    private final CommandMessage message;
+
     /** The command class. */
     private final CommandClass commandClass;
 
     private CommandEnvelope(Command command) {
         super(command);
-        this.commandClass = CommandClass.of(command.enclosedMessage());
+        this.message = command.enclosedMessage();
+        this.commandClass = CommandClass.of(message);
     }
 
     /**
@@ -86,7 +91,14 @@ public final class CommandEnvelope
      */
     @Override
     public CommandMessage message() {
-        return command().enclosedMessage();
+        return message;
+    }
+
+    /**
+     * Obtains the type URL of the command message.
+     */
+    public TypeUrl typeUrl() {
+        return commandClass.typeUrl();
     }
 
     /**
@@ -109,6 +121,6 @@ public final class CommandEnvelope
      * Obtains {@link TypeName} of the command message.
      */
     public TypeName messageTypeName() {
-        return TypeName.of(message());
+        return typeUrl().toTypeName();
     }
 }
@@ -52,12 +52,15 @@ public final class EventEnvelope
         SignalEnvelope<EventId, Event, EventContext>,
         EnrichableMessageEnvelope<EventId, Event, EventMessage, EventContext, EventEnvelope> {
 
+    /** The event message unpacked once from the wrapped event. */
+    private final EventMessage message;
     private final EventClass eventClass;
     private final boolean rejection;
 
     private EventEnvelope(Event event) {
         super(event);
-        this.eventClass = EventClass.of(event.enclosedMessage());
+        this.message = event.enclosedMessage();
+        this.eventClass = EventClass.of(message);
         this.rejection = event.isRejection();
     }
 
@@ -91,14 +94,14 @@ public final class EventEnvelope
      */
     @Override
     public EventMessage message() {
-        return outerObject().enclosedMessage();
+        return message;
     }
 
     /**
      * Obtains the type URL of the event message.
      */
     public TypeUrl typeUrl() {
-        return message().typeUrl();
+        return eventClass.typeUrl();
     }
 
     /**
@@ -121,7 +124,7 @@ public final class EventEnvelope
      * Obtains the type of the event message.
      */
     public TypeName messageTypeName() {
-        TypeName result = TypeName.of(message());
+        TypeName result = typeUrl().toTypeName();
         return result;
     }
 
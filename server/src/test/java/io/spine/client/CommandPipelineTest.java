@@ -0,0 +1,129 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.client;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.spine.client.grpc.CommandServiceGrpc;
+import io.spine.core.Ack;
+import io.spine.core.Command;
+import io.spine.test.client.users.command.LogInUser;
+import io.spine.testing.client.TestActorRequestFactory;
+import io.spine.testing.core.given.GivenUserId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.grpc.StreamObservers.noOpObserver;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+@DisplayName("`CommandPipeline` should")
+class CommandPipelineTest {
+
+    private final TestActorRequestFactory requests =
+            new TestActorRequestFactory(CommandPipelineTest.class);
+
+    private Server server;
+    private ManagedChannel channel;
+    private CommandPipeline pipeline;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        String serverName = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(serverName)
+                                       .directExecutor()
+                                       .addService(new SilentCommandService())
+                                       .build()
+                                       .start();
+        channel = InProcessChannelBuilder.forName(serverName)
+                                         .directExecutor()
+                                         .build();
+        pipeline = new CommandPipeline(CommandServiceGrpc.newStub(channel), 2);
+    }
+
+    @AfterEach
+    void shutdown() {
+        pipeline.close();
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("reject a command with the ID of a command awaiting for an acknowledgement")
+    void rejectDuplicate() {
+        Command command = logIn();
+        ListenableFuture<Ack> pending = pipeline.post(command);
+
+        assertThrows(IllegalArgumentException.class, () -> pipeline.post(command));
+        assertThat(pending.isDone())
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("free the slot of a rejected command")
+    void releaseRejected() {
+        Command command = logIn();
+        pipeline.post(command);
+        assertThrows(IllegalArgumentException.class, () -> pipeline.post(command));
+
+        ListenableFuture<Ack> next = assertTimeoutPreemptively(
+                Duration.ofSeconds(5), () -> pipeline.post(logIn())
+        );
+        assertThat(next.isDone())
+                .isFalse();
+    }
+
+    private Command logIn() {
+        LogInUser message = LogInUser
+                .newBuilder()
+                .setUser(GivenUserId.generated())
+                .build();
+        return requests.createCommand(message);
+    }
+
+    /**
+     * A command service which never acknowledges the commands posted via a stream.
+     */
+    private static final class SilentCommandService
+            extends CommandServiceGrpc.CommandServiceImplBase {
+
+        @Override
+        public StreamObserver<Command> postStream(StreamObserver<Ack> responseObserver) {
+            return noOpObserver();
+        }
+    }
+}
@@ -31,6 +31,7 @@ import com.google.protobuf.Message;
 import io.spine.base.CommandMessage;
 import io.spine.base.Error;
 import io.spine.base.EventMessage;
+import io.spine.core.Ack;
 import io.spine.core.Command;
 import io.spine.protobuf.AnyPacker;
 import io.spine.server.BoundedContextBuilder;
@@ -51,6 +52,7 @@ import org.junit.jupiter.api.Test;
 
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.extensions.proto.ProtoTruth.assertThat;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -147,6 +149,30 @@ class CommandRequestTest extends AbstractClientTest {
         }
     }
 
+    @Nested
+    @DisplayName("Post asynchronously")
+    class Async {
+
+        @Test
+        @DisplayName("returning the acknowledgement")
+        void acknowledge() throws Exception {
+            Ack ack = commandRequest.postAsync()
+                                    .get(5, SECONDS);
+            assertThat(ack.getStatus().hasOk())
+                    .isTrue();
+        }
+
+        @Test
+        @DisplayName("rejecting when a subscription was made")
+        void illegalUse() {
+            commandRequest.observe(UserLoggedIn.class, counter::add);
+            assertThrows(
+                    IllegalStateException.class,
+                    () -> commandRequest.postAsync()
+            );
+        }
+    }
+
     @Test
     @DisplayName("Suggest `postAndForget()` call if no subscriptions were made")
     void noSubscriptions() {
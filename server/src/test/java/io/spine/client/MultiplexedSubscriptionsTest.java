@@ -0,0 +1,134 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package io.spine.client;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import io.spine.grpc.StreamObservers;
+import io.spine.server.BoundedContextBuilder;
+import io.spine.test.client.ClientTestContext;
+import io.spine.test.client.tasks.Task;
+import io.spine.test.client.users.command.LogInUser;
+import io.spine.test.client.users.event.UserAccountCreated;
+import io.spine.test.client.users.event.UserLoggedIn;
+import io.spine.testing.core.given.GivenUserId;
+import io.spine.testing.logging.MuteLogging;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth8.assertThat;
+
+@MuteLogging
+@DisplayName("`Client` with multiplexed subscriptions should")
+class MultiplexedSubscriptionsTest extends AbstractClientTest {
+
+    /** Registers which event consumers were called. */
+    private final ConsumerCallCounter counter = new ConsumerCallCounter();
+
+    private CommandRequest commandRequest;
+
+    @Override
+    protected ImmutableList<BoundedContextBuilder> contexts() {
+        return ImmutableList.of(ClientTestContext.users());
+    }
+
+    @Override
+    protected Client.Builder newClientBuilder(String serverName) {
+        return super.newClientBuilder(serverName)
+                    .multiplexSubscriptions();
+    }
+
+    @BeforeEach
+    void createCommandRequest() {
+        counter.clear();
+        LogInUser cmd = LogInUser
+                .newBuilder()
+                .setUser(GivenUserId.generated())
+                .build();
+        commandRequest = client().asGuest()
+                                 .command(cmd);
+    }
+
+    @AfterEach
+    void clearCounter() {
+        counter.clear();
+    }
+
+    @Test
+    @DisplayName("deliver events of several subscriptions")
+    void deliverEvents() {
+        ImmutableSet<Subscription> subscriptions =
+                commandRequest.observe(UserLoggedIn.class, counter::add)
+                              .observe(UserAccountCreated.class, counter::add)
+                              .post();
+        assertThat(subscriptions)
+                .hasSize(2);
+        assertThat(counter.containsAll(UserLoggedIn.class, UserAccountCreated.class))
+                .isTrue();
+    }
+
+    @Test
+    @DisplayName("forget cancelled subscriptions")
+    void cancel() {
+        ImmutableSet<Subscription> subscriptions =
+                commandRequest.observe(UserLoggedIn.class, counter::add)
+                              .post();
+        Subscriptions clientSubscriptions = client().subscriptions();
+        subscriptions.forEach(clientSubscriptions::cancel);
+
+        assertThat(clientSubscriptions.isEmpty())
+                .isTrue();
+    }
+
+    @Test
+    @DisplayName("pass the server error to the observer of the failed subscription")
+    void passErrorToObserver() {
+        List<Task> tasks = new ArrayList<>();
+        List<Throwable> errors = new ArrayList<>();
+        Subscription subscription =
+                client().asGuest()
+                        .subscribeTo(Task.class)
+                        .observe(tasks::add)
+                        .onStreamingError(errors::add)
+                        .post();
+
+        assertThat(tasks)
+                .isEmpty();
+        assertThat(errors)
+                .hasSize(1);
+        assertThat(StreamObservers.fromStreamError(errors.get(0)))
+                .isPresent();
+        assertThat(client().subscriptions()
+                           .contains(subscription))
+                .isFalse();
+    }
+}
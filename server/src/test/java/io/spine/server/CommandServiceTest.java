@@ -26,8 +26,11 @@
 
 package io.spine.server;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import com.google.protobuf.Any;
+import io.grpc.stub.StreamObserver;
 import io.spine.base.Error;
 import io.spine.base.Identifier;
 import io.spine.core.Ack;
@@ -35,6 +38,8 @@ import io.spine.core.Command;
 import io.spine.core.CommandValidationError;
 import io.spine.core.Status;
 import io.spine.grpc.MemoizingObserver;
+import io.spine.server.admission.AdmissionController;
+import io.spine.server.admission.CommandShedException;
 import io.spine.server.given.transport.TestGrpcServer;
 import io.spine.test.commandservice.CmdServDontHandle;
 import io.spine.testing.TestValues;
@@ -49,6 +54,8 @@ import org.junit.jupiter.api.Test;
 import java.io.IOException;
 import java.util.Set;
 
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static io.spine.core.Status.StatusCase.ERROR;
 import static io.spine.grpc.StreamObservers.memoizingObserver;
 import static io.spine.protobuf.Messages.isNotDefault;
@@ -154,6 +161,64 @@ class CommandServiceTest {
         assertEquals(CommandValidationError.getDescriptor().getFullName(), error.getType());
     }
 
+    @Test
+    @DisplayName("return retryable error status if command is not admitted")
+    void returnCommandShedError() {
+        AdmissionController refuseAll = AdmissionController
+                .newBuilder()
+                .add(command -> false)
+                .build();
+        CommandService guardedService = CommandService
+                .newBuilder()
+                .add(projectsContext)
+                .setAdmissionController(refuseAll)
+                .build();
+
+        guardedService.post(Given.ACommand.createProject(), responseObserver);
+
+        assertTrue(responseObserver.isCompleted());
+        Ack result = responseObserver.firstResponse();
+        Status status = result.getStatus();
+        assertEquals(ERROR, status.getStatusCase());
+        assertTrue(CommandShedException.isShed(status.getError()));
+    }
+
+    @Test
+    @MuteLogging
+    @DisplayName("acknowledge each command of a command stream")
+    void postCommandStream() {
+        CommandService streamingService = CommandService
+                .newBuilder()
+                .add(projectsContext)
+                .add(customersContext)
+                .setStreamExecutor(directExecutor())
+                .build();
+        TestActorRequestFactory factory = new TestActorRequestFactory(getClass());
+        ImmutableList<Command> commands = ImmutableList.of(
+                Given.ACommand.createProject(),
+                Given.ACommand.createCustomer(),
+                factory.createCommand(CmdServDontHandle.getDefaultInstance())
+        );
+
+        StreamObserver<Command> stream = streamingService.postStream(responseObserver);
+        commands.forEach(stream::onNext);
+        assertFalse(responseObserver.isCompleted());
+        stream.onCompleted();
+
+        assertTrue(responseObserver.isCompleted());
+        assertNull(responseObserver.getError());
+        ImmutableSet<Object> acknowledged = responseObserver
+                .responses()
+                .stream()
+                .map(ack -> Identifier.unpack(ack.getMessageId()))
+                .collect(toImmutableSet());
+        ImmutableSet<Object> posted = commands
+                .stream()
+                .map(Command::getId)
+                .collect(toImmutableSet());
+        assertEquals(posted, acknowledged);
+    }
+
     @Test
     @DisplayName("deploy to gRPC container")
     void deployToGrpcContainer() throws IOException {
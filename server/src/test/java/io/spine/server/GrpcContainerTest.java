@@ -27,9 +27,19 @@ package io.spine.server;
 
 import com.google.common.collect.ImmutableSet;
 import io.grpc.BindableService;
+import io.grpc.ManagedChannel;
 import io.grpc.Server;
 import io.grpc.ServerServiceDefinition;
+import io.grpc.Status.Code;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.spine.client.grpc.CommandServiceGrpc;
+import io.spine.client.grpc.CommandServiceGrpc.CommandServiceBlockingStub;
+import io.spine.core.Ack;
+import io.spine.grpc.MemoizingObserver;
+import io.spine.grpc.StreamObservers;
 import io.spine.server.given.transport.TestGrpcServer;
+import io.spine.testing.client.TestActorRequestFactory;
 import io.spine.testing.logging.MuteLogging;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -37,10 +47,16 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth8.assertThat;
+import static io.spine.core.Status.StatusCase.ERROR;
 import static io.spine.testing.TestValues.randomString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -211,4 +227,113 @@ class GrpcContainerTest {
             assertFalse(grpcContainer.isShutdown());
         }
     }
+
+    @Test
+    @MuteLogging
+    @DisplayName("execute the calls of a service with its dedicated executor")
+    void executeWithServiceExecutor() throws IOException {
+        String serverName = randomString();
+        AtomicInteger tasks = new AtomicInteger();
+        Executor executor = task -> {
+            tasks.incrementAndGet();
+            task.run();
+        };
+        CommandService service = CommandService.newBuilder()
+                                               .build();
+        GrpcContainer container = GrpcContainer
+                .inProcess(serverName)
+                .addService(service, executor)
+                .setMaxInboundMessageSize(1024 * 1024)
+                .build();
+        assertThat(container.activeCalls(service)).isEqualTo(0);
+        container.start();
+        ManagedChannel channel = InProcessChannelBuilder.forName(serverName)
+                                                        .directExecutor()
+                                                        .build();
+        try {
+            CommandServiceBlockingStub stub = CommandServiceGrpc.newBlockingStub(channel);
+            TestActorRequestFactory requests = new TestActorRequestFactory(getClass());
+            Ack ack = stub.post(requests.generateCommand());
+
+            assertThat(ack.getStatus()
+                          .getStatusCase()).isEqualTo(ERROR);
+            assertThat(tasks.get()).isGreaterThan(0);
+        } finally {
+            channel.shutdownNow();
+            container.shutdownNowAndWait();
+        }
+    }
+
+    @Test
+    @MuteLogging
+    @DisplayName("count the calls waiting for the service executor as active")
+    void countWaitingCalls() throws IOException {
+        String serverName = randomString();
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        CommandService service = CommandService.newBuilder()
+                                               .build();
+        GrpcContainer container = GrpcContainer
+                .inProcess(serverName)
+                .addService(service, tasks::add)
+                .build();
+        container.start();
+        ManagedChannel channel = InProcessChannelBuilder.forName(serverName)
+                                                        .directExecutor()
+                                                        .build();
+        try {
+            TestActorRequestFactory requests = new TestActorRequestFactory(getClass());
+            MemoizingObserver<Ack> observer = StreamObservers.memoizingObserver();
+            CommandServiceGrpc.newStub(channel)
+                              .post(requests.generateCommand(), observer);
+
+            assertThat(container.activeCalls(service)).isEqualTo(1);
+            assertFalse(observer.isCompleted());
+
+            while (!tasks.isEmpty()) {
+                tasks.remove()
+                     .run();
+            }
+            assertTrue(observer.isCompleted());
+            assertThat(container.activeCalls(service)).isEqualTo(0);
+        } finally {
+            channel.shutdownNow();
+            container.shutdownNowAndWait();
+        }
+    }
+
+    @Test
+    @DisplayName("close the call with `RESOURCE_EXHAUSTED` if the service executor rejects it")
+    void rejectWhenOverloaded() throws IOException {
+        String serverName = randomString();
+        AtomicInteger rejected = new AtomicInteger();
+        Executor executor = task -> {
+            rejected.incrementAndGet();
+            throw new RejectedExecutionException("Test executor is full.");
+        };
+        CommandService service = CommandService.newBuilder()
+                                               .build();
+        GrpcContainer container = GrpcContainer
+                .inProcess(serverName)
+                .addService(service, executor)
+                .build();
+        container.start();
+        ManagedChannel channel = InProcessChannelBuilder.forName(serverName)
+                                                        .directExecutor()
+                                                        .build();
+        try {
+            CommandServiceBlockingStub stub = CommandServiceGrpc.newBlockingStub(channel);
+            TestActorRequestFactory requests = new TestActorRequestFactory(getClass());
+            StatusRuntimeException exception =
+                    assertThrows(StatusRuntimeException.class,
+                                 () -> stub.post(requests.generateCommand()));
+
+            assertThat(exception.getStatus()
+                                .getCode()).isEqualTo(Code.RESOURCE_EXHAUSTED);
+            assertThat(rejected.get()).isGreaterThan(0);
+            assertThat(container.activeCalls(service)).isEqualTo(0);
+        } finally {
+            channel.shutdownNow();
+            container.shutdownNowAndWait();
+        }
+    }
 }
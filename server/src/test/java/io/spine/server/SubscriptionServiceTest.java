@@ -30,12 +30,19 @@ import com.google.common.truth.extensions.proto.ProtoSubject;
 import com.google.common.truth.extensions.proto.ProtoTruth;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.protobuf.Message;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
 import io.spine.base.EntityState;
 import io.spine.client.EntityStateUpdate;
 import io.spine.client.EntityUpdates;
 import io.spine.client.EventUpdates;
 import io.spine.client.Subscription;
+import io.spine.client.SubscriptionStreamError;
+import io.spine.client.SubscriptionStreamRequest;
+import io.spine.client.SubscriptionStreamResponse;
 import io.spine.client.SubscriptionUpdate;
+import io.spine.client.SubscriptionValidationError;
+import io.spine.client.Subscriptions;
 import io.spine.client.Target;
 import io.spine.client.Targets;
 import io.spine.client.Topic;
@@ -47,6 +54,7 @@ import io.spine.grpc.MemoizingObserver;
 import io.spine.grpc.StreamObservers;
 import io.spine.server.Given.AggProjectCreatedReactor;
 import io.spine.server.Given.ProjectAggregateRepository;
+import io.spine.server.given.SlowClientObserver;
 import io.spine.server.stand.InvalidSubscriptionException;
 import io.spine.test.aggregate.AggProject;
 import io.spine.test.aggregate.ProjectId;
@@ -383,6 +391,176 @@ class SubscriptionServiceTest {
         assertThat(activationObserver.isCompleted()).isFalse();
     }
 
+    @Nested
+    @DisplayName("serve a multiplexed stream")
+    class Multiplex {
+
+        private MemoizingObserver<SubscriptionStreamResponse> responses;
+        private StreamObserver<SubscriptionStreamRequest> requests;
+
+        @BeforeEach
+        void openStream() {
+            responses = StreamObservers.memoizingObserver();
+            requests = subscriptionService.multiplex(responses);
+        }
+
+        @Test
+        @DisplayName("activating subscriptions and forwarding their updates")
+        void subscribe() {
+            Subscription subscription = Subscriptions.from(newTopic());
+            requests.onNext(subscribeRequest(subscription));
+            ProjectId entityId = updateEntity();
+
+            List<SubscriptionStreamResponse> received = responses.responses();
+            assertThat(received)
+                    .hasSize(2);
+            assertThat(received.get(0).getSubscribed())
+                    .isEqualTo(subscription);
+            SubscriptionUpdate update = received.get(1).getUpdate();
+            assertThat(update.getSubscription().getId())
+                    .isEqualTo(subscription.getId());
+            EntityState<?> actual = unpack(update.getEntityUpdates()
+                                                 .getUpdate(0)
+                                                 .getState(), AggProject.class);
+            ProtoTruth.assertThat(actual)
+                      .comparingExpectedFieldsOnly()
+                      .isEqualTo(toExpected(entityId));
+        }
+
+        @Test
+        @DisplayName("cancelling subscriptions in-band")
+        void cancel() {
+            Subscription subscription = Subscriptions.from(newTopic());
+            requests.onNext(subscribeRequest(subscription));
+            requests.onNext(SubscriptionStreamRequest
+                                    .newBuilder()
+                                    .setCancel(subscription)
+                                    .build());
+            updateEntity();
+
+            List<SubscriptionStreamResponse> received = responses.responses();
+            assertThat(received)
+                    .hasSize(2);
+            assertThat(received.get(1).getCancelled())
+                    .isEqualTo(subscription);
+        }
+
+        @Test
+        @MuteLogging
+        @DisplayName("reporting an error without closing the stream")
+        void error() {
+            Subscription invalid = Subscriptions.from(invalidTopic());
+            requests.onNext(subscribeRequest(invalid));
+
+            SubscriptionStreamResponse response = responses.firstResponse();
+            assertThat(response.getError().getSubscription())
+                    .isEqualTo(invalid);
+            assertThat(responses.getError())
+                    .isNull();
+            assertThat(responses.isCompleted())
+                    .isFalse();
+        }
+
+        @Test
+        @DisplayName("reporting an error when cancelling a subscription not active in the stream")
+        void cancelUnknown() {
+            Subscription subscription = Subscriptions.from(newTopic());
+            requests.onNext(SubscriptionStreamRequest
+                                    .newBuilder()
+                                    .setCancel(subscription)
+                                    .build());
+
+            SubscriptionStreamError error = responses.firstResponse()
+                                                     .getError();
+            assertThat(error.getSubscription())
+                    .isEqualTo(subscription);
+            assertThat(error.getError().getCode())
+                    .isEqualTo(SubscriptionValidationError.UNKNOWN_SUBSCRIPTION.getNumber());
+            assertThat(responses.isCompleted())
+                    .isFalse();
+        }
+
+        @Test
+        @DisplayName("reporting an error on an empty request")
+        void emptyRequest() {
+            requests.onNext(SubscriptionStreamRequest.getDefaultInstance());
+
+            SubscriptionStreamResponse response = responses.firstResponse();
+            assertThat(response.hasError())
+                    .isTrue();
+            assertThat(responses.getError())
+                    .isNull();
+            assertThat(responses.isCompleted())
+                    .isFalse();
+        }
+
+        @Test
+        @DisplayName("completing the stream when the client completes it")
+        void complete() {
+            requests.onNext(subscribeRequest(Subscriptions.from(newTopic())));
+            requests.onCompleted();
+            updateEntity();
+
+            assertThat(responses.responses())
+                    .hasSize(1);
+            assertThat(responses.isCompleted())
+                    .isTrue();
+        }
+
+        @Test
+        @DisplayName("holding the responses until the client is ready to receive them")
+        void waitUntilReady() {
+            SlowClientObserver<SubscriptionStreamResponse> client = new SlowClientObserver<>();
+            StreamObserver<SubscriptionStreamRequest> stream =
+                    subscriptionService.multiplex(client);
+            stream.onNext(subscribeRequest(Subscriptions.from(newTopic())));
+            updateEntity();
+            stream.onCompleted();
+
+            assertThat(client.responses())
+                    .isEmpty();
+            assertThat(client.isCompleted())
+                    .isFalse();
+
+            client.resume();
+
+            assertThat(client.responses())
+                    .hasSize(2);
+            assertThat(client.isCompleted())
+                    .isTrue();
+        }
+
+        @Test
+        @MuteLogging
+        @DisplayName("failing the stream of a client falling behind")
+        void overflow() {
+            SlowClientObserver<SubscriptionStreamResponse> client = new SlowClientObserver<>();
+            StreamObserver<SubscriptionStreamRequest> stream =
+                    subscriptionService.multiplex(client);
+            stream.onNext(subscribeRequest(Subscriptions.from(newTopic())));
+            for (int i = 0; i < 1_000; i++) {
+                stream.onNext(SubscriptionStreamRequest.getDefaultInstance());
+            }
+
+            assertThat(Status.fromThrowable(client.error())
+                             .getCode())
+                    .isEqualTo(Status.Code.RESOURCE_EXHAUSTED);
+
+            client.resume();
+            updateEntity();
+
+            assertThat(client.responses())
+                    .isEmpty();
+        }
+
+        private SubscriptionStreamRequest subscribeRequest(Subscription subscription) {
+            return SubscriptionStreamRequest
+                    .newBuilder()
+                    .setSubscribe(subscription)
+                    .build();
+        }
+    }
+
     @Nested
     @DisplayName("when cancelling non-existent subscription")
     class WarnOnCancelling extends LoggingTest {
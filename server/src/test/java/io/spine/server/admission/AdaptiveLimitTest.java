@@ -0,0 +1,173 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.admission;
+
+import com.google.common.base.Ticker;
+import com.google.protobuf.util.Durations;
+import io.spine.core.TenantId;
+import io.spine.server.delivery.ShardIndex;
+import io.spine.server.type.CommandEnvelope;
+import io.spine.testing.client.TestActorRequestFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`AdaptiveLimit` should")
+class AdaptiveLimitTest {
+
+    private static final ShardIndex SHARD = ShardIndex
+            .newBuilder()
+            .setIndex(0)
+            .setOfTotal(1)
+            .build();
+
+    private final FakeTicker ticker = new FakeTicker();
+
+    @Test
+    @DisplayName("shed commands over the current rate")
+    void shedOverRate() {
+        AdaptiveLimit limit = newLimit(4);
+        CommandEnvelope command = command();
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(limit.tryAdmit(command)).isTrue();
+        }
+        assertThat(limit.tryAdmit(command)).isFalse();
+
+        ticker.advance(250);
+        assertThat(limit.tryAdmit(command)).isTrue();
+        assertThat(limit.tryAdmit(command)).isFalse();
+    }
+
+    @Test
+    @DisplayName("admit commands at the adjusted rate")
+    void admitAtAdjustedRate() {
+        AdaptiveLimit limit = newLimit(16);
+        limit.onDeliveryStarted(SHARD);
+        ticker.advance(200);
+        limit.adjust(SHARD);
+        CommandEnvelope command = command();
+
+        ticker.advance(1000);
+        for (int i = 0; i < 12; i++) {
+            assertThat(limit.tryAdmit(command)).isTrue();
+        }
+        assertThat(limit.tryAdmit(command)).isFalse();
+    }
+
+    @Test
+    @DisplayName("increase the rate after a fast delivery run")
+    void increase() {
+        AdaptiveLimit limit = newLimit(16);
+        limit.onDeliveryStarted(SHARD);
+        ticker.advance(10);
+        limit.adjust(SHARD);
+
+        assertThat(limit.rate()).isEqualTo(17);
+    }
+
+    @Test
+    @DisplayName("decrease the rate after a slow delivery run")
+    void decreaseOnLag() {
+        AdaptiveLimit limit = newLimit(16);
+        limit.onDeliveryStarted(SHARD);
+        ticker.advance(200);
+        limit.adjust(SHARD);
+
+        assertThat(limit.rate()).isEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("decrease the rate if the backlog of a tenant is too large")
+    void decreaseOnBacklog() {
+        AdaptiveLimit limit = newLimit(16);
+        limit.onDeliveryStarted(SHARD);
+        limit.onTenantQuotaExhausted(SHARD, TenantId.getDefaultInstance(), 101);
+        limit.adjust(SHARD);
+
+        assertThat(limit.rate()).isEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("keep the rate within the bounds")
+    void keepBounds() {
+        AdaptiveLimit limit = newLimit(8);
+        for (int i = 0; i < 10; i++) {
+            limit.onDeliveryStarted(SHARD);
+            ticker.advance(200);
+            limit.adjust(SHARD);
+        }
+        assertThat(limit.rate()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("not accept the initial rate out of bounds")
+    void rejectInitialOutOfBounds() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> AdaptiveLimit.newBuilder()
+                                        .setMinRate(10)
+                                        .setInitialRate(5)
+                                        .build());
+    }
+
+    private AdaptiveLimit newLimit(int initial) {
+        return AdaptiveLimit
+                .newBuilder()
+                .setInitialRate(initial)
+                .setMinRate(4)
+                .setMaxRate(32)
+                .setTargetRunDuration(Durations.fromMillis(100))
+                .setMaxDeferred(100)
+                .setTicker(ticker)
+                .build();
+    }
+
+    private static CommandEnvelope command() {
+        TestActorRequestFactory requests = new TestActorRequestFactory(AdaptiveLimitTest.class);
+        return CommandEnvelope.of(requests.generateCommand());
+    }
+
+    /**
+     * A ticker advanced manually by the test.
+     */
+    private static final class FakeTicker extends Ticker {
+
+        private long nanos;
+
+        private void advance(long millis) {
+            nanos += MILLISECONDS.toNanos(millis);
+        }
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.admission;
+
+import io.spine.server.type.CommandEnvelope;
+import io.spine.testing.client.TestActorRequestFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth8.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`AdmissionController` should")
+class AdmissionControllerTest {
+
+    private final TestActorRequestFactory requests =
+            new TestActorRequestFactory(AdmissionControllerTest.class);
+
+    @Test
+    @DisplayName("admit all commands by default")
+    void admitAll() {
+        AdmissionController controller = AdmissionController.admitAll();
+        Admission admission = controller.admit(command());
+        assertThat(controller.admitsAll()).isTrue();
+        assertThat(admission.granted()).isTrue();
+        assertThat(admission.refusedBy()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("shed commands over the concurrency limit until released")
+    void limitConcurrency() {
+        ConcurrencyLimit limit = ConcurrencyLimit.of(2);
+        AdmissionController controller = AdmissionController
+                .newBuilder()
+                .add(limit)
+                .build();
+        Admission first = controller.admit(command());
+        Admission second = controller.admit(command());
+        Admission third = controller.admit(command());
+
+        assertThat(first.granted()).isTrue();
+        assertThat(second.granted()).isTrue();
+        assertThat(third.granted()).isFalse();
+        assertThat(third.refusedBy()).hasValue(limit);
+        assertThat(limit.inFlight()).isEqualTo(2);
+
+        first.release();
+        assertThat(limit.inFlight()).isEqualTo(1);
+        assertThat(controller.admit(command())
+                             .granted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("release the policies which admitted a command refused by another policy")
+    void releaseOnRefusal() {
+        ConcurrencyLimit limit = ConcurrencyLimit.of(1);
+        AdmissionPolicy refuseAll = command -> false;
+        AdmissionController controller = AdmissionController
+                .newBuilder()
+                .add(limit)
+                .add(refuseAll)
+                .build();
+        Admission admission = controller.admit(command());
+
+        assertThat(admission.granted()).isFalse();
+        assertThat(admission.refusedBy()).hasValue(refuseAll);
+        assertThat(limit.inFlight()).isEqualTo(0);
+        assertThat(CommandShedException.isShed(admission.toException()
+                                                        .asError())).isTrue();
+    }
+
+    @Test
+    @DisplayName("not allow to release an admission twice")
+    void releaseOnce() {
+        Admission admission = AdmissionController.admitAll()
+                                                 .admit(command());
+        admission.release();
+        assertThrows(IllegalStateException.class, admission::release);
+    }
+
+    private CommandEnvelope command() {
+        return CommandEnvelope.of(requests.generateCommand());
+    }
+}
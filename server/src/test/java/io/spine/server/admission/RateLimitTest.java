@@ -0,0 +1,135 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.admission;
+
+import com.google.common.base.Ticker;
+import io.spine.core.TenantId;
+import io.spine.server.type.CommandEnvelope;
+import io.spine.testing.client.TestActorRequestFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`RateLimit` should")
+class RateLimitTest {
+
+    private final FakeTicker ticker = new FakeTicker();
+
+    @Test
+    @DisplayName("admit a burst of commands and then shed them")
+    void admitBurst() {
+        RateLimit limit = new RateLimit(CommandEnvelope::tenantId, 10.0, 3, ticker);
+        CommandEnvelope command = commandOf("acme");
+
+        assertThat(limit.tryAdmit(command)).isTrue();
+        assertThat(limit.tryAdmit(command)).isTrue();
+        assertThat(limit.tryAdmit(command)).isTrue();
+        assertThat(limit.tryAdmit(command)).isFalse();
+    }
+
+    @Test
+    @DisplayName("refill the tokens at the given rate")
+    void refill() {
+        RateLimit limit = new RateLimit(CommandEnvelope::tenantId, 10.0, 1, ticker);
+        CommandEnvelope command = commandOf("acme");
+
+        assertThat(limit.tryAdmit(command)).isTrue();
+        assertThat(limit.tryAdmit(command)).isFalse();
+
+        ticker.advance(60);
+        assertThat(limit.tryAdmit(command)).isFalse();
+
+        ticker.advance(60);
+        assertThat(limit.tryAdmit(command)).isTrue();
+    }
+
+    @Test
+    @DisplayName("keep a separate bucket for each group")
+    void separateGroups() {
+        RateLimit limit = new RateLimit(CommandEnvelope::tenantId, 1.0, 1, ticker);
+
+        assertThat(limit.tryAdmit(commandOf("acme"))).isTrue();
+        assertThat(limit.tryAdmit(commandOf("acme"))).isFalse();
+        assertThat(limit.tryAdmit(commandOf("globex"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("drop the buckets of the idle groups")
+    void evictIdle() {
+        RateLimit limit = new RateLimit(CommandEnvelope::tenantId, 10.0, 2, ticker);
+        CommandEnvelope acme = commandOf("acme");
+        CommandEnvelope globex = commandOf("globex");
+
+        assertThat(limit.tryAdmit(acme)).isTrue();
+        assertThat(limit.tryAdmit(acme)).isTrue();
+        assertThat(limit.tryAdmit(globex)).isTrue();
+        assertThat(limit.bucketCount()).isEqualTo(2);
+
+        ticker.advance(250);
+        assertThat(limit.tryAdmit(acme)).isTrue();
+        assertThat(limit.bucketCount()).isEqualTo(1);
+        assertThat(limit.tryAdmit(acme)).isTrue();
+        assertThat(limit.tryAdmit(acme)).isFalse();
+    }
+
+    @Test
+    @DisplayName("not accept non-positive rate or burst")
+    void rejectInvalidArgs() {
+        assertThrows(IllegalArgumentException.class, () -> RateLimit.perTenant(0.0, 1));
+        assertThrows(IllegalArgumentException.class, () -> RateLimit.perCommandClass(1.0, 0));
+    }
+
+    private static CommandEnvelope commandOf(String tenant) {
+        TenantId tenantId = TenantId
+                .newBuilder()
+                .setValue(tenant)
+                .build();
+        TestActorRequestFactory requests =
+                new TestActorRequestFactory(RateLimitTest.class, tenantId);
+        return CommandEnvelope.of(requests.generateCommand());
+    }
+
+    /**
+     * A ticker advanced manually by the test.
+     */
+    private static final class FakeTicker extends Ticker {
+
+        private long nanos;
+
+        private void advance(long millis) {
+            nanos += MILLISECONDS.toNanos(millis);
+        }
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+    }
+}
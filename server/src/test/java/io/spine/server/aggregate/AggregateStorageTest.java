@@ -50,6 +50,7 @@ import io.spine.server.aggregate.given.repo.ProjectAggregate;
 import io.spine.server.aggregate.given.repo.ProjectAggregateRepository;
 import io.spine.server.model.Nothing;
 import io.spine.server.storage.AbstractStorageTest;
+import io.spine.server.storage.StorageFactory;
 import io.spine.test.aggregate.AggProject;
 import io.spine.test.aggregate.IntegerProject;
 import io.spine.test.aggregate.LongProject;
@@ -172,12 +173,20 @@ public class AggregateStorageTest
     newStorage(Class<? extends Aggregate<I, S, ?>> aggregateClass) {
         ContextSpec spec = ContextSpec.singleTenant("`AggregateStorage` tests");
         AggregateStorage<I, S> result =
-                ServerEnvironment.instance()
-                                 .storageFactory()
-                                 .createAggregateStorage(spec,aggregateClass);
+                storageFactory().createAggregateStorage(spec, aggregateClass);
         return result;
     }
 
+    /**
+     * Obtains the factory of the tested storages.
+     *
+     * <p>Descendants may override to test the storages of a particular factory.
+     */
+    protected StorageFactory storageFactory() {
+        return ServerEnvironment.instance()
+                                .storageFactory();
+    }
+
     @Nested
     @DisplayName("being empty, return")
     class BeingEmptyReturn {
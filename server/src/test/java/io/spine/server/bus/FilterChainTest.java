@@ -27,10 +27,19 @@
 package io.spine.server.bus;
 
 import com.google.common.collect.ImmutableList;
+import io.spine.core.Ack;
+import io.spine.server.type.CommandEnvelope;
 import io.spine.server.type.EventEnvelope;
+import io.spine.testing.client.TestActorRequestFactory;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth8.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @DisplayName("FilterChain should")
@@ -44,4 +53,33 @@ class FilterChainTest {
         chain.close();
         assertThrows(IllegalStateException.class, chain::close);
     }
+
+    @Test
+    @DisplayName("filter a batch of envelopes preserving their order")
+    void filterBatch() {
+        TestActorRequestFactory requests = new TestActorRequestFactory(FilterChainTest.class);
+        CommandEnvelope first = CommandEnvelope.of(requests.generateCommand());
+        CommandEnvelope second = CommandEnvelope.of(requests.generateCommand());
+        CommandEnvelope third = CommandEnvelope.of(requests.generateCommand());
+
+        BusFilter<CommandEnvelope> rejectingSecond =
+                envelope -> envelope.equals(second)
+                            ? Optional.of(Acks.acknowledge(envelope.id()))
+                            : Optional.empty();
+        List<CommandEnvelope> seenByNext = new ArrayList<>();
+        BusFilter<CommandEnvelope> recording = envelope -> {
+            seenByNext.add(envelope);
+            return Optional.empty();
+        };
+        FilterChain<CommandEnvelope> chain =
+                new FilterChain<>(ImmutableList.of(rejectingSecond, recording));
+
+        List<Optional<Ack>> result = chain.filterBatch(ImmutableList.of(first, second, third));
+
+        assertThat(result).hasSize(3);
+        assertThat(result.get(0)).isEmpty();
+        assertThat(result.get(1)).isPresent();
+        assertThat(result.get(2)).isEmpty();
+        assertThat(seenByNext).containsExactly(first, third).inOrder();
+    }
 }
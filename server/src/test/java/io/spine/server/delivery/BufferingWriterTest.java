@@ -0,0 +1,161 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.delivery;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.base.Time;
+import io.spine.core.Command;
+import io.spine.server.ServerEnvironment;
+import io.spine.test.delivery.AddNumber;
+import io.spine.test.delivery.Calc;
+import io.spine.testing.client.TestActorRequestFactory;
+import io.spine.type.TypeUrl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.server.delivery.DeliveryStrategy.newIndex;
+import static io.spine.server.delivery.InboxIds.newSignalId;
+
+@DisplayName("`BufferingWriter` should")
+class BufferingWriterTest {
+
+    private static final String TARGET_ID = "buffered-calc";
+
+    private final TestActorRequestFactory factory =
+            new TestActorRequestFactory(BufferingWriterTest.class);
+
+    private InboxStorage storage;
+    private List<InboxMessage> notifications;
+    private BufferingWriter writer;
+
+    @BeforeEach
+    void createWriter() {
+        storage = ServerEnvironment.instance()
+                                   .storageFactory()
+                                   .createInboxStorage(false);
+        notifications = new ArrayList<>();
+        writer = new BufferingWriter(new NotifyingWriter(storage) {
+            @Override
+            protected void onShardUpdated(InboxMessage message) {
+                notifications.add(message);
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("write messages right away outside of a buffering operation")
+    void writeImmediately() {
+        ShardIndex index = newIndex(0, 2);
+        InboxMessage message = newMessage(index);
+
+        writer.write(message);
+
+        assertThat(contentsOf(index)).containsExactly(message);
+        assertThat(notifications).containsExactly(message);
+    }
+
+    @Test
+    @DisplayName("write the messages once the buffering operation completes")
+    void writeOnCompletion() {
+        ShardIndex index = newIndex(0, 2);
+        InboxMessage first = newMessage(index);
+        InboxMessage second = newMessage(index);
+
+        writer.buffering(() -> {
+            writer.write(first);
+            writer.write(second);
+            assertThat(contentsOf(index)).isEmpty();
+            assertThat(notifications).isEmpty();
+        });
+
+        assertThat(contentsOf(index)).containsExactly(first, second);
+    }
+
+    @Test
+    @DisplayName("notify of each updated shard once")
+    void notifyOncePerShard() {
+        ShardIndex firstShard = newIndex(0, 2);
+        ShardIndex secondShard = newIndex(1, 2);
+        InboxMessage first = newMessage(firstShard);
+        InboxMessage second = newMessage(secondShard);
+        InboxMessage third = newMessage(firstShard);
+
+        writer.buffering(() -> {
+            writer.write(first);
+            writer.write(second);
+            writer.write(third);
+        });
+
+        assertThat(notifications).containsExactly(third, second);
+    }
+
+    @Test
+    @DisplayName("flush the nested writes with the outer ones, in the order of writing")
+    void flushNested() {
+        ShardIndex index = newIndex(0, 2);
+        InboxMessage outer = newMessage(index);
+        InboxMessage inner = newMessage(index);
+
+        writer.buffering(() -> {
+            writer.write(outer);
+            writer.buffering(() -> writer.write(inner));
+            assertThat(contentsOf(index)).isEmpty();
+        });
+
+        assertThat(contentsOf(index)).containsExactly(outer, inner);
+        assertThat(notifications).containsExactly(inner);
+    }
+
+    private ImmutableList<InboxMessage> contentsOf(ShardIndex index) {
+        return storage.readAll(index, Integer.MAX_VALUE)
+                      .contents();
+    }
+
+    private InboxMessage newMessage(ShardIndex index) {
+        Command command = factory.createCommand(AddNumber.newBuilder()
+                                                         .setCalculatorId(TARGET_ID)
+                                                         .setValue(42)
+                                                         .vBuild());
+        InboxSignalId signalId = newSignalId(TARGET_ID, command.getId()
+                                                               .value());
+        return InboxMessage
+                .newBuilder()
+                .setId(InboxMessageMixin.generateIdWith(index))
+                .setSignalId(signalId)
+                .setInboxId(InboxIds.wrap(TARGET_ID, TypeUrl.of(Calc.class)))
+                .setLabel(InboxLabel.HANDLE_COMMAND)
+                .setStatus(InboxMessageStatus.TO_DELIVER)
+                .setCommand(command)
+                .setWhenReceived(Time.currentTime())
+                .build();
+    }
+}
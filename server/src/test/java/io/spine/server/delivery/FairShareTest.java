@@ -0,0 +1,165 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.delivery;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.core.ActorContext;
+import io.spine.core.Command;
+import io.spine.core.CommandContext;
+import io.spine.core.TenantId;
+import io.spine.test.delivery.DTask;
+import io.spine.testing.core.given.GivenTenantId;
+import io.spine.type.TypeUrl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.server.delivery.given.TestInboxMessages.delivered;
+import static io.spine.server.delivery.given.TestInboxMessages.toDeliver;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`FairShare` should")
+class FairShareTest {
+
+    private static final TypeUrl TARGET_TYPE = TypeUrl.of(DTask.class);
+    private static final int WINDOW = 100;
+
+    private final TenantId noisy = GivenTenantId.generate();
+    private final TenantId quiet = GivenTenantId.generate();
+
+    @Test
+    @DisplayName("admit all messages if the quota is unlimited")
+    void admitAllIfUnlimited() {
+        FairShare share = new FairShare(TenantQuota.unlimited(), WINDOW);
+        ImmutableList<InboxMessage> messages = ImmutableList.of(
+                ofTenant(noisy), ofTenant(noisy), ofTenant(quiet)
+        );
+
+        assertThat(share.admit(messages)).isEqualTo(messages);
+        assertThat(share.deferredAny()).isFalse();
+        assertThat(share.throttled()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("defer the messages of the tenant which exhausted its quota")
+    void deferOverQuota() {
+        FairShare share = new FairShare(TenantQuota.of(2), WINDOW);
+        InboxMessage first = ofTenant(noisy);
+        InboxMessage second = ofTenant(noisy);
+        InboxMessage third = ofTenant(noisy);
+        InboxMessage quietMessage = ofTenant(quiet);
+
+        ImmutableList<InboxMessage> admitted =
+                share.admit(ImmutableList.of(first, second, third, quietMessage));
+
+        assertThat(admitted).containsExactly(first, second, quietMessage).inOrder();
+        assertThat(share.throttled()).containsExactly(noisy);
+        assertThat(share.admitted()).containsExactly(noisy, 2, quiet, 1);
+    }
+
+    @Test
+    @DisplayName("keep deferring the messages of the tenant until the end of the run")
+    void deferUntilEndOfRun() {
+        FairShare share = new FairShare(TenantQuota.of(1), WINDOW);
+        InboxMessage first = ofTenant(noisy);
+        share.admit(ImmutableList.of(first, ofTenant(noisy)));
+
+        ImmutableList<InboxMessage> nextPage = share.admit(ImmutableList.of(ofTenant(noisy)));
+
+        assertThat(nextPage).isEmpty();
+        assertThat(share.admitted()).containsExactly(noisy, 1);
+    }
+
+    @Test
+    @DisplayName("resume the next run after the last message read before the first deferred one")
+    void resumeBeforeDeferred() {
+        FairShare share = new FairShare(TenantQuota.of(1), WINDOW);
+        InboxMessage first = ofTenant(noisy);
+        InboxMessage quietMessage = ofTenant(quiet);
+        share.admit(ImmutableList.of(first, quietMessage, ofTenant(noisy), ofTenant(quiet)));
+
+        assertThat(share.deferredAny()).isTrue();
+        assertThat(share.resumeAfter()).isEqualTo(quietMessage);
+    }
+
+    @Test
+    @DisplayName("tell when the run has read a window of deferred messages")
+    void fillWindow() {
+        FairShare share = new FairShare(TenantQuota.of(1), 2);
+        share.admit(ImmutableList.of(ofTenant(noisy), ofTenant(noisy)));
+        assertThat(share.windowFull()).isFalse();
+
+        share.admit(ImmutableList.of(ofTenant(noisy)));
+        assertThat(share.windowFull()).isTrue();
+    }
+
+    @Test
+    @DisplayName("admit at least one message of a tenant per run")
+    void admitAtLeastOne() {
+        FairShare share = new FairShare(tenant -> 0, WINDOW);
+        InboxMessage message = ofTenant(noisy);
+
+        assertThat(share.admit(ImmutableList.of(message))).containsExactly(message);
+    }
+
+    @Test
+    @DisplayName("always admit messages which are not to be delivered")
+    void admitOtherStatuses() {
+        FairShare share = new FairShare(TenantQuota.of(1), WINDOW);
+        InboxMessage alreadyDelivered = delivered("target", TARGET_TYPE);
+        InboxMessage toDeliver = toDeliver("target", TARGET_TYPE);
+
+        ImmutableList<InboxMessage> admitted =
+                share.admit(ImmutableList.of(toDeliver, alreadyDelivered));
+
+        assertThat(admitted).containsExactly(toDeliver, alreadyDelivered);
+    }
+
+    @Test
+    @DisplayName("not allow non-positive quotas")
+    void rejectNonPositiveQuota() {
+        assertThrows(IllegalArgumentException.class, () -> TenantQuota.of(0));
+    }
+
+    private static InboxMessage ofTenant(TenantId tenant) {
+        InboxMessage message = toDeliver("target", TARGET_TYPE);
+        Command command = message.getCommand();
+        CommandContext context = command.getContext();
+        ActorContext actorContext = context.getActorContext()
+                                           .toBuilder()
+                                           .setTenantId(tenant)
+                                           .build();
+        Command withTenant = command
+                .toBuilder()
+                .setContext(context.toBuilder()
+                                   .setActorContext(actorContext))
+                .build();
+        return message.toBuilder()
+                      .setCommand(withTenant)
+                      .build();
+    }
+}
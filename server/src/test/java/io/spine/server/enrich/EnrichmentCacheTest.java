@@ -0,0 +1,293 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.enrich;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.spine.core.EventContext;
+import io.spine.core.TenantId;
+import io.spine.core.UserId;
+import io.spine.server.BoundedContext;
+import io.spine.server.enrich.given.EitUserAccount;
+import io.spine.server.enrich.given.EitUserRepository;
+import io.spine.server.enrich.given.command.EitRegisterUser;
+import io.spine.server.enrich.given.event.EitTaskAssigned;
+import io.spine.server.event.EventEnricher;
+import io.spine.server.type.EventEnvelope;
+import io.spine.testing.server.TestEventFactory;
+import io.spine.testing.server.blackbox.BlackBox;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import static com.google.common.collect.ImmutableMap.toImmutableMap;
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth8.assertThat;
+import static io.spine.testing.core.given.GivenTenantId.generate;
+import static io.spine.testing.core.given.GivenUserId.newUuid;
+
+@DisplayName("`EnrichmentCache` should")
+class EnrichmentCacheTest {
+
+    private final TestEventFactory factory = TestEventFactory.newInstance(getClass());
+
+    private List<UserId> loaded;
+    private List<Set<UserId>> batches;
+    private Runnable duringLoad;
+    private EnrichmentCache<UserId, EitUserAccount> cache;
+
+    @BeforeEach
+    void setUp() {
+        loaded = new ArrayList<>();
+        batches = new ArrayList<>();
+        duringLoad = () -> {};
+        cache = EnrichmentCache
+                .newBuilder(this::load)
+                .setBatchLoader(this::loadAll)
+                .setPrefetchExecutor(MoreExecutors.directExecutor())
+                .invalidateOn(EitUserAccount.class, EitUserAccount::getId)
+                .build();
+    }
+
+    private EitUserAccount load(UserId user) {
+        loaded.add(user);
+        duringLoad.run();
+        return account(user);
+    }
+
+    private Map<UserId, EitUserAccount> loadAll(Set<UserId> users) {
+        batches.add(users);
+        duringLoad.run();
+        return users.stream()
+                    .collect(toImmutableMap(Function.identity(), EnrichmentCacheTest::account));
+    }
+
+    private static EitUserAccount account(UserId user) {
+        return EitUserAccount
+                .newBuilder()
+                .setId(user)
+                .setGivenName("Given " + user.getValue())
+                .setFamilyName("Family")
+                .build();
+    }
+
+    @Test
+    @DisplayName("load a value once")
+    void loadOnce() {
+        TenantId tenant = generate();
+        UserId user = newUuid();
+
+        EitUserAccount first = cache.get(tenant, user);
+        EitUserAccount second = cache.get(tenant, user);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(loaded).containsExactly(user);
+        assertThat(cache.stats()
+                        .hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("keep values of tenants apart")
+    void separateTenants() {
+        UserId user = newUuid();
+
+        cache.get(generate(), user);
+        cache.get(generate(), user);
+
+        assertThat(loaded).containsExactly(user, user);
+    }
+
+    @Test
+    @DisplayName("drop a value when the entity it was looked up from changes")
+    void invalidateOnStateChange() {
+        TenantId tenant = generate();
+        UserId user = newUuid();
+        cache.get(tenant, user);
+
+        cache.onStateChanged(tenant, account(newUuid()));
+        cache.get(tenant, user);
+        assertThat(loaded).containsExactly(user);
+
+        cache.onStateChanged(tenant, account(user));
+        cache.get(tenant, user);
+        assertThat(loaded).containsExactly(user, user);
+    }
+
+    @Test
+    @DisplayName("not keep a value invalidated while it is loaded")
+    void invalidateDuringLoad() {
+        TenantId tenant = generate();
+        UserId user = newUuid();
+        duringLoad = () -> cache.invalidate(tenant, user);
+        cache.get(tenant, user);
+
+        duringLoad = () -> {};
+        cache.get(tenant, user);
+        cache.get(tenant, user);
+        assertThat(loaded).containsExactly(user, user);
+    }
+
+    @Test
+    @DisplayName("not keep a prefetched value invalidated while it is loaded")
+    void invalidateDuringPrefetch() {
+        TenantId tenant = generate();
+        UserId user = newUuid();
+        duringLoad = () -> cache.invalidate(tenant, user);
+        cache.prefetch(tenant, ImmutableList.of(user));
+
+        duringLoad = () -> {};
+        cache.get(tenant, user);
+        assertThat(batches).hasSize(1);
+        assertThat(loaded).containsExactly(user);
+    }
+
+    @Test
+    @DisplayName("not wait for an unfinished prefetch")
+    void notWaitForPrefetch() {
+        List<Runnable> scheduled = new ArrayList<>();
+        EnrichmentCache<UserId, EitUserAccount> otherCache = EnrichmentCache
+                .newBuilder(this::load)
+                .setBatchLoader(this::loadAll)
+                .setPrefetchExecutor(scheduled::add)
+                .build();
+        TenantId tenant = generate();
+        UserId user = newUuid();
+
+        otherCache.prefetch(tenant, ImmutableList.of(user));
+        EitUserAccount account = otherCache.get(tenant, user);
+
+        assertThat(account).isEqualTo(account(user));
+        assertThat(scheduled).hasSize(1);
+        assertThat(loaded).containsExactly(user);
+    }
+
+    @Test
+    @DisplayName("not prefetch values without an executor")
+    void noPrefetchExecutor() {
+        EnrichmentCache<UserId, EitUserAccount> otherCache = EnrichmentCache
+                .newBuilder(this::load)
+                .setBatchLoader(this::loadAll)
+                .build();
+        TenantId tenant = generate();
+        UserId user = newUuid();
+
+        otherCache.prefetch(tenant, ImmutableList.of(user));
+        otherCache.get(tenant, user);
+
+        assertThat(batches).isEmpty();
+        assertThat(loaded).containsExactly(user);
+    }
+
+    @Test
+    @DisplayName("prefetch values in a single batch")
+    void prefetch() {
+        TenantId tenant = generate();
+        UserId cached = newUuid();
+        UserId first = newUuid();
+        UserId second = newUuid();
+        cache.get(tenant, cached);
+
+        cache.prefetch(tenant, ImmutableList.of(cached, first, second, first));
+        cache.get(tenant, first);
+        cache.get(tenant, second);
+
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).containsExactly(first, second);
+        assertThat(loaded).containsExactly(cached);
+    }
+
+    @Test
+    @DisplayName("serve event enrichment functions and prefetch their keys")
+    void enrichEvents() {
+        EventEnricher enricher = EventEnricher
+                .newBuilder()
+                .add(EitTaskAssigned.class, EitUserAccount.class,
+                     cache.by(EitTaskAssigned::getAssignee))
+                .build();
+        EventEnvelope first = assigned(newUuid());
+        EventEnvelope second = assigned(newUuid());
+
+        enricher.prefetch(ImmutableList.of(first, second));
+        EventEnvelope enriched = enricher.enrich(first);
+
+        EventContext context = enriched.context();
+        Optional<EitUserAccount> account = context.find(EitUserAccount.class);
+        assertThat(account).isPresent();
+        UserId assignee = ((EitTaskAssigned) first.message()).getAssignee();
+        assertThat(account.get()
+                          .getId()).isEqualTo(assignee);
+        assertThat(batches).hasSize(1);
+        assertThat(loaded).isEmpty();
+    }
+
+    @Test
+    @DisplayName("drop a value when the entity changes in the bounded context")
+    void invalidateThroughSystemContext() {
+        EventEnricher enricher = EventEnricher
+                .newBuilder()
+                .add(EitTaskAssigned.class, EitUserAccount.class,
+                     cache.by(EitTaskAssigned::getAssignee))
+                .build();
+        BlackBox context = BlackBox.from(
+                BoundedContext.singleTenant(EnrichmentCacheTest.class.getSimpleName())
+                              .enrichEventsUsing(enricher)
+                              .add(new EitUserRepository())
+        );
+        TenantId tenant = TenantId.getDefaultInstance();
+        UserId user = newUuid();
+        cache.get(tenant, user);
+        cache.get(tenant, user);
+        assertThat(loaded).containsExactly(user);
+
+        EitRegisterUser register = EitRegisterUser
+                .newBuilder()
+                .setUser(user)
+                .setGivenName("Jane")
+                .setFamilyName("Doe")
+                .build();
+        context.receivesCommand(register);
+        cache.get(tenant, user);
+
+        assertThat(loaded).containsExactly(user, user);
+        context.close();
+    }
+
+    private EventEnvelope assigned(UserId assignee) {
+        EitTaskAssigned event = EitTaskAssigned
+                .newBuilder()
+                .setAssignee(assignee)
+                .build();
+        return EventEnvelope.of(factory.createEvent(event));
+    }
+}
@@ -29,6 +29,7 @@ package io.spine.server.entity;
 import com.google.common.reflect.Invokable;
 import com.google.common.testing.EqualsTester;
 import io.spine.base.EntityState;
+import io.spine.base.Identifier;
 import io.spine.server.entity.given.entity.AnEntity;
 import io.spine.server.entity.given.entity.NaturalNumberEntity;
 import io.spine.server.test.shared.LongIdAggregate;
@@ -133,6 +134,15 @@ class AbstractEntityTest {
         assertSame(entity.idAsString(), entity.idAsString());
     }
 
+    @Test
+    @DisplayName("return packed ID")
+    void returnPackedId() {
+        AnEntity entity = new AnEntity(1_234_567L);
+
+        assertEquals(Identifier.pack(1_234_567L), entity.idAsAny());
+        assertSame(entity.idAsAny(), entity.idAsAny());
+    }
+
     @SuppressWarnings("MagicNumber")
     @Test
     @DisplayName("support equality")
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.entity;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Message;
+import io.spine.core.CommandId;
+import io.spine.core.Event;
+import io.spine.core.EventContext;
+import io.spine.core.EventId;
+import io.spine.core.MessageId;
+import io.spine.core.Origin;
+import io.spine.type.TypeUrl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.base.Identifier.newUuid;
+import static io.spine.protobuf.AnyPacker.pack;
+
+@DisplayName("`RecentHistory` should")
+class RecentHistoryTest {
+
+    @Test
+    @DisplayName("tell if it contains an event caused by a signal")
+    void containOutcome() {
+        RecentHistory history = new RecentHistory();
+        CommandId command = CommandId.generate();
+        EventId event = EventId.newBuilder()
+                               .setValue(newUuid())
+                               .build();
+        history.addAll(ImmutableList.of(eventCausedBy(command), eventCausedBy(event)));
+
+        assertThat(history.containsOutcomeOf(command)).isTrue();
+        assertThat(history.containsOutcomeOf(event)).isTrue();
+        assertThat(history.containsOutcomeOf(CommandId.generate())).isFalse();
+    }
+
+    @Test
+    @DisplayName("forget the causes of events when cleared")
+    void forgetOnClear() {
+        RecentHistory history = new RecentHistory();
+        CommandId command = CommandId.generate();
+        history.addAll(ImmutableList.of(eventCausedBy(command)));
+
+        history.clear();
+
+        assertThat(history.containsOutcomeOf(command)).isFalse();
+    }
+
+    private static Event eventCausedBy(Message signalId) {
+        MessageId messageId = MessageId
+                .newBuilder()
+                .setId(pack(signalId))
+                .setTypeUrl(TypeUrl.of(signalId).value())
+                .build();
+        Origin origin = Origin
+                .newBuilder()
+                .setMessage(messageId)
+                .build();
+        EventContext context = EventContext
+                .newBuilder()
+                .setPastMessage(origin)
+                .build();
+        return Event.newBuilder()
+                    .setId(EventId.newBuilder().setValue(newUuid()))
+                    .setContext(context)
+                    .build();
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.entity;
+
+import io.spine.core.Version;
+import io.spine.test.entity.ProjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.base.Identifier.newUuid;
+
+@DisplayName("`RepositoryCache` should")
+class RepositoryCacheTest {
+
+    private List<ProjectId> loaded;
+    private List<TestEntity> stored;
+    private Map<ProjectId, Version> storedVersions;
+
+    @BeforeEach
+    void setUp() {
+        loaded = new ArrayList<>();
+        stored = new ArrayList<>();
+        storedVersions = new HashMap<>();
+    }
+
+    private RepositoryCache<ProjectId, TestEntity> newCache(EntityCachePolicy policy) {
+        return new RepositoryCache<>(false, this::load, this::store, policy,
+                                     id -> Optional.ofNullable(storedVersions.get(id)));
+    }
+
+    private void store(TestEntity entity) {
+        stored.add(entity);
+        storedVersions.put(entity.id(), entity.version());
+    }
+
+    private TestEntity load(ProjectId id) {
+        loaded.add(id);
+        return TestEntity.newInstance(id.getId());
+    }
+
+    @Test
+    @DisplayName("load entities from the storage for each batch by default")
+    void notRetainByDefault() {
+        RepositoryCache<ProjectId, TestEntity> cache = newCache(EntityCachePolicy.disabled());
+        ProjectId id = TestEntity.newInstance(newUuid())
+                                 .id();
+        deliverBatch(cache, id);
+        deliverBatch(cache, id);
+
+        assertThat(loaded).containsExactly(id, id);
+        assertThat(stored).hasSize(2);
+        assertThat(cache.stats()
+                        .hitCount()).isEqualTo(0);
+    }
+
+    @Nested
+    @DisplayName("if retaining is enabled")
+    class Retaining {
+
+        private RepositoryCache<ProjectId, TestEntity> cache;
+        private ProjectId id;
+
+        @BeforeEach
+        void setUp() {
+            cache = newCache(EntityCachePolicy.newBuilder()
+                                              .setMaximumSize(10)
+                                              .build());
+            id = TestEntity.newInstance(newUuid())
+                           .id();
+        }
+
+        @Test
+        @DisplayName("serve the next batch from memory and write the entity through")
+        void retain() {
+            TestEntity first = deliverBatch(cache, id);
+            TestEntity second = deliverBatch(cache, id);
+
+            assertThat(second).isSameInstanceAs(first);
+            assertThat(loaded).containsExactly(id);
+            assertThat(stored).containsExactly(first, first);
+            EntityCacheStats stats = cache.stats();
+            assertThat(stats.hitCount()).isEqualTo(1);
+            assertThat(stats.missCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("reload an entity modified without being stored")
+        void reloadStale() {
+            TestEntity first = deliverBatch(cache, id);
+            first.setVersion(Version.newBuilder()
+                                    .setNumber(42)
+                                    .build());
+
+            TestEntity second = deliverBatch(cache, id);
+
+            assertThat(second).isNotSameInstanceAs(first);
+            assertThat(loaded).containsExactly(id, id);
+            assertThat(cache.stats()
+                            .staleCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("reload an entity written bypassing the cache")
+        void reloadWrittenElsewhere() {
+            TestEntity first = deliverBatch(cache, id);
+            storedVersions.put(id, Version.newBuilder()
+                                          .setNumber(7)
+                                          .build());
+
+            TestEntity second = deliverBatch(cache, id);
+
+            assertThat(second).isNotSameInstanceAs(first);
+            assertThat(loaded).containsExactly(id, id);
+            assertThat(cache.stats()
+                            .staleCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("reload an evicted entity")
+        void reloadEvicted() {
+            deliverBatch(cache, id);
+            cache.evict(id);
+            deliverBatch(cache, id);
+
+            assertThat(loaded).containsExactly(id, id);
+        }
+
+        @Test
+        @DisplayName("serve the entity without reading the stored version if not verified")
+        void skipVersionCheck() {
+            cache = newCache(EntityCachePolicy.newBuilder()
+                                              .setMaximumSize(10)
+                                              .setVerifyStoredVersion(false)
+                                              .build());
+            TestEntity first = deliverBatch(cache, id);
+            storedVersions.put(id, Version.newBuilder()
+                                          .setNumber(7)
+                                          .build());
+
+            TestEntity second = deliverBatch(cache, id);
+
+            assertThat(second).isSameInstanceAs(first);
+            assertThat(loaded).containsExactly(id);
+
+            cache.evict(id);
+            deliverBatch(cache, id);
+
+            assertThat(loaded).containsExactly(id, id);
+        }
+    }
+
+    private static TestEntity deliverBatch(RepositoryCache<ProjectId, TestEntity> cache,
+                                           ProjectId id) {
+        cache.startCaching(id);
+        TestEntity entity = cache.load(id);
+        cache.store(entity);
+        cache.stopCaching(id);
+        return entity;
+    }
+}
@@ -26,10 +26,12 @@
 
 package io.spine.server.event;
 
+import com.google.common.collect.ImmutableList;
 import io.grpc.stub.StreamObserver;
 import io.spine.core.Ack;
 import io.spine.core.Command;
 import io.spine.core.Event;
+import io.spine.core.EventId;
 import io.spine.grpc.StreamObservers;
 import io.spine.server.BoundedContext;
 import io.spine.server.BoundedContextBuilder;
@@ -42,6 +44,7 @@ import io.spine.server.event.given.bus.EBProjectArchivedSubscriber;
 import io.spine.server.event.given.bus.EBProjectCreatedNoOpSubscriber;
 import io.spine.server.event.given.bus.EBTaskAddedNoOpSubscriber;
 import io.spine.server.event.given.bus.GivenEvent;
+import io.spine.server.event.given.bus.LoggingDispatcher;
 import io.spine.server.event.given.bus.ProjectAggregate;
 import io.spine.server.event.given.bus.RememberingSubscriber;
 import io.spine.server.event.given.bus.TaskCreatedFilter;
@@ -64,6 +67,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
@@ -251,6 +255,44 @@ public class EventBusTest {
             assertThat(dispatcher.isDispatchCalled())
                     .isTrue();
         }
+
+        @Test
+        @DisplayName("dispatchers event by event, acknowledging each event before dispatching")
+        void eventByEvent() {
+            List<String> log = new ArrayList<>();
+            eventBus.register(new LoggingDispatcher("first", log));
+            eventBus.register(new LoggingDispatcher("second", log));
+            Event event1 = GivenEvent.projectCreated(Sample.messageOfType(ProjectId.class));
+            Event event2 = GivenEvent.projectCreated(Sample.messageOfType(ProjectId.class));
+            StreamObserver<Ack> acks = new StreamObserver<Ack>() {
+                @Override
+                public void onNext(Ack ack) {
+                    EventId id = unpack(ack.getMessageId(), EventId.class);
+                    log.add("ack " + id.getValue());
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    throw new AssertionError(t);
+                }
+
+                @Override
+                public void onCompleted() {
+                    // Do nothing.
+                }
+            };
+
+            eventBus.post(ImmutableList.of(event1, event2), acks);
+
+            String id1 = event1.id()
+                               .getValue();
+            String id2 = event2.id()
+                               .getValue();
+            assertThat(log)
+                    .containsExactly("ack " + id1, "first " + id1, "second " + id1,
+                                     "ack " + id2, "first " + id2, "second " + id2)
+                    .inOrder();
+        }
     }
 
 
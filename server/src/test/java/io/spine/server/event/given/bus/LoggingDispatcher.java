@@ -0,0 +1,70 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.event.given.bus;
+
+import com.google.common.collect.ImmutableSet;
+import io.spine.server.event.EventDispatcher;
+import io.spine.server.type.EventClass;
+import io.spine.server.type.EventEnvelope;
+import io.spine.test.event.ProjectCreated;
+
+import java.util.List;
+
+/**
+ * A dispatcher which logs the IDs of the dispatched events along with its name.
+ */
+public final class LoggingDispatcher implements EventDispatcher {
+
+    private final String name;
+    private final List<String> log;
+
+    public LoggingDispatcher(String name, List<String> log) {
+        this.name = name;
+        this.log = log;
+    }
+
+    @Override
+    public ImmutableSet<EventClass> messageClasses() {
+        return ImmutableSet.of(EventClass.from(ProjectCreated.class));
+    }
+
+    @Override
+    public ImmutableSet<EventClass> domesticEventClasses() {
+        return eventClasses();
+    }
+
+    @Override
+    public ImmutableSet<EventClass> externalEventClasses() {
+        return EventClass.emptySet();
+    }
+
+    @Override
+    public void dispatch(EventEnvelope event) {
+        log.add(name + ' ' + event.id()
+                                  .getValue());
+    }
+}
@@ -93,10 +93,19 @@ public class DefaultEventStoreTest {
     @BeforeEach
     void setUp() {
         executor = Executors.newFixedThreadPool(64);
-        context = BoundedContextBuilder.assumingTests().build();
+        context = newContext();
         eventStore = context.eventBus().eventStore();
     }
 
+    /**
+     * Creates the context which provides the tested {@code EventStore}.
+     *
+     * <p>Descendants may override to configure the storage of the events.
+     */
+    protected BoundedContext newContext() {
+        return BoundedContextBuilder.assumingTests().build();
+    }
+
     @AfterEach
     void tearDown() throws Exception {
         context.close();
@@ -27,6 +27,8 @@
 package io.spine.server.event.store;
 
 import com.google.common.testing.NullPointerTester;
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
 import com.google.protobuf.Message;
 import io.spine.base.FieldFilter;
 import io.spine.core.Event;
@@ -83,6 +85,46 @@ class MatchesStreamQueryTest {
         assertFalse(predicate.test(event));
     }
 
+    @Test
+    @DisplayName("match events by type")
+    void matchByType() {
+        Event event = eventWith(generate());
+        assertTrue(queryForType(typeName()).test(event));
+        assertFalse(queryForType("spine.test.event.ProjectStarted").test(event));
+    }
+
+    @Test
+    @DisplayName("reject events of other types without unpacking their messages")
+    void notUnpackOtherTypes() {
+        Any unknownMessage = Any
+                .newBuilder()
+                .setTypeUrl("type.spine.io/spine.test.event.UnknownEvent")
+                .setValue(ByteString.copyFromUtf8("not a message"))
+                .build();
+        Event event = eventWith(generate())
+                .toBuilder()
+                .setMessage(unknownMessage)
+                .build();
+        assertFalse(queryForType(typeName()).test(event));
+    }
+
+    private static String typeName() {
+        return ProjectCreated.getDescriptor()
+                             .getFullName();
+    }
+
+    private static MatchesStreamQuery queryForType(String typeName) {
+        EventFilter eventFilter = EventFilter
+                .newBuilder()
+                .setEventType(typeName)
+                .build();
+        EventStreamQuery query = EventStreamQuery
+                .newBuilder()
+                .addFilter(eventFilter)
+                .build();
+        return new MatchesStreamQuery(query);
+    }
+
     private static MatchesStreamQuery queryWith(String fieldPath, Message field) {
         FieldFilter filter = FieldFilter
                 .newBuilder()
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.given;
+
+import io.grpc.stub.ServerCallStreamObserver;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A server call observer imitating a client which reads the responses only when
+ * the test {@linkplain #resume() lets it}.
+ *
+ * <p>The observer is not ready until resumed.
+ *
+ * @param <T>
+ *         the type of the responses
+ */
+public final class SlowClientObserver<T> extends ServerCallStreamObserver<T> {
+
+    private final List<T> responses = new ArrayList<>();
+    private boolean ready;
+    private boolean completed;
+    private @Nullable Throwable error;
+    private @Nullable Runnable onReady;
+    private @Nullable Runnable onCancel;
+
+    /**
+     * Makes the observer ready and notifies the ready handler.
+     */
+    public void resume() {
+        ready = true;
+        checkNotNull(onReady).run();
+    }
+
+    /**
+     * Notifies the cancel handler.
+     */
+    public void cancel() {
+        checkNotNull(onCancel).run();
+    }
+
+    /**
+     * Obtains the responses received so far.
+     */
+    public List<T> responses() {
+        return responses;
+    }
+
+    /**
+     * Tells if the stream has been completed.
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * Obtains the error the stream has been failed with, or {@code null} if it has not failed.
+     */
+    public @Nullable Throwable error() {
+        return error;
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void setOnReadyHandler(Runnable onReadyHandler) {
+        this.onReady = onReadyHandler;
+    }
+
+    @Override
+    public void setOnCancelHandler(Runnable onCancelHandler) {
+        this.onCancel = onCancelHandler;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return false;
+    }
+
+    @Override
+    public void setCompression(String compression) {
+        // Do nothing.
+    }
+
+    @Override
+    public void disableAutoInboundFlowControl() {
+        // Do nothing.
+    }
+
+    @Override
+    public void request(int count) {
+        // Do nothing.
+    }
+
+    @Override
+    public void setMessageCompression(boolean enable) {
+        // Do nothing.
+    }
+
+    @Override
+    public void onNext(T value) {
+        responses.add(value);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        error = t;
+    }
+
+    @Override
+    public void onCompleted() {
+        completed = true;
+    }
+}
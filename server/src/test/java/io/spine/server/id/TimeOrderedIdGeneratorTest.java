@@ -0,0 +1,111 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.id;
+
+import io.spine.server.NodeId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.base.Identifier.newUuid;
+
+@DisplayName("`TimeOrderedIdGenerator` should")
+class TimeOrderedIdGeneratorTest {
+
+    private static final int ID_LENGTH = 26;
+
+    private final AtomicLong clock = new AtomicLong(1_600_000_000_000L);
+    private final TimeOrderedIdGenerator generator =
+            TimeOrderedIdGenerator.forNode(newNode(), clock::get);
+
+    @Test
+    @DisplayName("generate identifiers of the fixed length")
+    void fixedLength() {
+        String id = generator.newId();
+        assertThat(id).hasLength(ID_LENGTH);
+    }
+
+    @Test
+    @DisplayName("generate growing identifiers within the same millisecond")
+    void growWithinMillisecond() {
+        List<String> ids = generate(1_000);
+        assertThat(ids).isInStrictOrder();
+    }
+
+    @Test
+    @DisplayName("generate growing identifiers over time")
+    void growOverTime() {
+        String earlier = generator.newId();
+        clock.addAndGet(1);
+        String later = generator.newId();
+        assertThat(later).isGreaterThan(earlier);
+    }
+
+    @Test
+    @DisplayName("generate growing identifiers if the clock goes back")
+    void clockGoesBack() {
+        String before = generator.newId();
+        clock.addAndGet(-10_000);
+        String after = generator.newId();
+        assertThat(after).isGreaterThan(before);
+    }
+
+    @Test
+    @DisplayName("order the identifiers from different nodes by time")
+    void orderAcrossNodes() {
+        TimeOrderedIdGenerator another = TimeOrderedIdGenerator.forNode(newNode(), clock::get);
+        String first = another.newId();
+        clock.addAndGet(1);
+        String second = generator.newId();
+        assertThat(second).isGreaterThan(first);
+    }
+
+    @Test
+    @DisplayName("generate different identifiers on different nodes at the same time")
+    void differAcrossNodes() {
+        TimeOrderedIdGenerator another = TimeOrderedIdGenerator.forNode(newNode(), clock::get);
+        assertThat(another.newId()).isNotEqualTo(generator.newId());
+    }
+
+    private List<String> generate(int count) {
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(generator.newId());
+        }
+        return ids;
+    }
+
+    private static NodeId newNode() {
+        return NodeId.newBuilder()
+                     .setValue(newUuid())
+                     .vBuild();
+    }
+}
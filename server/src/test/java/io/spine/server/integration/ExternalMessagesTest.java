@@ -25,14 +25,25 @@
  */
 package io.spine.server.integration;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.testing.NullPointerTester;
 import io.spine.core.BoundedContextName;
 import io.spine.core.Command;
 import io.spine.core.Event;
+import io.spine.core.EventId;
 import io.spine.testing.UtilityClassTest;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import static com.google.common.testing.NullPointerTester.Visibility.PACKAGE;
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.core.BoundedContextNames.newName;
+import static io.spine.server.integration.ExternalMessages.batchOf;
+import static io.spine.server.integration.ExternalMessages.isBatch;
+import static io.spine.server.integration.ExternalMessages.unpackBatch;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @DisplayName("`ExternalMessages` utility should")
 class ExternalMessagesTest extends UtilityClassTest<ExternalMessages> {
@@ -48,6 +59,39 @@ class ExternalMessagesTest extends UtilityClassTest<ExternalMessages> {
               .setDefault(Event.class, Event.getDefaultInstance())
               .setDefault(Command.class, Command.getDefaultInstance())
               .setDefault(RequestForExternalMessages.class,
-                          RequestForExternalMessages.getDefaultInstance());
+                          RequestForExternalMessages.getDefaultInstance())
+              .setDefault(ExternalMessage.class, ExternalMessage.getDefaultInstance());
+    }
+
+    @ParameterizedTest(name = "compressed: {0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("wrap messages into a batch and unpack them in the same order")
+    void batch(boolean compress) {
+        BoundedContextName origin = newName("Batches");
+        ExternalMessage first = ExternalMessages.of(event("first"), origin);
+        ExternalMessage second = ExternalMessages.of(event("second"), origin);
+
+        ExternalMessage batch = batchOf(ImmutableList.of(first, second), origin, compress);
+
+        assertThat(isBatch(batch)).isTrue();
+        assertThat(isBatch(first)).isFalse();
+        assertThat(batch.getBoundedContextName()).isEqualTo(origin);
+        assertThat(unpackBatch(batch)).containsExactly(first, second)
+                                      .inOrder();
+    }
+
+    @Test
+    @DisplayName("not unpack a message which is not a batch")
+    void notBatch() {
+        ExternalMessage message = ExternalMessages.of(event("single"), newName("Single"));
+
+        assertThrows(IllegalArgumentException.class, () -> unpackBatch(message));
+    }
+
+    private static Event event(String id) {
+        return Event.newBuilder()
+                    .setId(EventId.newBuilder()
+                                  .setValue(id))
+                    .build();
     }
 }
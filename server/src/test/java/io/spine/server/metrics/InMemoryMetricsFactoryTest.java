@@ -0,0 +1,82 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`InMemoryMetricsFactory` should")
+class InMemoryMetricsFactoryTest {
+
+    private static final MetricId LATENCY = MetricId.of("test.latency", "tag");
+    private static final MetricId HITS = MetricId.of("test.hits", "tag");
+
+    private InMemoryMetricsFactory factory;
+
+    @BeforeEach
+    void setUp() {
+        factory = new InMemoryMetricsFactory();
+    }
+
+    @Test
+    @DisplayName("return the same instrument for equal identifiers")
+    void sameInstrument() {
+        MetricId sameLatency = MetricId.of(LATENCY.name(), LATENCY.tag());
+        assertThat(factory.histogram(sameLatency)).isSameInstanceAs(factory.histogram(LATENCY));
+        assertThat(factory.counter(MetricId.of(HITS.name(), HITS.tag())))
+                .isSameInstanceAs(factory.counter(HITS));
+    }
+
+    @Test
+    @DisplayName("expose the recorded values")
+    void snapshots() {
+        factory.histogram(LATENCY).record(42);
+        factory.counter(HITS).increment();
+        factory.counter(HITS).add(2);
+
+        assertThat(factory.histograms().get(LATENCY).max()).isEqualTo(42);
+        assertThat(factory.counters()).containsEntry(HITS, 3L);
+    }
+
+    @Test
+    @DisplayName("discard the recorded values on `clear()`")
+    void clear() {
+        LongHistogram latency = factory.histogram(LATENCY);
+        latency.record(1);
+        factory.counter(HITS).increment();
+        factory.clear();
+
+        assertThat(factory.histograms().get(LATENCY).count()).isEqualTo(0);
+        assertThat(factory.counters()).containsEntry(HITS, 0L);
+
+        latency.record(2);
+        assertThat(factory.histograms().get(LATENCY).max()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`LongHistogram` should")
+class LongHistogramTest {
+
+    @Test
+    @DisplayName("produce an empty snapshot if nothing is recorded")
+    void empty() {
+        HistogramSnapshot snapshot = new LongHistogram().snapshot();
+        assertThat(snapshot.count()).isEqualTo(0);
+        assertThat(snapshot.valueAt(99.0)).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("track count, sum, min and max exactly")
+    void exactStats() {
+        LongHistogram histogram = new LongHistogram();
+        for (long i = 1; i <= 1_000; i++) {
+            histogram.record(i);
+        }
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.count()).isEqualTo(1_000);
+        assertThat(snapshot.sum()).isEqualTo(500_500);
+        assertThat(snapshot.min()).isEqualTo(1);
+        assertThat(snapshot.max()).isEqualTo(1_000);
+        assertThat(snapshot.mean()).isWithin(0.001).of(500.5);
+    }
+
+    @Test
+    @DisplayName("keep small values exact")
+    void smallValues() {
+        LongHistogram histogram = new LongHistogram();
+        histogram.record(7);
+        histogram.record(7);
+        histogram.record(3);
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.valueAt(50.0)).isEqualTo(7);
+        assertThat(snapshot.valueAt(10.0)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("report percentiles within the bucket precision")
+    void percentiles() {
+        LongHistogram histogram = new LongHistogram();
+        for (long i = 1; i <= 100_000; i++) {
+            histogram.record(i);
+        }
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertPercentile(snapshot, 50.0, 50_000);
+        assertPercentile(snapshot, 99.0, 99_000);
+        assertPercentile(snapshot, 99.9, 99_900);
+    }
+
+    private static void assertPercentile(HistogramSnapshot snapshot,
+                                         double percentile,
+                                         long expected) {
+        long actual = snapshot.valueAt(percentile);
+        double relativeError = Math.abs(actual - expected) / (double) expected;
+        assertThat(relativeError).isAtMost(1.0 / 16);
+    }
+}
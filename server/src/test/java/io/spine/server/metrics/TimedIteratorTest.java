@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.metrics;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.server.metrics.TimedIterator.timed;
+
+@DisplayName("`TimedIterator` should")
+class TimedIteratorTest {
+
+    private LongHistogram histogram;
+
+    @BeforeEach
+    void setUp() {
+        histogram = new LongHistogram();
+    }
+
+    @Test
+    @DisplayName("record the time once the iterator is exhausted")
+    void recordWhenExhausted() {
+        Iterator<String> iterator = timed(ImmutableList.of("a", "b").iterator(),
+                                          histogram, System.nanoTime());
+        iterator.next();
+        assertThat(histogram.snapshot().count()).isEqualTo(0);
+
+        iterator.next();
+        assertThat(iterator.hasNext()).isFalse();
+        assertThat(iterator.hasNext()).isFalse();
+        assertThat(histogram.snapshot().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("record the time when completed before the end")
+    void recordWhenCompleted() {
+        TimedIterator<String> iterator =
+                (TimedIterator<String>) timed(ImmutableList.of("a", "b").iterator(),
+                                              histogram, System.nanoTime());
+        iterator.next();
+        iterator.complete();
+        iterator.complete();
+
+        assertThat(histogram.snapshot().count()).isEqualTo(1);
+    }
+}
@@ -41,6 +41,7 @@ import io.spine.core.Version;
 import io.spine.core.Versions;
 import io.spine.server.BoundedContext;
 import io.spine.server.BoundedContextBuilder;
+import io.spine.server.entity.MigrationCheckpoint;
 import io.spine.server.entity.RecordBasedRepository;
 import io.spine.server.entity.RecordBasedRepositoryTest;
 import io.spine.server.entity.given.Given;
@@ -50,6 +51,7 @@ import io.spine.server.projection.given.ProjectionRepositoryTestEnv.GivenEventMe
 import io.spine.server.projection.given.ProjectionRepositoryTestEnv.NoOpTaskNamesRepository;
 import io.spine.server.projection.given.ProjectionRepositoryTestEnv.SensoryDeprivedProjectionRepository;
 import io.spine.server.projection.given.ProjectionRepositoryTestEnv.TestProjectionRepository;
+import io.spine.server.projection.given.RecordMigratedProjections;
 import io.spine.server.projection.given.SetTestProjectionId;
 import io.spine.server.projection.given.SetTestProjectionName;
 import io.spine.server.projection.given.TestProjection;
@@ -86,6 +88,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 import static com.google.common.truth.Truth.assertThat;
@@ -725,6 +728,104 @@ class ProjectionRepositoryTest
                 .containsExactly(expectedState1, expectedState2);
     }
 
+    @Test
+    @DisplayName("update all entities via a bulk migration")
+    void performBulkMigration() {
+        TestProjectionRepository repository = repository();
+        int count = 7;
+        for (int i = 1; i <= count; i++) {
+            repository.store(new TestProjection(createId(i)));
+        }
+
+        MigrationCheckpoint checkpoint =
+                repository.bulkMigration(SetTestProjectionName::new)
+                          .setName("set-name")
+                          .setPageSize(3)
+                          .setParallelism(2)
+                          .build()
+                          .run();
+
+        assertThat(checkpoint.getCompleted()).isTrue();
+        assertThat(checkpoint.getProcessed()).isEqualTo(count);
+        Project.Query query =
+                Project.query()
+                       .name().is(NEW_NAME)
+                       .build();
+        ImmutableList<TestProjection> migrated = ImmutableList.copyOf(repository.find(query));
+        assertThat(migrated).hasSize(count);
+    }
+
+    @Test
+    @DisplayName("resume an interrupted bulk migration after the last migrated page")
+    void resumeBulkMigration() {
+        TestProjectionRepository repository = repository();
+        int count = 7;
+        for (int i = 1; i <= count; i++) {
+            repository.store(new TestProjection(createId(i)));
+        }
+        Set<ProjectId> migrated = ConcurrentHashMap.newKeySet();
+
+        // The second page of three projections fails.
+        ProjectId failing = createId(5);
+        assertThrows(RuntimeException.class,
+                     () -> repository.bulkMigration(
+                                     () -> new RecordMigratedProjections(migrated, failing))
+                                     .setName("resumed")
+                                     .setPageSize(3)
+                                     .setParallelism(2)
+                                     .build()
+                                     .run());
+        assertThat(migrated).containsAtLeast(createId(1), createId(2), createId(3));
+        assertThat(migrated).doesNotContain(failing);
+
+        migrated.clear();
+        MigrationCheckpoint checkpoint =
+                repository.bulkMigration(() -> new RecordMigratedProjections(migrated, null))
+                          .setName("resumed")
+                          .setPageSize(3)
+                          .setParallelism(2)
+                          .build()
+                          .run();
+
+        assertThat(checkpoint.getCompleted()).isTrue();
+        assertThat(checkpoint.getProcessed()).isEqualTo(count);
+        assertThat(migrated).containsNoneOf(createId(1), createId(2), createId(3));
+        assertThat(migrated).containsAtLeast(createId(4), createId(5), createId(6), createId(7));
+        Project.Query query =
+                Project.query()
+                       .name().is(NEW_NAME)
+                       .build();
+        ImmutableList<TestProjection> all = ImmutableList.copyOf(repository.find(query));
+        assertThat(all).hasSize(count);
+    }
+
+    @Test
+    @DisplayName("not repeat a completed bulk migration")
+    void notRepeatCompletedBulkMigration() {
+        TestProjectionRepository repository = repository();
+        repository.store(new TestProjection(createId(1)));
+        repository.store(new TestProjection(createId(2)));
+
+        MigrationCheckpoint first =
+                repository.bulkMigration(SetTestProjectionName::new)
+                          .setName("set-name-once")
+                          .build()
+                          .run();
+        repository.store(new TestProjection(createId(3)));
+        MigrationCheckpoint second =
+                repository.bulkMigration(SetTestProjectionName::new)
+                          .setName("set-name-once")
+                          .build()
+                          .run();
+
+        assertThat(second).isEqualTo(first);
+        Optional<TestProjection> notMigrated = repository.find(createId(3));
+        assertThat(notMigrated).isPresent();
+        assertThat(notMigrated.get()
+                              .state()
+                              .getName()).isNotEqualTo(NEW_NAME);
+    }
+
     @Test
     @DisplayName("archive entity via migration")
     void archiveEntityViaMigration() {
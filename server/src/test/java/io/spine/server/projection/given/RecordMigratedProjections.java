@@ -0,0 +1,65 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package io.spine.server.projection.given;
+
+import io.spine.server.projection.ProjectionMigration;
+import io.spine.test.projection.Project;
+import io.spine.test.projection.ProjectId;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Set;
+
+import static io.spine.server.projection.given.SetTestProjectionName.NEW_NAME;
+
+/**
+ * Sets the projection {@code name} to {@link SetTestProjectionName#NEW_NAME NEW_NAME},
+ * remembering the IDs of the migrated projections.
+ *
+ * <p>Fails the migration of the projection with the given ID, if any.
+ */
+public final class RecordMigratedProjections
+        extends ProjectionMigration<ProjectId, TestProjection, Project, Project.Builder> {
+
+    private final Set<ProjectId> migrated;
+    private final @Nullable ProjectId failOn;
+
+    public RecordMigratedProjections(Set<ProjectId> migrated, @Nullable ProjectId failOn) {
+        this.migrated = migrated;
+        this.failOn = failOn;
+    }
+
+    @Override
+    public Project apply(Project project) {
+        ProjectId id = id();
+        if (id.equals(failOn)) {
+            throw new IllegalStateException("The migration of `" + id.getId() + "` fails.");
+        }
+        migrated.add(id);
+        return project.toBuilder()
+                      .setName(NEW_NAME)
+                      .build();
+    }
+}
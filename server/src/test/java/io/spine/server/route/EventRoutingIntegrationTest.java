@@ -28,6 +28,7 @@ package io.spine.server.route;
 
 import io.spine.core.UserId;
 import io.spine.server.BoundedContextBuilder;
+import io.spine.server.route.given.user.RoutingAwareSessionRepository;
 import io.spine.server.route.given.user.SessionProjection;
 import io.spine.server.route.given.user.SessionRepository;
 import io.spine.server.route.given.user.UserRepository;
@@ -40,6 +41,8 @@ import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import static com.google.common.truth.Truth.assertThat;
+
 @DisplayName("Event routing should")
 class EventRoutingIntegrationTest {
 
@@ -81,4 +84,27 @@ class EventRoutingIntegrationTest {
                .comparingExpectedFieldsOnly()
                .isEqualTo(session);
     }
+
+    @Test
+    @DisplayName("route unicast events via the overridden `route` method of the repository")
+    void callOverriddenRoute() {
+        RSessionId sessionId = RSessionId.generate();
+        RUserSignedIn event = RUserSignedIn
+                .newBuilder()
+                .setUserId(GivenUserId.generated())
+                .setSessionId(sessionId)
+                .build();
+        RoutingAwareSessionRepository repository = new RoutingAwareSessionRepository();
+        BlackBox context = BlackBox.from(
+                BoundedContextBuilder.assumingTests()
+                                     .add(repository)
+        );
+        context.receivesEvent(event);
+
+        assertThat(repository.routed())
+                .isEqualTo(1);
+        context.assertEntity(sessionId, SessionProjection.class)
+               .exists();
+        context.close();
+    }
 }
@@ -255,4 +255,49 @@ class EventRoutingTest {
         assertThat(route)
                 .isEqualTo(DEFAULT_ROUTE);
     }
+
+    @Test
+    @DisplayName("apply a route set after the route for the same class was resolved")
+    void refreshResolvedRoutes() {
+        EventContext context = EventContext.getDefaultInstance();
+        UserLoggedIn event = UserLoggedIn.getDefaultInstance();
+        assertThat(eventRouting.apply(event, context))
+                .isEqualTo(DEFAULT_ROUTE);
+
+        eventRouting.route(UserLoggedIn.class, customRoute);
+
+        assertThat(eventRouting.apply(event, context))
+                .isEqualTo(CUSTOM_ROUTE);
+    }
+
+    @Test
+    @DisplayName("obtain the sole target of a unicast route without wrapping it into a set")
+    void unicastTarget() {
+        eventRouting.unicast(UserRegistered.class, UserRegistered::getId);
+        UserRegistered event = UserRegistered
+                .newBuilder()
+                .setId(random(1, 100))
+                .build();
+        EventContext context = EventContext.getDefaultInstance();
+
+        assertThat(eventRouting.isUnicast(UserRegistered.class))
+                .isTrue();
+        assertThat(eventRouting.isUnicast(UserLoggedIn.class))
+                .isFalse();
+        assertThat(eventRouting.unicastTarget(event, context))
+                .isEqualTo(event.getId());
+        assertThat(eventRouting.apply(event, context))
+                .containsExactly(event.getId());
+        assertThrows(IllegalStateException.class,
+                     () -> eventRouting.unicastTarget(UserLoggedIn.getDefaultInstance(), context));
+    }
+
+    @Test
+    @DisplayName("treat the default route by producer ID as unicast")
+    void unicastByProducer() {
+        EventRouting<Long> byProducer = EventRouting.withDefaultByProducerId();
+
+        assertThat(byProducer.isUnicast(UserLoggedIn.class))
+                .isTrue();
+    }
 }
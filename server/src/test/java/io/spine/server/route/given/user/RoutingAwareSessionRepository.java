@@ -0,0 +1,65 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.route.given.user;
+
+import com.google.errorprone.annotations.OverridingMethodsMustInvokeSuper;
+import io.spine.server.projection.ProjectionRepository;
+import io.spine.server.route.EventRouting;
+import io.spine.server.route.given.user.event.RUserSignedIn;
+import io.spine.server.type.EventEnvelope;
+import io.spine.test.event.RSession;
+import io.spine.test.event.RSessionId;
+
+import java.util.Set;
+
+/**
+ * A repository which routes the events to a single session and counts the calls
+ * to its overridden {@link #route(EventEnvelope)} method.
+ */
+public class RoutingAwareSessionRepository
+        extends ProjectionRepository<RSessionId, SessionProjection, RSession> {
+
+    private int routed = 0;
+
+    @OverridingMethodsMustInvokeSuper
+    @Override
+    protected void setupEventRouting(EventRouting<RSessionId> routing) {
+        super.setupEventRouting(routing);
+        routing.unicast(RUserSignedIn.class, RUserSignedIn::getSessionId);
+    }
+
+    @Override
+    protected Set<RSessionId> route(EventEnvelope event) {
+        routed++;
+        return super.route(event);
+    }
+
+    /** Obtains the number of the events routed by this repository. */
+    public int routed() {
+        return routed;
+    }
+}
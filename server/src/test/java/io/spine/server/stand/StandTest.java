@@ -29,11 +29,16 @@ import com.google.common.collect.ImmutableSet;
 import com.google.protobuf.Any;
 import com.google.protobuf.Descriptors.Descriptor;
 import com.google.protobuf.FieldMask;
+import io.spine.base.Identifier;
 import io.spine.client.ActorRequestFactory;
 import io.spine.client.EntityStateWithVersion;
+import io.spine.client.OrderBy;
 import io.spine.client.Query;
 import io.spine.client.QueryFactory;
+import io.spine.client.QueryCursor;
 import io.spine.client.QueryResponse;
+import io.spine.client.QueryResponseChunk;
+import io.spine.client.QueryStreamRequest;
 import io.spine.client.ResponseFormat;
 import io.spine.client.Subscription;
 import io.spine.client.SubscriptionUpdate;
@@ -48,6 +53,7 @@ import io.spine.core.Event;
 import io.spine.core.EventContext;
 import io.spine.core.MessageId;
 import io.spine.core.Version;
+import io.spine.grpc.MemoizingObserver;
 import io.spine.protobuf.AnyPacker;
 import io.spine.server.BoundedContext;
 import io.spine.server.BoundedContextBuilder;
@@ -55,6 +61,7 @@ import io.spine.server.Given.CustomerAggregate;
 import io.spine.server.Given.CustomerAggregateRepository;
 import io.spine.server.entity.Repository;
 import io.spine.server.projection.ProjectionRepository;
+import io.spine.server.stand.given.ChunkObserver;
 import io.spine.server.stand.given.Given.StandTestProjectionRepository;
 import io.spine.server.stand.given.StandTestEnv.AssertProjectQueryResults;
 import io.spine.server.stand.given.StandTestEnv.MemoizeQueryResponseObserver;
@@ -87,10 +94,13 @@ import static com.google.common.collect.Sets.newHashSet;
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth8.assertThat;
 import static io.spine.client.EntityQueryToProto.transformWith;
+import static io.spine.client.OrderBy.Direction.ASCENDING;
 import static io.spine.client.QueryValidationError.INVALID_QUERY;
+import static io.spine.client.QueryValidationError.INVALID_QUERY_CURSOR;
 import static io.spine.client.QueryValidationError.UNSUPPORTED_QUERY_TARGET;
 import static io.spine.client.TopicValidationError.INVALID_TOPIC;
 import static io.spine.client.TopicValidationError.UNSUPPORTED_TOPIC_TARGET;
+import static io.spine.grpc.StreamObservers.memoizingObserver;
 import static io.spine.grpc.StreamObservers.noOpObserver;
 import static io.spine.protobuf.AnyPacker.unpack;
 import static io.spine.protobuf.Messages.isNotDefault;
@@ -639,6 +649,204 @@ class StandTest extends TenantAwareTest {
         verifyObserver(observer);
     }
 
+    @Nested
+    @DisplayName("stream query results")
+    class StreamQueryResults {
+
+        private static final int CHUNK_SIZE = 3;
+
+        private final StandTestProjectionRepository repository =
+                new StandTestProjectionRepository();
+        private Stand stand;
+        private Query query;
+
+        @BeforeEach
+        void setUp() {
+            stand = createStand(repository);
+            Set<ProjectId> ids = storeProjects(TOTAL_PROJECTS_FOR_BATCH_READING);
+            query = Project.query()
+                           .id().in(ids)
+                           .build(transformWith(requestFactory.query()));
+        }
+
+        @Test
+        @DisplayName("by chunks of the requested size")
+        void byChunks() {
+            MemoizingObserver<QueryResponseChunk> observer = memoizingObserver();
+            stand.executeStreaming(request(QueryCursor.getDefaultInstance()), observer);
+
+            List<QueryResponseChunk> chunks = observer.responses();
+            assertThat(chunks)
+                    .hasSize(4);
+            int total = chunks.stream()
+                              .mapToInt(QueryResponseChunk::getMessageCount)
+                              .sum();
+            assertThat(total)
+                    .isEqualTo(TOTAL_PROJECTS_FOR_BATCH_READING);
+            assertThat(observer.isCompleted())
+                    .isTrue();
+        }
+
+        @Test
+        @DisplayName("resuming after the cursor")
+        void afterCursor() {
+            MemoizingObserver<QueryResponseChunk> first = memoizingObserver();
+            stand.executeStreaming(request(QueryCursor.getDefaultInstance()), first);
+            QueryCursor cursor = first.responses()
+                                      .get(1)
+                                      .getCursor();
+
+            MemoizingObserver<QueryResponseChunk> resumed = memoizingObserver();
+            stand.executeStreaming(request(cursor), resumed);
+
+            List<QueryResponseChunk> chunks = resumed.responses();
+            assertThat(chunks)
+                    .hasSize(2);
+            assertThat(chunks.get(0))
+                    .isEqualTo(first.responses().get(2));
+        }
+
+        @Test
+        @DisplayName("sending a chunk only when the observer is ready")
+        void whenReady() {
+            ChunkObserver observer = new ChunkObserver();
+            stand.executeStreaming(request(QueryCursor.getDefaultInstance()), observer);
+            assertThat(observer.chunks())
+                    .isEmpty();
+
+            observer.becomeReady();
+            assertThat(observer.chunks())
+                    .hasSize(1);
+
+            observer.becomeReady();
+            observer.becomeReady();
+            observer.becomeReady();
+            assertThat(observer.chunks())
+                    .hasSize(4);
+            assertThat(observer.isCompleted())
+                    .isTrue();
+        }
+
+        @Test
+        @DisplayName("stopping when the call is cancelled")
+        void stopOnCancel() {
+            ChunkObserver observer = new ChunkObserver();
+            stand.executeStreaming(request(QueryCursor.getDefaultInstance()), observer);
+            observer.becomeReady();
+            observer.cancel();
+            observer.becomeReady();
+
+            assertThat(observer.chunks())
+                    .hasSize(1);
+            assertThat(observer.isCompleted())
+                    .isFalse();
+        }
+
+        @Test
+        @DisplayName("lowering the chunk size to the server maximum")
+        void clampChunkSize() {
+            storeProjects(Stand.MAX_CHUNK_SIZE);
+            Query all = requestFactory.query()
+                                      .all(Project.class);
+            QueryStreamRequest request = QueryStreamRequest
+                    .newBuilder()
+                    .setQuery(all)
+                    .setChunkSize(Stand.MAX_CHUNK_SIZE * 2)
+                    .build();
+            MemoizingObserver<QueryResponseChunk> observer = memoizingObserver();
+            stand.executeStreaming(request, observer);
+
+            List<QueryResponseChunk> chunks = observer.responses();
+            assertThat(chunks)
+                    .hasSize(2);
+            assertThat(chunks.get(0).getMessageCount())
+                    .isEqualTo(Stand.MAX_CHUNK_SIZE);
+        }
+
+        @Test
+        @DisplayName("up to the query limit")
+        void limited() {
+            ResponseFormat format = query.getFormat()
+                                         .toBuilder()
+                                         .setLimit(CHUNK_SIZE + 2)
+                                         .build();
+            query = query.toBuilder()
+                         .setFormat(format)
+                         .build();
+            MemoizingObserver<QueryResponseChunk> observer = memoizingObserver();
+            stand.executeStreaming(request(QueryCursor.getDefaultInstance()), observer);
+
+            List<QueryResponseChunk> chunks = observer.responses();
+            assertThat(chunks)
+                    .hasSize(2);
+            assertThat(chunks.get(1).getMessageCount())
+                    .isEqualTo(2);
+            assertThat(observer.isCompleted())
+                    .isTrue();
+        }
+
+        @Test
+        @DisplayName("rejecting the cursor of another query")
+        void rejectForeignCursor() {
+            Query another = requestFactory.query()
+                                          .all(Project.class);
+            QueryCursor foreign =
+                    QueryCursors.cursorAfter(another, Identifier.pack(projectIdFor(1)));
+
+            InvalidQueryException exception =
+                    assertThrows(InvalidQueryException.class,
+                                 () -> stand.executeStreaming(request(foreign), noOpObserver()));
+            assertEquals(INVALID_QUERY_CURSOR.getNumber(),
+                         exception.asError()
+                                  .getCode());
+        }
+
+        @Test
+        @DisplayName("rejecting the ordered query")
+        void rejectOrdered() {
+            OrderBy byName = OrderBy
+                    .newBuilder()
+                    .setColumn("name")
+                    .setDirection(ASCENDING)
+                    .build();
+            ResponseFormat format = query.getFormat()
+                                         .toBuilder()
+                                         .addOrderBy(byName)
+                                         .build();
+            query = query.toBuilder()
+                         .setFormat(format)
+                         .build();
+
+            InvalidQueryException exception = assertThrows(
+                    InvalidQueryException.class,
+                    () -> stand.executeStreaming(request(QueryCursor.getDefaultInstance()),
+                                                 noOpObserver())
+            );
+            assertEquals(INVALID_QUERY.getNumber(),
+                         exception.asError()
+                                  .getCode());
+        }
+
+        private Set<ProjectId> storeProjects(int count) {
+            Set<ProjectId> ids = new HashSet<>();
+            for (int i = 0; i < count; i++) {
+                ProjectId id = ProjectId.generate();
+                storeSampleProject(repository, id, String.valueOf(i), 1);
+                ids.add(id);
+            }
+            return ids;
+        }
+
+        private QueryStreamRequest request(QueryCursor cursor) {
+            return QueryStreamRequest
+                    .newBuilder()
+                    .setQuery(query)
+                    .setChunkSize(CHUNK_SIZE)
+                    .setCursor(cursor)
+                    .build();
+        }
+    }
+
     @Nested
     @DisplayName("throw invalid query exception packed as IAE")
     class ThrowInvalidQueryEx {
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package io.spine.server.stand.given;
+
+import io.grpc.stub.ServerCallStreamObserver;
+import io.spine.client.QueryResponseChunk;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A server call observer of the query chunks imitating a slow client.
+ *
+ * <p>The observer is ready to accept a single chunk each time the test
+ * {@linkplain #becomeReady() makes it ready}.
+ */
+public final class ChunkObserver extends ServerCallStreamObserver<QueryResponseChunk> {
+
+    private final List<QueryResponseChunk> chunks = new ArrayList<>();
+    private boolean ready;
+    private boolean completed;
+    private @Nullable Runnable onReady;
+    private @Nullable Runnable onCancel;
+
+    /**
+     * Makes the observer ready and notifies the ready handler.
+     */
+    public void becomeReady() {
+        ready = true;
+        notifyReady();
+    }
+
+    /**
+     * Notifies the cancel handler.
+     */
+    public void cancel() {
+        checkNotNull(onCancel).run();
+    }
+
+    /**
+     * Obtains the chunks received so far.
+     */
+    public List<QueryResponseChunk> chunks() {
+        return chunks;
+    }
+
+    /**
+     * Tells if the stream has been completed.
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    private void notifyReady() {
+        checkNotNull(onReady).run();
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void setOnReadyHandler(Runnable onReadyHandler) {
+        this.onReady = onReadyHandler;
+    }
+
+    @Override
+    public void setOnCancelHandler(Runnable onCancelHandler) {
+        this.onCancel = onCancelHandler;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return false;
+    }
+
+    @Override
+    public void setCompression(String compression) {
+        // Do nothing.
+    }
+
+    @Override
+    public void disableAutoInboundFlowControl() {
+        // Do nothing.
+    }
+
+    @Override
+    public void request(int count) {
+        // Do nothing.
+    }
+
+    @Override
+    public void setMessageCompression(boolean enable) {
+        // Do nothing.
+    }
+
+    @Override
+    public void onNext(QueryResponseChunk value) {
+        chunks.add(value);
+        ready = false;
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        throw new IllegalStateException(t);
+    }
+
+    @Override
+    public void onCompleted() {
+        completed = true;
+    }
+}
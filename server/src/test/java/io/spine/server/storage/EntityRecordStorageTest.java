@@ -266,6 +266,38 @@ public class EntityRecordStorageTest
                               .build();
             assertQueryHasSingleResult(query, archivedRecord, storage);
         }
+
+        @Test
+        @DisplayName("active record IDs page by page")
+        void pages() {
+            EntityRecordStorage<StgProjectId, StgProject> storage = storage();
+            List<StgProjectId> active = newArrayList();
+            for (int i = 0; i < 7; i++) {
+                StgProjectId id = newId();
+                TransactionalEntity<StgProjectId, ?, ?> entity = newEntity(id);
+                storage.write(recordWithCols(entity, buildStorageRecord(id, newState(id))));
+                active.add(id);
+            }
+            StgProjectId archivedId = newId();
+            TransactionalEntity<StgProjectId, ?, ?> archivedEntity = newEntity(archivedId);
+            archive(archivedEntity);
+            storage.write(recordWithCols(archivedEntity,
+                                         buildStorageRecord(archivedId, newState(archivedId))));
+
+            List<StgProjectId> paged = newArrayList();
+            @Nullable StgProjectId last = null;
+            List<StgProjectId> page;
+            do {
+                page = newArrayList(storage.indexPage(last, 3));
+                assertThat(page.size())
+                        .isAtMost(3);
+                paged.addAll(page);
+                last = page.isEmpty() ? last : page.get(page.size() - 1);
+            } while (!page.isEmpty());
+
+            assertThat(paged)
+                    .containsExactlyElementsIn(active);
+        }
     }
 
     @Nested
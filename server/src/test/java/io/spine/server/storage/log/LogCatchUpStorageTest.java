@@ -0,0 +1,135 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.storage.log;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.base.Time;
+import io.spine.server.delivery.CatchUp;
+import io.spine.server.delivery.CatchUpStatus;
+import io.spine.server.delivery.CatchUpStorage;
+import io.spine.type.TypeUrl;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth8.assertThat;
+import static io.spine.server.delivery.CatchUpStatus.FINALIZING;
+import static io.spine.server.delivery.CatchUpStatus.IN_PROGRESS;
+import static io.spine.server.delivery.given.TestCatchUpJobs.catchUpJob;
+
+@DisplayName("`CatchUpStorage` backed by `LogStorageFactory` should")
+class LogCatchUpStorageTest {
+
+    private static final TypeUrl PROJECTION = TypeUrl.of(CatchUp.class);
+    private static final TypeUrl OTHER_PROJECTION = TypeUrl.of(CatchUp.Request.class);
+
+    @TempDir
+    Path directory;
+
+    private @MonotonicNonNull LogStorageFactory factory;
+    private @MonotonicNonNull CatchUpStorage storage;
+
+    @BeforeEach
+    void createStorage() {
+        open();
+    }
+
+    @AfterEach
+    void closeFactory() {
+        factory.close();
+    }
+
+    private void open() {
+        factory = LogStorageFactory.newBuilder(directory)
+                                   .setSegmentSize(64 * 1024)
+                                   .build();
+        storage = new CatchUpStorage(factory, false);
+    }
+
+    private void reopen() {
+        factory.close();
+        open();
+    }
+
+    @Test
+    @DisplayName("read the catch-up processes by the projection type")
+    void readByType() {
+        CatchUp first = newJob(PROJECTION, IN_PROGRESS);
+        CatchUp second = newJob(PROJECTION, IN_PROGRESS);
+        CatchUp other = newJob(OTHER_PROJECTION, IN_PROGRESS);
+        storage.write(first);
+        storage.write(second);
+        storage.write(other);
+
+        assertThat(readByType(PROJECTION)).containsExactly(first, second);
+        assertThat(readByType(OTHER_PROJECTION)).containsExactly(other);
+    }
+
+    @Test
+    @DisplayName("read the latest state of an updated catch-up process")
+    void readUpdated() {
+        CatchUp job = newJob(PROJECTION, IN_PROGRESS);
+        storage.write(job);
+        // Index the records by the projection type before the update.
+        readByType(PROJECTION);
+        CatchUp finalizing = job.toBuilder()
+                                .setStatus(FINALIZING)
+                                .vBuild();
+        storage.write(finalizing);
+
+        assertThat(readByType(PROJECTION)).containsExactly(finalizing);
+        assertThat(storage.read(job.getId())).hasValue(finalizing);
+    }
+
+    @Test
+    @DisplayName("restore the catch-up processes after reopening")
+    void restore() {
+        CatchUp job = newJob(PROJECTION, IN_PROGRESS);
+        CatchUp other = newJob(OTHER_PROJECTION, FINALIZING);
+        storage.write(job);
+        storage.write(other);
+
+        reopen();
+
+        assertThat(readByType(PROJECTION)).containsExactly(job);
+        assertThat(readByType(OTHER_PROJECTION)).containsExactly(other);
+    }
+
+    private ImmutableList<CatchUp> readByType(TypeUrl type) {
+        return ImmutableList.copyOf(storage.readByType(type));
+    }
+
+    private static CatchUp newJob(TypeUrl projection, CatchUpStatus status) {
+        return catchUpJob(projection, status, Time.currentTime(), null);
+    }
+}
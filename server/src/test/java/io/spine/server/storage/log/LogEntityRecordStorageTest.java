@@ -0,0 +1,69 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.storage.log;
+
+import io.spine.server.ContextSpec;
+import io.spine.server.entity.storage.EntityRecordStorage;
+import io.spine.server.storage.EntityRecordStorageTest;
+import io.spine.server.storage.given.EntityRecordStorageTestEnv.TestCounterEntity;
+import io.spine.test.storage.StgProject;
+import io.spine.test.storage.StgProjectId;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static io.spine.server.ContextSpec.singleTenant;
+
+@DisplayName("`EntityRecordStorage` backed by `LogStorageFactory` should")
+class LogEntityRecordStorageTest extends EntityRecordStorageTest {
+
+    @TempDir
+    Path directory;
+
+    private @MonotonicNonNull LogStorageFactory factory;
+
+    @Override
+    protected EntityRecordStorage<StgProjectId, StgProject> newStorage() {
+        if (factory == null) {
+            factory = LogStorageFactory.newBuilder(directory)
+                                       .setSegmentSize(64 * 1024)
+                                       .build();
+        }
+        ContextSpec spec = singleTenant(LogEntityRecordStorageTest.class.getName());
+        return new EntityRecordStorage<>(spec, factory, TestCounterEntity.class);
+    }
+
+    @AfterEach
+    void closeFactory() {
+        if (factory != null) {
+            factory.close();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.storage.log;
+
+import io.spine.server.ContextSpec;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.entity.storage.EntityRecordStorage;
+import io.spine.server.storage.given.EntityRecordStorageTestEnv.TestCounterEntity;
+import io.spine.test.storage.StgProject;
+import io.spine.test.storage.StgProjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth8.assertThat;
+import static io.spine.base.Identifier.newUuid;
+import static io.spine.server.ContextSpec.singleTenant;
+import static io.spine.server.storage.given.EntityRecordStorageTestEnv.buildStorageRecord;
+import static io.spine.server.storage.given.EntityRecordStorageTestEnv.newEntity;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`LogStorageFactory` should")
+class LogStorageFactoryTest {
+
+    private static final ContextSpec CONTEXT = singleTenant(LogStorageFactoryTest.class.getName());
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("keep the records after the factory is closed")
+    void persist() {
+        StgProjectId id = newId();
+        EntityRecord record = buildStorageRecord(newEntity(id));
+
+        LogStorageFactory factory = newFactory();
+        storageIn(factory).write(id, record);
+        factory.close();
+
+        LogStorageFactory reopened = newFactory();
+        assertThat(storageIn(reopened).read(id)).hasValue(record);
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("share the log between the storages of the same records")
+    void shareLog() {
+        StgProjectId id = newId();
+        EntityRecord record = buildStorageRecord(newEntity(id));
+        LogStorageFactory factory = newFactory();
+
+        storageIn(factory).write(id, record);
+
+        assertThat(storageIn(factory).read(id)).hasValue(record);
+        factory.close();
+    }
+
+    @Test
+    @DisplayName("not create storages when closed")
+    void closed() {
+        LogStorageFactory factory = newFactory();
+        factory.close();
+
+        assertThat(factory.isOpen()).isFalse();
+        assertThrows(IllegalStateException.class, () -> storageIn(factory));
+    }
+
+    private LogStorageFactory newFactory() {
+        return LogStorageFactory.newBuilder(directory)
+                                .build();
+    }
+
+    private static EntityRecordStorage<StgProjectId, StgProject>
+    storageIn(LogStorageFactory factory) {
+        return factory.createEntityRecordStorage(CONTEXT, TestCounterEntity.class);
+    }
+
+    private static StgProjectId newId() {
+        return StgProjectId.newBuilder()
+                           .setId(newUuid())
+                           .build();
+    }
+}
@@ -0,0 +1,365 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.storage.log;
+
+import com.google.protobuf.StringValue;
+import com.google.protobuf.Timestamp;
+import io.spine.base.Time;
+import io.spine.query.ColumnName;
+import io.spine.server.storage.RecordWithColumns;
+import io.spine.test.storage.StgProject.Status;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth8.assertThat;
+import static java.util.Collections.nCopies;
+import static java.util.Comparator.naturalOrder;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`RecordLog` should")
+class RecordLogTest {
+
+    private static final int SEGMENT_SIZE = 1024;
+    private static final ColumnName LENGTH = ColumnName.of("length");
+    private static final ColumnName CREATED = ColumnName.of("created");
+    private static final ColumnName STATUS = ColumnName.of("status");
+    private static final ColumnName NOTHING = ColumnName.of("nothing");
+
+    @TempDir
+    Path directory;
+
+    private RecordLog<String, StringValue> log;
+
+    @BeforeEach
+    void openLog() {
+        log = open();
+    }
+
+    @AfterEach
+    void closeLog() {
+        log.close();
+    }
+
+    private RecordLog<String, StringValue> open() {
+        return RecordLog.open(directory, StringValue.class, naturalOrder(), SEGMENT_SIZE, false);
+    }
+
+    private void reopen() {
+        log.close();
+        log = open();
+    }
+
+    @Test
+    @DisplayName("read the written records")
+    void readWritten() {
+        write("a", "alpha");
+        write("b", "beta");
+
+        assertThat(read("a")).isEqualTo("alpha");
+        assertThat(read("b")).isEqualTo("beta");
+        assertThat(log.ids()).containsExactly("a", "b");
+    }
+
+    @Test
+    @DisplayName("read the latest version of an updated record")
+    void readUpdated() {
+        write("a", "first");
+        write("a", "second");
+
+        assertThat(read("a")).isEqualTo("second");
+        assertThat(log.garbageRatio()).isGreaterThan(0.0);
+    }
+
+    @Test
+    @DisplayName("forget the deleted records")
+    void delete() {
+        write("a", "alpha");
+
+        assertThat(log.delete("a")).isTrue();
+        assertThat(log.delete("a")).isFalse();
+        assertThat(log.find("a")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("span records over several segments")
+    void rollSegments() {
+        for (int i = 0; i < 100; i++) {
+            write("id-" + i, "value-" + i);
+        }
+
+        assertThat(segmentFiles().size()).isGreaterThan(1);
+        assertThat(read("id-0")).isEqualTo("value-0");
+        assertThat(read("id-99")).isEqualTo("value-99");
+    }
+
+    @Test
+    @DisplayName("store a record larger than a segment")
+    void largeRecord() {
+        String large = String.join("", nCopies(SEGMENT_SIZE * 3, "x"));
+        write("large", large);
+        write("small", "s");
+
+        assertThat(read("large")).isEqualTo(large);
+        assertThat(read("small")).isEqualTo("s");
+    }
+
+    @Test
+    @DisplayName("keep the column values")
+    void columns() {
+        Timestamp created = Time.currentTime();
+        Map<ColumnName, Object> columns = new HashMap<>();
+        columns.put(LENGTH, 5);
+        columns.put(CREATED, created);
+        columns.put(STATUS, Status.DONE);
+        columns.put(NOTHING, null);
+        log.write(RecordWithColumns.of("a", value("alpha"), columns));
+
+        reopen();
+
+        IndexEntry<String, StringValue> entry = log.find("a")
+                                                   .orElseThrow(AssertionError::new);
+        assertThat(entry.columnValue(LENGTH)).isEqualTo(5);
+        assertThat(entry.columnValue(CREATED)).isEqualTo(created);
+        assertThat(entry.columnValue(STATUS)).isEqualTo(Status.DONE);
+        assertThat(entry.hasColumn(NOTHING)).isTrue();
+        assertThat(entry.columnValue(NOTHING)).isNull();
+    }
+
+    @Test
+    @DisplayName("index the records by the column values")
+    void indexColumn() {
+        writeWithStatus("a", Status.DONE);
+        writeWithStatus("b", Status.DONE);
+        writeWithStatus("c", Status.STARTED);
+
+        log.indexColumn(STATUS);
+        writeWithStatus("d", Status.DONE);
+        writeWithStatus("c", Status.DONE);
+        log.delete("b");
+
+        assertThat(log.countWith(STATUS, Status.DONE)).isEqualTo(3);
+        assertThat(log.idsWith(STATUS, Status.DONE)).containsExactly("a", "c", "d");
+        assertThat(log.idsWith(STATUS, Status.STARTED)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("page the record IDs in the ascending order")
+    void pageIds() {
+        write("c", "gamma");
+        write("a", "alpha");
+        write("d", "delta");
+        write("b", "beta");
+        log.delete("c");
+
+        assertThat(log.idsAfter(null)).containsExactly("a", "b", "d")
+                                      .inOrder();
+        assertThat(log.idsAfter("a")).containsExactly("b", "d")
+                                     .inOrder();
+
+        reopen();
+
+        assertThat(log.idsAfter("b")).containsExactly("d");
+    }
+
+    @Nested
+    @DisplayName("after reopening")
+    class Recovery {
+
+        @Test
+        @DisplayName("restore the records")
+        void restore() {
+            write("a", "first");
+            write("b", "beta");
+            write("a", "second");
+            log.delete("b");
+
+            reopen();
+
+            assertThat(read("a")).isEqualTo("second");
+            assertThat(log.find("b")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("append after the restored records")
+        void append() {
+            write("a", "alpha");
+            reopen();
+            write("b", "beta");
+            reopen();
+
+            assertThat(read("a")).isEqualTo("alpha");
+            assertThat(read("b")).isEqualTo("beta");
+        }
+
+        @Test
+        @DisplayName("discard a corrupted entry and the following ones")
+        void discardCorrupted() throws IOException {
+            write("a", "alpha");
+            write("b", "beta");
+            log.close();
+            Path segment = segmentFiles().get(0);
+            corruptLastByteOfEntries(segment);
+
+            log = open();
+
+            assertThat(read("a")).isEqualTo("alpha");
+            assertThat(log.find("b")).isEmpty();
+            write("c", "gamma");
+            reopen();
+            assertThat(read("c")).isEqualTo("gamma");
+        }
+
+        /**
+         * Flips the last byte of the written data, which belongs to the second entry.
+         */
+        private void corruptLastByteOfEntries(Path segment) throws IOException {
+            try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+                long position = file.length() - 1;
+                while (position > 0) {
+                    file.seek(position);
+                    int value = file.read();
+                    if (value != 0) {
+                        file.seek(position);
+                        file.write(value ^ 0xFF);
+                        return;
+                    }
+                    position--;
+                }
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("on compaction")
+    class Compaction {
+
+        @Test
+        @DisplayName("keep the live records")
+        void keepLive() {
+            fillWithGarbage();
+
+            log.compact();
+
+            assertThat(read("id-0")).isEqualTo("value-9");
+            assertThat(read("id-1")).isEqualTo("value-9");
+            assertThat(log.find("deleted")).isEmpty();
+            assertThat(log.garbageRatio()).isEqualTo(0.0);
+        }
+
+        @Test
+        @DisplayName("delete the outdated segments")
+        void deleteSegments() {
+            fillWithGarbage();
+            int before = segmentFiles().size();
+
+            log.compactIfNeeded(0.5);
+
+            assertThat(segmentFiles().size()).isLessThan(before);
+        }
+
+        @Test
+        @DisplayName("keep the records after reopening")
+        void reopenCompacted() {
+            fillWithGarbage();
+            log.compact();
+            write("id-2", "after");
+
+            reopen();
+
+            assertThat(read("id-0")).isEqualTo("value-9");
+            assertThat(read("id-2")).isEqualTo("after");
+            assertThat(log.find("deleted")).isEmpty();
+        }
+
+        private void fillWithGarbage() {
+            write("deleted", "soon");
+            for (int version = 0; version < 10; version++) {
+                for (int i = 0; i < 3; i++) {
+                    write("id-" + i, "value-" + version);
+                }
+            }
+            log.delete("deleted");
+        }
+    }
+
+    @Test
+    @DisplayName("reject writes when closed")
+    void closed() {
+        log.close();
+
+        assertThrows(IllegalStateException.class, () -> write("a", "alpha"));
+    }
+
+    private void write(String id, String value) {
+        log.write(RecordWithColumns.of(id, value(value)));
+    }
+
+    private void writeWithStatus(String id, Status status) {
+        Map<ColumnName, Object> columns = new HashMap<>();
+        columns.put(STATUS, status);
+        log.write(RecordWithColumns.of(id, value(id), columns));
+    }
+
+    private static StringValue value(String value) {
+        return StringValue.newBuilder()
+                          .setValue(value)
+                          .build();
+    }
+
+    private String read(String id) {
+        IndexEntry<String, StringValue> entry = log.find(id)
+                                                   .orElseThrow(AssertionError::new);
+        return log.read(entry)
+                  .getValue();
+    }
+
+    private List<Path> segmentFiles() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> Segment.sequenceOf(file)
+                                               .isPresent())
+                        .sorted()
+                        .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -26,23 +26,43 @@
 
 package io.spine.server.storage.memory;
 
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Message;
+import com.google.protobuf.StringValue;
+import io.spine.core.TenantId;
 import io.spine.server.entity.EntityRecord;
+import io.spine.server.storage.MessageRecordSpec;
+import io.spine.server.storage.RecordSpec;
+import io.spine.server.storage.RecordWithColumns;
 import io.spine.test.storage.StgProjectId;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.collect.Lists.newArrayListWithExpectedSize;
-import static com.google.common.collect.Sets.newHashSetWithExpectedSize;
+import static com.google.common.util.concurrent.Uninterruptibles.awaitUninterruptibly;
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth8.assertThat;
+import static io.spine.server.tenant.TenantAwareRunner.with;
+import static io.spine.testing.core.given.GivenTenantId.generate;
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.naturalOrder;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @DisplayName("`MultitenantStorage` should")
@@ -58,7 +78,7 @@ class MultitenantStorageTest {
                 new MultitenantStorage<TenantRecords<StgProjectId, EntityRecord>>(IS_MULTITENANT) {
                     @Override
                     TenantRecords<StgProjectId, EntityRecord> createSlice() {
-                        return new TenantRecords<>();
+                        return new TenantRecords<>(comparing(StgProjectId::getId));
                     }
                 };
     }
@@ -68,33 +88,256 @@ class MultitenantStorageTest {
     void returnSameSlice()
             throws InterruptedException, ExecutionException {
         int numberOfTasks = 1000;
-        Collection<Callable<TenantRecords<StgProjectId, EntityRecord>>> tasks =
-                newArrayListWithExpectedSize(numberOfTasks);
+        Collection<Callable<Integer>> tasks = newArrayListWithExpectedSize(numberOfTasks);
 
         for (int i = 0; i < numberOfTasks; i++) {
-            tasks.add(() -> {
-                TenantRecords<StgProjectId, EntityRecord> storage =
-                        multitenantStorage.currentSlice();
-                return storage;
-            });
+            StgProjectId id = StgProjectId
+                    .newBuilder()
+                    .setId(String.valueOf(i))
+                    .build();
+            tasks.add(() -> multitenantStorage.evaluate(slice -> {
+                slice.put(id, RecordWithColumns.of(id, EntityRecord.getDefaultInstance()));
+                return slice.recordCount();
+            }));
         }
 
-        List<Future<TenantRecords<StgProjectId, EntityRecord>>> futures =
-                executeInMultithreadedEnvironment(tasks);
-        Set<TenantRecords<StgProjectId, EntityRecord>> tenantRecords =
-                convertFuturesToSetOfCompletedResults(futures);
+        List<Future<Integer>> futures = executeInMultithreadedEnvironment(tasks);
+        for (Future<Integer> future : futures) {
+            future.get();
+        }
+
+        int recordCount = multitenantStorage.evaluate(TenantRecords::recordCount);
+        assertEquals(numberOfTasks, recordCount);
+    }
+
+    @Test
+    @DisplayName("account the number and the serialized size of the records in a slice")
+    void accountRecords() {
+        TenantRecords<String, StringValue> records = new TenantRecords<>(naturalOrder());
+        StringValue first = value("first");
+        StringValue second = value("second record");
+
+        records.put("1", RecordWithColumns.of("1", first));
+        records.put("2", RecordWithColumns.of("2", second));
+        assertThat(records.recordCount()).isEqualTo(2);
+        assertThat(records.serializedSize())
+                .isEqualTo(first.getSerializedSize() + second.getSerializedSize());
+
+        records.put("2", RecordWithColumns.of("2", first));
+        assertThat(records.serializedSize()).isEqualTo(2L * first.getSerializedSize());
 
-        int expected = 1;
-        assertEquals(expected, tenantRecords.size());
+        records.delete("1");
+        records.delete("3");
+        assertThat(records.recordCount()).isEqualTo(1);
+        assertThat(records.serializedSize()).isEqualTo(first.getSerializedSize());
     }
 
-    private static <R> Set<R> convertFuturesToSetOfCompletedResults(List<Future<R>> futures)
-            throws ExecutionException, InterruptedException {
-        Set<R> tenantRecords = newHashSetWithExpectedSize(futures.size());
-        for (Future<R> future : futures) {
-            tenantRecords.add(future.get());
+    @Test
+    @DisplayName("evict slices chosen by the policy, spilling out and reloading their records")
+    void evictSlices() {
+        TenantId idle = generate();
+        TenantId active = generate();
+        SpillToMap policy = new SpillToMap(idle);
+        MultitenantStorage<TenantRecords<String, StringValue>> storage = storageWith(policy);
+        StringValue record = value("spilled");
+        with(idle).run(() -> storage.run(
+                slice -> slice.put("1", RecordWithColumns.of("1", record))));
+        with(active).run(() -> storage.run(
+                slice -> slice.put("2", RecordWithColumns.of("2", value("kept")))));
+        assertThat(storage.sliceCount()).isEqualTo(2);
+
+        policy.armed = true;
+        storage.evictIdleSlices();
+
+        assertThat(storage.sliceCount()).isEqualTo(1);
+        assertThat(policy.spilled.keySet()).containsExactly(idle);
+        TenantSliceStats stats = policy.lastEvicted;
+        assertThat(stats.tenant()).isEqualTo(idle);
+        assertThat(stats.recordCount()).isEqualTo(1);
+        assertThat(stats.serializedSize()).isEqualTo(record.getSerializedSize());
+
+        with(idle).run(() -> assertThat(storage.evaluate(slice -> slice.get("1"))
+                                               .map(RecordWithColumns::record))
+                .hasValue(record));
+        assertThat(storage.sliceCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("not evict the slices which the policy keeps")
+    void keepChosenSlices() {
+        TenantId tenant = generate();
+        SpillToMap policy = new SpillToMap(generate());
+        MultitenantStorage<TenantRecords<String, StringValue>> storage = storageWith(policy);
+        with(tenant).run(() -> storage.run(
+                slice -> slice.put("1", RecordWithColumns.of("1", value("kept")))));
+
+        policy.armed = true;
+        storage.evictIdleSlices();
+
+        assertThat(storage.sliceCount()).isEqualTo(1);
+        assertThat(policy.spilled).isEmpty();
+    }
+
+    @Test
+    @DisplayName("not evict the slice used by an ongoing operation")
+    void keepPinnedSlice() {
+        TenantId tenant = generate();
+        SpillToMap policy = new SpillToMap(tenant);
+        MultitenantStorage<TenantRecords<String, StringValue>> storage = storageWith(policy);
+        StringValue record = value("written during eviction");
+
+        with(tenant).run(() -> storage.run(slice -> {
+            policy.armed = true;
+            storage.evictIdleSlices();
+            slice.put("1", RecordWithColumns.of("1", record));
+        }));
+
+        assertThat(policy.spilled).isEmpty();
+        with(tenant).run(() -> assertThat(storage.evaluate(slice -> slice.get("1"))
+                                                 .map(RecordWithColumns::record))
+                .hasValue(record));
+
+        storage.evictIdleSlices();
+        assertThat(storage.sliceCount()).isEqualTo(0);
+        assertThat(policy.spilled.get(tenant)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("restore the records of an evicted slice only after they are spilled out")
+    void restoreAfterSpill() throws InterruptedException {
+        TenantId tenant = generate();
+        SpillToMap policy = new SpillToMap(tenant);
+        MultitenantStorage<TenantRecords<String, StringValue>> storage = storageWith(policy);
+        StringValue record = value("spilled slowly");
+        with(tenant).run(() -> storage.run(
+                slice -> slice.put("1", RecordWithColumns.of("1", record))));
+
+        policy.armed = true;
+        policy.holdSpill();
+        Thread evictor = new Thread(storage::evictIdleSlices);
+        evictor.start();
+        policy.awaitSpilling();
+
+        AtomicReference<Optional<StringValue>> read = new AtomicReference<>();
+        Thread reader = new Thread(() -> with(tenant).run(() -> read.set(
+                storage.evaluate(slice -> slice.get("1")
+                                               .map(RecordWithColumns::record)))));
+        reader.start();
+        reader.join(100);
+        assertThat(reader.isAlive()).isTrue();
+
+        policy.releaseSpill();
+        evictor.join();
+        reader.join();
+        assertThat(read.get()).hasValue(record);
+    }
+
+    @Test
+    @DisplayName("never evict slices without a policy")
+    void keepAllWithoutPolicy() {
+        with(generate()).run(() -> multitenantStorage.evaluate(TenantRecords::isEmpty));
+        multitenantStorage.evictIdleSlices();
+        assertThat(multitenantStorage.sliceCount()).isEqualTo(1);
+    }
+
+    private static MultitenantStorage<TenantRecords<String, StringValue>>
+    storageWith(TenantSlicePolicy policy) {
+        RecordSpec<String, StringValue, StringValue> spec =
+                new MessageRecordSpec<>(String.class, StringValue.class, StringValue::getValue);
+        return new MultitenantStorage<TenantRecords<String, StringValue>>(true, policy) {
+            @Override
+            TenantRecords<String, StringValue> createSlice() {
+                return new TenantRecords<>(naturalOrder());
+            }
+
+            @Override
+            void spill(TenantSlicePolicy policy,
+                       TenantId tenant,
+                       TenantRecords<String, StringValue> slice) {
+                policy.spillOut(tenant, spec, slice.all());
+            }
+
+            @Override
+            void restore(TenantSlicePolicy policy,
+                         TenantId tenant,
+                         TenantRecords<String, StringValue> slice) {
+                slice.putAll(policy.reload(tenant, spec));
+            }
+        };
+    }
+
+    private static StringValue value(String value) {
+        return StringValue.of(value);
+    }
+
+    /**
+     * Evicts the slice of the given tenant once armed and keeps the spilled records in a map.
+     *
+     * <p>If {@linkplain #holdSpill() asked}, blocks the spill until it is released.
+     */
+    private static final class SpillToMap implements TenantSlicePolicy {
+
+        private final TenantId evictable;
+        private volatile boolean armed;
+        private final Map<TenantId, List<RecordWithColumns<?, ?>>> spilled =
+                new ConcurrentHashMap<>();
+        private TenantSliceStats lastEvicted;
+        private @Nullable CountDownLatch spilling;
+        private @Nullable CountDownLatch released;
+
+        private SpillToMap(TenantId evictable) {
+            this.evictable = evictable;
+        }
+
+        private void holdSpill() {
+            spilling = new CountDownLatch(1);
+            released = new CountDownLatch(1);
+        }
+
+        private void awaitSpilling() throws InterruptedException {
+            checkNotNull(spilling).await();
+        }
+
+        private void releaseSpill() {
+            checkNotNull(released).countDown();
+        }
+
+        @Override
+        public boolean shouldEvict(TenantSliceStats stats) {
+            boolean evict = armed && stats.tenant()
+                                          .equals(evictable);
+            if (evict) {
+                lastEvicted = stats;
+            }
+            return evict;
+        }
+
+        @Override
+        public <I, R extends Message> void
+        spillOut(TenantId tenant,
+                 RecordSpec<I, R, ?> spec,
+                 ImmutableList<RecordWithColumns<I, R>> records) {
+            if (spilling != null && released != null) {
+                spilling.countDown();
+                awaitUninterruptibly(released);
+            }
+            spilled.put(tenant, new ArrayList<>(records));
+        }
+
+        @SuppressWarnings("unchecked")  // Only the records of a single storage are kept.
+        @Override
+        public <I, R extends Message> ImmutableList<RecordWithColumns<I, R>>
+        reload(TenantId tenant, RecordSpec<I, R, ?> spec) {
+            List<RecordWithColumns<?, ?>> records = spilled.remove(tenant);
+            if (records == null) {
+                return ImmutableList.of();
+            }
+            ImmutableList.Builder<RecordWithColumns<I, R>> result = ImmutableList.builder();
+            for (RecordWithColumns<?, ?> record : records) {
+                result.add((RecordWithColumns<I, R>) record);
+            }
+            return result.build();
         }
-        return tenantRecords;
     }
 
     private static <R> List<Future<R>>
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.trace;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.spine.base.CommandMessage;
+import io.spine.base.Tests;
+import io.spine.core.Command;
+import io.spine.server.BoundedContext;
+import io.spine.server.ServerEnvironment;
+import io.spine.server.trace.given.airport.AirportContext;
+import io.spine.testing.client.TestActorRequestFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.grpc.StreamObservers.noOpObserver;
+import static io.spine.server.trace.SpanKind.BUS_FILTER;
+import static io.spine.server.trace.SpanKind.ENTITY_LOAD;
+import static io.spine.server.trace.SpanKind.ENTITY_STORE;
+import static io.spine.server.trace.SpanKind.HANDLER_INVOCATION;
+import static io.spine.server.trace.SpanKind.INBOX_ENQUEUE;
+import static io.spine.server.trace.SpanKind.INBOX_WAIT;
+import static io.spine.server.trace.given.TracingTestEnv.cancelFlight;
+import static io.spine.server.trace.given.TracingTestEnv.scheduleFlight;
+import static java.util.stream.Collectors.toSet;
+
+@DisplayName("`RingBufferTracerFactory` should")
+class RingBufferTracerFactoryTest {
+
+    private static final TestActorRequestFactory requests =
+            new TestActorRequestFactory(RingBufferTracerFactoryTest.class);
+
+    private RingBufferTracerFactory tracing;
+    private BoundedContext context;
+
+    @BeforeEach
+    void setUp() {
+        tracing = new RingBufferTracerFactory();
+        ServerEnvironment.when(Tests.class)
+                         .use(tracing);
+        context = AirportContext
+                .builder()
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        context.close();
+        ServerEnvironment.instance()
+                         .reset();
+    }
+
+    @Test
+    @DisplayName("record the spans of all the processing stages")
+    void recordStages() {
+        post(scheduleFlight());
+
+        assertThat(tracing.spans()
+                          .stream()
+                          .map(Span::kind)
+                          .collect(toSet()))
+                .containsAtLeast(BUS_FILTER, INBOX_ENQUEUE, INBOX_WAIT,
+                                 ENTITY_LOAD, ENTITY_STORE, HANDLER_INVOCATION);
+    }
+
+    @Test
+    @DisplayName("group the spans by the root message")
+    void groupByRoot() {
+        Command schedule = post(scheduleFlight());
+        post(cancelFlight());
+
+        ImmutableList<Trace> traces = tracing.slowestTraces(10);
+        assertThat(traces.size()).isAtLeast(2);
+        assertThat(traces.get(0)
+                         .durationNanos())
+                .isAtLeast(traces.get(1)
+                                 .durationNanos());
+        Trace scheduleTrace = traces.stream()
+                                    .filter(t -> t.root()
+                                                  .equals(schedule.messageId()))
+                                    .findFirst()
+                                    .orElseThrow(AssertionError::new);
+        assertThat(scheduleTrace.spansOf(schedule.messageId())).isNotEmpty();
+        assertThat(scheduleTrace.childrenOf(schedule.messageId())).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("keep only the most recent spans")
+    void overwriteOldest() {
+        RingBufferTracerFactory small = new RingBufferTracerFactory(4);
+        ServerEnvironment.when(Tests.class)
+                         .use(small);
+        post(scheduleFlight());
+
+        assertThat(small.spans()).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("limit the number of returned traces")
+    void limitTraces() {
+        post(scheduleFlight());
+        post(cancelFlight());
+
+        assertThat(tracing.slowestTraces(1)).hasSize(1);
+    }
+
+    @CanIgnoreReturnValue
+    private Command post(CommandMessage command) {
+        Command cmd = requests.command()
+                              .create(command);
+        context.commandBus()
+               .post(cmd, noOpObserver());
+        return cmd;
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.transport;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Any;
+import io.spine.base.Error;
+import io.spine.core.Ack;
+import io.spine.core.BoundedContextName;
+import io.spine.core.Event;
+import io.spine.core.EventId;
+import io.spine.server.integration.ExternalMessage;
+import io.spine.server.integration.ExternalMessages;
+import io.spine.testing.logging.MuteLogging;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.core.BoundedContextNames.newName;
+import static io.spine.core.Status.StatusCase.ERROR;
+import static io.spine.core.Status.StatusCase.OK;
+import static io.spine.server.bus.Acks.acknowledge;
+import static io.spine.server.bus.Acks.reject;
+import static io.spine.server.integration.ExternalMessages.isBatch;
+import static io.spine.server.integration.ExternalMessages.unpackBatch;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`BatchingPublisher` should")
+class BatchingPublisherTest {
+
+    private static final ChannelId CHANNEL = ChannelId
+            .newBuilder()
+            .setTargetType("type.spine.io/spine.test.Batched")
+            .build();
+    private static final BoundedContextName FIRST = newName("First");
+    private static final BoundedContextName SECOND = newName("Second");
+
+    private FlakyPublisher delegate;
+    private BatchingPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        delegate = new FlakyPublisher();
+        publisher = new BatchingPublisher(delegate, 3, MINUTES.toNanos(1), false);
+    }
+
+    @Test
+    @MuteLogging
+    @DisplayName("not send again the messages sent before a failure")
+    void resendUnsentOnly() {
+        ExternalMessage first = message("1", FIRST);
+        ExternalMessage second = message("2", FIRST);
+        ExternalMessage third = message("3", SECOND);
+        delegate.failAfter(1);
+
+        publisher.publishAll(ImmutableList.of(first, second, third));
+        assertThat(delegate.sent).containsExactly(first, second)
+                                 .inOrder();
+
+        delegate.recover();
+        publisher.flush();
+        assertThat(delegate.sent).containsExactly(first, second, third)
+                                 .inOrder();
+    }
+
+    @Test
+    @DisplayName("not accept messages while the delegate fails")
+    void rejectWhileFailing() {
+        ExternalMessage first = message("1", FIRST);
+        ExternalMessage second = message("2", FIRST);
+        delegate.failAfter(0);
+        publisher.publishAll(ImmutableList.of(first));
+        assertThrows(IllegalStateException.class, publisher::flush);
+
+        Ack rejected = publisher.publish(second.getId(), second);
+        assertThat(rejected.getStatus()
+                           .getStatusCase()).isEqualTo(ERROR);
+        assertThrows(IllegalStateException.class,
+                     () -> publisher.publishAll(ImmutableList.of(second)));
+
+        delegate.recover();
+        Ack accepted = publisher.publish(second.getId(), second);
+        assertThat(accepted.getStatus()
+                           .getStatusCase()).isEqualTo(OK);
+        assertThat(delegate.sent).containsExactly(first);
+
+        publisher.flush();
+        assertThat(delegate.sent).containsExactly(first, second)
+                                 .inOrder();
+    }
+
+    @Test
+    @DisplayName("treat an error acknowledgement of the delegate as a failure")
+    void failOnErrorAck() {
+        ExternalMessage sole = message("sole", FIRST);
+        delegate.rejectAfter(0);
+        publisher.publish(sole.getId(), sole);
+
+        assertThrows(IllegalStateException.class, publisher::flush);
+        assertThat(delegate.sent).isEmpty();
+
+        delegate.recover();
+        publisher.flush();
+        assertThat(delegate.sent).containsExactly(sole);
+    }
+
+    private static ExternalMessage message(String id, BoundedContextName origin) {
+        Event event = Event
+                .newBuilder()
+                .setId(EventId.newBuilder()
+                              .setValue(id))
+                .build();
+        return ExternalMessages.of(event, origin);
+    }
+
+    /**
+     * A publisher which stores the sent messages, and fails upon request.
+     */
+    private static final class FlakyPublisher extends AbstractChannel implements Publisher {
+
+        private final List<ExternalMessage> sent = new ArrayList<>();
+        private int sendsBeforeFailure = Integer.MAX_VALUE;
+        private boolean rejecting;
+
+        private FlakyPublisher() {
+            super(CHANNEL);
+        }
+
+        private void failAfter(int sends) {
+            sendsBeforeFailure = sends;
+            rejecting = false;
+        }
+
+        private void rejectAfter(int sends) {
+            sendsBeforeFailure = sends;
+            rejecting = true;
+        }
+
+        private void recover() {
+            sendsBeforeFailure = Integer.MAX_VALUE;
+        }
+
+        @Override
+        public Ack publish(Any id, ExternalMessage message) {
+            if (sendsBeforeFailure == 0) {
+                if (rejecting) {
+                    Error error = Error
+                            .newBuilder()
+                            .setMessage("Rejected by the test.")
+                            .build();
+                    return reject(id, error);
+                }
+                throw new IllegalStateException("Failed by the test.");
+            }
+            sendsBeforeFailure--;
+            if (isBatch(message)) {
+                sent.addAll(unpackBatch(message));
+            } else {
+                sent.add(message);
+            }
+            return acknowledge(id);
+        }
+
+        @Override
+        public boolean isStale() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+            // Nothing to close.
+        }
+    }
+}
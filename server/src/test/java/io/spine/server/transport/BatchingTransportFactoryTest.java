@@ -0,0 +1,147 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.transport;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.util.Durations;
+import io.spine.core.BoundedContextName;
+import io.spine.core.Event;
+import io.spine.core.EventId;
+import io.spine.grpc.MemoizingObserver;
+import io.spine.server.integration.ExternalMessage;
+import io.spine.server.integration.ExternalMessages;
+import io.spine.server.transport.memory.InMemoryTransportFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.core.BoundedContextNames.newName;
+import static io.spine.grpc.StreamObservers.memoizingObserver;
+import static io.spine.server.integration.ExternalMessages.isBatch;
+import static io.spine.server.integration.ExternalMessages.unpackBatch;
+
+@DisplayName("`BatchingTransportFactory` should")
+class BatchingTransportFactoryTest {
+
+    private static final ChannelId CHANNEL = ChannelId
+            .newBuilder()
+            .setTargetType("type.spine.io/spine.test.Batched")
+            .build();
+    private static final BoundedContextName ORIGIN = newName("Batching");
+
+    private BatchingTransportFactory factory;
+
+    @AfterEach
+    void closeFactory() throws Exception {
+        factory.close();
+    }
+
+    @Test
+    @DisplayName("send a batch once it reaches the maximum size")
+    void sendFullBatch() {
+        factory = BatchingTransportFactory
+                .newBuilder(InMemoryTransportFactory.newInstance())
+                .setMaxBatchSize(3)
+                .setWindow(Durations.fromMinutes(1))
+                .build();
+        MemoizingObserver<ExternalMessage> observer = subscribe();
+        Publisher publisher = factory.createPublisher(CHANNEL);
+        ExternalMessage first = message("1");
+        ExternalMessage second = message("2");
+        ExternalMessage third = message("3");
+
+        publisher.publish(first.getId(), first);
+        publisher.publishAll(ImmutableList.of(second, third));
+
+        List<ExternalMessage> received = observer.responses();
+        assertThat(received).hasSize(1);
+        ExternalMessage batch = received.get(0);
+        assertThat(isBatch(batch)).isTrue();
+        assertThat(batch.getBoundedContextName()).isEqualTo(ORIGIN);
+        assertThat(unpackBatch(batch))
+                .containsExactly(first, second, third)
+                .inOrder();
+    }
+
+    @Test
+    @DisplayName("send compressed batches")
+    void compress() {
+        factory = BatchingTransportFactory
+                .newBuilder(InMemoryTransportFactory.newInstance())
+                .setMaxBatchSize(2)
+                .compress()
+                .build();
+        MemoizingObserver<ExternalMessage> observer = subscribe();
+        Publisher publisher = factory.createPublisher(CHANNEL);
+        ExternalMessage first = message("1");
+        ExternalMessage second = message("2");
+
+        publisher.publishAll(ImmutableList.of(first, second));
+
+        ExternalMessage batch = observer.firstResponse();
+        assertThat(unpackBatch(batch)).containsExactly(first, second)
+                                      .inOrder();
+    }
+
+    @Test
+    @DisplayName("send the accumulated messages upon closing")
+    void flushOnClose() throws Exception {
+        factory = BatchingTransportFactory
+                .newBuilder(InMemoryTransportFactory.newInstance())
+                .setMaxBatchSize(10)
+                .setWindow(Durations.fromMinutes(1))
+                .build();
+        MemoizingObserver<ExternalMessage> observer = subscribe();
+        Publisher publisher = factory.createPublisher(CHANNEL);
+        ExternalMessage sole = message("sole");
+        publisher.publish(sole.getId(), sole);
+        assertThat(observer.responses()).isEmpty();
+
+        publisher.close();
+
+        assertThat(observer.responses()).containsExactly(sole);
+    }
+
+    private MemoizingObserver<ExternalMessage> subscribe() {
+        MemoizingObserver<ExternalMessage> observer = memoizingObserver();
+        factory.createSubscriber(CHANNEL)
+               .addObserver(observer);
+        return observer;
+    }
+
+    private static ExternalMessage message(String id) {
+        Event event = Event
+                .newBuilder()
+                .setId(EventId.newBuilder()
+                              .setValue(id))
+                .build();
+        return ExternalMessages.of(event, ORIGIN);
+    }
+}
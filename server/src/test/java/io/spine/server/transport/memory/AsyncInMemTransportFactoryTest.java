@@ -0,0 +1,192 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.transport.memory;
+
+import io.grpc.stub.StreamObserver;
+import io.spine.core.BoundedContextName;
+import io.spine.core.Event;
+import io.spine.core.EventId;
+import io.spine.server.integration.ExternalMessage;
+import io.spine.server.integration.ExternalMessages;
+import io.spine.server.transport.ChannelId;
+import io.spine.server.transport.Publisher;
+import io.spine.testing.logging.MuteLogging;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.core.BoundedContextNames.newName;
+import static io.spine.protobuf.AnyPacker.unpack;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+@DisplayName("`AsyncInMemTransportFactory` should")
+class AsyncInMemTransportFactoryTest {
+
+    private static final ChannelId CHANNEL = ChannelId
+            .newBuilder()
+            .setTargetType("type.spine.io/spine.test.Async")
+            .build();
+
+    private AsyncInMemTransportFactory factory;
+
+    @AfterEach
+    void closeFactory() {
+        factory.close();
+    }
+
+    @Test
+    @DisplayName("deliver the messages of each producer in the publishing order")
+    void keepOrder() throws InterruptedException {
+        factory = AsyncInMemTransportFactory
+                .newBuilder()
+                .setWorkers(4)
+                .setQueueCapacity(8)
+                .build();
+        int perProducer = 100;
+        Collector collector = new Collector(perProducer * 2);
+        factory.createSubscriber(CHANNEL)
+               .addObserver(collector);
+        Publisher publisher = factory.createPublisher(CHANNEL);
+        BoundedContextName first = newName("First");
+        BoundedContextName second = newName("Second");
+
+        for (int i = 0; i < perProducer; i++) {
+            publish(publisher, message(i, first));
+            publish(publisher, message(i, second));
+        }
+
+        assertThat(collector.delivered.await(10, SECONDS)).isTrue();
+        assertThat(idsFrom(collector.received, first)).isInOrder();
+        assertThat(idsFrom(collector.received, second)).isInOrder();
+    }
+
+    @Test
+    @MuteLogging
+    @DisplayName("drop the messages when the queue is full, if configured")
+    void drop() throws InterruptedException {
+        factory = AsyncInMemTransportFactory
+                .newBuilder()
+                .setWorkers(1)
+                .setQueueCapacity(1)
+                .setOverflowPolicy(OverflowPolicy.DROP)
+                .build();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Collector collector = new Collector(2) {
+            @Override
+            public void onNext(ExternalMessage value) {
+                entered.countDown();
+                awaitUninterruptibly(release);
+                super.onNext(value);
+            }
+        };
+        AsyncInMemSubscriber subscriber =
+                (AsyncInMemSubscriber) factory.createSubscriber(CHANNEL);
+        subscriber.addObserver(collector);
+        Publisher publisher = factory.createPublisher(CHANNEL);
+        BoundedContextName producer = newName("Producer");
+
+        publish(publisher, message(0, producer));
+        assertThat(entered.await(10, SECONDS)).isTrue();
+        publish(publisher, message(1, producer));
+        publish(publisher, message(2, producer));
+
+        assertThat(subscriber.queueDepth()).isEqualTo(1);
+        assertThat(subscriber.droppedCount()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(collector.delivered.await(10, SECONDS)).isTrue();
+        assertThat(idsFrom(collector.received, producer)).containsExactly(0, 1)
+                                                         .inOrder();
+        assertThat(subscriber.queueDepth()).isEqualTo(0);
+    }
+
+    private static void publish(Publisher publisher, ExternalMessage message) {
+        publisher.publish(message.getId(), message);
+    }
+
+    private static ExternalMessage message(int number, BoundedContextName producer) {
+        Event event = Event
+                .newBuilder()
+                .setId(EventId.newBuilder()
+                              .setValue(String.valueOf(number)))
+                .build();
+        return ExternalMessages.of(event, producer);
+    }
+
+    private static List<Integer> idsFrom(List<ExternalMessage> messages,
+                                         BoundedContextName producer) {
+        return messages.stream()
+                       .filter(m -> m.getBoundedContextName()
+                                     .equals(producer))
+                       .map(m -> unpack(m.getOriginalMessage(), Event.class))
+                       .map(e -> Integer.valueOf(e.getId()
+                                                  .getValue()))
+                       .collect(toImmutableList());
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        }
+    }
+
+    private static class Collector implements StreamObserver<ExternalMessage> {
+
+        private final List<ExternalMessage> received = new CopyOnWriteArrayList<>();
+        private final CountDownLatch delivered;
+
+        Collector(int expected) {
+            this.delivered = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void onNext(ExternalMessage value) {
+            received.add(value);
+            delivered.countDown();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            // Do nothing.
+        }
+
+        @Override
+        public void onCompleted() {
+            // Do nothing.
+        }
+    }
+}
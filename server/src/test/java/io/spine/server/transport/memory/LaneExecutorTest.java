@@ -0,0 +1,119 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.transport.memory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`LaneExecutor` should")
+class LaneExecutorTest {
+
+    private static final String KEY = "key";
+
+    private final List<Integer> executed = new CopyOnWriteArrayList<>();
+    private final LaneExecutor executor =
+            new LaneExecutor(1, 1, OverflowPolicy.BLOCK, LaneExecutorTest.class.getSimpleName());
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("reject a task submitted by a worker to a full queue")
+    void rejectFromWorker() throws InterruptedException {
+        AtomicBoolean rejected = new AtomicBoolean();
+        CountDownLatch done = new CountDownLatch(1);
+        executor.submit(KEY, () -> {
+            executed.add(0);
+            executor.submit(KEY, () -> {
+                executed.add(1);
+                done.countDown();
+            });
+            rejected.set(!executor.submit(KEY, () -> executed.add(2)));
+        });
+
+        assertThat(done.await(10, SECONDS)).isTrue();
+        assertThat(rejected.get()).isTrue();
+        assertThat(executed).containsExactly(0, 1)
+                            .inOrder();
+    }
+
+    @Test
+    @DisplayName("execute the tasks submitted before the shutdown")
+    void drainOnShutdown() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        executor.submit(KEY, () -> {
+            awaitUninterruptibly(release);
+            executed.add(0);
+        });
+        executor.submit(KEY, () -> executed.add(1));
+        Thread publisher = new Thread(() -> executor.submit(KEY, () -> {
+            executed.add(2);
+            done.countDown();
+        }));
+        publisher.start();
+        while (publisher.getState() != Thread.State.WAITING) {
+            Thread.yield();
+        }
+
+        executor.shutdown();
+        release.countDown();
+
+        assertThat(done.await(10, SECONDS)).isTrue();
+        assertThat(executed).containsExactly(0, 1, 2)
+                            .inOrder();
+    }
+
+    @Test
+    @DisplayName("not accept tasks after the shutdown")
+    void rejectAfterShutdown() {
+        executor.shutdown();
+
+        assertThrows(IllegalStateException.class, () -> executor.submit(KEY, () -> {}));
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        }
+    }
+}
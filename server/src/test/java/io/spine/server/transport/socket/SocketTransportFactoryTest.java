@@ -0,0 +1,213 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.server.transport.socket;
+
+import com.google.common.base.Strings;
+import io.grpc.stub.StreamObserver;
+import io.spine.core.Event;
+import io.spine.core.EventId;
+import io.spine.server.integration.ExternalMessage;
+import io.spine.server.integration.ExternalMessages;
+import io.spine.server.transport.ChannelId;
+import io.spine.server.transport.Publisher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.core.BoundedContextNames.newName;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`SocketTransportFactory` should")
+class SocketTransportFactoryTest {
+
+    private static final ChannelId CHANNEL = channel("Delivered");
+    private static final ChannelId OTHER_CHANNEL = channel("Ignored");
+
+    private SocketHub hub;
+    private SocketTransportFactory upstream;
+    private SocketTransportFactory downstream;
+
+    @BeforeEach
+    void connect() {
+        hub = SocketHub.start(0);
+        upstream = SocketTransportFactory.connectingTo(hub.port());
+        downstream = SocketTransportFactory.connectingTo(hub.port());
+    }
+
+    @AfterEach
+    void close() throws Exception {
+        upstream.close();
+        downstream.close();
+        hub.close();
+    }
+
+    @Test
+    @DisplayName("deliver messages to the subscribers of another factory in the publishing order")
+    void deliver() throws InterruptedException {
+        int count = 100;
+        Collector collector = new Collector(count);
+        downstream.createSubscriber(CHANNEL)
+                  .addObserver(collector);
+        Collector ignored = new Collector(1);
+        downstream.createSubscriber(OTHER_CHANNEL)
+                  .addObserver(ignored);
+        awaitSubscriptions();
+
+        Publisher publisher = upstream.createPublisher(CHANNEL);
+        for (int i = 0; i < count; i++) {
+            ExternalMessage message = message(String.valueOf(i));
+            publisher.publish(message.getId(), message);
+        }
+
+        assertThat(collector.latch.await(10, SECONDS)).isTrue();
+        assertThat(collector.received).hasSize(count);
+        for (int i = 0; i < count; i++) {
+            assertThat(collector.received.get(i))
+                    .isEqualTo(message(String.valueOf(i)));
+        }
+        assertThat(ignored.received).isEmpty();
+    }
+
+    @Test
+    @DisplayName("deliver a message sent again only once")
+    void deduplicate() throws InterruptedException {
+        Collector collector = new Collector(2);
+        downstream.createSubscriber(CHANNEL)
+                  .addObserver(collector);
+        awaitSubscriptions();
+
+        Publisher publisher = upstream.createPublisher(CHANNEL);
+        ExternalMessage duplicated = message("duplicated");
+        publisher.publish(duplicated.getId(), duplicated);
+        publisher.publish(duplicated.getId(), duplicated);
+        ExternalMessage last = message("last");
+        publisher.publish(last.getId(), last);
+
+        assertThat(collector.latch.await(10, SECONDS)).isTrue();
+        assertThat(collector.received).containsExactly(duplicated, last);
+    }
+
+    @Test
+    @DisplayName("deliver messages which do not fit into a pooled buffer")
+    void deliverLarge() throws InterruptedException {
+        Collector collector = new Collector(1);
+        downstream.createSubscriber(CHANNEL)
+                  .addObserver(collector);
+        awaitSubscriptions();
+
+        String id = Strings.repeat("large", BufferPool.FRAME_BUFFER_SIZE);
+        ExternalMessage message = message(id);
+        upstream.createPublisher(CHANNEL)
+                .publish(message.getId(), message);
+
+        assertThat(collector.latch.await(10, SECONDS)).isTrue();
+        assertThat(collector.received).containsExactly(message);
+    }
+
+    @Test
+    @DisplayName("reject requests when closed")
+    void closing() throws Exception {
+        upstream.close();
+
+        assertThrows(IllegalStateException.class, () -> upstream.createPublisher(CHANNEL));
+    }
+
+    @Test
+    @DisplayName("fail to connect if there is no hub")
+    void noHub() throws Exception {
+        int port = hub.port();
+        hub.close();
+
+        assertThrows(IllegalStateException.class,
+                     () -> SocketTransportFactory.connectingTo(port));
+    }
+
+    /**
+     * Makes sure the subscription frames reach the hub before the publications.
+     *
+     * <p>The subscriptions are sent through another connection than the publications, so their
+     * relative order is not defined otherwise.
+     */
+    private void awaitSubscriptions() throws InterruptedException {
+        Collector probe = new Collector(1);
+        ChannelId probeChannel = channel("Probe");
+        downstream.createSubscriber(probeChannel)
+                  .addObserver(probe);
+        Publisher publisher = downstream.createPublisher(probeChannel);
+        ExternalMessage message = message("probe");
+        publisher.publish(message.getId(), message);
+        assertThat(probe.latch.await(10, SECONDS)).isTrue();
+    }
+
+    private static ChannelId channel(String type) {
+        return ChannelId.newBuilder()
+                        .setTargetType("type.spine.io/spine.test." + type)
+                        .build();
+    }
+
+    private static ExternalMessage message(String id) {
+        Event event = Event
+                .newBuilder()
+                .setId(EventId.newBuilder()
+                              .setValue(id))
+                .build();
+        return ExternalMessages.of(event, newName("Sockets"));
+    }
+
+    private static final class Collector implements StreamObserver<ExternalMessage> {
+
+        private final List<ExternalMessage> received = new CopyOnWriteArrayList<>();
+        private final CountDownLatch latch;
+
+        private Collector(int expected) {
+            this.latch = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void onNext(ExternalMessage value) {
+            received.add(value);
+            latch.countDown();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            // Do nothing.
+        }
+
+        @Override
+        public void onCompleted() {
+            // Do nothing.
+        }
+    }
+}
@@ -111,4 +111,14 @@ class CommandEnvelopeTest extends MessageEnvelopeTest<Command, CommandEnvelope,
 
         assertEquals(TypeUrl.of(TestCommandMessage.class), typeUrl);
     }
+
+    @Test
+    @DisplayName("unpack the command message once")
+    void memoizeMessage() {
+        CommandEnvelope envelope = toEnvelope(outerObject());
+        assertThat(envelope.message())
+                .isSameInstanceAs(envelope.message());
+        assertThat(envelope.typeUrl())
+                .isEqualTo(TypeUrl.of(TestCommandMessage.class));
+    }
 }
@@ -32,10 +32,13 @@ import io.spine.core.CommandContext;
 import io.spine.core.Event;
 import io.spine.core.EventContext;
 import io.spine.core.Origin;
+import io.spine.type.TypeName;
+import io.spine.type.TypeUrl;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import static com.google.common.truth.Truth.assertThat;
 import static io.spine.server.type.given.EventEnvelopeTestEnv.actorContext;
 import static io.spine.server.type.given.EventEnvelopeTestEnv.commandContext;
 import static io.spine.server.type.given.EventEnvelopeTestEnv.event;
@@ -63,6 +66,22 @@ class EventEnvelopeTest extends MessageEnvelopeTest<Event, EventEnvelope, EventC
         return EventClass.of(obj);
     }
 
+    @Test
+    @DisplayName("unpack the event message once")
+    void memoizeMessage() {
+        Message eventMessage = eventMessage();
+        EventEnvelope envelope = toEnvelope(event(eventMessage));
+
+        assertThat(envelope.message())
+                .isEqualTo(eventMessage);
+        assertThat(envelope.message())
+                .isSameInstanceAs(envelope.message());
+        assertThat(envelope.typeUrl())
+                .isEqualTo(TypeUrl.of(eventMessage));
+        assertThat(envelope.messageTypeName())
+                .isEqualTo(TypeName.of(eventMessage));
+    }
+
     @Nested
     @DisplayName("obtain actor context from")
     class ObtainActorContext {
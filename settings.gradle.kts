@@ -32,6 +32,7 @@ include("server")
 include("testutil-core")
 include("testutil-client")
 include("testutil-server")
+include("benchmarks")
 
 include("model-assembler")
 include("model-verifier")